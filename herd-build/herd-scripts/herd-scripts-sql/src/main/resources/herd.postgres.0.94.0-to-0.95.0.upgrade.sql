@@ -13,3 +13,79 @@
 * See the License for the specific language governing permissions and
 * limitations under the License.
 */
+
+create table bus_objct_data_prtn_smry
+(
+    bus_objct_data_prtn_smry_id BIGINT          NOT NULL,
+    bus_objct_frmt_id           BIGINT          NOT NULL,
+    strge_cd                    VARCHAR(50)     NOT NULL,
+    prtn_value_tx               VARCHAR(50)     NOT NULL,
+    prtn_value_2_tx             VARCHAR(50),
+    prtn_value_3_tx             VARCHAR(50),
+    prtn_value_4_tx             VARCHAR(50),
+    prtn_value_5_tx             VARCHAR(50),
+    data_vrsn_nb                INTEGER         NOT NULL,
+    strge_unit_stts_cd          VARCHAR(20)     NOT NULL,
+    creat_ts                    TIMESTAMP       NOT NULL DEFAULT ('now'::text)::timestamp without time zone,
+    creat_user_id               VARCHAR(100)    NOT NULL,
+    updt_ts                     TIMESTAMP       NOT NULL DEFAULT ('now'::text)::timestamp without time zone,
+    updt_user_id                VARCHAR(100)    NOT NULL
+);
+
+alter table bus_objct_data_prtn_smry add constraint bus_objct_data_prtn_smry_pk  primary key (bus_objct_data_prtn_smry_id);
+alter table bus_objct_data_prtn_smry add constraint bus_objct_data_prtn_smry_fk1 foreign key (bus_objct_frmt_id) references bus_objct_frmt (bus_objct_frmt_id);
+alter table bus_objct_data_prtn_smry add constraint bus_objct_data_prtn_smry_fk2 foreign key (strge_cd) references strge (strge_cd);
+alter table bus_objct_data_prtn_smry add constraint bus_objct_data_prtn_smry_fk3 foreign key (strge_unit_stts_cd) references strge_unit_stts_cd_lk (strge_unit_stts_cd);
+
+create index bus_objct_data_prtn_smry_ix1 on bus_objct_data_prtn_smry (bus_objct_frmt_id, prtn_value_tx);
+create index bus_objct_data_prtn_smry_ix2 on bus_objct_data_prtn_smry (strge_cd);
+create index bus_objct_data_prtn_smry_ix3 on bus_objct_data_prtn_smry (strge_unit_stts_cd);
+create unique index bus_objct_data_prtn_smry_ak on bus_objct_data_prtn_smry (bus_objct_frmt_id, strge_cd, prtn_value_tx, prtn_value_2_tx, prtn_value_3_tx,
+                                                                              prtn_value_4_tx, prtn_value_5_tx);
+create unique index bus_objct_data_prtn_smry_ak2 on bus_objct_data_prtn_smry (bus_objct_frmt_id, strge_cd, prtn_value_tx) where (prtn_value_2_tx is null and prtn_value_3_tx is null and prtn_value_4_tx is null and prtn_value_5_tx is null);
+create unique index bus_objct_data_prtn_smry_ak3 on bus_objct_data_prtn_smry (bus_objct_frmt_id, strge_cd, prtn_value_tx, prtn_value_2_tx) where (prtn_value_3_tx is null and prtn_value_4_tx is null and prtn_value_5_tx is null);
+create unique index bus_objct_data_prtn_smry_ak4 on bus_objct_data_prtn_smry (bus_objct_frmt_id, strge_cd, prtn_value_tx, prtn_value_2_tx, prtn_value_3_tx) where (prtn_value_4_tx is null and prtn_value_5_tx is null);
+create unique index bus_objct_data_prtn_smry_ak5 on bus_objct_data_prtn_smry (bus_objct_frmt_id, strge_cd, prtn_value_tx, prtn_value_2_tx, prtn_value_3_tx, prtn_value_4_tx) where (prtn_value_5_tx is null);
+
+create sequence bus_objct_data_prtn_smry_seq;
+
+-- Backfill the partition summary with the latest VALID business object data version per business object format, storage, and partition values.
+-- The partition summary is cleared first, so the backfill can be re-run to rebuild it without colliding with the unique indexes.
+
+delete from bus_objct_data_prtn_smry;
+
+insert into bus_objct_data_prtn_smry (bus_objct_data_prtn_smry_id, bus_objct_frmt_id, strge_cd, prtn_value_tx, prtn_value_2_tx, prtn_value_3_tx,
+                                      prtn_value_4_tx, prtn_value_5_tx, data_vrsn_nb, strge_unit_stts_cd, creat_ts, creat_user_id, updt_ts, updt_user_id)
+select nextval('bus_objct_data_prtn_smry_seq'), s.bus_objct_frmt_id, s.strge_cd, s.prtn_value_tx, s.prtn_value_2_tx, s.prtn_value_3_tx,
+       s.prtn_value_4_tx, s.prtn_value_5_tx, s.vrsn_nb, s.strge_unit_stts_cd, current_timestamp, 'SYSTEM', current_timestamp, 'SYSTEM'
+from (select distinct on (d.bus_objct_frmt_id, u.strge_cd, d.prtn_value_tx, d.prtn_value_2_tx, d.prtn_value_3_tx, d.prtn_value_4_tx, d.prtn_value_5_tx)
+             d.bus_objct_frmt_id, u.strge_cd, d.prtn_value_tx, d.prtn_value_2_tx, d.prtn_value_3_tx, d.prtn_value_4_tx, d.prtn_value_5_tx, d.vrsn_nb,
+             u.strge_unit_stts_cd
+      from bus_objct_data d
+      join strge_unit u on u.bus_objct_data_id = d.bus_objct_data_id
+      where d.bus_objct_data_stts_cd = 'VALID'
+      order by d.bus_objct_frmt_id, u.strge_cd, d.prtn_value_tx, d.prtn_value_2_tx, d.prtn_value_3_tx, d.prtn_value_4_tx, d.prtn_value_5_tx,
+               d.vrsn_nb desc) s;
+
+--scrty_fn_lk
+
+insert into scrty_fn_lk (scrty_fn_cd, creat_ts, creat_user_id, updt_ts, updt_user_id)
+values ('FN_BUSINESS_OBJECT_DATA_COLLECTION_POST', current_timestamp, 'SYSTEM', current_timestamp, 'SYSTEM');
+
+insert into scrty_fn_lk (scrty_fn_cd, creat_ts, creat_user_id, updt_ts, updt_user_id)
+values ('FN_BUSINESS_OBJECT_DATA_STATUS_COLLECTION_PUT', current_timestamp, 'SYSTEM', current_timestamp, 'SYSTEM');
+
+insert into scrty_fn_lk (scrty_fn_cd, creat_ts, creat_user_id, updt_ts, updt_user_id)
+values ('FN_BUSINESS_OBJECT_DATA_UPLOAD_PREPARATION_POST', current_timestamp, 'SYSTEM', current_timestamp, 'SYSTEM');
+
+--scrty_role_fn
+
+-- Grant the upload preparation function to every role that is allowed to register business object data, so existing uploaders keep working.
+
+insert into scrty_role_fn (scrty_role_fn_id, scrty_role_cd, scrty_fn_cd, creat_ts, creat_user_id, updt_ts, updt_user_id)
+select nextval('scrty_role_fn_seq'), r.scrty_role_cd, 'FN_BUSINESS_OBJECT_DATA_UPLOAD_PREPARATION_POST', current_timestamp, 'SYSTEM', current_timestamp,
+       'SYSTEM'
+from scrty_role_fn r
+where r.scrty_fn_cd = 'FN_BUSINESS_OBJECT_DATA_POST'
+and not exists (select 1 from scrty_role_fn e
+                where e.scrty_role_cd = r.scrty_role_cd and e.scrty_fn_cd = 'FN_BUSINESS_OBJECT_DATA_UPLOAD_PREPARATION_POST');
@@ -124,6 +124,17 @@ public interface BusinessObjectDataDao extends BaseJpaDao
      */
     List<BusinessObjectDataEntity> getBusinessObjectDataEntities(BusinessObjectDataKey businessObjectDataKey);
 
+    /**
+     * Retrieves all business object data versions registered for the specified business object format and any of the specified primary partition values.
+     *
+     * @param businessObjectFormatEntity the business object format entity
+     * @param primaryPartitionValues the list of primary partition values
+     *
+     * @return the list of business object data entities ordered by data version
+     */
+    List<BusinessObjectDataEntity> getBusinessObjectDataEntitiesByPrimaryPartitionValues(BusinessObjectFormatEntity businessObjectFormatEntity,
+        List<String> primaryPartitionValues);
+
     /**
      * Retrieves a list of business object data entities per specified parameters.
      *
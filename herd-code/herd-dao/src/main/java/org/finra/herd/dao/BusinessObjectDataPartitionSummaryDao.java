@@ -0,0 +1,95 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import java.util.List;
+
+import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
+import org.finra.herd.model.jpa.BusinessObjectDataPartitionSummaryEntity;
+import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
+
+public interface BusinessObjectDataPartitionSummaryDao extends BaseJpaDao
+{
+    /**
+     * Retrieves a list of business object data partition summary entities registered for the specified business object format and full set of partition
+     * values across all storages.
+     *
+     * @param businessObjectFormatEntity the business object format entity
+     * @param partitionValues the list of primary and sub-partition values, where partition values not used by the registration are either omitted or null
+     *
+     * @return the list of business object data partition summary entities ordered by storage name
+     */
+    List<BusinessObjectDataPartitionSummaryEntity> getBusinessObjectDataPartitionSummaryEntities(BusinessObjectFormatEntity businessObjectFormatEntity,
+        List<String> partitionValues);
+
+    /**
+     * Retrieves a list of business object data partition summary entities registered for the specified business object format and any of the specified
+     * primary partition values across all storages.
+     *
+     * @param businessObjectFormatEntity the business object format entity
+     * @param primaryPartitionValues the list of primary partition values
+     *
+     * @return the list of business object data partition summary entities ordered by storage name
+     */
+    List<BusinessObjectDataPartitionSummaryEntity> getBusinessObjectDataPartitionSummaryEntitiesByPrimaryPartitionValues(
+        BusinessObjectFormatEntity businessObjectFormatEntity, List<String> primaryPartitionValues);
+
+    /**
+     * Acquires a pessimistic write lock on the specified business object format, so the transactions that create partition summary rows for the business
+     * object format take turns. The lock is held until the end of the current transaction.
+     *
+     * @param businessObjectFormatEntity the business object format entity
+     */
+    void lockBusinessObjectDataPartitionSummaries(BusinessObjectFormatEntity businessObjectFormatEntity);
+
+    /**
+     * Retrieves a maximum available partition value for the latest VALID business object data per specified parameters.
+     * <p>
+     * Returns null if the business object format key does not exist.
+     *
+     * @param partitionColumnPosition the partition column position (1-based numbering)
+     * @param businessObjectFormatKey the business object format key (case-insensitive). If a business object format version isn't specified, the latest
+     * available format version for each partition value will be used.
+     * @param storageNames the optional list of storage names (case-insensitive)
+     * @param storagePlatformType the optional storage platform type, e.g. S3 for Hive DDL. It is ignored when the list of storages is not empty
+     * @param excludedStoragePlatformType the optional storage platform type to be excluded from search. It is ignored when the list of storages is not empty or
+     * the storage platform type is specified
+     * @param upperBoundPartitionValue the optional inclusive upper bound for the maximum available partition value
+     * @param lowerBoundPartitionValue the optional inclusive lower bound for the maximum available partition value
+     *
+     * @return the maximum available partition value
+     */
+    String getBusinessObjectDataMaxPartitionValue(int partitionColumnPosition, BusinessObjectFormatKey businessObjectFormatKey, List<String> storageNames,
+        String storagePlatformType, String excludedStoragePlatformType, String upperBoundPartitionValue, String lowerBoundPartitionValue);
+
+    /**
+     * Retrieves a minimum available partition value for the latest VALID business object data per specified parameters.
+     * <p>
+     * Returns null if the business object format key does not exist.
+     *
+     * @param partitionColumnPosition the partition column position (1-based numbering)
+     * @param businessObjectFormatKey the business object format key (case-insensitive). If a business object format version isn't specified, the latest
+     * available format version for each partition value will be used.
+     * @param storageNames the optional list of storage names (case-insensitive)
+     * @param storagePlatformType the optional storage platform type, e.g. S3 for Hive DDL. It is ignored when the list of storages is not empty
+     * @param excludedStoragePlatformType the optional storage platform type to be excluded from search. It is ignored when the list of storages is not empty or
+     * the storage platform type is specified
+     *
+     * @return the minimum available partition value
+     */
+    String getBusinessObjectDataMinPartitionValue(int partitionColumnPosition, BusinessObjectFormatKey businessObjectFormatKey, List<String> storageNames,
+        String storagePlatformType, String excludedStoragePlatformType);
+}
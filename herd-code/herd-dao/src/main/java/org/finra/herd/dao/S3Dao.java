@@ -15,6 +15,7 @@
 */
 package org.finra.herd.dao;
 
+import java.io.File;
 import java.util.Date;
 import java.util.List;
 import java.util.Properties;
@@ -24,6 +25,7 @@ import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.S3VersionSummary;
 import com.amazonaws.services.s3.model.Tag;
 
+import org.finra.herd.model.dto.S3ClientRegistryStatisticsDto;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferResultsDto;
@@ -106,6 +108,24 @@ public interface S3Dao
      */
     S3FileTransferResultsDto downloadFile(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws InterruptedException;
 
+    /**
+     * Downloads a file from S3 to the local file system, resuming the download from the end of the local file when an earlier download left a partial local
+     * file behind. The MD5 digest of the file is computed while the remaining bytes are streamed and validated against the ETag of the S3 file whenever the
+     * ETag is the MD5 digest of the file content. The remaining bytes are only downloaded as long as the S3 file still has the specified ETag, otherwise the
+     * local file gets removed and the download fails, so the next attempt starts over.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. Only the S3 bucket name and the S3 connection parameters are used, so the
+     * same parameters can be shared by concurrent downloads.
+     * @param s3Key the S3 key of the file to download
+     * @param localFile the local file to download into
+     * @param eTag the ETag of the S3 file the local file has been downloaded from
+     *
+     * @return the results with the number of bytes that actually got transferred from S3.
+     * @throws InterruptedException if any problems were encountered.
+     */
+    S3FileTransferResultsDto resumeDownloadFile(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, String s3Key, File localFile, String eTag)
+        throws InterruptedException;
+
     /**
      * Generates a GET pre-signed URL for the given object in S3 identified by its bucket name and key. Uses the proxy information and signer override specified
      * in the given {@link S3FileTransferRequestParamsDto}.
@@ -129,6 +149,19 @@ public interface S3Dao
      */
     ObjectMetadata getObjectMetadata(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto);
 
+    /**
+     * Gets S3 objects for the list of files (S3 keys) matching the S3 key prefix in the given bucket (S3 bucket name). When the S3 key prefix holds more S3
+     * objects than a single listing page returns, the S3 keys not found on the listed pages are probed with metadata-only HEAD requests executed on up to the
+     * maximum number of threads, instead of listing the whole S3 key prefix. The S3 keys that do not exist are not included in the result.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name, the S3 key prefix, and the file list identify the S3
+     * objects to get.
+     * @param ignoreZeroByteDirectoryMarkers specifies whether to ignore 0 byte objects that represent S3 directories.
+     *
+     * @return the list of existing S3 objects represented by S3 object summaries in the order of the file list
+     */
+    List<S3ObjectSummary> getObjectSummaries(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean ignoreZeroByteDirectoryMarkers);
+
     /**
      * Gets an object from S3 and parses it as a {@link Properties}.
      *
@@ -140,6 +173,13 @@ public interface S3Dao
      */
     Properties getProperties(String bucketName, String key, S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto);
 
+    /**
+     * Gets the statistics of the registry that keeps the pooled Amazon S3 clients reused across the DAO calls.
+     *
+     * @return the S3 client registry statistics
+     */
+    S3ClientRegistryStatisticsDto getS3ClientRegistryStatistics();
+
     /**
      * Lists all S3 objects matching the S3 key prefix in the given bucket (S3 bucket name).
      *
@@ -182,7 +222,7 @@ public interface S3Dao
     void restoreObjects(final S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, int expirationInDays, String archiveRetrievalOption);
 
     /**
-     * Validates that file exists in S3 using S3Client.getObject() method.
+     * Validates that file exists in S3 using S3Client.getObjectMetadata() method, which issues a metadata-only HEAD request.
      *
      * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name and S3 key prefix identify the S3 file
      *
@@ -58,6 +58,7 @@ public interface S3Operations
     public static final String ERROR_CODE_INTERNAL_ERROR = "InternalError";
     public static final String ERROR_CODE_NO_SUCH_BUCKET = "NoSuchBucket";
     public static final String ERROR_CODE_NO_SUCH_KEY = "NoSuchKey";
+    public static final String ERROR_CODE_SLOW_DOWN = "SlowDown";
 
     /**
      * Aborts a multipart upload.
@@ -93,6 +93,11 @@ public class DaoSpringModuleConfig implements CachingConfigurer
      */
     public static final String HIBERNATE_HBM2DDL_AUTO_PARAM_BEAN_NAME = "hibernateHbm2DdlAutoParam";
 
+    /**
+     * The Hibernate query cache region name used by the lookups of the second-level cached static code entities.
+     */
+    public static final String LOOKUP_QUERY_CACHE_REGION_NAME = "herd_lookup_query_cache";
+
     /**
      * Model packages to scan by entity manager.
      */
@@ -18,27 +18,49 @@ package org.finra.herd.dao.helper;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.net.ssl.HostnameVerifier;
 
 import org.apache.commons.lang3.BooleanUtils;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.TrustSelfSignedStrategy;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.ssl.SSLContextBuilder;
 import org.apache.http.ssl.SSLContexts;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+
 /**
  * A base helper class that provides HTTP client functions.
  */
 @Component
 public class HttpClientHelper
 {
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
+    /**
+     * The pooled connection managers shared by all HTTP clients created by this helper, keyed by the SSL settings they were created with.
+     */
+    private final Map<String, PoolingHttpClientConnectionManager> connectionManagers = new HashMap<>();
+
     /**
-     * Creates a new HTTP client.
+     * Creates a new HTTP client. The returned client is backed by a pooled connection manager that is shared across all clients created with the same SSL
+     * settings, so persistent (keep-alive) connections to the registration server are reused between calls. Closing the returned client does not shut down
+     * the shared connection pool.
      *
      * @param trustSelfSignedCertificate specifies whether to trust a self-signed certificate
      * @param disableHostnameVerification specifies whether to turn off hostname verification
@@ -54,24 +76,62 @@ public class HttpClientHelper
         // Create an HTTP client builder.
         HttpClientBuilder httpClientBuilder = HttpClients.custom();
 
-        // Create an SSL context builder.
-        SSLContextBuilder sslContextBuilder = SSLContexts.custom();
+        // Use the shared pooled connection manager and keep the persistent connections alive for as long as the server allows.
+        httpClientBuilder.setConnectionManager(getConnectionManager(trustSelfSignedCertificate, disableHostnameVerification));
+        httpClientBuilder.setConnectionManagerShared(true);
+        httpClientBuilder.setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE);
 
-        // If specified, setup a trust strategy that allows all certificates.
-        if (BooleanUtils.isTrue(trustSelfSignedCertificate))
+        // Build and return an HTTP client.
+        return httpClientBuilder.build();
+    }
+
+    /**
+     * Gets the pooled connection manager for the specified SSL settings, creating it on first use.
+     *
+     * @param trustSelfSignedCertificate specifies whether to trust a self-signed certificate
+     * @param disableHostnameVerification specifies whether to turn off hostname verification
+     *
+     * @return the pooled connection manager
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     */
+    private synchronized PoolingHttpClientConnectionManager getConnectionManager(Boolean trustSelfSignedCertificate, Boolean disableHostnameVerification)
+        throws KeyStoreException, NoSuchAlgorithmException, KeyManagementException
+    {
+        String connectionManagerKey = BooleanUtils.isTrue(trustSelfSignedCertificate) + "|" + BooleanUtils.isTrue(disableHostnameVerification);
+
+        PoolingHttpClientConnectionManager connectionManager = connectionManagers.get(connectionManagerKey);
+
+        if (connectionManager == null)
         {
-            sslContextBuilder.loadTrustMaterial(null, new TrustSelfSignedStrategy());
-        }
+            // Create an SSL context builder.
+            SSLContextBuilder sslContextBuilder = SSLContexts.custom();
 
-        // If specified, turn hostname verification off.
-        HostnameVerifier hostnameVerifier = BooleanUtils.isTrue(disableHostnameVerification) ? SSLConnectionSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER :
-            SSLConnectionSocketFactory.STRICT_HOSTNAME_VERIFIER;
+            // If specified, setup a trust strategy that allows all certificates.
+            if (BooleanUtils.isTrue(trustSelfSignedCertificate))
+            {
+                sslContextBuilder.loadTrustMaterial(null, new TrustSelfSignedStrategy());
+            }
 
-        // Create and assign an SSL connection socket factory.
-        SSLConnectionSocketFactory sslConnectionSocketFactory = new SSLConnectionSocketFactory(sslContextBuilder.build(), hostnameVerifier);
-        httpClientBuilder.setSSLSocketFactory(sslConnectionSocketFactory);
+            // If specified, turn hostname verification off.
+            HostnameVerifier hostnameVerifier = BooleanUtils.isTrue(disableHostnameVerification) ? SSLConnectionSocketFactory.ALLOW_ALL_HOSTNAME_VERIFIER :
+                SSLConnectionSocketFactory.STRICT_HOSTNAME_VERIFIER;
 
-        // Build and return an HTTP client.
-        return httpClientBuilder.build();
+            // Create an SSL connection socket factory and register it along with the plain one.
+            SSLConnectionSocketFactory sslConnectionSocketFactory = new SSLConnectionSocketFactory(sslContextBuilder.build(), hostnameVerifier);
+            Registry<ConnectionSocketFactory> socketFactoryRegistry =
+                RegistryBuilder.<ConnectionSocketFactory>create().register("http", PlainConnectionSocketFactory.getSocketFactory())
+                    .register("https", sslConnectionSocketFactory).build();
+
+            // Create the pooled connection manager sized per configuration.
+            connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+            connectionManager.setMaxTotal(configurationHelper.getProperty(ConfigurationValue.HTTP_CLIENT_MAX_CONNECTIONS, Integer.class));
+            connectionManager.setDefaultMaxPerRoute(configurationHelper.getProperty(ConfigurationValue.HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE, Integer.class));
+
+            connectionManagers.put(connectionManagerKey, connectionManager);
+        }
+
+        return connectionManager;
     }
 }
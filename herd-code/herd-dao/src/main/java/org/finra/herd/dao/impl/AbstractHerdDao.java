@@ -26,6 +26,7 @@ import java.util.List;
 
 import javax.persistence.CascadeType;
 import javax.persistence.OneToMany;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.From;
@@ -72,7 +73,11 @@ public abstract class AbstractHerdDao extends BaseJpaDaoImpl
      */
     public static final String DEFAULT_SINGLE_DAY_DATE_MASK = "yyyy-MM-dd";
 
-    public static final int MAX_PARTITION_FILTERS_PER_REQUEST = 100;
+    /**
+     * The query hint that applies an entity graph as a load graph, so the attributes of the entity graph are fetched by the query itself in addition to the
+     * attributes that are eagerly fetched by default.
+     */
+    protected static final String LOAD_GRAPH_HINT = "javax.persistence.loadgraph";
 
     protected static final List<SingularAttribute<BusinessObjectDataEntity, String>> BUSINESS_OBJECT_DATA_PARTITIONS = Collections.unmodifiableList(Arrays
         .asList(BusinessObjectDataEntity_.partitionValue, BusinessObjectDataEntity_.partitionValue2, BusinessObjectDataEntity_.partitionValue3,
@@ -275,10 +280,25 @@ public abstract class AbstractHerdDao extends BaseJpaDaoImpl
     protected Predicate getQueryRestrictionOnPartitionValues(CriteriaBuilder builder, From<?, BusinessObjectDataEntity> businessObjectDataEntity,
         List<List<String>> partitionFilters)
     {
+        // Partition filters that specify a value for only one partition level are collected per partition level, so they can be resolved with a single
+        // set-based "in" clause instead of one "or"ed restriction per partition filter.
+        List<List<String>> singleLevelPartitionValues = new ArrayList<>();
+        for (int partitionLevel = 0; partitionLevel < BusinessObjectDataEntity.MAX_SUBPARTITIONS + 1; partitionLevel++)
+        {
+            singleLevelPartitionValues.add(new ArrayList<>());
+        }
+
         // Create a query restriction as per specified primary and/or sub-partition values.
         Predicate predicate = null;
         for (List<String> partitionFilter : partitionFilters)
         {
+            int singlePartitionLevel = getSinglePartitionLevel(partitionFilter);
+            if (singlePartitionLevel >= 0)
+            {
+                singleLevelPartitionValues.get(singlePartitionLevel).add(partitionFilter.get(singlePartitionLevel));
+                continue;
+            }
+
             // Add restriction for each partition level if the relative partition value is specified in the partition filter.
             Predicate partitionRestriction = null;
             for (int partitionLevel = 0; partitionLevel < BusinessObjectDataEntity.MAX_SUBPARTITIONS + 1; partitionLevel++)
@@ -295,9 +315,48 @@ public abstract class AbstractHerdDao extends BaseJpaDaoImpl
             predicate = (predicate == null ? partitionRestriction : builder.or(predicate, partitionRestriction));
         }
 
+        // Add an "in" clause restriction for each partition level that has single level partition filters.
+        for (int partitionLevel = 0; partitionLevel < singleLevelPartitionValues.size(); partitionLevel++)
+        {
+            if (!singleLevelPartitionValues.get(partitionLevel).isEmpty())
+            {
+                Predicate partitionValuesRestriction = getPredicateForInClause(builder,
+                    businessObjectDataEntity.get(BUSINESS_OBJECT_DATA_PARTITIONS.get(partitionLevel)), singleLevelPartitionValues.get(partitionLevel));
+                predicate = (predicate == null ? partitionValuesRestriction : builder.or(predicate, partitionValuesRestriction));
+            }
+        }
+
         return predicate;
     }
 
+    /**
+     * Gets the partition level of the only partition value specified in the partition filter.
+     *
+     * @param partitionFilter the partition filter that contains a list of primary and sub-partition values, with partition values for the relative partitions
+     * not to be used for selection passed as nulls
+     *
+     * @return the zero-based partition level, or -1 if the partition filter specifies either none or more than one partition value
+     */
+    private int getSinglePartitionLevel(List<String> partitionFilter)
+    {
+        int singlePartitionLevel = -1;
+
+        for (int partitionLevel = 0; partitionLevel < BusinessObjectDataEntity.MAX_SUBPARTITIONS + 1; partitionLevel++)
+        {
+            if (StringUtils.isNotBlank(partitionFilter.get(partitionLevel)))
+            {
+                if (singlePartitionLevel >= 0)
+                {
+                    return -1;
+                }
+
+                singlePartitionLevel = partitionLevel;
+            }
+        }
+
+        return singlePartitionLevel;
+    }
+
     /**
      * TODO This method may be bdata specific. Consider creating new abstract class to group all bdata related DAO. Builds a query restriction predicate for the
      * sub-query business object data entity as per partition values from the specified main query business object data entity.
@@ -474,6 +533,21 @@ public abstract class AbstractHerdDao extends BaseJpaDaoImpl
         return subQuery;
     }
 
+    /**
+     * Creates a typed query for the specified criteria that fetches the attributes of the specified named entity graph (fetch plan) with the query itself,
+     * instead of loading the eagerly fetched associations and the associations accessed by the caller one entity at a time.
+     *
+     * @param criteria the criteria query
+     * @param fetchPlan the name of the named entity graph
+     * @param <T> the type of the query result
+     *
+     * @return the typed query
+     */
+    protected <T> TypedQuery<T> createQueryWithFetchPlan(CriteriaQuery<T> criteria, String fetchPlan)
+    {
+        return entityManager.createQuery(criteria).setHint(LOAD_GRAPH_HINT, entityManager.getEntityGraph(fetchPlan));
+    }
+
     /**
      * {@inheritDoc}
      * <p/>
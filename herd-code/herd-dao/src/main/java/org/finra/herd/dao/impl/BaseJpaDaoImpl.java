@@ -23,18 +23,21 @@ import java.util.Map;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
 
 import org.apache.commons.lang3.Validate;
+import org.hibernate.CacheMode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.BaseJpaDao;
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.ConfigurationEntity;
 
@@ -44,6 +47,21 @@ import org.finra.herd.model.jpa.ConfigurationEntity;
 @Repository
 public class BaseJpaDaoImpl implements BaseJpaDao
 {
+    /**
+     * The Hibernate query hint that marks a query as cacheable in the query cache.
+     */
+    protected static final String CACHEABLE_HINT = "org.hibernate.cacheable";
+
+    /**
+     * The Hibernate query hint that selects the query cache region for a cacheable query.
+     */
+    protected static final String CACHE_REGION_HINT = "org.hibernate.cacheRegion";
+
+    /**
+     * The Hibernate query hint that selects how a cacheable query interacts with the query cache.
+     */
+    protected static final String CACHE_MODE_HINT = "org.hibernate.cacheMode";
+
     @PersistenceContext
     protected EntityManager entityManager;
 
@@ -184,7 +202,47 @@ public class BaseJpaDaoImpl implements BaseJpaDao
      */
     protected <T> T executeSingleResultQuery(CriteriaQuery<T> criteria, String message)
     {
-        List<T> resultList = entityManager.createQuery(criteria).getResultList();
+        return getSingleResult(entityManager.createQuery(criteria), message);
+    }
+
+    /**
+     * Executes query as a cacheable query in the lookup query cache region, validates if result list contains no more than record and returns the query result.
+     * This is intended for the lookups of the static code entities that are stored in the second-level cache, so the query results only keep the entity
+     * identifiers and the entities themselves are resolved from the second-level cache. The query cache is local to each node, so an empty result is never
+     * taken from it: when no record is found, the query is executed against the database again and its result replaces the one in the query cache.
+     *
+     * @param <T> The type of the root entity class
+     * @param criteria the criteria select query to be executed
+     * @param message the exception message to use if the query returns fails
+     *
+     * @return the query result or null if 0 records were selected
+     */
+    protected <T> T executeCacheableSingleResultQuery(CriteriaQuery<T> criteria, String message)
+    {
+        T result = getSingleResult(entityManager.createQuery(criteria).setHint(CACHEABLE_HINT, true)
+            .setHint(CACHE_REGION_HINT, DaoSpringModuleConfig.LOOKUP_QUERY_CACHE_REGION_NAME), message);
+
+        if (result == null)
+        {
+            result = getSingleResult(entityManager.createQuery(criteria).setHint(CACHEABLE_HINT, true)
+                .setHint(CACHE_REGION_HINT, DaoSpringModuleConfig.LOOKUP_QUERY_CACHE_REGION_NAME).setHint(CACHE_MODE_HINT, CacheMode.REFRESH), message);
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the query result list, validates that it contains no more than one record and returns that record.
+     *
+     * @param <T> The type of the root entity class
+     * @param query the query to be executed
+     * @param message the exception message to use if the query returns more than one record
+     *
+     * @return the query result or null if 0 records were selected
+     */
+    private <T> T getSingleResult(TypedQuery<T> query, String message)
+    {
+        List<T> resultList = query.getResultList();
 
         // Validate that the query returned no more than one record.
         Validate.isTrue(resultList.size() < 2, message);
@@ -52,6 +52,7 @@ import org.springframework.util.Assert;
 
 import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.dao.BusinessObjectDataDao;
+import org.finra.herd.dao.BusinessObjectDataPartitionSummaryDao;
 import org.finra.herd.dao.BusinessObjectFormatDao;
 import org.finra.herd.dao.FileTypeDao;
 import org.finra.herd.dao.NamespaceDao;
@@ -65,6 +66,7 @@ import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
 import org.finra.herd.model.api.xml.PartitionValueFilter;
 import org.finra.herd.model.api.xml.PartitionValueRange;
 import org.finra.herd.model.api.xml.RegistrationDateRangeFilter;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.StoragePolicyPriorityLevel;
 import org.finra.herd.model.jpa.BusinessObjectDataAttributeEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataAttributeEntity_;
@@ -98,6 +100,9 @@ import org.finra.herd.model.jpa.StorageUnitStatusEntity_;
 @Repository
 public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements BusinessObjectDataDao
 {
+    @Autowired
+    private BusinessObjectDataPartitionSummaryDao businessObjectDataPartitionSummaryDao;
+
     @Autowired
     private BusinessObjectFormatDao businessObjectFormatDao;
 
@@ -369,25 +374,43 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         return entityManager.createQuery(criteria).getResultList();
     }
 
+    @Override
+    public List<BusinessObjectDataEntity> getBusinessObjectDataEntitiesByPrimaryPartitionValues(BusinessObjectFormatEntity businessObjectFormatEntity,
+        List<String> primaryPartitionValues)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BusinessObjectDataEntity> criteria = builder.createQuery(BusinessObjectDataEntity.class);
+
+        // The criteria root is the business object data.
+        Root<BusinessObjectDataEntity> businessObjectDataEntityRoot = criteria.from(BusinessObjectDataEntity.class);
+
+        // Create the standard restrictions (i.e. the standard where clauses).
+        Predicate queryRestriction =
+            builder.equal(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.businessObjectFormatId), businessObjectFormatEntity.getId());
+        queryRestriction = builder.and(queryRestriction,
+            getPredicateForInClause(builder, businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.partitionValue), primaryPartitionValues));
+
+        // Add the clauses for the query and order by data version.
+        criteria.select(businessObjectDataEntityRoot).where(queryRestriction)
+            .orderBy(builder.asc(businessObjectDataEntityRoot.get(BusinessObjectDataEntity_.version)));
+
+        return entityManager.createQuery(criteria).getResultList();
+    }
+
     @Override
     public List<BusinessObjectDataEntity> getBusinessObjectDataEntities(BusinessObjectFormatKey businessObjectFormatKey, List<List<String>> partitionFilters,
         Integer businessObjectDataVersion, String businessObjectDataStatus, String storageName)
     {
-        List<BusinessObjectDataEntity> resultBusinessObjectDataEntities = new ArrayList<>();
-
-        // Loop through each chunk of partition filters until we have reached the end of the list.
-        for (int i = 0; i < partitionFilters.size(); i += MAX_PARTITION_FILTERS_PER_REQUEST)
+        // All partition filters are resolved by a single query, the partition values of the single level partition filters are turned into set-based "in"
+        // clauses.
+        if (partitionFilters.isEmpty())
         {
-            // Get a sub-list for the current chunk of partition filters.
-            List<BusinessObjectDataEntity> chunkBusinessObjectDataEntities =
-                getBusinessObjectDataEntities(businessObjectFormatKey, partitionFilters, businessObjectDataVersion, businessObjectDataStatus, storageName, i,
-                    (i + MAX_PARTITION_FILTERS_PER_REQUEST) > partitionFilters.size() ? partitionFilters.size() - i : MAX_PARTITION_FILTERS_PER_REQUEST);
-
-            // Add the sub-list to the result.
-            resultBusinessObjectDataEntities.addAll(chunkBusinessObjectDataEntities);
+            return new ArrayList<>();
         }
 
-        return resultBusinessObjectDataEntities;
+        return getBusinessObjectDataEntities(businessObjectFormatKey, partitionFilters, businessObjectDataVersion, businessObjectDataStatus, storageName, 0,
+            partitionFilters.size());
     }
 
     @Override
@@ -420,7 +443,7 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         criteria.select(businessObjectDataEntityRoot).where(builder.and(predicates.toArray(new Predicate[predicates.size()]))).orderBy(orderBy);
 
         // Execute the query and return the results.
-        return entityManager.createQuery(criteria).getResultList();
+        return createQueryWithFetchPlan(criteria, BusinessObjectDataEntity.KEY_FETCH_PLAN).getResultList();
     }
 
     @Override
@@ -539,6 +562,18 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         final Integer businessObjectDataVersion, String businessObjectDataStatus, List<String> storageNames, String storagePlatformType,
         String excludedStoragePlatformType, final AggregateFunction aggregateFunction, String upperBoundPartitionValue, String lowerBoundPartitionValue)
     {
+        // The partition summary table keeps the latest VALID business object data version per storage and set of partition values, so when it is enabled,
+        // look up the partition value there instead of aggregating over the business object data and storage unit tables.
+        if (businessObjectDataVersion == null && BusinessObjectDataStatusEntity.VALID.equalsIgnoreCase(businessObjectDataStatus) &&
+            configurationHelper.getBooleanProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_PARTITION_SUMMARY_ENABLED))
+        {
+            return aggregateFunction == AggregateFunction.GREATEST ? businessObjectDataPartitionSummaryDao
+                .getBusinessObjectDataMaxPartitionValue(partitionColumnPosition, businessObjectFormatKey, storageNames, storagePlatformType,
+                    excludedStoragePlatformType, upperBoundPartitionValue, lowerBoundPartitionValue) : businessObjectDataPartitionSummaryDao
+                .getBusinessObjectDataMinPartitionValue(partitionColumnPosition, businessObjectFormatKey, storageNames, storagePlatformType,
+                    excludedStoragePlatformType);
+        }
+
         // We cannot use businessObjectFormatKey passed in since it is case-insensitive. Case-insensitive values requires upper() function in the SQL query, and
         // it has caused performance problems. So we need to extract case-sensitive business object format key from database so we can eliminate the upper()
         // function.
@@ -789,7 +824,7 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         }
         criteria.orderBy(orderBy);
 
-        return entityManager.createQuery(criteria).getResultList();
+        return createQueryWithFetchPlan(criteria, BusinessObjectDataEntity.KEY_FETCH_PLAN).getResultList();
     }
 
     @Override
@@ -802,7 +837,7 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         Predicate partitionValueEquals = criteriaBuilder.equal(businessObjectDataEntity.get(BusinessObjectDataEntity_.partitionValue), partitionValue);
         query.select(businessObjectDataEntity).where(partitionValueEquals);
 
-        return entityManager.createQuery(query).getResultList();
+        return createQueryWithFetchPlan(query, BusinessObjectDataEntity.KEY_FETCH_PLAN).getResultList();
     }
 
     /**
@@ -1011,7 +1046,8 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
 
         // Execute the query.
         List<BusinessObjectDataEntity> entityArray =
-            entityManager.createQuery(criteria).setFirstResult(pageSize * (pageNum - 1)).setMaxResults(pageSize).getResultList();
+            createQueryWithFetchPlan(criteria, BusinessObjectDataEntity.KEY_FETCH_PLAN).setFirstResult(pageSize * (pageNum - 1)).setMaxResults(pageSize)
+                .getResultList();
 
         // Crete the result list of business object data.
         return getQueryResultListFromEntityList(entityArray, businessObjectDataSearchKey.getAttributeValueFilters());
@@ -1454,7 +1490,7 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         criteria.select(businessObjectDataEntityRoot).where(predicate).orderBy(orderBy);
 
         // Create a query.
-        TypedQuery<BusinessObjectDataEntity> query = entityManager.createQuery(criteria);
+        TypedQuery<BusinessObjectDataEntity> query = createQueryWithFetchPlan(criteria, BusinessObjectDataEntity.KEY_FETCH_PLAN);
 
         // If specified, set the maximum number of results for query to return.
         if (maxResults != null)
@@ -1509,7 +1545,7 @@ public class BusinessObjectDataDaoImpl extends AbstractHerdDao implements Busine
         criteria.select(businessObjectDataEntityRoot).where(predicate).orderBy(orderBy);
 
         // Create a query.
-        TypedQuery<BusinessObjectDataEntity> query = entityManager.createQuery(criteria);
+        TypedQuery<BusinessObjectDataEntity> query = createQueryWithFetchPlan(criteria, BusinessObjectDataEntity.KEY_FETCH_PLAN);
 
         // If specified, set the maximum number of results for query to return.
         if (maxResults != null)
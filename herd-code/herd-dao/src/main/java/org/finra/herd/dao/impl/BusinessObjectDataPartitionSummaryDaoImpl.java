@@ -0,0 +1,314 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.LockModeType;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.From;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import javax.persistence.metamodel.SingularAttribute;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import org.finra.herd.dao.BusinessObjectDataPartitionSummaryDao;
+import org.finra.herd.dao.BusinessObjectFormatDao;
+import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
+import org.finra.herd.model.jpa.BusinessObjectDataEntity;
+import org.finra.herd.model.jpa.BusinessObjectDataPartitionSummaryEntity;
+import org.finra.herd.model.jpa.BusinessObjectDataPartitionSummaryEntity_;
+import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
+import org.finra.herd.model.jpa.BusinessObjectFormatEntity_;
+import org.finra.herd.model.jpa.StorageEntity;
+import org.finra.herd.model.jpa.StorageEntity_;
+import org.finra.herd.model.jpa.StoragePlatformEntity;
+import org.finra.herd.model.jpa.StorageUnitStatusEntity;
+import org.finra.herd.model.jpa.StorageUnitStatusEntity_;
+
+@Repository
+public class BusinessObjectDataPartitionSummaryDaoImpl extends AbstractHerdDao implements BusinessObjectDataPartitionSummaryDao
+{
+    private static final List<SingularAttribute<BusinessObjectDataPartitionSummaryEntity, String>> PARTITION_SUMMARY_PARTITIONS = Collections
+        .unmodifiableList(Arrays.asList(BusinessObjectDataPartitionSummaryEntity_.partitionValue, BusinessObjectDataPartitionSummaryEntity_.partitionValue2,
+            BusinessObjectDataPartitionSummaryEntity_.partitionValue3, BusinessObjectDataPartitionSummaryEntity_.partitionValue4,
+            BusinessObjectDataPartitionSummaryEntity_.partitionValue5));
+
+    @Autowired
+    private BusinessObjectFormatDao businessObjectFormatDao;
+
+    @Override
+    public List<BusinessObjectDataPartitionSummaryEntity> getBusinessObjectDataPartitionSummaryEntities(BusinessObjectFormatEntity businessObjectFormatEntity,
+        List<String> partitionValues)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BusinessObjectDataPartitionSummaryEntity> criteria = builder.createQuery(BusinessObjectDataPartitionSummaryEntity.class);
+
+        // The criteria root is the business object data partition summary.
+        Root<BusinessObjectDataPartitionSummaryEntity> partitionSummaryEntityRoot = criteria.from(BusinessObjectDataPartitionSummaryEntity.class);
+
+        // Create the standard restrictions (i.e. the standard where clauses).
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(builder.equal(partitionSummaryEntityRoot.get(BusinessObjectDataPartitionSummaryEntity_.businessObjectFormatId),
+            businessObjectFormatEntity.getId()));
+        for (int i = 0; i < PARTITION_SUMMARY_PARTITIONS.size(); i++)
+        {
+            String partitionValue = i < partitionValues.size() ? partitionValues.get(i) : null;
+            predicates.add(partitionValue != null ? builder.equal(partitionSummaryEntityRoot.get(PARTITION_SUMMARY_PARTITIONS.get(i)), partitionValue) :
+                builder.isNull(partitionSummaryEntityRoot.get(PARTITION_SUMMARY_PARTITIONS.get(i))));
+        }
+
+        // Add all clauses to the query.
+        criteria.select(partitionSummaryEntityRoot).where(builder.and(predicates.toArray(new Predicate[predicates.size()])))
+            .orderBy(builder.asc(partitionSummaryEntityRoot.get(BusinessObjectDataPartitionSummaryEntity_.storageName)));
+
+        // Execute the query and return the results.
+        return entityManager.createQuery(criteria).getResultList();
+    }
+
+    @Override
+    public List<BusinessObjectDataPartitionSummaryEntity> getBusinessObjectDataPartitionSummaryEntitiesByPrimaryPartitionValues(
+        BusinessObjectFormatEntity businessObjectFormatEntity, List<String> primaryPartitionValues)
+    {
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BusinessObjectDataPartitionSummaryEntity> criteria = builder.createQuery(BusinessObjectDataPartitionSummaryEntity.class);
+
+        // The criteria root is the business object data partition summary.
+        Root<BusinessObjectDataPartitionSummaryEntity> partitionSummaryEntityRoot = criteria.from(BusinessObjectDataPartitionSummaryEntity.class);
+
+        // Create the standard restrictions (i.e. the standard where clauses).
+        Predicate queryRestriction = builder.equal(partitionSummaryEntityRoot.get(BusinessObjectDataPartitionSummaryEntity_.businessObjectFormatId),
+            businessObjectFormatEntity.getId());
+        queryRestriction = builder.and(queryRestriction,
+            getPredicateForInClause(builder, partitionSummaryEntityRoot.get(BusinessObjectDataPartitionSummaryEntity_.partitionValue), primaryPartitionValues));
+
+        // Add all clauses to the query.
+        criteria.select(partitionSummaryEntityRoot).where(queryRestriction)
+            .orderBy(builder.asc(partitionSummaryEntityRoot.get(BusinessObjectDataPartitionSummaryEntity_.storageName)));
+
+        // Execute the query and return the results.
+        return entityManager.createQuery(criteria).getResultList();
+    }
+
+    @Override
+    public void lockBusinessObjectDataPartitionSummaries(BusinessObjectFormatEntity businessObjectFormatEntity)
+    {
+        entityManager.lock(businessObjectFormatEntity, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    @Override
+    public String getBusinessObjectDataMaxPartitionValue(int partitionColumnPosition, BusinessObjectFormatKey businessObjectFormatKey,
+        List<String> storageNames, String storagePlatformType, String excludedStoragePlatformType, String upperBoundPartitionValue,
+        String lowerBoundPartitionValue)
+    {
+        return getBusinessObjectDataPartitionValue(partitionColumnPosition, businessObjectFormatKey, storageNames, storagePlatformType,
+            excludedStoragePlatformType, AggregateFunction.GREATEST, upperBoundPartitionValue, lowerBoundPartitionValue);
+    }
+
+    @Override
+    public String getBusinessObjectDataMinPartitionValue(int partitionColumnPosition, BusinessObjectFormatKey businessObjectFormatKey,
+        List<String> storageNames, String storagePlatformType, String excludedStoragePlatformType)
+    {
+        return getBusinessObjectDataPartitionValue(partitionColumnPosition, businessObjectFormatKey, storageNames, storagePlatformType,
+            excludedStoragePlatformType, AggregateFunction.LEAST, null, null);
+    }
+
+    /**
+     * Retrieves partition value per specified parameters that includes the aggregate function. Unlike the business object data based query, this query only
+     * touches the partition summary table, which already holds one row per storage and set of partition values with the latest VALID business object data
+     * version and its storage unit status.
+     * <p>
+     * Returns null if the business object format key does not exist.
+     *
+     * @param partitionColumnPosition the partition column position (1-based numbering)
+     * @param businessObjectFormatKey the business object format key (case-insensitive). If a business object format version isn't specified, the latest
+     * available format version for each partition value will be used.
+     * @param storageNames the optional list of storage names (case-insensitive)
+     * @param storagePlatformType the optional storage platform type, e.g. S3 for Hive DDL. It is ignored when the list of storages is not empty
+     * @param excludedStoragePlatformType the optional storage platform type to be excluded from search. It is ignored when the list of storages is not empty or
+     * the storage platform type is specified
+     * @param aggregateFunction the aggregate function to use against partition values
+     * @param upperBoundPartitionValue the optional inclusive upper bound for the maximum available partition value
+     * @param lowerBoundPartitionValue the optional inclusive lower bound for the maximum available partition value
+     *
+     * @return the partition value
+     */
+    private String getBusinessObjectDataPartitionValue(int partitionColumnPosition, final BusinessObjectFormatKey businessObjectFormatKey,
+        List<String> storageNames, String storagePlatformType, String excludedStoragePlatformType, final AggregateFunction aggregateFunction,
+        String upperBoundPartitionValue, String lowerBoundPartitionValue)
+    {
+        // Resolve the business object format, so we can restrict on business object definition and file type without using the upper() function.
+        BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectFormatDao.getBusinessObjectFormatByAltKey(businessObjectFormatKey);
+
+        // Returns null if business object format key does not exist.
+        if (businessObjectFormatEntity == null)
+        {
+            return null;
+        }
+
+        // Create the criteria builder and the criteria.
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> criteria = builder.createQuery(String.class);
+
+        // The criteria root is the business object data partition summary.
+        Root<BusinessObjectDataPartitionSummaryEntity> partitionSummaryEntityRoot = criteria.from(BusinessObjectDataPartitionSummaryEntity.class);
+
+        // Join to the other tables we can filter on.
+        Join<BusinessObjectDataPartitionSummaryEntity, BusinessObjectFormatEntity> businessObjectFormatEntityJoin =
+            partitionSummaryEntityRoot.join(BusinessObjectDataPartitionSummaryEntity_.businessObjectFormat);
+        Join<BusinessObjectDataPartitionSummaryEntity, StorageUnitStatusEntity> storageUnitStatusEntityJoin =
+            partitionSummaryEntityRoot.join(BusinessObjectDataPartitionSummaryEntity_.storageUnitStatus);
+        Join<BusinessObjectDataPartitionSummaryEntity, StorageEntity> storageEntityJoin =
+            partitionSummaryEntityRoot.join(BusinessObjectDataPartitionSummaryEntity_.storage);
+        Join<StorageEntity, StoragePlatformEntity> storagePlatformEntityJoin = storageEntityJoin.join(StorageEntity_.storagePlatform);
+
+        // Create the path.
+        Expression<String> partitionValue;
+        SingularAttribute<BusinessObjectDataPartitionSummaryEntity, String> singleValuedAttribute =
+            PARTITION_SUMMARY_PARTITIONS.get(partitionColumnPosition - 1);
+        switch (aggregateFunction)
+        {
+            case GREATEST:
+                partitionValue = builder.greatest(partitionSummaryEntityRoot.get(singleValuedAttribute));
+                break;
+            case LEAST:
+                partitionValue = builder.least(partitionSummaryEntityRoot.get(singleValuedAttribute));
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid aggregate function found: \"" + aggregateFunction + "\".");
+        }
+
+        // Create the standard restrictions (i.e. the standard where clauses).
+        Predicate mainQueryRestriction = getQueryRestrictionOnBusinessObjectFormat(builder, businessObjectFormatEntityJoin, businessObjectFormatEntity,
+            businessObjectFormatKey.getBusinessObjectFormatVersion() != null);
+
+        // Select only the latest business object data version for each set of partition values across all of the selected storages.
+        Subquery<Integer> subQuery = criteria.subquery(Integer.class);
+        Root<BusinessObjectDataPartitionSummaryEntity> subPartitionSummaryEntity = subQuery.from(BusinessObjectDataPartitionSummaryEntity.class);
+        Join<BusinessObjectDataPartitionSummaryEntity, StorageEntity> subStorageEntity =
+            subPartitionSummaryEntity.join(BusinessObjectDataPartitionSummaryEntity_.storage);
+        Join<StorageEntity, StoragePlatformEntity> subStoragePlatformEntity = subStorageEntity.join(StorageEntity_.storagePlatform);
+        Predicate subQueryRestriction = builder.equal(subPartitionSummaryEntity.get(BusinessObjectDataPartitionSummaryEntity_.businessObjectFormatId),
+            partitionSummaryEntityRoot.get(BusinessObjectDataPartitionSummaryEntity_.businessObjectFormatId));
+        subQueryRestriction = builder.and(subQueryRestriction,
+            getQueryRestrictionOnPartitionSummaryPartitionValues(builder, subPartitionSummaryEntity, partitionSummaryEntityRoot));
+        subQueryRestriction = builder.and(subQueryRestriction,
+            getQueryRestrictionOnStorage(builder, subStorageEntity, subStoragePlatformEntity, storageNames, storagePlatformType, excludedStoragePlatformType));
+        subQuery.select(builder.max(subPartitionSummaryEntity.get(BusinessObjectDataPartitionSummaryEntity_.businessObjectDataVersion)))
+            .where(subQueryRestriction);
+        mainQueryRestriction = builder.and(mainQueryRestriction,
+            builder.in(partitionSummaryEntityRoot.get(BusinessObjectDataPartitionSummaryEntity_.businessObjectDataVersion)).value(subQuery));
+
+        // Add an inclusive upper bound partition value restriction if specified.
+        if (upperBoundPartitionValue != null)
+        {
+            mainQueryRestriction =
+                builder.and(mainQueryRestriction, builder.lessThanOrEqualTo(partitionSummaryEntityRoot.get(singleValuedAttribute), upperBoundPartitionValue));
+        }
+
+        // Add an inclusive lower bound partition value restriction if specified.
+        if (lowerBoundPartitionValue != null)
+        {
+            mainQueryRestriction = builder
+                .and(mainQueryRestriction, builder.greaterThanOrEqualTo(partitionSummaryEntityRoot.get(singleValuedAttribute), lowerBoundPartitionValue));
+        }
+
+        // If specified, add restriction on storage.
+        mainQueryRestriction = builder.and(mainQueryRestriction,
+            getQueryRestrictionOnStorage(builder, storageEntityJoin, storagePlatformEntityJoin, storageNames, storagePlatformType,
+                excludedStoragePlatformType));
+
+        // Search across only "available" storage units.
+        mainQueryRestriction = builder.and(mainQueryRestriction, builder.isTrue(storageUnitStatusEntityJoin.get(StorageUnitStatusEntity_.available)));
+
+        criteria.select(partitionValue).where(mainQueryRestriction);
+
+        return entityManager.createQuery(criteria).getSingleResult();
+    }
+
+    /**
+     * Builds a query restriction predicate for the business object format as per the specified resolved business object format. Business object definition
+     * and file type are compared by identity, so no upper() function is needed for them.
+     *
+     * @param builder the criteria builder
+     * @param businessObjectFormatEntity the business object format entity that appears in the from clause
+     * @param resolvedBusinessObjectFormatEntity the business object format entity resolved from the business object format key
+     * @param restrictOnBusinessObjectFormatVersion specifies whether to restrict on the business object format version
+     *
+     * @return the query restriction predicate
+     */
+    private Predicate getQueryRestrictionOnBusinessObjectFormat(CriteriaBuilder builder,
+        From<?, BusinessObjectFormatEntity> businessObjectFormatEntity, BusinessObjectFormatEntity resolvedBusinessObjectFormatEntity,
+        boolean restrictOnBusinessObjectFormatVersion)
+    {
+        // If a business object format version was specified, the resolved business object format is the only one to select.
+        if (restrictOnBusinessObjectFormatVersion)
+        {
+            return builder.equal(businessObjectFormatEntity.get(BusinessObjectFormatEntity_.id), resolvedBusinessObjectFormatEntity.getId());
+        }
+
+        Predicate predicate = builder.equal(businessObjectFormatEntity.get(BusinessObjectFormatEntity_.businessObjectDefinition),
+            resolvedBusinessObjectFormatEntity.getBusinessObjectDefinition());
+        predicate = builder.and(predicate, builder.equal(builder.upper(businessObjectFormatEntity.get(BusinessObjectFormatEntity_.usage)),
+            resolvedBusinessObjectFormatEntity.getUsage().toUpperCase()));
+        predicate = builder.and(predicate,
+            builder.equal(businessObjectFormatEntity.get(BusinessObjectFormatEntity_.fileType), resolvedBusinessObjectFormatEntity.getFileType()));
+
+        return predicate;
+    }
+
+    /**
+     * Builds a query restriction predicate for the sub-query partition summary entity as per partition values from the specified main query partition summary
+     * entity.
+     *
+     * @param builder the criteria builder
+     * @param subPartitionSummaryEntity the sub-query partition summary entity that appears in the from clause
+     * @param mainPartitionSummaryEntity the main query partition summary entity that appears in the from clause
+     *
+     * @return the query restriction predicate
+     */
+    private Predicate getQueryRestrictionOnPartitionSummaryPartitionValues(CriteriaBuilder builder,
+        From<?, BusinessObjectDataPartitionSummaryEntity> subPartitionSummaryEntity,
+        From<?, BusinessObjectDataPartitionSummaryEntity> mainPartitionSummaryEntity)
+    {
+        // Create a standard restriction on primary partition value.
+        Predicate predicate = builder.equal(subPartitionSummaryEntity.get(BusinessObjectDataPartitionSummaryEntity_.partitionValue),
+            mainPartitionSummaryEntity.get(BusinessObjectDataPartitionSummaryEntity_.partitionValue));
+
+        // Create and add standard restrictions on sub-partition values. Please note that the subpartition value columns are nullable.
+        for (SingularAttribute<BusinessObjectDataPartitionSummaryEntity, String> partitionValueSingularAttribute : PARTITION_SUMMARY_PARTITIONS
+            .subList(1, 1 + BusinessObjectDataEntity.MAX_SUBPARTITIONS))
+        {
+            predicate = builder.and(predicate, builder.or(builder
+                .and(builder.isNull(subPartitionSummaryEntity.get(partitionValueSingularAttribute)),
+                    builder.isNull(mainPartitionSummaryEntity.get(partitionValueSingularAttribute))), builder
+                .equal(subPartitionSummaryEntity.get(partitionValueSingularAttribute), mainPartitionSummaryEntity.get(partitionValueSingularAttribute))));
+        }
+
+        return predicate;
+    }
+}
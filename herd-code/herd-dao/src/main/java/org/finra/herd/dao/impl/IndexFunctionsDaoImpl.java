@@ -21,7 +21,9 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import io.searchbox.action.Action;
 import io.searchbox.action.BulkableAction;
@@ -105,8 +107,81 @@ public class IndexFunctionsDaoImpl extends AbstractHerdDao implements IndexFunct
         // Retrieve the JSON string from the get response
         final String jsonStringFromIndex = jestResult.getSourceAsString();
 
-        // Return true if the json from the index is not null or empty and the json from the index matches the object from the database
-        return StringUtils.isNotEmpty(jsonStringFromIndex) && jsonStringFromIndex.equals(json);
+        // Return true if the json from the index is not null or empty and the json from the index holds all of the fields of the object from the database
+        return StringUtils.isNotEmpty(jsonStringFromIndex) && isDocumentCoveredByIndexDocument(json, jsonStringFromIndex);
+    }
+
+    /**
+     * Checks if the document from the index holds the same values as the document from the database. The documents are compared as parsed JSON, so the field
+     * order and the formatting do not matter. The document from the index may hold additional fields, which allows the documents written before the search
+     * index document became a projection of the database object to pass the spot checks until they get reindexed.
+     *
+     * @param json the JSON string of the document from the database
+     * @param jsonFromIndex the JSON string of the document from the index
+     *
+     * @return true if the document from the index holds all of the fields of the document from the database
+     */
+    private boolean isDocumentCoveredByIndexDocument(String json, String jsonFromIndex)
+    {
+        JsonParser jsonParser = new JsonParser();
+        try
+        {
+            return isJsonElementCovered(jsonParser.parse(json), jsonParser.parse(jsonFromIndex));
+        }
+        catch (JsonParseException e)
+        {
+            LOGGER.warn("Unable to parse the document JSON, comparing the documents as strings.", e);
+            return json.equals(jsonFromIndex);
+        }
+    }
+
+    /**
+     * Checks if the JSON element from the index holds all of the values of the expected JSON element. Objects may hold additional fields, a missing field
+     * matches an expected null value, and arrays must hold the same number of elements in the same order.
+     *
+     * @param expected the expected JSON element
+     * @param actual the JSON element from the index
+     *
+     * @return true if the JSON element from the index holds all of the values of the expected JSON element
+     */
+    private boolean isJsonElementCovered(JsonElement expected, JsonElement actual)
+    {
+        if (expected.isJsonObject())
+        {
+            if (!actual.isJsonObject())
+            {
+                return false;
+            }
+            JsonObject actualObject = actual.getAsJsonObject();
+            for (Map.Entry<String, JsonElement> entry : expected.getAsJsonObject().entrySet())
+            {
+                JsonElement actualValue = actualObject.has(entry.getKey()) ? actualObject.get(entry.getKey()) : JsonNull.INSTANCE;
+                if (!isJsonElementCovered(entry.getValue(), actualValue))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+        else if (expected.isJsonArray())
+        {
+            if (!actual.isJsonArray() || expected.getAsJsonArray().size() != actual.getAsJsonArray().size())
+            {
+                return false;
+            }
+            for (int i = 0; i < expected.getAsJsonArray().size(); i++)
+            {
+                if (!isJsonElementCovered(expected.getAsJsonArray().get(i), actual.getAsJsonArray().get(i)))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+        else
+        {
+            return expected.equals(actual);
+        }
     }
 
     @Override
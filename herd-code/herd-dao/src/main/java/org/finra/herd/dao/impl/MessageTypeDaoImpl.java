@@ -46,6 +46,6 @@ public class MessageTypeDaoImpl extends AbstractHerdDao implements MessageTypeDa
         criteria.select(messageTypeEntityRoot).where(predicate);
 
         // Execute the query and return the result.
-        return executeSingleResultQuery(criteria, String.format("Found more than one message type with code \"%s\".", code));
+        return executeCacheableSingleResultQuery(criteria, String.format("Found more than one message type with code \"%s\".", code));
     }
 }
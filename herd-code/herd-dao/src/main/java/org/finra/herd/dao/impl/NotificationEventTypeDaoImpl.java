@@ -44,6 +44,6 @@ public class NotificationEventTypeDaoImpl extends AbstractHerdDao implements Not
 
         criteria.select(notificationEventTypeEntity).where(queryRestriction);
 
-        return executeSingleResultQuery(criteria, String.format("Found more than one notification event type with code \"%s\".", code));
+        return executeCacheableSingleResultQuery(criteria, String.format("Found more than one notification event type with code \"%s\".", code));
     }
 }
@@ -17,17 +17,48 @@ package org.finra.herd.dao.impl;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import javax.annotation.PreDestroy;
+
 import com.amazonaws.AmazonClientException;
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.ClientConfiguration;
@@ -38,7 +69,6 @@ import com.amazonaws.auth.AWSCredentialsProviderChain;
 import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.auth.BasicSessionCredentials;
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
-import com.amazonaws.internal.StaticCredentialsProvider;
 import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.Headers;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
@@ -79,10 +109,18 @@ import com.amazonaws.services.s3.transfer.ObjectMetadataProvider;
 import com.amazonaws.services.s3.transfer.Transfer;
 import com.amazonaws.services.s3.transfer.Transfer.TransferState;
 import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerConfiguration;
 import com.amazonaws.services.s3.transfer.TransferProgress;
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.commons.lang3.time.StopWatch;
 import org.apache.http.HttpStatus;
 import org.slf4j.Logger;
@@ -92,6 +130,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
 import org.finra.herd.core.HerdDateUtils;
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.RetryPolicyFactory;
 import org.finra.herd.dao.S3Dao;
 import org.finra.herd.dao.S3Operations;
@@ -99,7 +138,9 @@ import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.JavaPropertiesHelper;
 import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.api.xml.AwsCredential;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.HerdAWSCredentialsProvider;
+import org.finra.herd.model.dto.S3ClientRegistryStatisticsDto;
 import org.finra.herd.model.dto.S3FileCopyRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.dto.S3FileTransferResultsDto;
@@ -116,11 +157,50 @@ public class S3DaoImpl implements S3Dao
 
     private static final Logger LOGGER = LoggerFactory.getLogger(S3DaoImpl.class);
 
+    private static final int DEFAULT_HEAD_REQUEST_THREADS = 10;
+
+    private static final int DEFAULT_TRANSFER_MANAGER_THREADS = 10;
+
     private static final int MAX_KEYS_PER_DELETE_REQUEST = 1000;
 
+    private static final int MAX_POOLED_S3_CLIENTS = 50;
+
+    /**
+     * The maximum number of S3 keys still not found after a listing page that get probed with HEAD requests instead of listing the rest of the S3 key prefix.
+     */
+    private static final int MAX_S3_KEYS_PROBED_WITH_HEAD_REQUESTS = 100;
+
+    /**
+     * The maximum rate of the per-object S3 requests, which matches the S3 request rate supported per key prefix.
+     */
+    private static final double MAX_REQUESTS_PER_SECOND = 3500;
+
+    /**
+     * The largest multipart upload part size picked to spread a file over the transfer threads. Larger parts only get used when needed to keep a file within
+     * the maximum number of parts allowed by S3.
+     */
+    private static final long MAX_ADAPTIVE_MULTIPART_UPLOAD_PART_SIZE = 64L * 1024 * 1024;
+
+    private static final int MAX_SLOW_DOWN_RETRY_ATTEMPTS = 5;
+
+    /**
+     * The smallest multipart upload part size picked to spread a file over the transfer threads.
+     */
+    private static final long MIN_ADAPTIVE_MULTIPART_UPLOAD_PART_SIZE = 8L * 1024 * 1024;
+
+    /**
+     * The minimum multipart upload part size allowed by S3 for all the parts except the last one.
+     */
+    private static final long MIN_MULTIPART_UPLOAD_PART_SIZE = 5L * 1024 * 1024;
+
+    private static final double MIN_REQUESTS_PER_SECOND = 10;
+
     @Autowired
     private AwsHelper awsHelper;
 
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     @Autowired
     private JavaPropertiesHelper javaPropertiesHelper;
 
@@ -130,8 +210,32 @@ public class S3DaoImpl implements S3Dao
     @Autowired
     private S3Operations s3Operations;
 
+    /**
+     * The leased S3 clients, including the ones already evicted from the client registry, keyed by the Amazon S3 client instance. Guarded by the client
+     * registry.
+     */
+    private final Map<AmazonS3Client, PooledS3Client> leasedS3Clients = new IdentityHashMap<>();
+
+    private long s3ClientCreatedCount;
+
+    private long s3ClientEvictedCount;
+
+    /**
+     * The registry of the reusable S3 clients kept in the least recently used access order.
+     */
+    private final Map<S3ClientKey, PooledS3Client> s3ClientRegistry = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long s3ClientReusedCount;
+
     private long sleepIntervalsMillis = DEFAULT_SLEEP_INTERVAL_MILLIS;
 
+    /**
+     * The process-wide pool of transfer threads. Every transfer manager runs its tasks on this pool, limited to its own thread count by a transfer quota
+     * executor, so the number of transfer threads stays bounded no matter how many transfers run at the same time. Idle threads time out, so the pool shrinks
+     * when there are no transfers. The pool gets created along with the first transfer manager. Guarded by the client registry.
+     */
+    private ThreadPoolExecutor transferThreadPool;
+
     @Override
     public int abortMultipartUploads(S3FileTransferRequestParamsDto params, Date thresholdDate)
     {
@@ -187,8 +291,8 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the Amazon S3 client instance to release resources.
-            s3Client.shutdown();
+            // Release the Amazon S3 client back to the client registry.
+            releaseAmazonS3(s3Client);
         }
 
         return abortedMultipartUploadsCount;
@@ -267,8 +371,8 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the AmazonS3Client instance to release resources.
-            s3Client.shutdown();
+            // Release the Amazon S3 client back to the client registry.
+            releaseAmazonS3(s3Client);
         }
     }
 
@@ -306,7 +410,7 @@ public class S3DaoImpl implements S3Dao
                 }
                 finally
                 {
-                    s3Client.shutdown();
+                    releaseAmazonS3(s3Client);
                 }
             }
         }
@@ -345,7 +449,7 @@ public class S3DaoImpl implements S3Dao
                 }
                 finally
                 {
-                    s3Client.shutdown();
+                    releaseAmazonS3(s3Client);
                 }
             }
         }
@@ -411,6 +515,122 @@ public class S3DaoImpl implements S3Dao
         return results;
     }
 
+    @Override
+    public S3FileTransferResultsDto resumeDownloadFile(final S3FileTransferRequestParamsDto params, String s3Key, File localFile, String eTag)
+        throws InterruptedException
+    {
+        AmazonS3Client s3Client = getAmazonS3(params);
+
+        try
+        {
+            StopWatch stopWatch = new StopWatch();
+            stopWatch.start();
+
+            // The local file was downloaded from the version of the S3 file with the specified ETag, so it can't be resumed once the S3 file got replaced.
+            ObjectMetadata objectMetadata = s3Operations.getObjectMetadata(params.getS3BucketName(), s3Key, s3Client);
+            if (!objectMetadata.getETag().equals(eTag))
+            {
+                throw getS3FileModifiedException(s3Key, localFile, eTag, objectMetadata.getETag());
+            }
+            long fileSizeBytes = objectMetadata.getContentLength();
+
+            // A local file that is larger than the S3 file can't be the beginning of it, so it gets downloaded again from the start.
+            long offset = localFile.isFile() ? localFile.length() : 0;
+            if (offset > fileSizeBytes)
+            {
+                Files.delete(localFile.toPath());
+                offset = 0;
+            }
+
+            LOGGER.info("Downloading S3 file... s3Key=\"{}\" s3BucketName=\"{}\" localPath=\"{}\" offset={} fileSizeBytes={}", s3Key,
+                params.getS3BucketName(), localFile.getPath(), offset, fileSizeBytes);
+
+            // The bytes downloaded by an earlier attempt only get read back from the local file system to bring the digest up to date.
+            MessageDigest messageDigest = DigestUtils.getMd5Digest();
+            if (offset > 0)
+            {
+                try (InputStream inputStream = new FileInputStream(localFile))
+                {
+                    DigestUtils.updateDigest(messageDigest, inputStream);
+                }
+            }
+
+            long bytesTransferred = 0;
+            if (offset < fileSizeBytes)
+            {
+                // The ETag constraint makes sure that the remaining bytes come from the same version of the S3 file as the ones already downloaded.
+                GetObjectRequest getObjectRequest =
+                    new GetObjectRequest(params.getS3BucketName(), s3Key).withRange(offset, fileSizeBytes - 1).withMatchingETagConstraint(eTag);
+                S3Object s3Object = s3Operations.getS3Object(getObjectRequest, s3Client);
+                if (s3Object == null)
+                {
+                    throw getS3FileModifiedException(s3Key, localFile, eTag, null);
+                }
+
+                try (InputStream inputStream = new DigestInputStream(s3Object.getObjectContent(), messageDigest);
+                    OutputStream outputStream = new FileOutputStream(localFile, true))
+                {
+                    bytesTransferred = IOUtils.copyLarge(inputStream, outputStream);
+                }
+            }
+            else if (!localFile.isFile())
+            {
+                // An empty S3 file still needs its local counterpart.
+                Files.createFile(localFile.toPath());
+            }
+
+            if (Thread.interrupted())
+            {
+                throw new InterruptedException(String.format("Download of \"%s\" S3 file was interrupted.", s3Key));
+            }
+
+            if (localFile.length() != fileSizeBytes)
+            {
+                throw new IllegalStateException(String
+                    .format("Size of the downloaded \"%s\" S3 file does not match the expected value (expected %d bytes, actual %d bytes).",
+                        localFile.getPath(), fileSizeBytes, localFile.length()));
+            }
+
+            // The ETag is only the MD5 digest of the content for the files that were neither uploaded in parts nor encrypted with a KMS key.
+            String md5Hex = Hex.encodeHexString(messageDigest.digest());
+            if (eTag != null && !eTag.contains("-") && !SSEAlgorithm.KMS.getAlgorithm().equals(objectMetadata.getSSEAlgorithm()) &&
+                !eTag.equalsIgnoreCase(md5Hex))
+            {
+                // The local file can't be resumed from, so it is removed for the next attempt to start over.
+                Files.delete(localFile.toPath());
+
+                throw new IllegalStateException(String
+                    .format("MD5 digest of the downloaded \"%s\" S3 file does not match the expected value (expected \"%s\", actual \"%s\").",
+                        localFile.getPath(), eTag, md5Hex));
+            }
+
+            stopWatch.stop();
+
+            S3FileTransferResultsDto results = new S3FileTransferResultsDto();
+            results.setDurationMillis(stopWatch.getTime());
+            results.setTotalBytesTransferred(bytesTransferred);
+            results.setTotalFilesTransferred(1L);
+
+            LOGGER.info("Downloaded S3 file to the local system. s3Key=\"{}\" s3BucketName=\"{}\" localPath=\"{}\" totalBytesTransferred={} " +
+                "transferDuration=\"{}\"", s3Key, params.getS3BucketName(), localFile.getPath(), results.getTotalBytesTransferred(),
+                HerdDateUtils.formatDuration(results.getDurationMillis()));
+
+            logOverallTransferRate(results);
+
+            return results;
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(
+                String.format("Failed to download \"%s\" S3 file to \"%s\" local file. Reason: %s", s3Key, localFile.getPath(),
+                    e.getMessage()), e);
+        }
+        finally
+        {
+            releaseAmazonS3(s3Client);
+        }
+    }
+
     @Override
     public String generateGetObjectPresignedUrl(String bucketName, String key, Date expiration, S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto)
     {
@@ -423,7 +643,7 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            s3.shutdown();
+            releaseAmazonS3(s3);
         }
     }
 
@@ -449,9 +669,111 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the AmazonS3Client instance to release resources.
-            s3Client.shutdown();
+            // Release the Amazon S3 client back to the client registry.
+            releaseAmazonS3(s3Client);
+        }
+    }
+
+    @Override
+    public List<S3ObjectSummary> getObjectSummaries(final S3FileTransferRequestParamsDto params, boolean ignoreZeroByteDirectoryMarkers)
+    {
+        Assert.isTrue(!isRootKeyPrefix(params.getS3KeyPrefix()), "Listing of S3 objects from root directory is not allowed.");
+
+        // Get the S3 keys to look up. The S3 keys that do not match the S3 key prefix are never reported as found, same as when listing the S3 key prefix.
+        List<String> s3Keys = params.getFiles().stream().map(file -> file.getPath().replaceAll("\\\\", "/")).distinct()
+            .filter(s3Key -> s3Key.startsWith(params.getS3KeyPrefix())).collect(Collectors.toList());
+
+        if (s3Keys.isEmpty())
+        {
+            return new ArrayList<>();
+        }
+
+        // Keep only the S3 objects for the requested S3 keys.
+        Set<String> s3KeySet = new HashSet<>(s3Keys);
+        Map<String, S3ObjectSummary> s3ObjectSummaries = new ConcurrentHashMap<>();
+
+        AmazonS3Client s3Client = getAmazonS3(params);
+
+        try
+        {
+            // Start by listing the S3 key prefix, since a single listing page covers all S3 keys of a small S3 key prefix.
+            ListObjectsRequest listObjectsRequest = new ListObjectsRequest().withBucketName(params.getS3BucketName()).withPrefix(params.getS3KeyPrefix());
+            ObjectListing objectListing;
+            List<String> notFoundS3Keys = s3Keys;
+
+            do
+            {
+                objectListing = s3Operations.listObjects(listObjectsRequest, s3Client);
+
+                for (S3ObjectSummary objectSummary : objectListing.getObjectSummaries())
+                {
+                    if (s3KeySet.contains(objectSummary.getKey()))
+                    {
+                        s3ObjectSummaries.put(objectSummary.getKey(), objectSummary);
+                    }
+                }
+
+                listObjectsRequest.setMarker(objectListing.getNextMarker());
+
+                notFoundS3Keys = notFoundS3Keys.stream().filter(s3Key -> !s3ObjectSummaries.containsKey(s3Key)).collect(Collectors.toList());
+            }
+            while (objectListing.isTruncated() && notFoundS3Keys.size() > MAX_S3_KEYS_PROBED_WITH_HEAD_REQUESTS);
+
+            // When the S3 key prefix is too large to be listed with a single page, probe the rest of the S3 keys with metadata-only HEAD requests,
+            // unless it is cheaper to keep listing the S3 key prefix.
+            if (objectListing.isTruncated() && !notFoundS3Keys.isEmpty())
+            {
+                LOGGER.info("Probing S3 keys with HEAD requests instead of listing the S3 key prefix. s3BucketName=\"{}\" s3KeyPrefix=\"{}\" s3KeyCount={}",
+                    params.getS3BucketName(), params.getS3KeyPrefix(), notFoundS3Keys.size());
+
+                processInParallel(notFoundS3Keys, params.getMaxThreads() != null ? params.getMaxThreads() : DEFAULT_HEAD_REQUEST_THREADS,
+                    params.getS3BucketName(), s3Key -> {
+                        ObjectMetadata objectMetadata = getS3ObjectMetadata(s3Client, params.getS3BucketName(), s3Key);
+
+                        if (objectMetadata != null)
+                        {
+                            S3ObjectSummary s3ObjectSummary = new S3ObjectSummary();
+                            s3ObjectSummary.setBucketName(params.getS3BucketName());
+                            s3ObjectSummary.setKey(s3Key);
+                            s3ObjectSummary.setSize(objectMetadata.getContentLength());
+                            s3ObjectSummary.setETag(objectMetadata.getETag());
+                            s3ObjectSummary.setLastModified(objectMetadata.getLastModified());
+                            s3ObjectSummary.setStorageClass(objectMetadata.getStorageClass());
+                            s3ObjectSummaries.put(s3Key, s3ObjectSummary);
+                        }
+                    });
+            }
+        }
+        catch (AmazonS3Exception amazonS3Exception)
+        {
+            if (S3Operations.ERROR_CODE_NO_SUCH_BUCKET.equals(amazonS3Exception.getErrorCode()))
+            {
+                throw new IllegalArgumentException("The specified bucket '" + params.getS3BucketName() + "' does not exist.", amazonS3Exception);
+            }
+            throw new IllegalStateException("Error accessing S3", amazonS3Exception);
+        }
+        catch (S3ItemProcessingException e)
+        {
+            throw new IllegalStateException(String
+                .format("Failed to get S3 metadata for object key \"%s\" from bucket \"%s\". Reason: %s", e.<String>getItem(), params.getS3BucketName(),
+                    e.getCause().getMessage()), e.getCause());
+        }
+        catch (AmazonClientException e)
+        {
+            throw new IllegalStateException(String
+                .format("Failed to list keys with prefix \"%s\" from bucket \"%s\". Reason: %s", params.getS3KeyPrefix(), params.getS3BucketName(),
+                    e.getMessage()), e);
+        }
+        finally
+        {
+            // Release the Amazon S3 client back to the client registry.
+            releaseAmazonS3(s3Client);
         }
+
+        // Return the found S3 objects in the order of the S3 keys, ignoring 0 byte objects that represent S3 directories if requested.
+        return s3Keys.stream().map(s3ObjectSummaries::get).filter(Objects::nonNull).filter(
+            s3ObjectSummary -> !(ignoreZeroByteDirectoryMarkers && s3ObjectSummary.getKey().endsWith("/") && s3ObjectSummary.getSize() == 0L))
+            .collect(Collectors.toList());
     }
 
     @Override
@@ -462,7 +784,16 @@ public class S3DaoImpl implements S3Dao
         try
         {
             S3Object s3Object = getS3Object(s3Client, bucketName, key, true);
-            return javaPropertiesHelper.getProperties(s3Object.getObjectContent());
+
+            try
+            {
+                return javaPropertiesHelper.getProperties(s3Object.getObjectContent());
+            }
+            finally
+            {
+                // Close the S3 object to return its HTTP connection back to the pool of the reused S3 client.
+                IOUtils.closeQuietly(s3Object);
+            }
         }
         catch (IllegalArgumentException e)
         {
@@ -470,7 +801,35 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            s3Client.shutdown();
+            releaseAmazonS3(s3Client);
+        }
+    }
+
+    @Override
+    public S3ClientRegistryStatisticsDto getS3ClientRegistryStatistics()
+    {
+        synchronized (s3ClientRegistry)
+        {
+            int activeLeaseCount = 0;
+            int transferQuotaCount = 0;
+
+            for (PooledS3Client pooledS3Client : leasedS3Clients.values())
+            {
+                activeLeaseCount += pooledS3Client.leaseCount;
+                transferQuotaCount += pooledS3Client.transferQuotaExecutors.size();
+            }
+
+            S3ClientRegistryStatisticsDto s3ClientRegistryStatisticsDto = new S3ClientRegistryStatisticsDto();
+            s3ClientRegistryStatisticsDto.setPooledClientCount(s3ClientRegistry.size());
+            s3ClientRegistryStatisticsDto.setActiveLeaseCount(activeLeaseCount);
+            s3ClientRegistryStatisticsDto.setTransferQuotaCount(transferQuotaCount);
+            s3ClientRegistryStatisticsDto.setCreatedClientCount(s3ClientCreatedCount);
+            s3ClientRegistryStatisticsDto.setReusedClientCount(s3ClientReusedCount);
+            s3ClientRegistryStatisticsDto.setEvictedClientCount(s3ClientEvictedCount);
+            s3ClientRegistryStatisticsDto.setTransferThreadCount(transferThreadPool != null ? transferThreadPool.getPoolSize() : 0);
+            s3ClientRegistryStatisticsDto.setLargestTransferThreadCount(transferThreadPool != null ? transferThreadPool.getLargestPoolSize() : 0);
+
+            return s3ClientRegistryStatisticsDto;
         }
     }
 
@@ -527,8 +886,8 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the AmazonS3Client instance to release resources.
-            s3Client.shutdown();
+            // Release the Amazon S3 client back to the client registry.
+            releaseAmazonS3(s3Client);
         }
 
         return s3ObjectSummaries;
@@ -572,8 +931,8 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the AmazonS3Client instance to release resources.
-            s3Client.shutdown();
+            // Release the Amazon S3 client back to the client registry.
+            releaseAmazonS3(s3Client);
         }
 
         return s3VersionSummaries;
@@ -582,44 +941,37 @@ public class S3DaoImpl implements S3Dao
     @Override
     public void restoreObjects(final S3FileTransferRequestParamsDto params, int expirationInDays, String archiveRetrievalOption)
     {
-        LOGGER.info("Restoring a list of objects in S3... s3KeyPrefix=\"{}\" s3BucketName=\"{}\" s3KeyCount={}", params.getS3KeyPrefix(),
-            params.getS3BucketName(), params.getFiles().size());
+        LOGGER.info("Restoring a list of objects in S3... s3KeyPrefix=\"{}\" s3BucketName=\"{}\" s3KeyCount={} maxThreads={}", params.getS3KeyPrefix(),
+            params.getS3BucketName(), params.getFiles().size(), params.getMaxThreads());
 
         if (!CollectionUtils.isEmpty(params.getFiles()))
         {
             // Initialize a key value pair for the error message in the catch block.
             String key = params.getFiles().get(0).getPath().replaceAll("\\\\", "/");
 
+            // Make Bulk the default archive retrieval option if the option is not provided
+            final String tier = StringUtils.isNotEmpty(archiveRetrievalOption) ? archiveRetrievalOption : Tier.Bulk.toString();
+
             try
             {
-                // Create an S3 client.
-                AmazonS3Client s3Client = getAmazonS3(params);
-
-                // Create a restore object request.
-                RestoreObjectRequest requestRestore = new RestoreObjectRequest(params.getS3BucketName(), null, expirationInDays);
-                // Make Bulk the default archive retrieval option if the option is not provided
-                requestRestore.setGlacierJobParameters(new GlacierJobParameters().withTier(
-                    StringUtils.isNotEmpty(archiveRetrievalOption) ? archiveRetrievalOption : Tier.Bulk.toString()));
+                processS3Keys(params, (s3Client, s3Key) -> {
+                    ObjectMetadata objectMetadata = s3Operations.getObjectMetadata(params.getS3BucketName(), s3Key, s3Client);
 
-                try
-                {
-                    for (File file : params.getFiles())
+                    // Request a restore for objects that are not already being restored. Since objects with a restore already in progress get skipped, a
+                    // partially initiated restore resumes from where it stopped when it gets initiated again.
+                    if (BooleanUtils.isNotTrue(objectMetadata.getOngoingRestore()))
                     {
-                        key = file.getPath().replaceAll("\\\\", "/");
-                        ObjectMetadata objectMetadata = s3Operations.getObjectMetadata(params.getS3BucketName(), key, s3Client);
-
-                        // Request a restore for objects that are not already being restored.
-                        if (BooleanUtils.isNotTrue(objectMetadata.getOngoingRestore()))
-                        {
-                            requestRestore.setKey(key);
-                            s3Operations.restoreObject(requestRestore, s3Client);
-                        }
+                        RestoreObjectRequest requestRestore = new RestoreObjectRequest(params.getS3BucketName(), s3Key, expirationInDays);
+                        requestRestore.setGlacierJobParameters(new GlacierJobParameters().withTier(tier));
+                        s3Operations.restoreObject(requestRestore, s3Client);
                     }
-                }
-                finally
-                {
-                    s3Client.shutdown();
-                }
+                });
+            }
+            catch (S3ItemProcessingException e)
+            {
+                throw new IllegalStateException(String
+                    .format("Failed to initiate a restore request for \"%s\" key in \"%s\" bucket. Reason: %s", e.<String>getItem(), params.getS3BucketName(),
+                        e.getCause().getMessage()), e.getCause());
             }
             catch (Exception e)
             {
@@ -637,12 +989,12 @@ public class S3DaoImpl implements S3Dao
 
         try
         {
-            S3Object s3Object = getS3Object(s3Client, params.getS3BucketName(), params.getS3KeyPrefix(), false);
-            return (s3Object != null);
+            // Use a metadata-only HEAD request, so no object data gets transferred.
+            return getS3ObjectMetadata(s3Client, params.getS3BucketName(), params.getS3KeyPrefix()) != null;
         }
         finally
         {
-            s3Client.shutdown();
+            releaseAmazonS3(s3Client);
         }
     }
 
@@ -729,8 +1081,17 @@ public class S3DaoImpl implements S3Dao
         LOGGER.info("Uploading local directory to S3... localDirectory=\"{}\" s3KeyPrefix=\"{}\" s3BucketName=\"{}\"", params.getLocalPath(),
             params.getS3KeyPrefix(), params.getS3BucketName());
 
+        // Get the size of the largest file in the local directory to pick the multipart upload part size.
+        File localDirectory = new File(params.getLocalPath());
+        Long largestFileSizeBytes = null;
+        if (localDirectory.isDirectory())
+        {
+            largestFileSizeBytes = FileUtils.listFiles(localDirectory, TrueFileFilter.INSTANCE, params.isRecursive() ? TrueFileFilter.INSTANCE : null).stream()
+                .mapToLong(File::length).max().orElse(0);
+        }
+
         // Perform the transfer.
-        S3FileTransferResultsDto results = performTransfer(params, new Transferer()
+        S3FileTransferResultsDto results = performTransfer(params, largestFileSizeBytes, new Transferer()
         {
             @Override
             public Transfer performTransfer(TransferManager transferManager)
@@ -764,7 +1125,7 @@ public class S3DaoImpl implements S3Dao
             params.getS3BucketName());
 
         // Perform the transfer.
-        S3FileTransferResultsDto results = performTransfer(params, new Transferer()
+        S3FileTransferResultsDto results = performTransfer(params, new File(params.getLocalPath()).length(), new Transferer()
         {
             @Override
             public Transfer performTransfer(TransferManager transferManager)
@@ -808,7 +1169,8 @@ public class S3DaoImpl implements S3Dao
         }
 
         // Perform the transfer.
-        S3FileTransferResultsDto results = performTransfer(params, new Transferer()
+        long largestFileSizeBytes = params.getFiles().stream().mapToLong(File::length).max().orElse(0);
+        S3FileTransferResultsDto results = performTransfer(params, largestFileSizeBytes, new Transferer()
         {
             @Override
             public Transfer performTransfer(TransferManager transferManager)
@@ -838,8 +1200,8 @@ public class S3DaoImpl implements S3Dao
     @Override
     public void validateGlacierS3FilesRestored(S3FileTransferRequestParamsDto params) throws RuntimeException
     {
-        LOGGER.info("Checking for already restored Glacier storage class objects... s3KeyPrefix=\"{}\" s3BucketName=\"{}\" s3KeyCount={}",
-            params.getS3KeyPrefix(), params.getS3BucketName(), params.getFiles().size());
+        LOGGER.info("Checking for already restored Glacier storage class objects... s3KeyPrefix=\"{}\" s3BucketName=\"{}\" s3KeyCount={} maxThreads={}",
+            params.getS3KeyPrefix(), params.getS3BucketName(), params.getFiles().size(), params.getMaxThreads());
 
         if (!CollectionUtils.isEmpty(params.getFiles()))
         {
@@ -848,29 +1210,28 @@ public class S3DaoImpl implements S3Dao
 
             try
             {
-                // Create an S3 client.
-                AmazonS3Client s3Client = getAmazonS3(params);
+                processS3Keys(params, (s3Client, s3Key) -> {
+                    ObjectMetadata objectMetadata = s3Operations.getObjectMetadata(params.getS3BucketName(), s3Key, s3Client);
 
-                try
-                {
-                    for (File file : params.getFiles())
+                    // Fail if a not already restored object is detected.
+                    if (BooleanUtils.isNotFalse(objectMetadata.getOngoingRestore()))
                     {
-                        key = file.getPath().replaceAll("\\\\", "/");
-                        ObjectMetadata objectMetadata = s3Operations.getObjectMetadata(params.getS3BucketName(), key, s3Client);
-
-                        // Fail if a not already restored object is detected.
-                        if (BooleanUtils.isNotFalse(objectMetadata.getOngoingRestore()))
-                        {
-                            throw new IllegalArgumentException(String
-                                .format("Archived Glacier S3 file \"%s\" is not restored. StorageClass {%s}, OngoingRestore flag {%s}, S3 bucket name {%s}",
-                                    key, objectMetadata.getStorageClass(), objectMetadata.getOngoingRestore(), params.getS3BucketName()));
-                        }
+                        throw new IllegalArgumentException(String
+                            .format("Archived Glacier S3 file \"%s\" is not restored. StorageClass {%s}, OngoingRestore flag {%s}, S3 bucket name {%s}",
+                                s3Key, objectMetadata.getStorageClass(), objectMetadata.getOngoingRestore(), params.getS3BucketName()));
                     }
-                }
-                finally
+                });
+            }
+            catch (S3ItemProcessingException e)
+            {
+                if (e.getCause() instanceof AmazonServiceException)
                 {
-                    s3Client.shutdown();
+                    throw new IllegalStateException(String
+                        .format("Fail to check restore status for \"%s\" key in \"%s\" bucket. Reason: %s", e.<String>getItem(), params.getS3BucketName(),
+                            e.getCause().getMessage()), e.getCause());
                 }
+
+                throw e.getCause();
             }
             catch (AmazonServiceException e)
             {
@@ -947,21 +1308,22 @@ public class S3DaoImpl implements S3Dao
     }
 
     /**
-     * <p> Gets the {@link AWSCredentialsProvider} based on the credentials in the given parameters. </p> <p> Returns {@link DefaultAWSCredentialsProviderChain}
-     * if either access or secret key is {@code null}. Otherwise returns a {@link StaticCredentialsProvider} with the credentials. </p>
+     * <p> Gets the {@link AWSCredentialsProvider} based on the credentials in the given parameters. </p> <p> The chain starts with the specified refreshable
+     * credentials provider that holds the access and secret keys, if any, followed by the additional credentials providers and the {@link
+     * DefaultAWSCredentialsProviderChain}. </p>
      *
      * @param params - Access parameters
+     * @param refreshableCredentialsProvider the provider of the access and secret keys in the given parameters, maybe null
      *
      * @return AWS credentials provider implementation
      */
-    private AWSCredentialsProvider getAWSCredentialsProvider(S3FileTransferRequestParamsDto params)
+    private AWSCredentialsProvider getAWSCredentialsProvider(S3FileTransferRequestParamsDto params,
+        RefreshableCredentialsProvider refreshableCredentialsProvider)
     {
         List<AWSCredentialsProvider> providers = new ArrayList<>();
-        String accessKey = params.getAwsAccessKeyId();
-        String secretKey = params.getAwsSecretKey();
-        if (accessKey != null && secretKey != null)
+        if (refreshableCredentialsProvider != null)
         {
-            providers.add(new StaticCredentialsProvider(new BasicAWSCredentials(accessKey, secretKey)));
+            providers.add(refreshableCredentialsProvider);
         }
         for (HerdAWSCredentialsProvider herdAWSCredentialsProvider : params.getAdditionalAwsCredentialsProviders())
         {
@@ -972,16 +1334,67 @@ public class S3DaoImpl implements S3Dao
     }
 
     /**
-     * Gets a new S3 client based on the specified parameters. The HTTP proxy information will be added if the host and port are specified in the parameters.
+     * Gets an S3 client based on the specified parameters. The client is leased from the client registry, so a client previously created for the same
+     * credential source, endpoint, HTTP proxy and socket timeout gets reused together with its HTTP connection pool. The credentials in the parameters replace
+     * the ones of a reused client. The leased client must be returned to the registry by calling {@link #releaseAmazonS3(AmazonS3Client)} once the caller is
+     * done with it.
      *
      * @param params the parameters.
      *
      * @return the Amazon S3 client.
      */
     private AmazonS3Client getAmazonS3(S3FileTransferRequestParamsDto params)
+    {
+        S3ClientKey s3ClientKey = new S3ClientKey(params);
+
+        synchronized (s3ClientRegistry)
+        {
+            PooledS3Client pooledS3Client = s3ClientRegistry.get(s3ClientKey);
+
+            if (pooledS3Client == null)
+            {
+                // Create a new S3 client and register it.
+                pooledS3Client = createPooledS3Client(params);
+                s3ClientRegistry.put(s3ClientKey, pooledS3Client);
+                leasedS3Clients.put(pooledS3Client.amazonS3Client, pooledS3Client);
+                s3ClientCreatedCount++;
+
+                // Evict the least recently used clients when the registry grows over its maximum size.
+                evictS3Clients();
+            }
+            else
+            {
+                // Refresh the credentials in place, so the reused client keeps signing requests with the latest ones.
+                if (pooledS3Client.refreshableCredentialsProvider != null)
+                {
+                    pooledS3Client.refreshableCredentialsProvider.setCredentials(getAwsCredentials(params));
+                }
+
+                s3ClientReusedCount++;
+            }
+
+            pooledS3Client.leaseCount++;
+
+            return pooledS3Client.amazonS3Client;
+        }
+    }
+
+    /**
+     * Creates a new pooled S3 client based on the specified parameters. The HTTP proxy information will be added if the host and port are specified in the
+     * parameters.
+     *
+     * @param params the parameters.
+     *
+     * @return the newly created pooled S3 client.
+     */
+    private PooledS3Client createPooledS3Client(S3FileTransferRequestParamsDto params)
     {
         AmazonS3Client amazonS3Client;
 
+        // The credentials in the parameters are kept by a provider that lets a reused client sign requests with the credentials of the latest lease.
+        AWSCredentials awsCredentials = getAwsCredentials(params);
+        RefreshableCredentialsProvider refreshableCredentialsProvider = awsCredentials != null ? new RefreshableCredentialsProvider(awsCredentials) : null;
+
         ClientConfiguration clientConfiguration = new ClientConfiguration().withRetryPolicy(retryPolicyFactory.getRetryPolicy());
 
         // Set the proxy configuration, if proxy is specified.
@@ -1004,17 +1417,15 @@ public class S3DaoImpl implements S3Dao
         }
 
         // Create an S3 client using passed in credentials and HTTP proxy information.
-        if (StringUtils.isNotBlank(params.getAwsAccessKeyId()) && StringUtils.isNotBlank(params.getAwsSecretKey()) &&
-            StringUtils.isNotBlank(params.getSessionToken()))
+        if (hasSessionCredentials(params))
         {
-            // Create an S3 client using basic session credentials.
-            amazonS3Client = new AmazonS3Client(new BasicSessionCredentials(params.getAwsAccessKeyId(), params.getAwsSecretKey(), params.getSessionToken()),
-                clientConfiguration);
+            // Create an S3 client using basic session credentials that can be refreshed when the client gets reused.
+            amazonS3Client = new AmazonS3Client(refreshableCredentialsProvider, clientConfiguration);
         }
         else
         {
             // Create an S3 client using AWS credentials provider.
-            amazonS3Client = new AmazonS3Client(getAWSCredentialsProvider(params), clientConfiguration);
+            amazonS3Client = new AmazonS3Client(getAWSCredentialsProvider(params, refreshableCredentialsProvider), clientConfiguration);
         }
 
         // Set the optional endpoint, if specified.
@@ -1024,37 +1435,173 @@ public class S3DaoImpl implements S3Dao
             amazonS3Client.setEndpoint(params.getS3Endpoint());
         }
 
+        LOGGER.debug("Created a new pooled S3 client. s3ClientRegistrySize={}", s3ClientRegistry.size() + 1);
+
         // Return the newly created client.
-        return amazonS3Client;
+        return new PooledS3Client(amazonS3Client, refreshableCredentialsProvider);
     }
 
     /**
-     * Retrieves an S3 object.
-     *
-     * @param s3Client the S3 client
-     * @param bucketName the S3 bucket name
-     * @param key the S3 object key
-     * @param errorOnNoSuchKey true to throw an error when the object key is not found, otherwise return null
+     * Creates the process-wide pool of transfer threads with the configured maximum number of transfer threads.
      *
-     * @return the S3 object
-     * @throws ObjectNotFoundException when specified bucket or key does not exist or access to bucket or key is denied
+     * @return the transfer thread pool
      */
-    private S3Object getS3Object(AmazonS3Client s3Client, String bucketName, String key, boolean errorOnNoSuchKey)
+    private ThreadPoolExecutor createTransferThreadPool()
     {
-        try
-        {
-            GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, key);
-            return s3Operations.getS3Object(getObjectRequest, s3Client);
-        }
-        catch (AmazonServiceException amazonServiceException)
-        {
-            String errorCode = amazonServiceException.getErrorCode();
+        int maxTransferThreads = configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_MAX_THREADS, Integer.class);
 
-            if (S3Operations.ERROR_CODE_ACCESS_DENIED.equals(errorCode))
-            {
-                throw new ObjectNotFoundException(
-                    "Application does not have access to the specified S3 object at bucket '" + bucketName + "' and key '" + key + "'.",
-                    amazonServiceException);
+        LOGGER.info("Creating the transfer thread pool. maxTransferThreads={}", maxTransferThreads);
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(maxTransferThreads, maxTransferThreads, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), new BasicThreadFactory.Builder().namingPattern("s3-transfer-manager-worker-%d").daemon(true).build());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return threadPoolExecutor;
+    }
+
+    /**
+     * Shuts down all the pooled S3 clients along with their transfer managers and the transfer thread pool when the application context is closed.
+     */
+    @PreDestroy
+    public void shutdown()
+    {
+        synchronized (s3ClientRegistry)
+        {
+            for (PooledS3Client pooledS3Client : new ArrayList<>(leasedS3Clients.values()))
+            {
+                shutdownPooledS3Client(pooledS3Client);
+            }
+
+            s3ClientRegistry.clear();
+
+            if (transferThreadPool != null)
+            {
+                transferThreadPool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Evicts the least recently used S3 clients from the client registry while it exceeds its maximum size. Evicted clients that are still leased get shut
+     * down once they are released.
+     */
+    private void evictS3Clients()
+    {
+        Iterator<PooledS3Client> iterator = s3ClientRegistry.values().iterator();
+
+        while (s3ClientRegistry.size() > MAX_POOLED_S3_CLIENTS && iterator.hasNext())
+        {
+            PooledS3Client pooledS3Client = iterator.next();
+            iterator.remove();
+            pooledS3Client.evicted = true;
+            s3ClientEvictedCount++;
+
+            if (pooledS3Client.leaseCount == 0)
+            {
+                shutdownPooledS3Client(pooledS3Client);
+            }
+        }
+    }
+
+    /**
+     * Returns a leased S3 client back to the client registry. The client is shut down when it was evicted from the registry and this was its last lease.
+     *
+     * @param amazonS3Client the Amazon S3 client obtained from {@link #getAmazonS3(S3FileTransferRequestParamsDto)}
+     */
+    private void releaseAmazonS3(AmazonS3Client amazonS3Client)
+    {
+        synchronized (s3ClientRegistry)
+        {
+            PooledS3Client pooledS3Client = leasedS3Clients.get(amazonS3Client);
+
+            if (pooledS3Client != null && pooledS3Client.leaseCount > 0)
+            {
+                pooledS3Client.leaseCount--;
+
+                if (pooledS3Client.evicted && pooledS3Client.leaseCount == 0)
+                {
+                    shutdownPooledS3Client(pooledS3Client);
+                }
+            }
+        }
+    }
+
+    /**
+     * Shuts down the pooled S3 client along with the transfer quota executors of its transfers in progress.
+     *
+     * @param pooledS3Client the pooled S3 client
+     */
+    private void shutdownPooledS3Client(PooledS3Client pooledS3Client)
+    {
+        leasedS3Clients.remove(pooledS3Client.amazonS3Client);
+
+        for (TransferQuotaExecutor transferQuotaExecutor : pooledS3Client.transferQuotaExecutors.values())
+        {
+            transferQuotaExecutor.shutdownNow();
+        }
+
+        pooledS3Client.amazonS3Client.shutdown();
+    }
+
+    /**
+     * Returns true if the specified parameters carry a complete set of AWS session credentials.
+     *
+     * @param params the parameters.
+     *
+     * @return true if access key, secret key and session token are all specified, false otherwise
+     */
+    private static boolean hasSessionCredentials(S3FileTransferRequestParamsDto params)
+    {
+        return StringUtils.isNotBlank(params.getAwsAccessKeyId()) && StringUtils.isNotBlank(params.getAwsSecretKey()) &&
+            StringUtils.isNotBlank(params.getSessionToken());
+    }
+
+    /**
+     * Gets the AWS credentials specified in the parameters.
+     *
+     * @param params the parameters
+     *
+     * @return the session credentials, the basic credentials when there is no session token or null when either access or secret key is not specified
+     */
+    private static AWSCredentials getAwsCredentials(S3FileTransferRequestParamsDto params)
+    {
+        if (hasSessionCredentials(params))
+        {
+            return new BasicSessionCredentials(params.getAwsAccessKeyId(), params.getAwsSecretKey(), params.getSessionToken());
+        }
+        else if (params.getAwsAccessKeyId() != null && params.getAwsSecretKey() != null)
+        {
+            return new BasicAWSCredentials(params.getAwsAccessKeyId(), params.getAwsSecretKey());
+        }
+
+        return null;
+    }
+
+    /**
+     * Retrieves an S3 object.
+     *
+     * @param s3Client the S3 client
+     * @param bucketName the S3 bucket name
+     * @param key the S3 object key
+     * @param errorOnNoSuchKey true to throw an error when the object key is not found, otherwise return null
+     *
+     * @return the S3 object
+     * @throws ObjectNotFoundException when specified bucket or key does not exist or access to bucket or key is denied
+     */
+    private S3Object getS3Object(AmazonS3Client s3Client, String bucketName, String key, boolean errorOnNoSuchKey)
+    {
+        try
+        {
+            GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, key);
+            return s3Operations.getS3Object(getObjectRequest, s3Client);
+        }
+        catch (AmazonServiceException amazonServiceException)
+        {
+            String errorCode = amazonServiceException.getErrorCode();
+
+            if (S3Operations.ERROR_CODE_ACCESS_DENIED.equals(errorCode))
+            {
+                throw new ObjectNotFoundException(
+                    "Application does not have access to the specified S3 object at bucket '" + bucketName + "' and key '" + key + "'.",
+                    amazonServiceException);
             }
             else if (S3Operations.ERROR_CODE_NO_SUCH_BUCKET.equals(errorCode))
             {
@@ -1079,28 +1626,171 @@ public class S3DaoImpl implements S3Dao
     }
 
     /**
-     * Gets a transfer manager with the specified parameters including proxy host, proxy port, S3 access key, S3 secret key, and max threads.
+     * Gets the metadata for the specified S3 object using a HEAD request, so the object data does not get transferred. The error handling matches {@link
+     * #getS3Object(AmazonS3Client, String, String, boolean)}, except that a HEAD response carries no error details, so a missing bucket can only be told apart
+     * from a missing key when S3 reports the error code.
      *
-     * @param params the parameters.
+     * @param s3Client the S3 client
+     * @param bucketName the bucket name
+     * @param key the object key
      *
-     * @return a newly created transfer manager.
+     * @return the S3 object metadata, or null if the key does not exist
+     * @throws ObjectNotFoundException when access to the object is denied or when the bucket does not exist
+     * @throws AmazonServiceException on any other S3 errors
      */
-    private TransferManager getTransferManager(final S3FileTransferRequestParamsDto params)
+    private ObjectMetadata getS3ObjectMetadata(AmazonS3Client s3Client, String bucketName, String key)
     {
-        // We are returning a new transfer manager each time it is called. Although the Javadocs of TransferManager say to share a single instance
-        // if possible, this could potentially be a problem if TransferManager.shutdown(true) is called and underlying resources are not present when needed
-        // for subsequent transfers.
-        if (params.getMaxThreads() == null)
+        try
         {
-            // Create a transfer manager that will internally use an appropriate number of threads.
-            return new TransferManager(getAmazonS3(params));
+            return s3Operations.getObjectMetadata(bucketName, key, s3Client);
         }
-        else
+        catch (AmazonServiceException amazonServiceException)
+        {
+            String errorCode = amazonServiceException.getErrorCode();
+
+            if (S3Operations.ERROR_CODE_ACCESS_DENIED.equals(errorCode) || amazonServiceException.getStatusCode() == HttpStatus.SC_FORBIDDEN)
+            {
+                throw new ObjectNotFoundException(
+                    "Application does not have access to the specified S3 object at bucket '" + bucketName + "' and key '" + key + "'.",
+                    amazonServiceException);
+            }
+            else if (S3Operations.ERROR_CODE_NO_SUCH_BUCKET.equals(errorCode))
+            {
+                throw new ObjectNotFoundException("Specified S3 bucket '" + bucketName + "' does not exist.", amazonServiceException);
+            }
+            else if (S3Operations.ERROR_CODE_NO_SUCH_KEY.equals(errorCode) || amazonServiceException.getStatusCode() == HttpStatus.SC_NOT_FOUND)
+            {
+                return null;
+            }
+            else
+            {
+                throw amazonServiceException;
+            }
+        }
+    }
+
+    /**
+     * Removes a partially downloaded local file whose S3 file got replaced, so the next attempt starts over, and gets the exception to report it with.
+     *
+     * @param s3Key the S3 key of the file being downloaded
+     * @param localFile the local file being downloaded into
+     * @param expectedETag the ETag of the S3 file the local file was downloaded from
+     * @param actualETag the current ETag of the S3 file, or null if S3 only reported that the ETag does not match
+     *
+     * @return the exception to throw
+     * @throws IOException if the local file could not be removed
+     */
+    private IllegalStateException getS3FileModifiedException(String s3Key, File localFile, String expectedETag, String actualETag) throws IOException
+    {
+        Files.deleteIfExists(localFile.toPath());
+
+        return new IllegalStateException(String
+            .format("The \"%s\" S3 file was modified while it was being downloaded to \"%s\" (expected ETag \"%s\", actual ETag \"%s\").", s3Key,
+                localFile.getPath(), expectedETag, actualETag));
+    }
+
+    /**
+     * Creates a transfer manager for a single transfer with the specified S3 client, max threads and upload sizing. The transfer manager runs its tasks on a
+     * transfer quota executor of its own, which limits it to running as many tasks at the same time as the thread count on the process-wide transfer thread
+     * pool, so a large transfer cannot hold up the other transfers. Since neither the transfer manager nor its transfer quota executor own any threads, they
+     * are cheap to create. The transfer manager must be released with {@link #releaseTransferManager(AmazonS3Client, TransferManager)}.
+     *
+     * @param amazonS3Client the Amazon S3 client leased from the client registry
+     * @param threadCount the maximum number of threads
+     * @param transferManagerConfiguration the transfer manager configuration with the multipart upload settings
+     *
+     * @return the transfer manager.
+     */
+    private TransferManager createTransferManager(final AmazonS3Client amazonS3Client, final int threadCount,
+        final TransferManagerConfiguration transferManagerConfiguration)
+    {
+        LOGGER.info("Creating a transfer manager. maxConcurrentTasks={} minimumUploadPartSize={} multipartUploadThreshold={}", threadCount,
+            transferManagerConfiguration.getMinimumUploadPartSize(), transferManagerConfiguration.getMultipartUploadThreshold());
+
+        synchronized (s3ClientRegistry)
+        {
+            if (transferThreadPool == null)
+            {
+                transferThreadPool = createTransferThreadPool();
+            }
+
+            TransferQuotaExecutor transferQuotaExecutor = new TransferQuotaExecutor(transferThreadPool, threadCount);
+
+            // The transfer quota executor gets shut down along with the transfer manager when the transfer manager is released.
+            TransferManager transferManager = new TransferManager(amazonS3Client, transferQuotaExecutor, false);
+            transferManager.setConfiguration(transferManagerConfiguration);
+
+            leasedS3Clients.get(amazonS3Client).transferQuotaExecutors.put(transferManager, transferQuotaExecutor);
+
+            return transferManager;
+        }
+    }
+
+    /**
+     * Shuts down the transfer manager of a transfer along with its transfer quota executor, leaving the S3 client and the transfer thread pool to the
+     * subsequent transfers.
+     *
+     * @param amazonS3Client the Amazon S3 client the transfer manager was created with
+     * @param transferManager the transfer manager
+     */
+    private void releaseTransferManager(AmazonS3Client amazonS3Client, TransferManager transferManager)
+    {
+        TransferQuotaExecutor transferQuotaExecutor;
+
+        synchronized (s3ClientRegistry)
+        {
+            PooledS3Client pooledS3Client = leasedS3Clients.get(amazonS3Client);
+            transferQuotaExecutor = pooledS3Client != null ? pooledS3Client.transferQuotaExecutors.remove(transferManager) : null;
+        }
+
+        transferManager.shutdownNow(false);
+
+        if (transferQuotaExecutor != null)
+        {
+            transferQuotaExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the transfer manager configuration for a transfer. The multipart upload part size is picked so that the largest file gets split into about as
+     * many parts as there are threads, which keeps all the threads busy even when a single large file gets uploaded, while the files that fit in a single
+     * part get uploaded with a single request. The part size is a power of two between 8 MB and 64 MB. Transfer manager still uses larger parts for the files
+     * that would otherwise exceed the maximum number of parts allowed by S3. The part size and the multipart upload threshold specified in the parameters
+     * override the picked ones.
+     *
+     * @param params the S3 file transfer request parameters
+     * @param largestFileSizeBytes the size of the largest file to upload, or null when the transfer does not upload any local files
+     * @param threadCount the maximum number of threads
+     *
+     * @return the transfer manager configuration
+     */
+    static TransferManagerConfiguration getTransferManagerConfiguration(S3FileTransferRequestParamsDto params, Long largestFileSizeBytes, int threadCount)
+    {
+        TransferManagerConfiguration transferManagerConfiguration = new TransferManagerConfiguration();
+
+        if (largestFileSizeBytes != null)
         {
-            // Create a transfer manager with our own executor configured with the specified total threads.
-            LOGGER.info("Creating a transfer manager. fixedThreadPoolSize={}", params.getMaxThreads());
-            return new TransferManager(getAmazonS3(params), Executors.newFixedThreadPool(params.getMaxThreads()));
+            long partSize = MIN_ADAPTIVE_MULTIPART_UPLOAD_PART_SIZE;
+            while (partSize < MAX_ADAPTIVE_MULTIPART_UPLOAD_PART_SIZE && partSize * threadCount < largestFileSizeBytes)
+            {
+                partSize *= 2;
+            }
+
+            transferManagerConfiguration.setMinimumUploadPartSize(partSize);
+            transferManagerConfiguration.setMultipartUploadThreshold(Math.max(partSize, transferManagerConfiguration.getMultipartUploadThreshold()));
         }
+
+        if (params.getMultipartUploadPartSize() != null)
+        {
+            transferManagerConfiguration.setMinimumUploadPartSize(Math.max(params.getMultipartUploadPartSize(), MIN_MULTIPART_UPLOAD_PART_SIZE));
+        }
+
+        if (params.getMultipartUploadThreshold() != null)
+        {
+            transferManagerConfiguration.setMultipartUploadThreshold(params.getMultipartUploadThreshold());
+        }
+
+        return transferManagerConfiguration;
     }
 
     /**
@@ -1162,7 +1852,7 @@ public class S3DaoImpl implements S3Dao
     }
 
     /**
-     * Performs a file/directory transfer.
+     * Performs a file/directory transfer that does not upload any local files.
      *
      * @param params the parameters.
      * @param transferer a transferer that knows how to perform the transfer.
@@ -1172,11 +1862,32 @@ public class S3DaoImpl implements S3Dao
      */
     private S3FileTransferResultsDto performTransfer(final S3FileTransferRequestParamsDto params, Transferer transferer) throws InterruptedException
     {
-        // Create a transfer manager.
-        TransferManager transferManager = getTransferManager(params);
+        return performTransfer(params, null, transferer);
+    }
+
+    /**
+     * Performs a file/directory transfer.
+     *
+     * @param params the parameters.
+     * @param largestFileSizeBytes the size of the largest local file to upload, used to pick the multipart upload part size, or null when the transfer does
+     * not upload any local files
+     * @param transferer a transferer that knows how to perform the transfer.
+     *
+     * @return the results.
+     * @throws InterruptedException if a problem is encountered.
+     */
+    private S3FileTransferResultsDto performTransfer(final S3FileTransferRequestParamsDto params, Long largestFileSizeBytes, Transferer transferer)
+        throws InterruptedException
+    {
+        // Lease an S3 client and create a transfer manager for it.
+        AmazonS3Client s3Client = getAmazonS3(params);
+        TransferManager transferManager = null;
 
         try
         {
+            int threadCount = params.getMaxThreads() != null ? params.getMaxThreads() : DEFAULT_TRANSFER_MANAGER_THREADS;
+            transferManager = createTransferManager(s3Client, threadCount, getTransferManagerConfiguration(params, largestFileSizeBytes, threadCount));
+
             // Start a stop watch to keep track of how long the transfer takes.
             StopWatch stopWatch = new StopWatch();
             stopWatch.start();
@@ -1262,8 +1973,175 @@ public class S3DaoImpl implements S3Dao
         }
         finally
         {
-            // Shutdown the transfer manager to release resources. If this isn't done, the JVM may delay upon exiting.
-            transferManager.shutdownNow();
+            // Shutdown the transfer manager of this transfer along with its transfer quota executor.
+            if (transferManager != null)
+            {
+                releaseTransferManager(s3Client, transferManager);
+            }
+
+            // Release the Amazon S3 client back to the client registry.
+            releaseAmazonS3(s3Client);
+        }
+    }
+
+    /**
+     * Runs the specified processor for every S3 key in the list of files from the parameters using a single S3 client. See {@link #processInParallel(List,
+     * Integer, String, Consumer)} for the details.
+     *
+     * @param params the S3 file transfer request parameters
+     * @param s3KeyProcessor the processor to run for each S3 key
+     *
+     * @throws S3ItemProcessingException if processing of an S3 key fails
+     */
+    private void processS3Keys(final S3FileTransferRequestParamsDto params, final S3KeyProcessor s3KeyProcessor)
+    {
+        List<String> s3Keys = params.getFiles().stream().map(file -> file.getPath().replaceAll("\\\\", "/")).collect(Collectors.toList());
+
+        // Create an S3 client shared by all the threads.
+        AmazonS3Client s3Client = getAmazonS3(params);
+
+        try
+        {
+            processInParallel(s3Keys, params.getMaxThreads(), params.getS3BucketName(), s3Key -> s3KeyProcessor.process(s3Client, s3Key));
+        }
+        finally
+        {
+            releaseAmazonS3(s3Client);
+        }
+    }
+
+    /**
+     * Runs the specified processor for every item in the list. The items are processed on up to the specified maximum number of threads, or on the calling
+     * thread when the maximum number of threads is not specified. All requests share an adaptive rate limiter that backs off when S3 responds with a "SlowDown"
+     * error and gradually recovers as the requests succeed again. Processing stops on the first failure.
+     *
+     * @param items the list of items to process
+     * @param maxThreads the optional maximum number of threads
+     * @param s3BucketName the S3 bucket name, used for logging
+     * @param itemProcessor the processor to run for each item
+     * @param <T> the type of the items
+     *
+     * @throws S3ItemProcessingException if processing of an item fails
+     */
+    private <T> void processInParallel(final List<T> items, final Integer maxThreads, final String s3BucketName, final Consumer<T> itemProcessor)
+    {
+        final int threadCount = Math.max(1, Math.min(maxThreads != null ? maxThreads : 1, items.size()));
+
+        final AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter();
+        final AtomicInteger nextItemIndex = new AtomicInteger();
+        final AtomicInteger processedItemCount = new AtomicInteger();
+        final AtomicReference<S3ItemProcessingException> failure = new AtomicReference<>();
+
+        // Each worker keeps picking the next unprocessed item until all items are processed or any of the workers fails.
+        Runnable worker = () -> {
+            int itemIndex;
+            while (failure.get() == null && (itemIndex = nextItemIndex.getAndIncrement()) < items.size())
+            {
+                T item = items.get(itemIndex);
+
+                try
+                {
+                    processItem(item, itemProcessor, rateLimiter);
+                }
+                catch (RuntimeException e)
+                {
+                    failure.compareAndSet(null, new S3ItemProcessingException(item, e));
+                    break;
+                }
+
+                int count = processedItemCount.incrementAndGet();
+                if (count % 1000 == 0)
+                {
+                    LOGGER.info("Processed S3 objects. s3BucketName=\"{}\" processedCount={} totalCount={} requestsPerSecond={}", s3BucketName, count,
+                        items.size(), rateLimiter.getRate());
+                }
+            }
+        };
+
+        if (threadCount == 1)
+        {
+            worker.run();
+        }
+        else
+        {
+            ExecutorService executorService =
+                Executors.newFixedThreadPool(threadCount, new BasicThreadFactory.Builder().namingPattern("s3-object-processor-%d").daemon(true).build());
+
+            try
+            {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < threadCount; i++)
+                {
+                    futures.add(executorService.submit(worker));
+                }
+
+                for (Future<?> future : futures)
+                {
+                    future.get();
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while processing S3 objects.", e);
+            }
+            catch (ExecutionException e)
+            {
+                throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+            }
+            finally
+            {
+                executorService.shutdownNow();
+            }
+        }
+
+        if (failure.get() != null)
+        {
+            throw failure.get();
+        }
+    }
+
+    /**
+     * Runs the specified processor for a single item. When S3 responds with a "SlowDown" error after the client retries are exhausted, the request rate gets
+     * reduced and the item gets processed again after an exponential backoff.
+     *
+     * @param item the item to process
+     * @param itemProcessor the processor to run
+     * @param rateLimiter the rate limiter shared by all the requests
+     * @param <T> the type of the item
+     */
+    private <T> void processItem(T item, Consumer<T> itemProcessor, AdaptiveRateLimiter rateLimiter)
+    {
+        for (int attempt = 0; ; attempt++)
+        {
+            rateLimiter.acquire();
+
+            try
+            {
+                itemProcessor.accept(item);
+                rateLimiter.onSuccess();
+                return;
+            }
+            catch (AmazonServiceException e)
+            {
+                if (!S3Operations.ERROR_CODE_SLOW_DOWN.equals(e.getErrorCode()) || attempt >= MAX_SLOW_DOWN_RETRY_ATTEMPTS)
+                {
+                    throw e;
+                }
+
+                rateLimiter.onSlowDown();
+                LOGGER.warn("S3 requested to slow down. attempt={} requestsPerSecond={}", attempt + 1, rateLimiter.getRate());
+
+                try
+                {
+                    Thread.sleep(sleepIntervalsMillis << attempt);
+                }
+                catch (InterruptedException interruptedException)
+                {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
         }
     }
 
@@ -1303,6 +2181,17 @@ public class S3DaoImpl implements S3Dao
         }
     }
 
+    /**
+     * Tags the specified S3 versions with the S3 object tag. The versions are tagged in parallel on up to the maximum number of threads specified in the S3
+     * file transfer request parameters. The tagging is skipped for versions already tagged with the same tag, so re-processing a partially tagged S3 key
+     * prefix only writes tags for the versions that were not tagged yet. When the parameters ask to skip the tag lookup, the current tags are known not to
+     * need preserving, so every version gets tagged by a single request that replaces its tags.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters used to read the current tags
+     * @param s3ObjectTaggerParamsDto the S3 file transfer request parameters used to write the tags
+     * @param s3VersionSummaries the list of S3 versions to tag
+     * @param tag the S3 object tag
+     */
     private void tagVersionsHelper(final S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto,
         final S3FileTransferRequestParamsDto s3ObjectTaggerParamsDto, final List<S3VersionSummary> s3VersionSummaries, final Tag tag)
     {
@@ -1315,6 +2204,11 @@ public class S3DaoImpl implements S3Dao
         // Amazon S3 client for S3 object tagging.
         AmazonS3Client s3ObjectTaggerClient = null;
 
+        // Keep track of the S3 versions that already had the tag.
+        AtomicInteger alreadyTaggedCount = new AtomicInteger();
+
+        boolean skipObjectTagLookup = BooleanUtils.isTrue(s3FileTransferRequestParamsDto.isSkipObjectTagLookup());
+
         try
         {
             // Create an S3 client to access S3 objects.
@@ -1323,42 +2217,59 @@ public class S3DaoImpl implements S3Dao
             // Create an S3 client for S3 object tagging.
             s3ObjectTaggerClient = getAmazonS3(s3ObjectTaggerParamsDto);
 
-            // Create a get object tagging request.
-            GetObjectTaggingRequest getObjectTaggingRequest = new GetObjectTaggingRequest(s3FileTransferRequestParamsDto.getS3BucketName(), null, null);
+            final AmazonS3Client finalS3Client = s3Client;
+            final AmazonS3Client finalS3ObjectTaggerClient = s3ObjectTaggerClient;
 
-            // Create a set object tagging request.
-            SetObjectTaggingRequest setObjectTaggingRequest = new SetObjectTaggingRequest(s3FileTransferRequestParamsDto.getS3BucketName(), null, null, null);
+            processInParallel(s3VersionSummaries, s3FileTransferRequestParamsDto.getMaxThreads(), s3FileTransferRequestParamsDto.getS3BucketName(),
+                s3VersionSummary -> {
+                    // Replace the tags of the S3 version without reading them first when they are known.
+                    if (skipObjectTagLookup)
+                    {
+                        s3Operations.setObjectTagging(
+                            new SetObjectTaggingRequest(s3FileTransferRequestParamsDto.getS3BucketName(), s3VersionSummary.getKey(),
+                                s3VersionSummary.getVersionId(), new ObjectTagging(Collections.singletonList(tag))), finalS3ObjectTaggerClient);
+                        return;
+                    }
 
-            for (S3VersionSummary s3VersionSummary : s3VersionSummaries)
-            {
-                // Set the current S3 version summary.
-                currentS3VersionSummary = s3VersionSummary;
+                    // Retrieve the current tagging information for the S3 version.
+                    GetObjectTaggingResult getObjectTaggingResult = s3Operations.getObjectTagging(
+                        new GetObjectTaggingRequest(s3FileTransferRequestParamsDto.getS3BucketName(), s3VersionSummary.getKey(),
+                            s3VersionSummary.getVersionId()), finalS3Client);
 
-                // Retrieve the current tagging information for the S3 version.
-                getObjectTaggingRequest.setKey(s3VersionSummary.getKey());
-                getObjectTaggingRequest.setVersionId(s3VersionSummary.getVersionId());
-                GetObjectTaggingResult getObjectTaggingResult = s3Operations.getObjectTagging(getObjectTaggingRequest, s3Client);
+                    // Skip the update when the S3 version is already tagged with the specified S3 object tag.
+                    if (CollectionUtils.isNotEmpty(getObjectTaggingResult.getTagSet()) && getObjectTaggingResult.getTagSet().stream().anyMatch(
+                        currentTag -> StringUtils.equals(tag.getKey(), currentTag.getKey()) && StringUtils.equals(tag.getValue(), currentTag.getValue())))
+                    {
+                        alreadyTaggedCount.incrementAndGet();
+                        return;
+                    }
 
-                // Update the list of tags to include the specified S3 object tag.
-                List<Tag> updatedTags = new ArrayList<>();
-                updatedTags.add(tag);
-                if (CollectionUtils.isNotEmpty(getObjectTaggingResult.getTagSet()))
-                {
-                    for (Tag currentTag : getObjectTaggingResult.getTagSet())
+                    // Update the list of tags to include the specified S3 object tag.
+                    List<Tag> updatedTags = new ArrayList<>();
+                    updatedTags.add(tag);
+                    if (CollectionUtils.isNotEmpty(getObjectTaggingResult.getTagSet()))
                     {
-                        if (!StringUtils.equals(tag.getKey(), currentTag.getKey()))
+                        for (Tag currentTag : getObjectTaggingResult.getTagSet())
                         {
-                            updatedTags.add(currentTag);
+                            if (!StringUtils.equals(tag.getKey(), currentTag.getKey()))
+                            {
+                                updatedTags.add(currentTag);
+                            }
                         }
                     }
-                }
 
-                // Update tagging information for the S3 version.
-                setObjectTaggingRequest.setKey(s3VersionSummary.getKey());
-                setObjectTaggingRequest.setVersionId(s3VersionSummary.getVersionId());
-                setObjectTaggingRequest.setTagging(new ObjectTagging(updatedTags));
-                s3Operations.setObjectTagging(setObjectTaggingRequest, s3ObjectTaggerClient);
-            }
+                    // Update tagging information for the S3 version.
+                    s3Operations.setObjectTagging(
+                        new SetObjectTaggingRequest(s3FileTransferRequestParamsDto.getS3BucketName(), s3VersionSummary.getKey(),
+                            s3VersionSummary.getVersionId(), new ObjectTagging(updatedTags)), finalS3ObjectTaggerClient);
+                });
+        }
+        catch (S3ItemProcessingException e)
+        {
+            S3VersionSummary failedS3VersionSummary = e.getItem();
+            throw new IllegalStateException(String
+                .format("Failed to tag S3 object with \"%s\" key and \"%s\" version id in \"%s\" bucket. Reason: %s", failedS3VersionSummary.getKey(),
+                    failedS3VersionSummary.getVersionId(), s3FileTransferRequestParamsDto.getS3BucketName(), e.getCause().getMessage()), e.getCause());
         }
         catch (Exception e)
         {
@@ -1370,14 +2281,57 @@ public class S3DaoImpl implements S3Dao
         {
             if (s3Client != null)
             {
-                s3Client.shutdown();
+                releaseAmazonS3(s3Client);
             }
 
             if (s3ObjectTaggerClient != null)
             {
-                s3ObjectTaggerClient.shutdown();
+                releaseAmazonS3(s3ObjectTaggerClient);
             }
         }
+
+        LOGGER.info("Tagged S3 versions. s3BucketName=\"{}\" s3VersionCount={} alreadyTaggedS3VersionCount={}",
+            s3FileTransferRequestParamsDto.getS3BucketName(), s3VersionSummaries.size(), alreadyTaggedCount.get());
+    }
+
+    /**
+     * An exception that wraps the failure to process an S3 key or an S3 version along with the item that failed.
+     */
+    private static class S3ItemProcessingException extends RuntimeException
+    {
+        private final transient Object item;
+
+        private S3ItemProcessingException(Object item, RuntimeException cause)
+        {
+            super(cause);
+            this.item = item;
+        }
+
+        @Override
+        public synchronized RuntimeException getCause()
+        {
+            return (RuntimeException) super.getCause();
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T getItem()
+        {
+            return (T) item;
+        }
+    }
+
+    /**
+     * An object that can process a single S3 key.
+     */
+    private interface S3KeyProcessor
+    {
+        /**
+         * Processes the specified S3 key.
+         *
+         * @param s3Client the Amazon S3 client
+         * @param s3Key the S3 key
+         */
+        void process(AmazonS3Client s3Client, String s3Key);
     }
 
     /**
@@ -1421,4 +2375,290 @@ public class S3DaoImpl implements S3Dao
             // No need to implement this. AWS doesn't use this.
         }
     }
+
+    /**
+     * A rate limiter for the S3 requests that halves the request rate on every "SlowDown" error and increases it back by one request per second on every
+     * successful request.
+     */
+    private static class AdaptiveRateLimiter
+    {
+        private final RateLimiter rateLimiter = RateLimiter.create(MAX_REQUESTS_PER_SECOND);
+
+        private void acquire()
+        {
+            rateLimiter.acquire();
+        }
+
+        private double getRate()
+        {
+            return rateLimiter.getRate();
+        }
+
+        private synchronized void onSlowDown()
+        {
+            rateLimiter.setRate(Math.max(MIN_REQUESTS_PER_SECOND, rateLimiter.getRate() / 2));
+        }
+
+        private void onSuccess()
+        {
+            if (rateLimiter.getRate() < MAX_REQUESTS_PER_SECOND)
+            {
+                synchronized (this)
+                {
+                    rateLimiter.setRate(Math.min(MAX_REQUESTS_PER_SECOND, rateLimiter.getRate() + 1));
+                }
+            }
+        }
+    }
+
+    /**
+     * An executor that runs the tasks of a single transfer manager on a shared executor, while limiting the number of tasks that run at the same time. The
+     * tasks over the limit wait in a queue and get started in the order they were submitted, so a task that waits for the tasks submitted before it (e.g.
+     * the completion of a multipart upload) never holds them up. Shutting this executor down does not affect the shared executor and the tasks that are
+     * already running are left to complete.
+     */
+    static class TransferQuotaExecutor extends AbstractExecutorService
+    {
+        private int activeTaskCount;
+
+        private final Executor executor;
+
+        private final int maxActiveTasks;
+
+        private final Queue<Runnable> pendingTasks = new ArrayDeque<>();
+
+        private boolean shutdown;
+
+        TransferQuotaExecutor(Executor executor, int maxActiveTasks)
+        {
+            this.executor = executor;
+            this.maxActiveTasks = Math.max(maxActiveTasks, 1);
+        }
+
+        @Override
+        public void execute(Runnable command)
+        {
+            synchronized (this)
+            {
+                if (shutdown)
+                {
+                    throw new RejectedExecutionException("The transfer manager executor is shut down.");
+                }
+
+                if (activeTaskCount >= maxActiveTasks)
+                {
+                    pendingTasks.add(command);
+                    return;
+                }
+
+                activeTaskCount++;
+            }
+
+            start(command);
+        }
+
+        @Override
+        public synchronized void shutdown()
+        {
+            shutdown = true;
+            notifyAll();
+        }
+
+        @Override
+        public synchronized List<Runnable> shutdownNow()
+        {
+            shutdown = true;
+            List<Runnable> tasks = new ArrayList<>(pendingTasks);
+            pendingTasks.clear();
+            notifyAll();
+            return tasks;
+        }
+
+        @Override
+        public synchronized boolean isShutdown()
+        {
+            return shutdown;
+        }
+
+        @Override
+        public synchronized boolean isTerminated()
+        {
+            return shutdown && activeTaskCount == 0 && pendingTasks.isEmpty();
+        }
+
+        @Override
+        public synchronized boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+        {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (!isTerminated())
+            {
+                long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0)
+                {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+            }
+            return true;
+        }
+
+        /**
+         * Starts a task on the shared executor. Once the task completes, the next pending task takes its place.
+         *
+         * @param command the task to start
+         */
+        private void start(Runnable command)
+        {
+            try
+            {
+                executor.execute(() -> {
+                    try
+                    {
+                        command.run();
+                    }
+                    finally
+                    {
+                        onTaskCompleted();
+                    }
+                });
+            }
+            catch (RejectedExecutionException e)
+            {
+                onTaskCompleted();
+                throw e;
+            }
+        }
+
+        private void onTaskCompleted()
+        {
+            Runnable nextTask;
+
+            synchronized (this)
+            {
+                nextTask = pendingTasks.poll();
+
+                if (nextTask == null)
+                {
+                    activeTaskCount--;
+                    notifyAll();
+                    return;
+                }
+            }
+
+            start(nextTask);
+        }
+    }
+
+    /**
+     * An S3 client kept in the client registry along with its lease count and the transfer quota executors of its transfers in progress, keyed by the
+     * transfer manager of each transfer.
+     */
+    private static class PooledS3Client
+    {
+        private final AmazonS3Client amazonS3Client;
+
+        private boolean evicted;
+
+        private int leaseCount;
+
+        private final RefreshableCredentialsProvider refreshableCredentialsProvider;
+
+        private final Map<TransferManager, TransferQuotaExecutor> transferQuotaExecutors = new IdentityHashMap<>();
+
+        private PooledS3Client(AmazonS3Client amazonS3Client, RefreshableCredentialsProvider refreshableCredentialsProvider)
+        {
+            this.amazonS3Client = amazonS3Client;
+            this.refreshableCredentialsProvider = refreshableCredentialsProvider;
+        }
+    }
+
+    /**
+     * The client registry key. Two parameter sets map to the same S3 client when they share the credential source, the S3 endpoint, the HTTP proxy and the
+     * socket timeout. All clients use the same V4 signer override. Both session and basic credentials are identified by their access key id only, which is
+     * unique per session or IAM access key, so no secret is kept by the registry. The additional credentials providers are compared by identity.
+     */
+    private static class S3ClientKey
+    {
+        private final List<HerdAWSCredentialsProvider> additionalAwsCredentialsProviders;
+
+        private final String awsAccessKeyId;
+
+        private final String httpProxyHost;
+
+        private final Integer httpProxyPort;
+
+        private final String s3Endpoint;
+
+        private final boolean sessionCredentials;
+
+        private final Integer socketTimeout;
+
+        private S3ClientKey(S3FileTransferRequestParamsDto params)
+        {
+            boolean proxySpecified = StringUtils.isNotBlank(params.getHttpProxyHost()) && params.getHttpProxyPort() != null;
+
+            sessionCredentials = hasSessionCredentials(params);
+            awsAccessKeyId = params.getAwsAccessKeyId() != null && params.getAwsSecretKey() != null ? params.getAwsAccessKeyId() : null;
+            additionalAwsCredentialsProviders = sessionCredentials ? null : new ArrayList<>(params.getAdditionalAwsCredentialsProviders());
+            httpProxyHost = proxySpecified ? params.getHttpProxyHost() : null;
+            httpProxyPort = proxySpecified ? params.getHttpProxyPort() : null;
+            s3Endpoint = StringUtils.trimToNull(params.getS3Endpoint());
+            socketTimeout = params.getSocketTimeout();
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if (this == object)
+            {
+                return true;
+            }
+            if (object == null || getClass() != object.getClass())
+            {
+                return false;
+            }
+
+            S3ClientKey that = (S3ClientKey) object;
+
+            return sessionCredentials == that.sessionCredentials && Objects.equals(awsAccessKeyId, that.awsAccessKeyId) &&
+                Objects.equals(additionalAwsCredentialsProviders, that.additionalAwsCredentialsProviders) && Objects.equals(httpProxyHost, that.httpProxyHost) &&
+                Objects.equals(httpProxyPort, that.httpProxyPort) && Objects.equals(s3Endpoint, that.s3Endpoint) && Objects.equals(socketTimeout, that.socketTimeout);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(additionalAwsCredentialsProviders, awsAccessKeyId, httpProxyHost, httpProxyPort, s3Endpoint, sessionCredentials, socketTimeout);
+        }
+    }
+
+    /**
+     * A {@link AWSCredentialsProvider} that holds AWS credentials which can be replaced in place when a pooled S3 client gets reused.
+     */
+    private static class RefreshableCredentialsProvider implements AWSCredentialsProvider
+    {
+        private volatile AWSCredentials awsCredentials;
+
+        private RefreshableCredentialsProvider(AWSCredentials awsCredentials)
+        {
+            this.awsCredentials = awsCredentials;
+        }
+
+        @Override
+        public AWSCredentials getCredentials()
+        {
+            return awsCredentials;
+        }
+
+        @Override
+        public void refresh()
+        {
+            // No need to implement this. The credentials get replaced when the pooled S3 client gets leased.
+        }
+
+        private void setCredentials(AWSCredentials awsCredentials)
+        {
+            this.awsCredentials = awsCredentials;
+        }
+    }
 }
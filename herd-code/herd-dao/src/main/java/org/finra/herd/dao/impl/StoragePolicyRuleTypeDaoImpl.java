@@ -44,6 +44,6 @@ public class StoragePolicyRuleTypeDaoImpl extends AbstractHerdDao implements Sto
 
         criteria.select(storagePolicyRuleTypeEntity).where(queryRestriction);
 
-        return executeSingleResultQuery(criteria, String.format("Found more than one storage policy rule type with code \"%s\".", code));
+        return executeCacheableSingleResultQuery(criteria, String.format("Found more than one storage policy rule type with code \"%s\".", code));
     }
 }
@@ -97,7 +97,7 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
         criteria.select(storageUnitEntityRoot).where(builder.and(predicates.toArray(new Predicate[predicates.size()]))).orderBy(orderBy);
 
         // Execute the query and return the results.
-        return entityManager.createQuery(criteria).getResultList();
+        return createQueryWithFetchPlan(criteria, StorageUnitEntity.KEY_FETCH_PLAN).getResultList();
     }
 
     @Override
@@ -141,7 +141,7 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
         criteria.select(storageUnitEntityRoot).where(builder.and(predicates.toArray(new Predicate[predicates.size()]))).orderBy(orderBy);
 
         // Execute the query and return the results.
-        return entityManager.createQuery(criteria).setMaxResults(maxResult).getResultList();
+        return createQueryWithFetchPlan(criteria, StorageUnitEntity.KEY_FETCH_PLAN).setMaxResults(maxResult).getResultList();
     }
 
     @Override
@@ -175,7 +175,7 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
         criteria.select(storageUnitEntityRoot).where(builder.and(predicates.toArray(new Predicate[predicates.size()]))).orderBy(orderBy);
 
         // Execute the query and return the results.
-        return entityManager.createQuery(criteria).setMaxResults(maxResult).getResultList();
+        return createQueryWithFetchPlan(criteria, StorageUnitEntity.KEY_FETCH_PLAN).setMaxResults(maxResult).getResultList();
     }
 
     @Override
@@ -205,7 +205,7 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
         criteria.select(storageUnitEntityRoot).where(builder.and(predicates.toArray(new Predicate[predicates.size()]))).orderBy(orderBy);
 
         // Execute the query and return the results.
-        return entityManager.createQuery(criteria).setMaxResults(maxResult).getResultList();
+        return createQueryWithFetchPlan(criteria, StorageUnitEntity.KEY_FETCH_PLAN).setMaxResults(maxResult).getResultList();
     }
 
     @Override
@@ -342,22 +342,15 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
         List<List<String>> partitionFilters, Integer businessObjectDataVersion, String businessObjectDataStatus, List<String> storageNames,
         String storagePlatformType, String excludedStoragePlatformType, boolean selectOnlyAvailableStorageUnits)
     {
-        List<StorageUnitAvailabilityDto> results = new ArrayList<>();
-
-        // Loop through each chunk of partition filters until we have reached the end of the list.
-        for (int i = 0; i < partitionFilters.size(); i += MAX_PARTITION_FILTERS_PER_REQUEST)
+        // All partition filters are resolved by a single query, the partition values of the single level partition filters are turned into set-based "in"
+        // clauses.
+        if (partitionFilters.isEmpty())
         {
-            // Get a sub-list for the current chunk of partition filters.
-            List<StorageUnitAvailabilityDto> storageUnitAvailabilityDtosSubset =
-                getStorageUnitsByPartitionFilters(businessObjectFormatKey, partitionFilters, businessObjectDataVersion, businessObjectDataStatus, storageNames,
-                    storagePlatformType, excludedStoragePlatformType, selectOnlyAvailableStorageUnits, i,
-                    (i + MAX_PARTITION_FILTERS_PER_REQUEST) > partitionFilters.size() ? partitionFilters.size() - i : MAX_PARTITION_FILTERS_PER_REQUEST);
-
-            // Add the sub-list to the result.
-            results.addAll(storageUnitAvailabilityDtosSubset);
+            return new ArrayList<>();
         }
 
-        return results;
+        return getStorageUnitsByPartitionFilters(businessObjectFormatKey, partitionFilters, businessObjectDataVersion, businessObjectDataStatus, storageNames,
+            storagePlatformType, excludedStoragePlatformType, selectOnlyAvailableStorageUnits, 0, partitionFilters.size());
     }
 
     @Override
@@ -380,7 +373,7 @@ public class StorageUnitDaoImpl extends AbstractHerdDao implements StorageUnitDa
         criteria.select(storageUnitEntity).where(queryRestriction);
 
         // Execute the query and return the results.
-        return entityManager.createQuery(criteria).getResultList();
+        return createQueryWithFetchPlan(criteria, StorageUnitEntity.KEY_FETCH_PLAN).getResultList();
     }
 
     @Override
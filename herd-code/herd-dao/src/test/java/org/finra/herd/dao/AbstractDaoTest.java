@@ -1211,6 +1211,12 @@ public abstract class AbstractDaoTest extends AbstractCoreTest
     @Autowired
     protected BusinessObjectDataNotificationRegistrationDao businessObjectDataNotificationRegistrationDao;
 
+    @Autowired
+    protected BusinessObjectDataPartitionSummaryDao businessObjectDataPartitionSummaryDao;
+
+    @Autowired
+    protected BusinessObjectDataPartitionSummaryDaoTestHelper businessObjectDataPartitionSummaryDaoTestHelper;
+
     @Autowired
     protected BusinessObjectDataStatusDao businessObjectDataStatusDao;
 
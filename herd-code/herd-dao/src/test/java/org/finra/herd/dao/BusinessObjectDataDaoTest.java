@@ -36,6 +36,8 @@ import javax.xml.datatype.XMLGregorianCalendar;
 
 import org.apache.commons.lang3.time.DateFormatUtils;
 import org.apache.commons.lang3.time.DateUtils;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.junit.Test;
 
 import org.finra.herd.core.HerdDateUtils;
@@ -718,6 +720,76 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         }
     }
 
+    @Test
+    public void testGetBusinessObjectDataEntitiesByPrimaryPartitionValues()
+    {
+        // Create a business object format entity.
+        BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectFormatDaoTestHelper
+            .createBusinessObjectFormatEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, NO_FORMAT_DESCRIPTION,
+                NO_FORMAT_DOCUMENT_SCHEMA, NO_FORMAT_DOCUMENT_SCHEMA_URL, LATEST_VERSION_FLAG_SET, PARTITION_KEY);
+
+        // Create business object data entities for three partition values with the second data version registered before the initial one.
+        BusinessObjectDataEntity businessObjectDataEntity2 = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE, SUBPARTITION_VALUES, SECOND_DATA_VERSION, LATEST_VERSION_FLAG_SET,
+                BDATA_STATUS);
+        BusinessObjectDataEntity businessObjectDataEntity = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE, SUBPARTITION_VALUES, INITIAL_DATA_VERSION, NO_LATEST_VERSION_FLAG_SET,
+                BDATA_STATUS);
+        BusinessObjectDataEntity businessObjectDataEntity3 = businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE_2, NO_SUBPARTITION_VALUES, INITIAL_DATA_VERSION,
+                LATEST_VERSION_FLAG_SET, BDATA_STATUS);
+        businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(businessObjectFormatEntity, PARTITION_VALUE_3, NO_SUBPARTITION_VALUES, INITIAL_DATA_VERSION,
+                LATEST_VERSION_FLAG_SET, BDATA_STATUS);
+
+        // Retrieve all versions of the business object data registered for the first two partition values.
+        List<BusinessObjectDataEntity> resultBusinessObjectDataEntities = businessObjectDataDao
+            .getBusinessObjectDataEntitiesByPrimaryPartitionValues(businessObjectFormatEntity, Arrays.asList(PARTITION_VALUE, PARTITION_VALUE_2));
+
+        // Validate the results.
+        assertEquals(3, resultBusinessObjectDataEntities.size());
+        assertTrue(resultBusinessObjectDataEntities.containsAll(Arrays.asList(businessObjectDataEntity, businessObjectDataEntity2, businessObjectDataEntity3)));
+        assertTrue(resultBusinessObjectDataEntities.indexOf(businessObjectDataEntity) < resultBusinessObjectDataEntities.indexOf(businessObjectDataEntity2));
+
+        // Confirm negative results when using a partition value that is not registered.
+        assertTrue(businessObjectDataDao
+            .getBusinessObjectDataEntitiesByPrimaryPartitionValues(businessObjectFormatEntity, Collections.singletonList(I_DO_NOT_EXIST)).isEmpty());
+    }
+
+    @Test
+    public void testGetBusinessObjectDataEntitiesByPrimaryPartitionValueFiltersAndStorage()
+    {
+        // Create database entities required for testing.
+        businessObjectDataAvailabilityTestHelper.createDatabaseEntitiesForBusinessObjectDataAvailabilityTesting(null, new ArrayList<>(), new ArrayList<>(),
+            BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, SUBPARTITION_VALUES, ALLOW_DUPLICATE_BUSINESS_OBJECT_DATA);
+
+        // Build a large list of partition values.
+        List<String> partitionValues = new ArrayList<>();
+        for (int i = 0; i < 300; i++)
+        {
+            partitionValues.add(String.format("%s-%s", PARTITION_VALUE, i));
+        }
+        partitionValues.addAll(UNSORTED_PARTITION_VALUES);
+
+        // Build a list of partition filters that only specify primary partition values.
+        List<List<String>> partitionFilters = new ArrayList<>();
+        for (String partitionValue : partitionValues)
+        {
+            partitionFilters.add(Arrays.asList(partitionValue, null, null, null, null));
+        }
+
+        // Retrieve the available business object data per specified parameters.
+        List<BusinessObjectDataEntity> resultBusinessObjectDataEntities = getBusinessObjectDataEntitiesWithSingleQuery(partitionFilters);
+
+        // Validate the results.
+        assertNotNull(resultBusinessObjectDataEntities);
+        assertEquals(STORAGE_1_AVAILABLE_PARTITION_VALUES.size(), resultBusinessObjectDataEntities.size());
+        for (int i = 0; i < STORAGE_1_AVAILABLE_PARTITION_VALUES.size(); i++)
+        {
+            assertEquals(STORAGE_1_AVAILABLE_PARTITION_VALUES.get(i), resultBusinessObjectDataEntities.get(i).getPartitionValue());
+        }
+    }
+
     @Test
     public void testGetBusinessObjectDataEntitiesByPartitionFiltersAndStorage()
     {
@@ -725,9 +797,9 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         businessObjectDataAvailabilityTestHelper.createDatabaseEntitiesForBusinessObjectDataAvailabilityTesting(null, new ArrayList<>(), new ArrayList<>(),
             BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, SUBPARTITION_VALUES, ALLOW_DUPLICATE_BUSINESS_OBJECT_DATA);
 
-        // Build a list of partition values, large enough to cause executing the select queries in chunks.
+        // Build a large list of partition values.
         List<String> partitionValues = new ArrayList<>();
-        for (int i = 0; i < AbstractHerdDao.MAX_PARTITION_FILTERS_PER_REQUEST; i++)
+        for (int i = 0; i < 300; i++)
         {
             partitionValues.add(String.format("%s-%s", PARTITION_VALUE, i));
         }
@@ -742,9 +814,7 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         }
 
         // Retrieve the available business object data per specified parameters.
-        List<BusinessObjectDataEntity> resultBusinessObjectDataEntities1 = businessObjectDataDao
-            .getBusinessObjectDataEntities(new BusinessObjectFormatKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION),
-                partitionFilters, DATA_VERSION, null, STORAGE_NAME);
+        List<BusinessObjectDataEntity> resultBusinessObjectDataEntities1 = getBusinessObjectDataEntitiesWithSingleQuery(partitionFilters);
 
         // Validate the results.
         assertNotNull(resultBusinessObjectDataEntities1);
@@ -1207,6 +1277,59 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
         assertEquals(2, businessObjectDataEntities.size());
     }
 
+    @Test
+    public void testGetBusinessObjectDataEntitiesByPartitionValueStatementCount()
+    {
+        // Create business object data entities registered under different business object definitions and namespaces.
+        for (String namespace : Arrays.asList(NAMESPACE, NAMESPACE_2))
+        {
+            for (String businessObjectDefinitionName : Arrays.asList(BDEF_NAME, BDEF_NAME_2))
+            {
+                businessObjectDataDaoTestHelper
+                    .createBusinessObjectDataEntity(namespace, businessObjectDefinitionName, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION,
+                        PARTITION_VALUE, NO_SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS);
+            }
+        }
+
+        // Clear the persistence context, so the entities get loaded from the database.
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try
+        {
+            statistics.clear();
+
+            // Retrieve the business object data entities.
+            List<BusinessObjectDataEntity> businessObjectDataEntities = businessObjectDataDao.getBusinessObjectDataEntitiesByPartitionValue(PARTITION_VALUE);
+            assertEquals(4, businessObjectDataEntities.size());
+            long statementCount = statistics.getPrepareStatementCount();
+
+            // Access everything needed to build the business object data keys. No more queries are expected since the fetch plan loads it all.
+            for (BusinessObjectDataEntity businessObjectDataEntity : businessObjectDataEntities)
+            {
+                BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectDataEntity.getBusinessObjectFormat();
+                assertNotNull(businessObjectFormatEntity.getBusinessObjectDefinition().getNamespace().getCode());
+                assertEquals(FORMAT_FILE_TYPE_CODE, businessObjectFormatEntity.getFileType().getCode());
+                assertEquals(BDATA_STATUS, businessObjectDataEntity.getStatus().getCode());
+            }
+            assertEquals(statementCount, statistics.getPrepareStatementCount());
+
+            // Access the attributes of every business object data. All the collections are expected to get initialized by a single query.
+            for (BusinessObjectDataEntity businessObjectDataEntity : businessObjectDataEntities)
+            {
+                assertTrue(businessObjectDataEntity.getAttributes().isEmpty());
+            }
+            assertEquals(statementCount + 1, statistics.getPrepareStatementCount());
+        }
+        finally
+        {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
     @Test
     public void testBusinessObjectDataSearchWithAllSearchKeyFields()
     {
@@ -2466,4 +2589,34 @@ public class BusinessObjectDataDaoTest extends AbstractDaoTest
             .getBusinessObjectDataMinPartitionValue(BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, businessObjectFormatKey, DATA_VERSION,
                 BusinessObjectDataStatusEntity.VALID, Collections.singletonList(STORAGE_NAME), null, null));
     }
+
+    /**
+     * Retrieves the available business object data per specified partition filters and validates that they all got resolved by a single query.
+     *
+     * @param partitionFilters the list of partition filters
+     *
+     * @return the list of business object data entities
+     */
+    private List<BusinessObjectDataEntity> getBusinessObjectDataEntitiesWithSingleQuery(List<List<String>> partitionFilters)
+    {
+        Statistics statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try
+        {
+            statistics.clear();
+
+            List<BusinessObjectDataEntity> businessObjectDataEntities = businessObjectDataDao
+                .getBusinessObjectDataEntities(new BusinessObjectFormatKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION),
+                    partitionFilters, DATA_VERSION, null, STORAGE_NAME);
+
+            assertEquals(1, statistics.getQueryExecutionCount());
+
+            return businessObjectDataEntities;
+        }
+        finally
+        {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
 }
@@ -0,0 +1,176 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.persistence.LockModeType;
+
+import org.junit.Test;
+
+import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
+import org.finra.herd.model.jpa.BusinessObjectDataEntity;
+import org.finra.herd.model.jpa.BusinessObjectDataPartitionSummaryEntity;
+import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
+import org.finra.herd.model.jpa.StorageEntity;
+import org.finra.herd.model.jpa.StorageUnitStatusEntity;
+
+public class BusinessObjectDataPartitionSummaryDaoTest extends AbstractDaoTest
+{
+    @Test
+    public void testGetBusinessObjectDataPartitionSummaryEntities()
+    {
+        // Create a business object format entity.
+        BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectFormatDaoTestHelper
+            .createBusinessObjectFormatEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, NO_FORMAT_DESCRIPTION,
+                NO_FORMAT_DOCUMENT_SCHEMA, NO_FORMAT_DOCUMENT_SCHEMA_URL, NO_LATEST_VERSION_FLAG_SET, PARTITION_KEY);
+
+        // Create storage entities.
+        StorageEntity storageEntity = storageDaoTestHelper.createStorageEntity(STORAGE_NAME);
+        StorageEntity storageEntity2 = storageDaoTestHelper.createStorageEntity(STORAGE_NAME_2);
+
+        // Create business object data partition summary entities.
+        BusinessObjectDataPartitionSummaryEntity partitionSummaryEntity = businessObjectDataPartitionSummaryDaoTestHelper
+            .createBusinessObjectDataPartitionSummaryEntity(businessObjectFormatEntity, storageEntity, PARTITION_VALUE, DATA_VERSION,
+                StorageUnitStatusEntity.ENABLED);
+        BusinessObjectDataPartitionSummaryEntity partitionSummaryEntity2 = businessObjectDataPartitionSummaryDaoTestHelper
+            .createBusinessObjectDataPartitionSummaryEntity(businessObjectFormatEntity, storageEntity2, PARTITION_VALUE, DATA_VERSION,
+                StorageUnitStatusEntity.DISABLED);
+        businessObjectDataPartitionSummaryDaoTestHelper
+            .createBusinessObjectDataPartitionSummaryEntity(businessObjectFormatEntity, storageEntity, PARTITION_VALUE_2, DATA_VERSION,
+                StorageUnitStatusEntity.ENABLED);
+
+        // Get the partition summary entities for the partition value.
+        assertEquals(Arrays.asList(partitionSummaryEntity, partitionSummaryEntity2), businessObjectDataPartitionSummaryDao
+            .getBusinessObjectDataPartitionSummaryEntities(businessObjectFormatEntity, Collections.singletonList(PARTITION_VALUE)));
+
+        // Confirm negative results when using a different set of partition values.
+        assertEquals(Collections.emptyList(), businessObjectDataPartitionSummaryDao
+            .getBusinessObjectDataPartitionSummaryEntities(businessObjectFormatEntity, Arrays.asList(PARTITION_VALUE, SUB_PARTITION_VALUE_1)));
+        assertEquals(Collections.emptyList(), businessObjectDataPartitionSummaryDao
+            .getBusinessObjectDataPartitionSummaryEntities(businessObjectFormatEntity, Collections.singletonList(PARTITION_VALUE_3)));
+    }
+
+    @Test
+    public void testGetBusinessObjectDataPartitionSummaryEntitiesByPrimaryPartitionValues()
+    {
+        // Create a business object format entity.
+        BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectFormatDaoTestHelper
+            .createBusinessObjectFormatEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, NO_FORMAT_DESCRIPTION,
+                NO_FORMAT_DOCUMENT_SCHEMA, NO_FORMAT_DOCUMENT_SCHEMA_URL, NO_LATEST_VERSION_FLAG_SET, PARTITION_KEY);
+
+        // Create storage entities.
+        StorageEntity storageEntity = storageDaoTestHelper.createStorageEntity(STORAGE_NAME);
+        StorageEntity storageEntity2 = storageDaoTestHelper.createStorageEntity(STORAGE_NAME_2);
+
+        // Create business object data partition summary entities.
+        BusinessObjectDataPartitionSummaryEntity partitionSummaryEntity = businessObjectDataPartitionSummaryDaoTestHelper
+            .createBusinessObjectDataPartitionSummaryEntity(businessObjectFormatEntity, storageEntity, PARTITION_VALUE, DATA_VERSION,
+                StorageUnitStatusEntity.ENABLED);
+        BusinessObjectDataPartitionSummaryEntity partitionSummaryEntity2 = businessObjectDataPartitionSummaryDaoTestHelper
+            .createBusinessObjectDataPartitionSummaryEntity(businessObjectFormatEntity, storageEntity2, PARTITION_VALUE_2, DATA_VERSION,
+                StorageUnitStatusEntity.DISABLED);
+        businessObjectDataPartitionSummaryDaoTestHelper
+            .createBusinessObjectDataPartitionSummaryEntity(businessObjectFormatEntity, storageEntity, PARTITION_VALUE_3, DATA_VERSION,
+                StorageUnitStatusEntity.ENABLED);
+
+        // Get the partition summary entities for the first two partition values.
+        assertEquals(Arrays.asList(partitionSummaryEntity, partitionSummaryEntity2), businessObjectDataPartitionSummaryDao
+            .getBusinessObjectDataPartitionSummaryEntitiesByPrimaryPartitionValues(businessObjectFormatEntity,
+                Arrays.asList(PARTITION_VALUE, PARTITION_VALUE_2)));
+
+        // Confirm negative results when using a partition value that is not registered.
+        assertEquals(Collections.emptyList(), businessObjectDataPartitionSummaryDao
+            .getBusinessObjectDataPartitionSummaryEntitiesByPrimaryPartitionValues(businessObjectFormatEntity,
+                Collections.singletonList(I_DO_NOT_EXIST)));
+    }
+
+    @Test
+    public void testLockBusinessObjectDataPartitionSummaries()
+    {
+        // Create a business object format entity.
+        BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectFormatDaoTestHelper
+            .createBusinessObjectFormatEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, NO_FORMAT_DESCRIPTION,
+                NO_FORMAT_DOCUMENT_SCHEMA, NO_FORMAT_DOCUMENT_SCHEMA_URL, NO_LATEST_VERSION_FLAG_SET, PARTITION_KEY);
+
+        // Lock the partition summaries of the business object format.
+        businessObjectDataPartitionSummaryDao.lockBusinessObjectDataPartitionSummaries(businessObjectFormatEntity);
+
+        // Validate that the business object format is locked for the rest of the transaction.
+        assertEquals(LockModeType.PESSIMISTIC_WRITE, businessObjectDataPartitionSummaryDao.getEntityManager().getLockMode(businessObjectFormatEntity));
+    }
+
+    @Test
+    public void testGetBusinessObjectDataMaxAndMinPartitionValue()
+    {
+        // Create a business object format entity.
+        BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectFormatDaoTestHelper
+            .createBusinessObjectFormatEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, NO_FORMAT_DESCRIPTION,
+                NO_FORMAT_DOCUMENT_SCHEMA, NO_FORMAT_DOCUMENT_SCHEMA_URL, LATEST_VERSION_FLAG_SET, PARTITION_KEY);
+
+        // Create storage entities.
+        StorageEntity storageEntity = storageDaoTestHelper.createStorageEntity(STORAGE_NAME);
+        StorageEntity storageEntity2 = storageDaoTestHelper.createStorageEntity(STORAGE_NAME_2);
+
+        // Create business object data partition summary entities. The latest business object data version for the third partition value is registered in
+        // the second storage with a storage unit that is not available, so this partition value should never be selected.
+        businessObjectDataPartitionSummaryDaoTestHelper
+            .createBusinessObjectDataPartitionSummaryEntity(businessObjectFormatEntity, storageEntity, PARTITION_VALUE, INITIAL_DATA_VERSION,
+                StorageUnitStatusEntity.ENABLED);
+        businessObjectDataPartitionSummaryDaoTestHelper
+            .createBusinessObjectDataPartitionSummaryEntity(businessObjectFormatEntity, storageEntity, PARTITION_VALUE_2, INITIAL_DATA_VERSION,
+                StorageUnitStatusEntity.ENABLED);
+        businessObjectDataPartitionSummaryDaoTestHelper
+            .createBusinessObjectDataPartitionSummaryEntity(businessObjectFormatEntity, storageEntity, PARTITION_VALUE_3, INITIAL_DATA_VERSION,
+                StorageUnitStatusEntity.ENABLED);
+        businessObjectDataPartitionSummaryDaoTestHelper
+            .createBusinessObjectDataPartitionSummaryEntity(businessObjectFormatEntity, storageEntity2, PARTITION_VALUE_3, SECOND_DATA_VERSION,
+                StorageUnitStatusEntity.DISABLED);
+
+        BusinessObjectFormatKey businessObjectFormatKey =
+            new BusinessObjectFormatKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, NO_FORMAT_VERSION);
+
+        // Get the maximum and minimum partition values across all storages.
+        assertEquals(PARTITION_VALUE_2, businessObjectDataPartitionSummaryDao
+            .getBusinessObjectDataMaxPartitionValue(BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, businessObjectFormatKey, NO_STORAGE_NAMES,
+                null, null, null, null));
+        assertEquals(PARTITION_VALUE, businessObjectDataPartitionSummaryDao
+            .getBusinessObjectDataMinPartitionValue(BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, businessObjectFormatKey, NO_STORAGE_NAMES,
+                null, null));
+
+        // Get the maximum partition value from the first storage only.
+        assertEquals(PARTITION_VALUE_3, businessObjectDataPartitionSummaryDao
+            .getBusinessObjectDataMaxPartitionValue(BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, businessObjectFormatKey,
+                Collections.singletonList(STORAGE_NAME), null, null, null, null));
+
+        // Get the maximum partition value using an upper bound.
+        assertEquals(PARTITION_VALUE, businessObjectDataPartitionSummaryDao
+            .getBusinessObjectDataMaxPartitionValue(BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, businessObjectFormatKey, NO_STORAGE_NAMES,
+                null, null, PARTITION_VALUE, null));
+
+        // Confirm negative results when using the second storage only and when using a non-existing business object format.
+        assertNull(businessObjectDataPartitionSummaryDao
+            .getBusinessObjectDataMaxPartitionValue(BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION, businessObjectFormatKey,
+                Collections.singletonList(STORAGE_NAME_2), null, null, null, null));
+        assertNull(businessObjectDataPartitionSummaryDao.getBusinessObjectDataMinPartitionValue(BusinessObjectDataEntity.FIRST_PARTITION_COLUMN_POSITION,
+            new BusinessObjectFormatKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE_2, FORMAT_FILE_TYPE_CODE, NO_FORMAT_VERSION), NO_STORAGE_NAMES,
+            null, null));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.dao;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.model.jpa.BusinessObjectDataPartitionSummaryEntity;
+import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
+import org.finra.herd.model.jpa.StorageEntity;
+
+@Component
+public class BusinessObjectDataPartitionSummaryDaoTestHelper
+{
+    @Autowired
+    private BusinessObjectDataPartitionSummaryDao businessObjectDataPartitionSummaryDao;
+
+    @Autowired
+    private StorageUnitStatusDao storageUnitStatusDao;
+
+    /**
+     * Creates and persists a business object data partition summary entity.
+     *
+     * @param businessObjectFormatEntity the business object format entity
+     * @param storageEntity the storage entity
+     * @param partitionValue the primary partition value
+     * @param businessObjectDataVersion the business object data version
+     * @param storageUnitStatus the storage unit status
+     *
+     * @return the business object data partition summary entity
+     */
+    public BusinessObjectDataPartitionSummaryEntity createBusinessObjectDataPartitionSummaryEntity(BusinessObjectFormatEntity businessObjectFormatEntity,
+        StorageEntity storageEntity, String partitionValue, Integer businessObjectDataVersion, String storageUnitStatus)
+    {
+        // Create a business object data partition summary entity.
+        BusinessObjectDataPartitionSummaryEntity businessObjectDataPartitionSummaryEntity = new BusinessObjectDataPartitionSummaryEntity();
+        businessObjectDataPartitionSummaryEntity.setBusinessObjectFormat(businessObjectFormatEntity);
+        businessObjectDataPartitionSummaryEntity.setStorage(storageEntity);
+        businessObjectDataPartitionSummaryEntity.setPartitionValue(partitionValue);
+        businessObjectDataPartitionSummaryEntity.setBusinessObjectDataVersion(businessObjectDataVersion);
+        businessObjectDataPartitionSummaryEntity.setStorageUnitStatus(storageUnitStatusDao.getStorageUnitStatusByCode(storageUnitStatus));
+
+        // Persist and return the entity.
+        return businessObjectDataPartitionSummaryDao.saveAndRefresh(businessObjectDataPartitionSummaryEntity);
+    }
+}
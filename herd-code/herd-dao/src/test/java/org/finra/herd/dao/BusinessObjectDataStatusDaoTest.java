@@ -17,6 +17,7 @@ package org.finra.herd.dao;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.List;
@@ -46,4 +47,19 @@ public class BusinessObjectDataStatusDaoTest extends AbstractDaoTest
         // Confirm negative results when using non-existing business object data status code.
         assertNull(businessObjectDataStatusDao.getBusinessObjectDataStatusByCode("I_DO_NOT_EXIST"));
     }
+
+    @Test
+    public void testGetBusinessObjectDataStatusByCodeSecondLevelCache()
+    {
+        // Retrieve a business object data status that is part of the reference data.
+        BusinessObjectDataStatusEntity businessObjectDataStatusEntity =
+            businessObjectDataStatusDao.getBusinessObjectDataStatusByCode(BusinessObjectDataStatusEntity.VALID);
+        assertEquals(BusinessObjectDataStatusEntity.VALID, businessObjectDataStatusEntity.getCode());
+
+        // Validate that the business object data status is now stored in the second-level cache.
+        assertTrue(entityManager.getEntityManagerFactory().getCache().contains(BusinessObjectDataStatusEntity.class, BusinessObjectDataStatusEntity.VALID));
+
+        // Validate that the cached lookup keeps returning the same business object data status.
+        assertEquals(businessObjectDataStatusEntity, businessObjectDataStatusDao.getBusinessObjectDataStatusByCode(BusinessObjectDataStatusEntity.VALID));
+    }
 }
@@ -15,6 +15,7 @@
 */
 package org.finra.herd.dao;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -119,4 +120,18 @@ public class FileTypeDaoTest extends AbstractDaoTest
         assertNotNull(resultFileTypeKeys);
         assertTrue(resultFileTypeKeys.containsAll(fileTypeDaoTestHelper.getTestFileTypeKeys()));
     }
+
+    @Test
+    public void testGetFileTypeByCodeNotCached()
+    {
+        // Create relative database entities.
+        fileTypeDaoTestHelper.createFileTypeEntity(FORMAT_FILE_TYPE_CODE, "Description of " + FORMAT_FILE_TYPE_CODE);
+
+        // Retrieve file type entity.
+        FileTypeEntity fileTypeEntity = fileTypeDao.getFileTypeByCode(FORMAT_FILE_TYPE_CODE);
+        assertNotNull(fileTypeEntity);
+
+        // Validate that the file type is not stored in the second-level cache, since file types can be created and deleted through the REST API.
+        assertFalse(entityManager.getEntityManagerFactory().getCache().contains(FileTypeEntity.class, FORMAT_FILE_TYPE_CODE));
+    }
 }
@@ -144,6 +144,43 @@ public class IndexFunctionsDaoTest
         verifyNoMoreInteractions(jestClientHelper);
     }
 
+    @Test
+    public void testIsValidFunctionParsedJson()
+    {
+        SearchResult jestResult = mock(SearchResult.class);
+        // Build mocks, the document in the index has its fields in a different order and holds additional fields
+        when(jestClientHelper.execute(any())).thenReturn(jestResult);
+        when(jestResult.getSourceAsString())
+            .thenReturn("{ \"name\": \"NAME\", \"id\": 1, \"audit\": \"AUDIT\", \"tags\": [ { \"code\": \"TAG\", \"audit\": \"AUDIT\" } ] }");
+
+        // Call the method under test
+        boolean isValid = indexFunctionsDao
+            .isValidDocumentIndex("INDEX_NAME", "DOCUMENT_TYPE", "ID", "{\"id\":1,\"name\":\"NAME\",\"description\":null,\"tags\":[{\"code\":\"TAG\"}]}");
+        assertThat("IsValid is false when it should have been true.", isValid, is(true));
+
+        verify(jestClientHelper, times(1)).execute(any());
+        verify(jestResult).getSourceAsString();
+        verifyNoMoreInteractions(jestClientHelper);
+    }
+
+    @Test
+    public void testIsValidFunctionParsedJsonNotEqual()
+    {
+        SearchResult jestResult = mock(SearchResult.class);
+        // Build mocks, the document in the index holds a different value of a nested field
+        when(jestClientHelper.execute(any())).thenReturn(jestResult);
+        when(jestResult.getSourceAsString()).thenReturn("{\"id\":1,\"name\":\"NAME\",\"tags\":[{\"code\":\"TAG_2\"}]}");
+
+        // Call the method under test
+        boolean isValid =
+            indexFunctionsDao.isValidDocumentIndex("INDEX_NAME", "DOCUMENT_TYPE", "ID", "{\"id\":1,\"name\":\"NAME\",\"tags\":[{\"code\":\"TAG\"}]}");
+        assertThat("IsValid is true when it should have been false.", isValid, is(false));
+
+        verify(jestClientHelper, times(1)).execute(any());
+        verify(jestResult).getSourceAsString();
+        verifyNoMoreInteractions(jestClientHelper);
+    }
+
     @Test
     public void testIsValidFunctionEmpty()
     {
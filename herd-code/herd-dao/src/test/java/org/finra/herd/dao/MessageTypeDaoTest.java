@@ -19,7 +19,14 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
+import java.sql.Timestamp;
+
+import org.hibernate.Session;
 import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import org.finra.herd.dao.config.DaoSpringModuleConfig;
+import org.finra.herd.model.jpa.MessageTypeEntity;
 
 public class MessageTypeDaoTest extends AbstractDaoTest
 {
@@ -58,4 +65,29 @@ public class MessageTypeDaoTest extends AbstractDaoTest
             assertEquals(String.format("Found more than one message type with code \"%s\".", MESSAGE_TYPE), e.getMessage());
         }
     }
+
+    @Test
+    public void testGetMessageTypeByCodeEmptyResultNotCached()
+    {
+        try
+        {
+            // Retrieve a message type that does not exist yet.
+            assertNull(messageTypeDao.getMessageTypeByCode(MESSAGE_TYPE));
+
+            // Insert the message type bypassing the entity manager, the same way it would look to this node when the message type is added by another node.
+            Timestamp timestamp = new Timestamp(System.currentTimeMillis());
+            new JdbcTemplate(DaoSpringModuleConfig.getHerdDataSource())
+                .update("insert into msg_type_cd_lk (msg_type_cd, creat_ts, creat_user_id, updt_ts, updt_user_id) values (?, ?, ?, ?, ?)", MESSAGE_TYPE,
+                    timestamp, USER_ID, timestamp, USER_ID);
+
+            // Validate that the message type gets found, since the earlier empty result is not served from the query cache.
+            assertEquals(MESSAGE_TYPE, messageTypeDao.getMessageTypeByCode(MESSAGE_TYPE).getCode());
+        }
+        finally
+        {
+            // Remove the message type from the caches, since the inserted row gets rolled back along with the test transaction.
+            entityManager.getEntityManagerFactory().getCache().evict(MessageTypeEntity.class, MESSAGE_TYPE);
+            entityManager.unwrap(Session.class).getSessionFactory().getCache().evictQueryRegion(DaoSpringModuleConfig.LOOKUP_QUERY_CACHE_REGION_NAME);
+        }
+    }
 }
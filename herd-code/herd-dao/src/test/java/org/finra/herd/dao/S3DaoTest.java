@@ -83,6 +83,7 @@ import com.amazonaws.services.s3.transfer.Transfer.TransferState;
 import com.amazonaws.services.s3.transfer.TransferProgress;
 import com.amazonaws.services.s3.transfer.Upload;
 import com.google.common.base.Objects;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.io.FileUtils;
 import org.junit.After;
@@ -2294,6 +2295,97 @@ public class S3DaoTest extends AbstractDaoTest
         }
     }
 
+    /**
+     * Test that we are able to resume a partial download of a file from S3 using our DAO tier.
+     */
+    @Test
+    public void testResumeDownloadFile() throws IOException, InterruptedException
+    {
+        // Upload local file to s3Dao.
+        testUploadFile();
+        byte[] expectedData = Files.readAllBytes(Paths.get(localTempPath.toString(), LOCAL_FILE));
+
+        // Create a local file with the first half of the data, the way an interrupted download leaves it.
+        File destinationLocalFile = Paths.get(localTempPath.toString(), "resumed_" + LOCAL_FILE).toFile();
+        Files.write(destinationLocalFile.toPath(), Arrays.copyOf(expectedData, expectedData.length / 2));
+
+        // Resume the download.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        S3FileTransferResultsDto results =
+            s3Dao.resumeDownloadFile(s3FileTransferRequestParamsDto, TARGET_S3_KEY, destinationLocalFile, DigestUtils.md5Hex(expectedData));
+
+        // Validate that only the rest of the data got downloaded.
+        assertEquals(Long.valueOf(1L), results.getTotalFilesTransferred());
+        assertEquals(Long.valueOf(expectedData.length - expectedData.length / 2), results.getTotalBytesTransferred());
+        assertTrue(Arrays.equals(expectedData, Files.readAllBytes(destinationLocalFile.toPath())));
+    }
+
+    /**
+     * Test that a resumed download fails and the local file gets removed when the downloaded data does not match the ETag of the S3 file.
+     */
+    @Test
+    public void testResumeDownloadFileChecksumMismatch() throws IOException, InterruptedException
+    {
+        // Upload local file to s3Dao.
+        testUploadFile();
+        byte[] expectedData = Files.readAllBytes(Paths.get(localTempPath.toString(), LOCAL_FILE));
+
+        // Create a local file with the first half of the data being different from the S3 file.
+        byte[] corruptedData = new byte[expectedData.length / 2];
+        for (int i = 0; i < corruptedData.length; i++)
+        {
+            corruptedData[i] = (byte) ~expectedData[i];
+        }
+        File destinationLocalFile = Paths.get(localTempPath.toString(), "resumed_" + LOCAL_FILE).toFile();
+        Files.write(destinationLocalFile.toPath(), corruptedData);
+
+        // Try to resume the download.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        try
+        {
+            s3Dao.resumeDownloadFile(s3FileTransferRequestParamsDto, TARGET_S3_KEY, destinationLocalFile, DigestUtils.md5Hex(expectedData));
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertTrue(e.getMessage().startsWith(String.format("MD5 digest of the downloaded \"%s\" S3 file does not match", destinationLocalFile.getPath())));
+        }
+
+        // Validate that the local file got removed, so the next attempt starts over.
+        assertTrue(!destinationLocalFile.exists());
+    }
+
+    /**
+     * Test that a resumed download fails and the local file gets removed when the S3 file was replaced since the local file was downloaded from it.
+     */
+    @Test
+    public void testResumeDownloadFileS3FileModified() throws IOException, InterruptedException
+    {
+        // Upload local file to s3Dao.
+        testUploadFile();
+        byte[] expectedData = Files.readAllBytes(Paths.get(localTempPath.toString(), LOCAL_FILE));
+
+        // Create a local file with the first half of the data, as downloaded from an earlier version of the S3 file.
+        File destinationLocalFile = Paths.get(localTempPath.toString(), "resumed_" + LOCAL_FILE).toFile();
+        Files.write(destinationLocalFile.toPath(), Arrays.copyOf(expectedData, expectedData.length / 2));
+
+        // Try to resume the download.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        try
+        {
+            s3Dao.resumeDownloadFile(s3FileTransferRequestParamsDto, TARGET_S3_KEY, destinationLocalFile, STRING_VALUE);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals(String.format("The \"%s\" S3 file was modified while it was being downloaded to \"%s\" (expected ETag \"%s\", actual ETag \"%s\").",
+                TARGET_S3_KEY, destinationLocalFile.getPath(), STRING_VALUE, DigestUtils.md5Hex(expectedData)), e.getMessage());
+        }
+
+        // Validate that the local file got removed, so the next attempt starts over.
+        assertTrue(!destinationLocalFile.exists());
+    }
+
     @Test
     public void testRestoreObjects()
     {
@@ -2489,6 +2581,32 @@ public class S3DaoTest extends AbstractDaoTest
         }
     }
 
+    @Test
+    public void testGetObjectSummaries()
+    {
+        // Put two S3 objects under the test S3 key prefix.
+        String s3KeyPrefix = TEST_S3_KEY_PREFIX + "/";
+        for (String s3Key : Arrays.asList(s3KeyPrefix + LOCAL_FILES.get(0), s3KeyPrefix + LOCAL_FILES.get(1)))
+        {
+            s3Operations.putObject(new PutObjectRequest(storageDaoTestHelper.getS3ManagedBucketName(), s3Key,
+                new ByteArrayInputStream(new byte[(int) FILE_SIZE_1_KB]), new ObjectMetadata()), null);
+        }
+
+        // Get the S3 objects for the two existing and one missing S3 keys.
+        S3FileTransferRequestParamsDto params = s3DaoTestHelper.getTestS3FileTransferRequestParamsDto();
+        params.setS3KeyPrefix(s3KeyPrefix);
+        params.setFiles(Arrays.asList(new File(s3KeyPrefix + LOCAL_FILES.get(1)), new File(s3KeyPrefix + LOCAL_FILES.get(2)),
+            new File(s3KeyPrefix + LOCAL_FILES.get(0))));
+        List<S3ObjectSummary> result = s3Dao.getObjectSummaries(params, true);
+
+        // Validate the results. Only the existing S3 objects are returned in the order of the file list.
+        assertEquals(2, result.size());
+        assertEquals(s3KeyPrefix + LOCAL_FILES.get(1), result.get(0).getKey());
+        assertEquals(FILE_SIZE_1_KB, result.get(0).getSize());
+        assertEquals(s3KeyPrefix + LOCAL_FILES.get(0), result.get(1).getKey());
+        assertEquals(FILE_SIZE_1_KB, result.get(1).getSize());
+    }
+
     @Test
     public void testS3FileExistsKeyNoExists()
     {
@@ -16,6 +16,7 @@
 package org.finra.herd.dao;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
@@ -60,4 +61,17 @@ public class StoragePlatformDaoTest extends AbstractDaoTest
             assertEquals(String.format("Found more than one storage platform with \"%s\" name.", STORAGE_PLATFORM_CODE), e.getMessage());
         }
     }
+
+    @Test
+    public void testGetStoragePlatformByNameNotCached()
+    {
+        // Create relative database entities.
+        StoragePlatformEntity storagePlatformEntity = storagePlatformDaoTestHelper.createStoragePlatformEntity(STORAGE_PLATFORM_CODE);
+
+        // Retrieve the storage platform entity by its name.
+        assertEquals(storagePlatformEntity, storagePlatformDao.getStoragePlatformByName(STORAGE_PLATFORM_CODE));
+
+        // Validate that the storage platform is not stored in the second-level cache, since storage platforms are not static reference data.
+        assertFalse(entityManager.getEntityManagerFactory().getCache().contains(StoragePlatformEntity.class, STORAGE_PLATFORM_CODE));
+    }
 }
@@ -27,10 +27,11 @@ import java.util.Collections;
 import java.util.List;
 
 import com.google.common.collect.Lists;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.junit.Test;
 
 import org.finra.herd.core.HerdDateUtils;
-import org.finra.herd.dao.impl.AbstractHerdDao;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataStorageUnitKey;
 import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
@@ -387,9 +388,9 @@ public class StorageUnitDaoTest extends AbstractDaoTest
                 StorageUnitStatusEntity.ENABLED, STORAGE_UNIT_STATUS_AVAILABLE_FLAG_SET));
         }
 
-        // Build a list of partition values, large enough to cause executing the select queries in chunks.
+        // Build a large list of partition values.
         List<String> partitionValues = new ArrayList<>();
-        for (int i = 0; i < AbstractHerdDao.MAX_PARTITION_FILTERS_PER_REQUEST; i++)
+        for (int i = 0; i < 300; i++)
         {
             partitionValues.add(String.format("%s-%s", PARTITION_VALUE, i));
         }
@@ -403,10 +404,23 @@ public class StorageUnitDaoTest extends AbstractDaoTest
             partitionFilters.add(Arrays.asList(partitionValue, SUBPARTITION_VALUES.get(0), null, null, null));
         }
 
-        // Retrieve "available" storage units per specified parameters.
-        List<StorageUnitAvailabilityDto> resultStorageUnitAvailabilityDtos1 = storageUnitDao
-            .getStorageUnitsByPartitionFilters(new BusinessObjectFormatKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION),
-                partitionFilters, DATA_VERSION, null, STORAGE_NAMES, null, null, SELECT_ONLY_AVAILABLE_STORAGE_UNITS);
+        // Retrieve "available" storage units per specified parameters and validate that all partition filters got resolved by a single query.
+        List<StorageUnitAvailabilityDto> resultStorageUnitAvailabilityDtos1;
+        Statistics statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try
+        {
+            statistics.clear();
+            resultStorageUnitAvailabilityDtos1 = storageUnitDao
+                .getStorageUnitsByPartitionFilters(new BusinessObjectFormatKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION),
+                    partitionFilters, DATA_VERSION, null, STORAGE_NAMES, null, null, SELECT_ONLY_AVAILABLE_STORAGE_UNITS);
+            assertEquals(1, statistics.getQueryExecutionCount());
+        }
+        finally
+        {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
 
         // Validate the results.
         assertNotNull(resultStorageUnitAvailabilityDtos1);
@@ -558,6 +572,64 @@ public class StorageUnitDaoTest extends AbstractDaoTest
         assertEquals(TEST_S3_KEY_PREFIX, resultStorageUnitEntities.get(0).getDirectoryPath());
     }
 
+    @Test
+    public void testGetStorageUnitsByStorageAndBusinessObjectDataStatementCount()
+    {
+        // Create storage units, each with a storage file, for several business object data registered in the same storage.
+        List<BusinessObjectDataEntity> businessObjectDataEntities = new ArrayList<>();
+        StorageEntity storageEntity = null;
+        for (String partitionValue : Arrays.asList(PARTITION_VALUE, PARTITION_VALUE_2, PARTITION_VALUE_3))
+        {
+            StorageUnitEntity storageUnitEntity = storageUnitDaoTestHelper
+                .createStorageUnitEntity(STORAGE_NAME, NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, partitionValue,
+                    SUBPARTITION_VALUES, DATA_VERSION, LATEST_VERSION_FLAG_SET, BDATA_STATUS, STORAGE_UNIT_STATUS, TEST_S3_KEY_PREFIX);
+            storageFileDaoTestHelper.createStorageFileEntity(storageUnitEntity, LOCAL_FILE, FILE_SIZE_1_KB, ROW_COUNT_1000);
+            businessObjectDataEntities.add(storageUnitEntity.getBusinessObjectData());
+            storageEntity = storageUnitEntity.getStorage();
+        }
+
+        // Clear the persistence context, so the entities get loaded from the database.
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        try
+        {
+            statistics.clear();
+
+            // Retrieve storage unit entities by storage and business object data.
+            List<StorageUnitEntity> resultStorageUnitEntities =
+                storageUnitDao.getStorageUnitsByStorageAndBusinessObjectData(storageEntity, businessObjectDataEntities);
+            assertEquals(3, resultStorageUnitEntities.size());
+            long statementCount = statistics.getPrepareStatementCount();
+
+            // Access everything needed to build the storage unit keys. No more queries are expected since the fetch plan loads it all.
+            for (StorageUnitEntity storageUnitEntity : resultStorageUnitEntities)
+            {
+                assertEquals(STORAGE_NAME, storageUnitEntity.getStorage().getName());
+                assertEquals(STORAGE_UNIT_STATUS, storageUnitEntity.getStatus().getCode());
+                assertEquals(BDATA_STATUS, storageUnitEntity.getBusinessObjectData().getStatus().getCode());
+                assertEquals(NAMESPACE,
+                    storageUnitEntity.getBusinessObjectData().getBusinessObjectFormat().getBusinessObjectDefinition().getNamespace().getCode());
+                assertEquals(FORMAT_FILE_TYPE_CODE, storageUnitEntity.getBusinessObjectData().getBusinessObjectFormat().getFileType().getCode());
+            }
+            assertEquals(statementCount, statistics.getPrepareStatementCount());
+
+            // Access the storage files of every storage unit. All the collections are expected to get initialized by a single query.
+            for (StorageUnitEntity storageUnitEntity : resultStorageUnitEntities)
+            {
+                assertEquals(1, storageUnitEntity.getStorageFiles().size());
+            }
+            assertEquals(statementCount + 1, statistics.getPrepareStatementCount());
+        }
+        finally
+        {
+            statistics.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
+
     @Test
     public void testGetStorageUnitsByStoragePlatformAndBusinessObjectData()
     {
@@ -17,9 +17,12 @@ package org.finra.herd.dao;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import org.finra.herd.model.jpa.StorageUnitStatusEntity;
+
 public class StorageUnitStatusDaoTest extends AbstractDaoTest
 {
     @Test
@@ -40,4 +43,18 @@ public class StorageUnitStatusDaoTest extends AbstractDaoTest
         // Confirm negative results when using non-existing storage unit status code.
         assertNull(storageUnitStatusDao.getStorageUnitStatusByCode("I_DO_NOT_EXIST"));
     }
+
+    @Test
+    public void testGetStorageUnitStatusByCodeSecondLevelCache()
+    {
+        // Retrieve a storage unit status that is part of the reference data.
+        StorageUnitStatusEntity storageUnitStatusEntity = storageUnitStatusDao.getStorageUnitStatusByCode(StorageUnitStatusEntity.ENABLED);
+        assertEquals(StorageUnitStatusEntity.ENABLED, storageUnitStatusEntity.getCode());
+
+        // Validate that the storage unit status is now stored in the second-level cache.
+        assertTrue(entityManager.getEntityManagerFactory().getCache().contains(StorageUnitStatusEntity.class, StorageUnitStatusEntity.ENABLED));
+
+        // Validate that the cached lookup keeps returning the same storage unit status.
+        assertEquals(storageUnitStatusEntity, storageUnitStatusDao.getStorageUnitStatusByCode(StorageUnitStatusEntity.ENABLED));
+    }
 }
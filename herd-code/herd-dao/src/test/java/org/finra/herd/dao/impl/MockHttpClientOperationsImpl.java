@@ -22,6 +22,7 @@ import java.nio.charset.UnsupportedCharsetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -40,6 +41,7 @@ import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.message.BasicStatusLine;
+import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -50,14 +52,18 @@ import org.finra.herd.dao.helper.XmlHelper;
 import org.finra.herd.model.api.xml.Attribute;
 import org.finra.herd.model.api.xml.AwsCredential;
 import org.finra.herd.model.api.xml.BusinessObjectData;
+import org.finra.herd.model.api.xml.BusinessObjectDataCreateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchResult;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataStorageFilesCreateResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataUploadCredential;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataVersion;
 import org.finra.herd.model.api.xml.BusinessObjectDataVersions;
 import org.finra.herd.model.api.xml.BusinessObjectDefinition;
+import org.finra.herd.model.api.xml.ErrorInformation;
 import org.finra.herd.model.api.xml.S3KeyPrefixInformation;
 import org.finra.herd.model.api.xml.Storage;
 import org.finra.herd.model.api.xml.StorageDirectory;
@@ -99,11 +105,15 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
     @Autowired
     private XmlHelper xmlHelper;
 
+    private final AtomicInteger requestCount = new AtomicInteger();
+
     @Override
     public CloseableHttpResponse execute(CloseableHttpClient httpClient, HttpUriRequest request) throws IOException, JAXBException
     {
         LOGGER.debug("request = " + request);
 
+        requestCount.incrementAndGet();
+
         ProtocolVersion protocolVersion = new ProtocolVersion("http", 1, 1);
         StatusLine statusLine = new BasicStatusLine(protocolVersion, HttpStatus.SC_OK, "Success");
         MockCloseableHttpResponse response = new MockCloseableHttpResponse(statusLine, false);
@@ -158,6 +168,11 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
                 checkHostname(request, HOSTNAME_THROW_IO_EXCEPTION_DURING_REGISTER_BDATA);
                 buildPostBusinessObjectDataResponse(response, uri);
             }
+            else if (uri.getPath().equals("/herd-app/rest/businessObjectData/upload/preparation"))
+            {
+                checkHostname(request, HOSTNAME_THROW_IO_EXCEPTION_DURING_REGISTER_BDATA);
+                buildPostBusinessObjectDataUploadPreparationResponse(response, uri, (HttpPost) request);
+            }
             else if (uri.getPath().equals("/herd-app/rest/businessObjectData/search"))
             {
                 checkHostname(request, HOSTNAME_THROW_IO_EXCEPTION);
@@ -430,6 +445,83 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
         response.setEntity(getHttpEntity(businessObjectData));
     }
 
+    /**
+     * Builds a business object data upload preparation response. When the latest business object data version is set up to be in UPLOADING state, the
+     * response is an error unless the force flag is set in the request.
+     *
+     * @param response the response.
+     * @param uri the URI of the incoming request.
+     * @param request the HTTP POST request.
+     *
+     * @throws IOException if an I/O error occurred.
+     * @throws JAXBException if a JAXB error occurred.
+     */
+    private void buildPostBusinessObjectDataUploadPreparationResponse(MockCloseableHttpResponse response, URI uri, HttpPost request)
+        throws IOException, JAXBException
+    {
+        BusinessObjectDataUploadPreparationRequest businessObjectDataUploadPreparationRequest =
+            xmlHelper.unmarshallXmlToObject(BusinessObjectDataUploadPreparationRequest.class, EntityUtils.toString(request.getEntity()));
+        BusinessObjectDataCreateRequest businessObjectDataCreateRequest = businessObjectDataUploadPreparationRequest.getBusinessObjectDataCreateRequest();
+
+        BusinessObjectDataUploadPreparationResponse businessObjectDataUploadPreparationResponse = new BusinessObjectDataUploadPreparationResponse();
+
+        if (HOSTNAME_LATEST_BDATA_VERSION_EXISTS_IN_UPLOADING_STATE.equals(uri.getHost()))
+        {
+            BusinessObjectDataKey latestBusinessObjectDataKey =
+                new BusinessObjectDataKey(businessObjectDataCreateRequest.getNamespace(), businessObjectDataCreateRequest.getBusinessObjectDefinitionName(),
+                    businessObjectDataCreateRequest.getBusinessObjectFormatUsage(), businessObjectDataCreateRequest.getBusinessObjectFormatFileType(),
+                    businessObjectDataCreateRequest.getBusinessObjectFormatVersion(), businessObjectDataCreateRequest.getPartitionValue(),
+                    businessObjectDataCreateRequest.getSubPartitionValues(), 0);
+
+            if (!Boolean.TRUE.equals(businessObjectDataUploadPreparationRequest.isForce()))
+            {
+                ErrorInformation errorInformation = new ErrorInformation();
+                errorInformation.setStatusCode(HttpStatus.SC_BAD_REQUEST);
+                errorInformation.setStatusDescription("Bad Request");
+                errorInformation.setMessage("Unable to prepare the upload because the latest business object data version is detected in UPLOADING state.");
+
+                response.setStatusLine(new BasicStatusLine(new ProtocolVersion("http", 1, 1), HttpStatus.SC_BAD_REQUEST, "Bad Request"));
+                response.setEntity(getHttpEntity(errorInformation));
+                return;
+            }
+
+            businessObjectDataUploadPreparationResponse.setInvalidatedBusinessObjectDataKey(latestBusinessObjectDataKey);
+        }
+
+        String storageName = businessObjectDataCreateRequest.getStorageUnits().get(0).getStorageName();
+
+        BusinessObjectData businessObjectData = new BusinessObjectData();
+        businessObjectData.setNamespace(businessObjectDataCreateRequest.getNamespace());
+        businessObjectData.setBusinessObjectDefinitionName(businessObjectDataCreateRequest.getBusinessObjectDefinitionName());
+        businessObjectData.setBusinessObjectFormatUsage(businessObjectDataCreateRequest.getBusinessObjectFormatUsage());
+        businessObjectData.setBusinessObjectFormatFileType(businessObjectDataCreateRequest.getBusinessObjectFormatFileType());
+        businessObjectData.setBusinessObjectFormatVersion(businessObjectDataCreateRequest.getBusinessObjectFormatVersion());
+        businessObjectData.setPartitionValue(businessObjectDataCreateRequest.getPartitionValue());
+        businessObjectData.setSubPartitionValues(businessObjectDataCreateRequest.getSubPartitionValues());
+        businessObjectData.setVersion(businessObjectDataUploadPreparationResponse.getInvalidatedBusinessObjectDataKey() != null ? 1 : 0);
+        businessObjectData.setStatus(BusinessObjectDataStatusEntity.UPLOADING);
+
+        String s3KeyPrefix = "app-a/exchange-a/prc/txt/new-orders/frmt-v0/data-v0/process-date=2014-01-31";
+        StorageUnit storageUnit = new StorageUnit();
+        storageUnit.setStorage(getNewStorage(storageName));
+        storageUnit.setStorageDirectory(new StorageDirectory(s3KeyPrefix));
+        businessObjectData.setStorageUnits(Arrays.asList(storageUnit));
+
+        AwsCredential awsCredential = new AwsCredential();
+        awsCredential.setAwsAccessKey(uri.toString());
+
+        businessObjectDataUploadPreparationResponse.setBusinessObjectData(businessObjectData);
+        businessObjectDataUploadPreparationResponse.setStorage(storageUnit.getStorage());
+        businessObjectDataUploadPreparationResponse.setS3KeyPrefix(s3KeyPrefix);
+        businessObjectDataUploadPreparationResponse.setAwsCredential(awsCredential);
+        if (storageName.toLowerCase().contains("kms"))
+        {
+            businessObjectDataUploadPreparationResponse.setAwsKmsKeyId("testKmsKeyId");
+        }
+
+        response.setEntity(getHttpEntity(businessObjectDataUploadPreparationResponse));
+    }
+
     /**
      * Builds a business object data storage files create response.
      *
@@ -489,6 +581,16 @@ public class MockHttpClientOperationsImpl implements HttpClientOperations
         response.setEntity(getHttpEntity(businessObjectDataUploadCredential));
     }
 
+    /**
+     * Gets the number of HTTP requests executed by this mock since the application context was started.
+     *
+     * @return the number of HTTP requests
+     */
+    public int getRequestCount()
+    {
+        return requestCount.get();
+    }
+
     private String getGroup(Matcher matcher, String groupName)
     {
         try
@@ -35,6 +35,7 @@ import java.util.concurrent.Future;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.Headers;
 import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.CopyObjectRequest;
@@ -78,6 +79,7 @@ import com.amazonaws.services.s3.transfer.internal.MultipleFileDownloadImpl;
 import com.amazonaws.services.s3.transfer.internal.MultipleFileUploadImpl;
 import com.amazonaws.services.s3.transfer.internal.TransferMonitor;
 import com.amazonaws.services.s3.transfer.internal.UploadImpl;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.concurrent.BasicFuture;
@@ -427,12 +429,27 @@ public class MockS3OperationsImpl implements S3Operations
     {
         MockS3Object mockS3Object = getMockS3Object(getObjectRequest.getBucketName(), getObjectRequest.getKey());
 
+        // Return null the way Amazon S3 client does when the ETag constraints of the request are not met.
+        if (!getObjectRequest.getMatchingETagConstraints().isEmpty() &&
+            !getObjectRequest.getMatchingETagConstraints().contains(mockS3Object.getObjectMetadata().getETag()))
+        {
+            return null;
+        }
+
         S3Object s3Object = new S3Object();
         s3Object.setBucketName(getObjectRequest.getBucketName());
         s3Object.setKey(getObjectRequest.getKey());
-        s3Object.setObjectContent(new ByteArrayInputStream(mockS3Object.getData()));
         s3Object.setObjectMetadata(mockS3Object.getObjectMetadata());
 
+        // Only return the requested range of bytes when a range is specified.
+        byte[] data = mockS3Object.getData();
+        long[] range = getObjectRequest.getRange();
+        if (range != null)
+        {
+            data = Arrays.copyOfRange(data, (int) range[0], (int) Math.min(range[1] + 1, data.length));
+        }
+        s3Object.setObjectContent(new ByteArrayInputStream(data));
+
         return s3Object;
     }
 
@@ -505,6 +522,7 @@ public class MockS3OperationsImpl implements S3Operations
                     s3ObjectSummary.setBucketName(bucketName);
                     s3ObjectSummary.setKey(s3ObjectKey);
                     s3ObjectSummary.setSize(mockS3Object.getData().length);
+                    s3ObjectSummary.setETag(mockS3Object.getObjectMetadata() != null ? mockS3Object.getObjectMetadata().getETag() : null);
                     s3ObjectSummary.setStorageClass(mockS3Object.getObjectMetadata() != null ? mockS3Object.getObjectMetadata().getStorageClass() : null);
 
                     objectListing.getObjectSummaries().add(s3ObjectSummary);
@@ -628,6 +646,9 @@ public class MockS3OperationsImpl implements S3Operations
         // Update the Last-Modified header value. This value not being set causes NullPointerException in S3Dao download related unit tests.
         metadata.setLastModified(new Date());
 
+        // Set the ETag the way S3 does for the objects that are not uploaded in parts.
+        metadata.setHeader(Headers.ETAG, DigestUtils.md5Hex(s3ObjectData));
+
         MockS3Bucket mockS3Bucket = getOrCreateBucket(s3BucketName);
 
         MockS3Object mockS3Object = new MockS3Object();
@@ -929,7 +950,7 @@ public class MockS3OperationsImpl implements S3Operations
      *
      * @return new or existing S3 mock bucket
      */
-    private MockS3Bucket getOrCreateBucket(String s3BucketName)
+    private synchronized MockS3Bucket getOrCreateBucket(String s3BucketName)
     {
         MockS3Bucket mockS3Bucket = mockS3Buckets.get(s3BucketName);
 
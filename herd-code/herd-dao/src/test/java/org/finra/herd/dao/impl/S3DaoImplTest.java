@@ -16,8 +16,15 @@
 package org.finra.herd.dao.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -25,9 +32,26 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.amazonaws.AmazonServiceException;
 import com.amazonaws.retry.PredefinedRetryPolicies;
@@ -36,9 +60,13 @@ import com.amazonaws.services.s3.AmazonS3Client;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingRequest;
 import com.amazonaws.services.s3.model.GetObjectTaggingResult;
+import com.amazonaws.services.s3.model.ListObjectsRequest;
 import com.amazonaws.services.s3.model.ListVersionsRequest;
 import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
 import com.amazonaws.services.s3.model.RestoreObjectRequest;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import com.amazonaws.services.s3.model.S3VersionSummary;
@@ -47,6 +75,10 @@ import com.amazonaws.services.s3.model.SetObjectTaggingResult;
 import com.amazonaws.services.s3.model.Tag;
 import com.amazonaws.services.s3.model.Tier;
 import com.amazonaws.services.s3.model.VersionListing;
+import com.amazonaws.services.s3.transfer.TransferManager;
+import com.amazonaws.services.s3.transfer.TransferManagerConfiguration;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -54,14 +86,19 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.core.helper.LogLevel;
 import org.finra.herd.dao.AbstractDaoTest;
 import org.finra.herd.dao.RetryPolicyFactory;
 import org.finra.herd.dao.S3Operations;
 import org.finra.herd.dao.helper.AwsHelper;
 import org.finra.herd.dao.helper.JavaPropertiesHelper;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.dto.S3ClientRegistryStatisticsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+import org.finra.herd.model.dto.S3FileTransferResultsDto;
 
 /**
  * This class tests functionality within the S3 DAO implementation.
@@ -74,6 +111,9 @@ public class S3DaoImplTest extends AbstractDaoTest
     @Mock
     private AwsHelper awsHelper;
 
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
     @Mock
     private JavaPropertiesHelper javaPropertiesHelper;
 
@@ -141,8 +181,8 @@ public class S3DaoImplTest extends AbstractDaoTest
                 e.getMessage());
         }
 
-        // Verify the external calls.
-        verify(retryPolicyFactory, times(2)).getRetryPolicy();
+        // Verify the external calls. The S3 client created to list the versions gets reused to delete them.
+        verify(retryPolicyFactory).getRetryPolicy();
         verify(s3Operations).listVersions(any(ListVersionsRequest.class), any(AmazonS3Client.class));
         verify(s3Operations).deleteObjects(any(DeleteObjectsRequest.class), any(AmazonS3Client.class));
         verifyNoMoreInteractionsHelper();
@@ -176,6 +216,206 @@ public class S3DaoImplTest extends AbstractDaoTest
         verifyNoMoreInteractionsHelper();
     }
 
+    @Test
+    public void testGetObjectSummariesTruncatedListing()
+    {
+        // Create S3 keys for an S3 object returned by the listing, an S3 object found by a HEAD request, and a missing S3 object.
+        String listedS3Key = S3_KEY_PREFIX + "/" + LOCAL_FILE + "1";
+        String probedS3Key = S3_KEY_PREFIX + "/" + LOCAL_FILE + "2";
+        String missingS3Key = S3_KEY_PREFIX + "/" + LOCAL_FILE + "3";
+
+        // Create an S3 file transfer request parameters DTO.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(S3_KEY_PREFIX + "/");
+        s3FileTransferRequestParamsDto.setFiles(Arrays.asList(new File(listedS3Key), new File(probedS3Key), new File(missingS3Key)));
+
+        // Create a retry policy.
+        RetryPolicy retryPolicy =
+            new RetryPolicy(PredefinedRetryPolicies.DEFAULT_RETRY_CONDITION, PredefinedRetryPolicies.DEFAULT_BACKOFF_STRATEGY, INTEGER_VALUE, true);
+
+        // Create a truncated object listing that contains only the first S3 object.
+        S3ObjectSummary listedS3ObjectSummary = new S3ObjectSummary();
+        listedS3ObjectSummary.setBucketName(S3_BUCKET_NAME);
+        listedS3ObjectSummary.setKey(listedS3Key);
+        listedS3ObjectSummary.setSize(FILE_SIZE_1_KB);
+        ObjectListing objectListing = new ObjectListing();
+        objectListing.getObjectSummaries().add(listedS3ObjectSummary);
+        objectListing.setTruncated(true);
+
+        // Create object metadata for the S3 object found by a HEAD request.
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentLength(FILE_SIZE_2_KB);
+
+        // Create an exception returned by a HEAD request for a missing S3 object.
+        AmazonServiceException notFoundException = new AmazonServiceException(ERROR_MESSAGE);
+        notFoundException.setStatusCode(404);
+
+        // Mock the external calls.
+        when(retryPolicyFactory.getRetryPolicy()).thenReturn(retryPolicy);
+        when(s3Operations.listObjects(any(ListObjectsRequest.class), any(AmazonS3Client.class))).thenReturn(objectListing);
+        when(s3Operations.getObjectMetadata(eq(S3_BUCKET_NAME), eq(probedS3Key), any(AmazonS3Client.class))).thenReturn(objectMetadata);
+        when(s3Operations.getObjectMetadata(eq(S3_BUCKET_NAME), eq(missingS3Key), any(AmazonS3Client.class))).thenThrow(notFoundException);
+
+        // Call the method under test.
+        List<S3ObjectSummary> result = s3DaoImpl.getObjectSummaries(s3FileTransferRequestParamsDto, true);
+
+        // Verify the external calls. The S3 key prefix is listed only once and the S3 keys not found on the listed page are probed with HEAD requests.
+        verify(retryPolicyFactory).getRetryPolicy();
+        verify(s3Operations).listObjects(any(ListObjectsRequest.class), any(AmazonS3Client.class));
+        verify(s3Operations).getObjectMetadata(eq(S3_BUCKET_NAME), eq(probedS3Key), any(AmazonS3Client.class));
+        verify(s3Operations).getObjectMetadata(eq(S3_BUCKET_NAME), eq(missingS3Key), any(AmazonS3Client.class));
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertEquals(2, result.size());
+        assertSame(listedS3ObjectSummary, result.get(0));
+        assertEquals(probedS3Key, result.get(1).getKey());
+        assertEquals(FILE_SIZE_2_KB, result.get(1).getSize());
+    }
+
+    @Test
+    public void testGetS3ClientRegistryStatistics()
+    {
+        // Create an S3 file transfer request parameters DTO to access S3 objects.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(S3_KEY_PREFIX);
+
+        // Create an S3 file transfer request parameters DTO that uses an HTTP proxy.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDtoWithProxy = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDtoWithProxy.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDtoWithProxy.setS3KeyPrefix(S3_KEY_PREFIX);
+        s3FileTransferRequestParamsDtoWithProxy.setHttpProxyHost(HTTP_PROXY_HOST);
+        s3FileTransferRequestParamsDtoWithProxy.setHttpProxyPort(HTTP_PROXY_PORT);
+
+        // Create a retry policy.
+        RetryPolicy retryPolicy =
+            new RetryPolicy(PredefinedRetryPolicies.DEFAULT_RETRY_CONDITION, PredefinedRetryPolicies.DEFAULT_BACKOFF_STRATEGY, INTEGER_VALUE, true);
+
+        ArgumentCaptor<AmazonS3Client> s3ClientCaptor = ArgumentCaptor.forClass(AmazonS3Client.class);
+
+        // Mock the external calls.
+        when(retryPolicyFactory.getRetryPolicy()).thenReturn(retryPolicy);
+        when(s3Operations.putObject(any(PutObjectRequest.class), s3ClientCaptor.capture())).thenReturn(new PutObjectResult());
+
+        // Call the method under test twice with the same parameters and once with a different HTTP proxy.
+        s3DaoImpl.createDirectory(s3FileTransferRequestParamsDto);
+        s3DaoImpl.createDirectory(s3FileTransferRequestParamsDto);
+        s3DaoImpl.createDirectory(s3FileTransferRequestParamsDtoWithProxy);
+
+        // Validate that the S3 client got reused for the same parameters only.
+        List<AmazonS3Client> s3Clients = s3ClientCaptor.getAllValues();
+        assertEquals(3, s3Clients.size());
+        assertSame(s3Clients.get(0), s3Clients.get(1));
+        assertNotSame(s3Clients.get(0), s3Clients.get(2));
+
+        // Validate the S3 client registry statistics.
+        S3ClientRegistryStatisticsDto result = s3DaoImpl.getS3ClientRegistryStatistics();
+        assertEquals(Integer.valueOf(2), result.getPooledClientCount());
+        assertEquals(Integer.valueOf(0), result.getActiveLeaseCount());
+        assertEquals(Integer.valueOf(0), result.getTransferQuotaCount());
+        assertEquals(Long.valueOf(2), result.getCreatedClientCount());
+        assertEquals(Long.valueOf(1), result.getReusedClientCount());
+        assertEquals(Long.valueOf(0), result.getEvictedClientCount());
+        assertEquals(Integer.valueOf(0), result.getTransferThreadCount());
+        assertEquals(Integer.valueOf(0), result.getLargestTransferThreadCount());
+
+        // Verify the external calls.
+        verify(retryPolicyFactory, times(2)).getRetryPolicy();
+        verify(s3Operations, times(3)).putObject(any(PutObjectRequest.class), any(AmazonS3Client.class));
+        verifyNoMoreInteractionsHelper();
+    }
+
+    @Test
+    public void testGetS3ClientRegistryStatisticsAwsCredentials()
+    {
+        // Create S3 file transfer request parameters DTOs that use the same access key with different secret keys and a different access key.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(S3_KEY_PREFIX);
+        s3FileTransferRequestParamsDto.setAwsAccessKeyId(AWS_ASSUMED_ROLE_ACCESS_KEY);
+        s3FileTransferRequestParamsDto.setAwsSecretKey(AWS_ASSUMED_ROLE_SECRET_KEY);
+
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDtoWithOtherSecretKey = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDtoWithOtherSecretKey.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDtoWithOtherSecretKey.setS3KeyPrefix(S3_KEY_PREFIX);
+        s3FileTransferRequestParamsDtoWithOtherSecretKey.setAwsAccessKeyId(AWS_ASSUMED_ROLE_ACCESS_KEY);
+        s3FileTransferRequestParamsDtoWithOtherSecretKey.setAwsSecretKey(AWS_ASSUMED_ROLE_SECRET_KEY_2);
+
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDtoWithOtherAccessKey = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDtoWithOtherAccessKey.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDtoWithOtherAccessKey.setS3KeyPrefix(S3_KEY_PREFIX);
+        s3FileTransferRequestParamsDtoWithOtherAccessKey.setAwsAccessKeyId(AWS_ASSUMED_ROLE_ACCESS_KEY_2);
+        s3FileTransferRequestParamsDtoWithOtherAccessKey.setAwsSecretKey(AWS_ASSUMED_ROLE_SECRET_KEY);
+
+        // Create a retry policy.
+        RetryPolicy retryPolicy =
+            new RetryPolicy(PredefinedRetryPolicies.DEFAULT_RETRY_CONDITION, PredefinedRetryPolicies.DEFAULT_BACKOFF_STRATEGY, INTEGER_VALUE, true);
+
+        ArgumentCaptor<AmazonS3Client> s3ClientCaptor = ArgumentCaptor.forClass(AmazonS3Client.class);
+
+        // Mock the external calls.
+        when(retryPolicyFactory.getRetryPolicy()).thenReturn(retryPolicy);
+        when(s3Operations.putObject(any(PutObjectRequest.class), s3ClientCaptor.capture())).thenReturn(new PutObjectResult());
+
+        // Call the method under test with all of the parameters.
+        s3DaoImpl.createDirectory(s3FileTransferRequestParamsDto);
+        s3DaoImpl.createDirectory(s3FileTransferRequestParamsDtoWithOtherSecretKey);
+        s3DaoImpl.createDirectory(s3FileTransferRequestParamsDtoWithOtherAccessKey);
+
+        // Validate that the S3 client got reused for the same access key only.
+        List<AmazonS3Client> s3Clients = s3ClientCaptor.getAllValues();
+        assertEquals(3, s3Clients.size());
+        assertSame(s3Clients.get(0), s3Clients.get(1));
+        assertNotSame(s3Clients.get(0), s3Clients.get(2));
+
+        // Validate the S3 client registry statistics.
+        S3ClientRegistryStatisticsDto result = s3DaoImpl.getS3ClientRegistryStatistics();
+        assertEquals(Integer.valueOf(2), result.getPooledClientCount());
+        assertEquals(Long.valueOf(2), result.getCreatedClientCount());
+        assertEquals(Long.valueOf(1), result.getReusedClientCount());
+
+        // Verify the external calls.
+        verify(retryPolicyFactory, times(2)).getRetryPolicy();
+        verify(s3Operations, times(3)).putObject(any(PutObjectRequest.class), any(AmazonS3Client.class));
+        verifyNoMoreInteractionsHelper();
+    }
+
+    @Test
+    public void testGetTransferManagerConfiguration()
+    {
+        long megabyte = 1024L * 1024;
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // A transfer that does not upload local files keeps the transfer manager defaults.
+        TransferManagerConfiguration result = S3DaoImpl.getTransferManagerConfiguration(s3FileTransferRequestParamsDto, null, 10);
+        assertEquals(new TransferManagerConfiguration().getMinimumUploadPartSize(), result.getMinimumUploadPartSize());
+        assertEquals(new TransferManagerConfiguration().getMultipartUploadThreshold(), result.getMultipartUploadThreshold());
+
+        // Small files get uploaded with a single request.
+        result = S3DaoImpl.getTransferManagerConfiguration(s3FileTransferRequestParamsDto, 10 * megabyte, 10);
+        assertEquals(8 * megabyte, result.getMinimumUploadPartSize());
+        assertEquals(16 * megabyte, result.getMultipartUploadThreshold());
+
+        // A large file gets spread over all the threads.
+        result = S3DaoImpl.getTransferManagerConfiguration(s3FileTransferRequestParamsDto, 300 * megabyte, 10);
+        assertEquals(32 * megabyte, result.getMinimumUploadPartSize());
+        assertEquals(32 * megabyte, result.getMultipartUploadThreshold());
+
+        // The part size picked for a very large file is capped.
+        result = S3DaoImpl.getTransferManagerConfiguration(s3FileTransferRequestParamsDto, 100 * 1024 * megabyte, 10);
+        assertEquals(64 * megabyte, result.getMinimumUploadPartSize());
+        assertEquals(64 * megabyte, result.getMultipartUploadThreshold());
+
+        // The part size and the threshold specified for the transfer override the picked ones, while the part size stays within the S3 limits.
+        s3FileTransferRequestParamsDto.setMultipartUploadPartSize(megabyte);
+        s3FileTransferRequestParamsDto.setMultipartUploadThreshold(100 * megabyte);
+        result = S3DaoImpl.getTransferManagerConfiguration(s3FileTransferRequestParamsDto, 300 * megabyte, 10);
+        assertEquals(5 * megabyte, result.getMinimumUploadPartSize());
+        assertEquals(100 * megabyte, result.getMultipartUploadThreshold());
+    }
+
     @Test
     public void testTagObjects()
     {
@@ -267,6 +507,114 @@ public class S3DaoImplTest extends AbstractDaoTest
         runTagVersionsTest();
     }
 
+    @Test
+    public void testTagVersionsMultipleThreadsSkipAlreadyTaggedVersions()
+    {
+        // Create an S3 file transfer request parameters DTO to access S3 objects.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDto.setMaxThreads(2);
+
+        // Create an S3 file transfer request parameters DTO to tag S3 objects.
+        S3FileTransferRequestParamsDto s3ObjectTaggerParamsDto = new S3FileTransferRequestParamsDto();
+        s3ObjectTaggerParamsDto.setAwsAccessKeyId(AWS_ASSUMED_ROLE_ACCESS_KEY);
+        s3ObjectTaggerParamsDto.setAwsSecretKey(AWS_ASSUMED_ROLE_SECRET_KEY);
+        s3ObjectTaggerParamsDto.setSessionToken(AWS_ASSUMED_ROLE_SESSION_TOKEN);
+
+        // Create S3 version summaries for one S3 version that is already tagged and one that is not.
+        S3VersionSummary taggedS3VersionSummary = new S3VersionSummary();
+        taggedS3VersionSummary.setKey(S3_KEY);
+        taggedS3VersionSummary.setVersionId(S3_VERSION_ID);
+        S3VersionSummary untaggedS3VersionSummary = new S3VersionSummary();
+        untaggedS3VersionSummary.setKey(S3_KEY_2);
+        untaggedS3VersionSummary.setVersionId(S3_VERSION_ID);
+
+        // Create an S3 object tag.
+        Tag tag = new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE);
+
+        // Create a retry policy.
+        RetryPolicy retryPolicy =
+            new RetryPolicy(PredefinedRetryPolicies.DEFAULT_RETRY_CONDITION, PredefinedRetryPolicies.DEFAULT_BACKOFF_STRATEGY, INTEGER_VALUE, true);
+
+        // Mock the external calls.
+        when(retryPolicyFactory.getRetryPolicy()).thenReturn(retryPolicy);
+        when(s3Operations.getObjectTagging(any(GetObjectTaggingRequest.class), any(AmazonS3Client.class))).thenAnswer(invocation -> {
+            GetObjectTaggingRequest getObjectTaggingRequest = invocation.getArgument(0);
+            return new GetObjectTaggingResult(S3_KEY.equals(getObjectTaggingRequest.getKey()) ? Collections.singletonList(tag) : null);
+        });
+        when(s3Operations.setObjectTagging(any(SetObjectTaggingRequest.class), any(AmazonS3Client.class))).thenReturn(new SetObjectTaggingResult());
+
+        // Call the method under test.
+        s3DaoImpl.tagVersions(s3FileTransferRequestParamsDto, s3ObjectTaggerParamsDto, Arrays.asList(taggedS3VersionSummary, untaggedS3VersionSummary),
+            tag);
+
+        // Verify the external calls.
+        ArgumentCaptor<SetObjectTaggingRequest> setObjectTaggingRequestArgumentCaptor = ArgumentCaptor.forClass(SetObjectTaggingRequest.class);
+        verify(retryPolicyFactory, times(2)).getRetryPolicy();
+        verify(s3Operations, times(2)).getObjectTagging(any(GetObjectTaggingRequest.class), any(AmazonS3Client.class));
+        verify(s3Operations).setObjectTagging(setObjectTaggingRequestArgumentCaptor.capture(), any(AmazonS3Client.class));
+        verifyNoMoreInteractionsHelper();
+
+        // Validate that only the untagged S3 version got tagged.
+        assertEquals(S3_KEY_2, setObjectTaggingRequestArgumentCaptor.getValue().getKey());
+        assertEquals(Collections.singletonList(tag), setObjectTaggingRequestArgumentCaptor.getValue().getTagging().getTagSet());
+    }
+
+    @Test
+    public void testTagVersionsSkipTagLookup()
+    {
+        // Create an S3 file transfer request parameters DTO to access S3 objects that skips the lookup of the current S3 object tags.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDto.setMaxThreads(2);
+        s3FileTransferRequestParamsDto.setSkipObjectTagLookup(true);
+
+        // Create an S3 file transfer request parameters DTO to tag S3 objects.
+        S3FileTransferRequestParamsDto s3ObjectTaggerParamsDto = new S3FileTransferRequestParamsDto();
+        s3ObjectTaggerParamsDto.setAwsAccessKeyId(AWS_ASSUMED_ROLE_ACCESS_KEY);
+        s3ObjectTaggerParamsDto.setAwsSecretKey(AWS_ASSUMED_ROLE_SECRET_KEY);
+        s3ObjectTaggerParamsDto.setSessionToken(AWS_ASSUMED_ROLE_SESSION_TOKEN);
+
+        // Create S3 version summaries.
+        S3VersionSummary s3VersionSummary = new S3VersionSummary();
+        s3VersionSummary.setKey(S3_KEY);
+        s3VersionSummary.setVersionId(S3_VERSION_ID);
+        S3VersionSummary s3VersionSummary2 = new S3VersionSummary();
+        s3VersionSummary2.setKey(S3_KEY_2);
+        s3VersionSummary2.setVersionId(S3_VERSION_ID);
+
+        // Create an S3 object tag.
+        Tag tag = new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE);
+
+        // Create a retry policy.
+        RetryPolicy retryPolicy =
+            new RetryPolicy(PredefinedRetryPolicies.DEFAULT_RETRY_CONDITION, PredefinedRetryPolicies.DEFAULT_BACKOFF_STRATEGY, INTEGER_VALUE, true);
+
+        // Mock the external calls.
+        when(retryPolicyFactory.getRetryPolicy()).thenReturn(retryPolicy);
+        when(s3Operations.setObjectTagging(any(SetObjectTaggingRequest.class), any(AmazonS3Client.class))).thenReturn(new SetObjectTaggingResult());
+
+        // Call the method under test.
+        s3DaoImpl.tagVersions(s3FileTransferRequestParamsDto, s3ObjectTaggerParamsDto, Arrays.asList(s3VersionSummary, s3VersionSummary2), tag);
+
+        // Verify the external calls. The current S3 object tags are never retrieved.
+        ArgumentCaptor<SetObjectTaggingRequest> setObjectTaggingRequestArgumentCaptor = ArgumentCaptor.forClass(SetObjectTaggingRequest.class);
+        verify(retryPolicyFactory, times(2)).getRetryPolicy();
+        verify(s3Operations, times(2)).setObjectTagging(setObjectTaggingRequestArgumentCaptor.capture(), any(AmazonS3Client.class));
+        verifyNoMoreInteractionsHelper();
+
+        // Validate that both S3 versions got tagged with only the specified S3 object tag.
+        Set<String> taggedS3Keys = new HashSet<>();
+        for (SetObjectTaggingRequest setObjectTaggingRequest : setObjectTaggingRequestArgumentCaptor.getAllValues())
+        {
+            taggedS3Keys.add(setObjectTaggingRequest.getKey());
+            assertEquals(S3_BUCKET_NAME, setObjectTaggingRequest.getBucketName());
+            assertEquals(S3_VERSION_ID, setObjectTaggingRequest.getVersionId());
+            assertEquals(Collections.singletonList(tag), setObjectTaggingRequest.getTagging().getTagSet());
+        }
+        assertEquals(new HashSet<>(Arrays.asList(S3_KEY, S3_KEY_2)), taggedS3Keys);
+    }
+
     @Test
     public void testTagVersionsNoS3VersionSummaries()
     {
@@ -336,6 +684,236 @@ public class S3DaoImplTest extends AbstractDaoTest
         }
     }
 
+    @Test
+    public void testTransferQuotaExecutor() throws Exception
+    {
+        // Create a shared thread pool that is smaller than the combined quotas of the transfer quota executors using it.
+        ThreadPoolExecutor sharedThreadPool = new ThreadPoolExecutor(4, 4, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        try
+        {
+            List<S3DaoImpl.TransferQuotaExecutor> transferQuotaExecutors = Arrays
+                .asList(new S3DaoImpl.TransferQuotaExecutor(sharedThreadPool, 3), new S3DaoImpl.TransferQuotaExecutor(sharedThreadPool, 3),
+                    new S3DaoImpl.TransferQuotaExecutor(sharedThreadPool, 3));
+
+            // Run a number of tasks through every executor while keeping track of the largest number of tasks each of them runs at the same time.
+            List<AtomicInteger> activeTaskCounts = new ArrayList<>();
+            List<AtomicInteger> maxActiveTaskCounts = new ArrayList<>();
+            List<Future<?>> futures = new ArrayList<>();
+            for (S3DaoImpl.TransferQuotaExecutor transferQuotaExecutor : transferQuotaExecutors)
+            {
+                AtomicInteger activeTaskCount = new AtomicInteger();
+                AtomicInteger maxActiveTaskCount = new AtomicInteger();
+                activeTaskCounts.add(activeTaskCount);
+                maxActiveTaskCounts.add(maxActiveTaskCount);
+
+                for (int i = 0; i < 10; i++)
+                {
+                    futures.add(transferQuotaExecutor.submit(() -> {
+                        maxActiveTaskCount.accumulateAndGet(activeTaskCount.incrementAndGet(), Math::max);
+                        try
+                        {
+                            Thread.sleep(10);
+                        }
+                        finally
+                        {
+                            activeTaskCount.decrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+            }
+
+            for (Future<?> future : futures)
+            {
+                future.get(10, TimeUnit.SECONDS);
+            }
+
+            // Validate that every executor stayed within its quota and that the shared thread pool did not grow over its maximum size.
+            for (AtomicInteger maxActiveTaskCount : maxActiveTaskCounts)
+            {
+                assertTrue(maxActiveTaskCount.get() >= 1 && maxActiveTaskCount.get() <= 3);
+            }
+            assertTrue(sharedThreadPool.getLargestPoolSize() <= 4);
+
+            // Shut down the transfer quota executors and validate that the shared thread pool is still running.
+            for (S3DaoImpl.TransferQuotaExecutor transferQuotaExecutor : transferQuotaExecutors)
+            {
+                transferQuotaExecutor.shutdown();
+                assertTrue(transferQuotaExecutor.awaitTermination(10, TimeUnit.SECONDS));
+            }
+            assertFalse(sharedThreadPool.isShutdown());
+        }
+        finally
+        {
+            sharedThreadPool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTransferQuotaExecutorShutdownNow() throws Exception
+    {
+        ThreadPoolExecutor sharedThreadPool = new ThreadPoolExecutor(2, 2, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        try
+        {
+            S3DaoImpl.TransferQuotaExecutor transferQuotaExecutor = new S3DaoImpl.TransferQuotaExecutor(sharedThreadPool, 1);
+
+            // Submit a task that blocks the only slot of the executor and a task that has to wait for it.
+            CountDownLatch latch = new CountDownLatch(1);
+            transferQuotaExecutor.execute(() -> {
+                try
+                {
+                    latch.await();
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            Runnable pendingTask = () -> {
+            };
+            transferQuotaExecutor.execute(pendingTask);
+
+            // Shut down the executor and validate that the pending task got returned and that no more tasks are accepted.
+            assertEquals(Collections.singletonList(pendingTask), transferQuotaExecutor.shutdownNow());
+            assertTrue(transferQuotaExecutor.isShutdown());
+            assertFalse(transferQuotaExecutor.isTerminated());
+            try
+            {
+                transferQuotaExecutor.execute(pendingTask);
+                fail();
+            }
+            catch (RejectedExecutionException e)
+            {
+                assertEquals("The transfer manager executor is shut down.", e.getMessage());
+            }
+
+            // Let the running task complete and validate that the executor terminates.
+            latch.countDown();
+            assertTrue(transferQuotaExecutor.awaitTermination(10, TimeUnit.SECONDS));
+            assertFalse(sharedThreadPool.isShutdown());
+        }
+        finally
+        {
+            sharedThreadPool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUploadFileConcurrentTransfers() throws Exception
+    {
+        int maxTransferThreads = 4;
+        int transferCount = 20;
+        int fileSizeBytes = 64 * 1024;
+
+        // Start a local S3 stand-in that accepts object uploads, takes a while to serve each of them and keeps track of the largest number of requests it
+        // serves at the same time.
+        AtomicInteger activeRequestCount = new AtomicInteger();
+        AtomicInteger maxActiveRequestCount = new AtomicInteger();
+        AtomicInteger uploadedObjectCount = new AtomicInteger();
+        ExecutorService s3StandInExecutor = Executors.newCachedThreadPool();
+        HttpServer s3StandIn = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        s3StandIn.setExecutor(s3StandInExecutor);
+        s3StandIn.createContext("/", exchange -> {
+            maxActiveRequestCount.accumulateAndGet(activeRequestCount.incrementAndGet(), Math::max);
+            try
+            {
+                IOUtils.toByteArray(exchange.getRequestBody());
+                Thread.sleep(20);
+
+                // A multipart upload style ETag makes the S3 client skip the MD5 validation, since the stand-in does not decode the signed request body.
+                exchange.getResponseHeaders().add("ETag", "\"" + StringUtils.repeat('0', 32) + "-1\"");
+                exchange.sendResponseHeaders(200, -1);
+                uploadedObjectCount.incrementAndGet();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                exchange.sendResponseHeaders(500, -1);
+            }
+            finally
+            {
+                activeRequestCount.decrementAndGet();
+                exchange.close();
+            }
+        });
+        s3StandIn.start();
+
+        File localFile = Files.createTempFile(TEST_FILE, null).toFile();
+        ExecutorService transferExecutor = Executors.newFixedThreadPool(transferCount);
+        try
+        {
+            Files.write(localFile.toPath(), new byte[fileSizeBytes]);
+
+            // Create a retry policy.
+            RetryPolicy retryPolicy =
+                new RetryPolicy(PredefinedRetryPolicies.DEFAULT_RETRY_CONDITION, PredefinedRetryPolicies.DEFAULT_BACKOFF_STRATEGY, INTEGER_VALUE, true);
+
+            // Mock the external calls. The uploads are performed by the transfer managers of the DAO, so they run on the shared transfer thread pool.
+            when(configurationHelper.getProperty(ConfigurationValue.S3_TRANSFER_MAX_THREADS, Integer.class)).thenReturn(maxTransferThreads);
+            when(retryPolicyFactory.getRetryPolicy()).thenReturn(retryPolicy);
+            when(s3Operations.upload(any(PutObjectRequest.class), any(TransferManager.class)))
+                .thenAnswer(invocation -> ((TransferManager) invocation.getArgument(1)).upload((PutObjectRequest) invocation.getArgument(0)));
+            ReflectionTestUtils.setField(s3DaoImpl, "sleepIntervalsMillis", 1L);
+
+            // Run two rounds of concurrent uploads, each of them asking for more transfer threads than the shared transfer thread pool has.
+            List<Long> roundDurations = new ArrayList<>();
+            for (int round = 0; round < 2; round++)
+            {
+                List<Future<S3FileTransferResultsDto>> futures = new ArrayList<>();
+                long startTime = System.currentTimeMillis();
+                for (int i = 0; i < transferCount; i++)
+                {
+                    S3FileTransferRequestParamsDto params = new S3FileTransferRequestParamsDto();
+                    params.setS3Endpoint("http://" + s3StandIn.getAddress().getAddress().getHostAddress() + ":" + s3StandIn.getAddress().getPort());
+                    params.setS3BucketName(S3_BUCKET_NAME);
+                    params.setS3KeyPrefix(S3_KEY_PREFIX + "/" + round + "/" + i);
+                    params.setLocalPath(localFile.getPath());
+                    params.setAwsAccessKeyId(AWS_ASSUMED_ROLE_ACCESS_KEY);
+                    params.setAwsSecretKey(AWS_ASSUMED_ROLE_SECRET_KEY);
+                    params.setMaxThreads(3);
+                    futures.add(transferExecutor.submit(() -> s3DaoImpl.uploadFile(params)));
+                }
+                for (Future<S3FileTransferResultsDto> future : futures)
+                {
+                    S3FileTransferResultsDto result = future.get(60, TimeUnit.SECONDS);
+                    assertEquals(Long.valueOf(1), result.getTotalFilesTransferred());
+                    assertEquals(Long.valueOf(fileSizeBytes), result.getTotalBytesTransferred());
+                }
+                roundDurations.add(System.currentTimeMillis() - startTime);
+            }
+
+            // Validate that all of the objects got uploaded while no more requests than the transfer threads were in flight at the same time.
+            assertEquals(2 * transferCount, uploadedObjectCount.get());
+            assertTrue(maxActiveRequestCount.get() >= 1 && maxActiveRequestCount.get() <= maxTransferThreads);
+
+            // Validate that the throughput held steady, i.e. the second round, which reuses the S3 client, did not take much longer than the first one.
+            assertTrue(String.format("Round durations: %s", roundDurations), roundDurations.get(1) <= 2 * roundDurations.get(0) + 1000);
+
+            // Validate that the shared transfer thread pool stayed bounded and that all of the transfers released their S3 client and transfer quota.
+            S3ClientRegistryStatisticsDto result = s3DaoImpl.getS3ClientRegistryStatistics();
+            assertEquals(Integer.valueOf(1), result.getPooledClientCount());
+            assertEquals(Integer.valueOf(0), result.getActiveLeaseCount());
+            assertEquals(Integer.valueOf(0), result.getTransferQuotaCount());
+            assertEquals(Long.valueOf(1), result.getCreatedClientCount());
+            assertEquals(Long.valueOf(2 * transferCount - 1), result.getReusedClientCount());
+            assertTrue(result.getLargestTransferThreadCount() >= 1 && result.getLargestTransferThreadCount() <= maxTransferThreads);
+
+            // Verify the external calls.
+            verify(configurationHelper).getProperty(ConfigurationValue.S3_TRANSFER_MAX_THREADS, Integer.class);
+            verify(retryPolicyFactory).getRetryPolicy();
+            verify(s3Operations, times(2 * transferCount)).upload(any(PutObjectRequest.class), any(TransferManager.class));
+            verifyNoMoreInteractionsHelper();
+        }
+        finally
+        {
+            transferExecutor.shutdownNow();
+            s3DaoImpl.shutdown();
+            s3StandIn.stop(0);
+            s3StandInExecutor.shutdownNow();
+            assertTrue(localFile.delete());
+        }
+    }
+
     @Test
     public void testRestoreObjectsBulkArchiveRetrievalOption() {
         runRestoreObjects(Tier.Bulk.toString());
@@ -356,6 +934,60 @@ public class S3DaoImplTest extends AbstractDaoTest
         runRestoreObjects(null);
     }
 
+    @Test
+    public void testRestoreObjectsMultipleThreadsWithSlowDown()
+    {
+        List<File> files = Arrays.asList(new File(TEST_FILE), new File(TEST_FILE + "_2"), new File(TEST_FILE + "_3"));
+
+        // Create an S3 file transfer request parameters DTO to access S3 objects.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+        s3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
+        s3FileTransferRequestParamsDto.setS3KeyPrefix(S3_KEY_PREFIX);
+        s3FileTransferRequestParamsDto.setFiles(files);
+        s3FileTransferRequestParamsDto.setMaxThreads(2);
+
+        // Create a retry policy.
+        RetryPolicy retryPolicy =
+            new RetryPolicy(PredefinedRetryPolicies.DEFAULT_RETRY_CONDITION, PredefinedRetryPolicies.DEFAULT_BACKOFF_STRATEGY, INTEGER_VALUE, true);
+
+        // Create an Object Metadata
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setOngoingRestore(false);
+
+        // Create a "SlowDown" exception to be thrown by the first restore request.
+        AmazonServiceException slowDownException = new AmazonServiceException(ERROR_MESSAGE);
+        slowDownException.setErrorCode(S3Operations.ERROR_CODE_SLOW_DOWN);
+
+        // Keep track of the restored S3 keys.
+        Set<String> restoredS3Keys = ConcurrentHashMap.newKeySet();
+        AtomicBoolean slowDownThrown = new AtomicBoolean();
+
+        // Mock the external calls.
+        ReflectionTestUtils.setField(s3DaoImpl, "sleepIntervalsMillis", 1L);
+        when(retryPolicyFactory.getRetryPolicy()).thenReturn(retryPolicy);
+        when(s3Operations.getObjectMetadata(anyString(), anyString(), any(AmazonS3Client.class))).thenReturn(objectMetadata);
+        doAnswer(invocation -> {
+            if (slowDownThrown.compareAndSet(false, true))
+            {
+                throw slowDownException;
+            }
+            restoredS3Keys.add(((RestoreObjectRequest) invocation.getArgument(0)).getKey());
+            return null;
+        }).when(s3Operations).restoreObject(any(RestoreObjectRequest.class), any(AmazonS3Client.class));
+
+        // Call the method under test.
+        s3DaoImpl.restoreObjects(s3FileTransferRequestParamsDto, EXPIRATION_IN_DAYS, null);
+
+        // Validate that all S3 keys got restored.
+        assertEquals(new HashSet<>(Arrays.asList(TEST_FILE, TEST_FILE + "_2", TEST_FILE + "_3")), restoredS3Keys);
+
+        // Verify the external calls. The S3 key that got the "SlowDown" error is processed again.
+        verify(retryPolicyFactory).getRetryPolicy();
+        verify(s3Operations, times(4)).getObjectMetadata(anyString(), anyString(), any(AmazonS3Client.class));
+        verify(s3Operations, times(4)).restoreObject(any(RestoreObjectRequest.class), any(AmazonS3Client.class));
+        verifyNoMoreInteractionsHelper();
+    }
+
     /**
      * Run restore objects method
      * @param archiveRetrievalOption the archive retrieval option
@@ -499,6 +1131,6 @@ public class S3DaoImplTest extends AbstractDaoTest
      */
     private void verifyNoMoreInteractionsHelper()
     {
-        verifyNoMoreInteractions(awsHelper, javaPropertiesHelper, retryPolicyFactory, s3Operations);
+        verifyNoMoreInteractions(awsHelper, configurationHelper, javaPropertiesHelper, retryPolicyFactory, s3Operations);
     }
 }
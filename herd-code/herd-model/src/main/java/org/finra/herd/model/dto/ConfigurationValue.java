@@ -132,6 +132,16 @@ public enum ConfigurationValue
      */
     HTTP_PROXY_PORT("http.proxy.port", null),
 
+    /**
+     * The maximum number of pooled connections kept by the HTTP client used by the herd tools. The default is 20.
+     */
+    HTTP_CLIENT_MAX_CONNECTIONS("http.client.max.connections", 20),
+
+    /**
+     * The maximum number of pooled connections per route kept by the HTTP client used by the herd tools. The default is 20.
+     */
+    HTTP_CLIENT_MAX_CONNECTIONS_PER_ROUTE("http.client.max.connections.per.route", 20),
+
     /**
      * The token delimiter to use for Activiti job definition ID template. The default is the tilde character.
      */
@@ -278,6 +288,12 @@ public enum ConfigurationValue
      */
     BDATA_RESTORE_EXPIRATION_IN_DAYS_DEFAULT("business.object.data.restore.expiration.in.days.default", 30),
 
+    /**
+     * The maximum number of threads used to initiate S3 object restore requests and to check S3 object restore status for a single storage unit. The default
+     * is 10 threads.
+     */
+    BDATA_RESTORE_S3_MAX_THREADS("business.object.data.restore.s3.max.threads", 10),
+
     /**
      * The delay time in days to complete the business object data destroy operation. The default is 15 days
      */
@@ -436,6 +452,23 @@ public enum ConfigurationValue
      */
     THREAD_POOL_QUEUE_CAPACITY("thread.pool.queue.capacity", Integer.MAX_VALUE),
 
+    /**
+     * The number of threads available for concurrent processing of the individual requests of business object data availability, business object data DDL,
+     * and business object format DDL collection requests. This thread pool is shared by all the collection requests. The default is 20.
+     */
+    COLLECTION_REQUEST_THREAD_POOL_SIZE("collection.request.thread.pool.size", 20),
+
+    /**
+     * The maximum number of individual requests of a single collection request that get processed concurrently. A value of 1 processes the individual requests
+     * sequentially on the request thread. The default is 5.
+     */
+    COLLECTION_REQUEST_MAX_PARALLELISM("collection.request.max.parallelism", 5),
+
+    /**
+     * The maximum number of business object data allowed in a single business object data create or status update collection request. The default is 1000.
+     */
+    BUSINESS_OBJECT_DATA_COLLECTION_MAX_SIZE("business.object.data.collection.max.size", 1000),
+
     /**
      * The activiti thread pool core pool size.
      */
@@ -664,6 +697,12 @@ public enum ConfigurationValue
      */
     BUSINESS_OBJECT_DATA_SEARCH_MAX_PAGE_SIZE("business.object.data.search.max.page.size", 1_000),
 
+    /**
+     * Specifies whether latest, maximum, and minimum partition value lookups for the latest VALID business object data are served from the business object
+     * data partition summary table. The summary table is maintained regardless of this flag, so it can be turned on at any time. The default is false.
+     */
+    BUSINESS_OBJECT_DATA_PARTITION_SUMMARY_ENABLED("business.object.data.partition.summary.enabled", "false"),
+
     /**
      * The maximum number of nested tags allowed
      */
@@ -949,6 +988,23 @@ public enum ConfigurationValue
      */
     S3_OBJECT_DELETE_ROLE_SESSION_NAME("s3.object.delete.role.session.name", null),
 
+    /**
+     * The maximum number of threads used to tag S3 objects for a single storage policy transition or business object data destroy. The default is 10 threads.
+     */
+    S3_OBJECT_TAGGING_MAX_THREADS("s3.object.tagging.max.threads", 10),
+
+    /**
+     * Whether to tag S3 objects for a storage policy transition or business object data destroy without reading their current tags first. Enable it when the
+     * S3 objects managed by herd are known to carry no tags other than the ones herd sets, so every S3 version gets tagged by a single request that replaces
+     * its tags. The default is false.
+     */
+    S3_OBJECT_TAGGING_SKIP_TAG_LOOKUP("s3.object.tagging.skip.tag.lookup", false),
+
+    /**
+     * The maximum number of transfer threads shared by the transfer managers of all the S3 clients in the process. The default is 100 threads.
+     */
+    S3_TRANSFER_MAX_THREADS("s3.transfer.max.threads", 100),
+
     /**
      * The business object format attribute name for the relational database schema name. The default is "relational.schema.name".
      */
@@ -62,6 +62,8 @@ public class SecurityFunctions
 
     public static final String FN_BUSINESS_OBJECT_DATA_BY_BUSINESS_OBJECT_FORMAT_GET = "FN_BUSINESS_OBJECT_DATA_BY_BUSINESS_OBJECT_FORMAT_GET";
 
+    public static final String FN_BUSINESS_OBJECT_DATA_COLLECTION_POST = "FN_BUSINESS_OBJECT_DATA_COLLECTION_POST";
+
     public static final String FN_BUSINESS_OBJECT_DATA_DELETE = "FN_BUSINESS_OBJECT_DATA_DELETE";
 
     public static final String FN_BUSINESS_OBJECT_DATA_DESTROY_POST = "FN_BUSINESS_OBJECT_DATA_DESTROY_POST";
@@ -100,6 +102,8 @@ public class SecurityFunctions
 
     public static final String FN_BUSINESS_OBJECT_DATA_SEARCH_POST = "FN_BUSINESS_OBJECT_DATA_SEARCH_POST";
 
+    public static final String FN_BUSINESS_OBJECT_DATA_STATUS_COLLECTION_PUT = "FN_BUSINESS_OBJECT_DATA_STATUS_COLLECTION_PUT";
+
     public static final String FN_BUSINESS_OBJECT_DATA_STATUS_GET = "FN_BUSINESS_OBJECT_DATA_STATUS_GET";
 
     public static final String FN_BUSINESS_OBJECT_DATA_STATUS_PUT = "FN_BUSINESS_OBJECT_DATA_STATUS_PUT";
@@ -114,6 +118,8 @@ public class SecurityFunctions
 
     public static final String FN_BUSINESS_OBJECT_DATA_UPLOAD_CREDENTIAL_GET = "FN_BUSINESS_OBJECT_DATA_UPLOAD_CREDENTIAL_GET";
 
+    public static final String FN_BUSINESS_OBJECT_DATA_UPLOAD_PREPARATION_POST = "FN_BUSINESS_OBJECT_DATA_UPLOAD_PREPARATION_POST";
+
     public static final String FN_BUSINESS_OBJECT_DATA_VERSIONS_GET = "FN_BUSINESS_OBJECT_DATA_VERSIONS_GET";
 
     public static final String FN_BUSINESS_OBJECT_DEFINITIONS_ALL_GET = "FN_BUSINESS_OBJECT_DEFINITIONS_ALL_GET";
@@ -28,11 +28,15 @@ import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.OneToMany;
 import javax.persistence.OrderBy;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Type;
 
 /**
@@ -40,8 +44,23 @@ import org.hibernate.annotations.Type;
  */
 @Table(name = BusinessObjectDataEntity.TABLE_NAME)
 @Entity
+@NamedEntityGraph(name = BusinessObjectDataEntity.KEY_FETCH_PLAN, attributeNodes = {
+    @NamedAttributeNode(value = "businessObjectFormat", subgraph = "businessObjectFormat"), @NamedAttributeNode("status")}, subgraphs = {
+    @NamedSubgraph(name = "businessObjectFormat", attributeNodes = {
+        @NamedAttributeNode(value = "businessObjectDefinition", subgraph = "businessObjectDefinition"), @NamedAttributeNode("fileType")}),
+    @NamedSubgraph(name = "businessObjectDefinition", attributeNodes = {@NamedAttributeNode("namespace")})})
 public class BusinessObjectDataEntity extends AuditableEntity
 {
+    /**
+     * The name of the fetch plan that loads business object data along with everything needed to build its key and status in the same query.
+     */
+    public static final String KEY_FETCH_PLAN = "BusinessObjectDataEntity.key";
+
+    /**
+     * The number of lazy collections initialized by a single query once one of them gets accessed within the persistence context.
+     */
+    public static final int COLLECTION_BATCH_SIZE = 100;
+
     /**
      * The table name.
      */
@@ -99,10 +118,12 @@ public class BusinessObjectDataEntity extends AuditableEntity
 
     @OneToMany(mappedBy = "businessObjectData", orphanRemoval = true, cascade = {CascadeType.ALL})
     @OrderBy("storage")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private Collection<StorageUnitEntity> storageUnits;
 
     @OneToMany(mappedBy = "businessObjectData", orphanRemoval = true, cascade = {CascadeType.ALL})
     @OrderBy("name")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private Collection<BusinessObjectDataAttributeEntity> attributes;
 
     // These are the parents (i.e. the data that was needed to create this data).
@@ -110,10 +131,12 @@ public class BusinessObjectDataEntity extends AuditableEntity
         @JoinColumn(name = TABLE_NAME + "_id", referencedColumnName = TABLE_NAME + "_id")}, inverseJoinColumns = {
         @JoinColumn(name = "prnt_bus_objct_data_id", referencedColumnName = TABLE_NAME + "_id")})
     @ManyToMany
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private List<BusinessObjectDataEntity> businessObjectDataParents;
 
     // These are the children (i.e. the data that is dependent on this data).
     @ManyToMany(mappedBy = "businessObjectDataParents")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private List<BusinessObjectDataEntity> businessObjectDataChildren;
 
     @ManyToOne
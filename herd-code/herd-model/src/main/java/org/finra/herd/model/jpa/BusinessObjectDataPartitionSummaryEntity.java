@@ -0,0 +1,219 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.model.jpa;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+/**
+ * A business object data partition summary. There is one summary row per business object format, storage, and full set of partition values. Each row
+ * points at the latest business object data version in VALID status that has a storage unit in the storage, along with that storage unit's status. The
+ * table is maintained as business object data and storage units are registered or change status, and lets latest/max/min partition value lookups run as
+ * indexed top-1 queries instead of aggregating over the business object data and storage unit tables.
+ */
+@Table(name = BusinessObjectDataPartitionSummaryEntity.TABLE_NAME)
+@Entity
+public class BusinessObjectDataPartitionSummaryEntity extends AuditableEntity
+{
+    /**
+     * The table name.
+     */
+    public static final String TABLE_NAME = "bus_objct_data_prtn_smry";
+
+    @Id
+    @Column(name = TABLE_NAME + "_id")
+    @GeneratedValue(generator = TABLE_NAME + "_seq")
+    @SequenceGenerator(name = TABLE_NAME + "_seq", sequenceName = TABLE_NAME + "_seq", allocationSize = 1)
+    private Integer id;
+
+    @ManyToOne
+    @JoinColumn(name = "bus_objct_frmt_id", referencedColumnName = "bus_objct_frmt_id", nullable = false)
+    private BusinessObjectFormatEntity businessObjectFormat;
+
+    @Column(name = "bus_objct_frmt_id", insertable = false, updatable = false)
+    private Integer businessObjectFormatId;
+
+    @ManyToOne
+    @JoinColumn(name = "strge_cd", referencedColumnName = "strge_cd", nullable = false)
+    private StorageEntity storage;
+
+    @Column(name = "strge_cd", insertable = false, updatable = false)
+    private String storageName;
+
+    @Column(name = "prtn_value_tx", nullable = false)
+    private String partitionValue;
+
+    @Column(name = "prtn_value_2_tx")
+    private String partitionValue2;
+
+    @Column(name = "prtn_value_3_tx")
+    private String partitionValue3;
+
+    @Column(name = "prtn_value_4_tx")
+    private String partitionValue4;
+
+    @Column(name = "prtn_value_5_tx")
+    private String partitionValue5;
+
+    /**
+     * The version of the latest VALID business object data registered in this storage for this set of partition values.
+     */
+    @Column(name = "data_vrsn_nb", nullable = false)
+    private Integer businessObjectDataVersion;
+
+    @ManyToOne
+    @JoinColumn(name = "strge_unit_stts_cd", referencedColumnName = "strge_unit_stts_cd", nullable = false)
+    private StorageUnitStatusEntity storageUnitStatus;
+
+    @Column(name = "strge_unit_stts_cd", insertable = false, updatable = false)
+    private String storageUnitStatusCode;
+
+    public Integer getId()
+    {
+        return id;
+    }
+
+    public void setId(Integer id)
+    {
+        this.id = id;
+    }
+
+    public BusinessObjectFormatEntity getBusinessObjectFormat()
+    {
+        return businessObjectFormat;
+    }
+
+    public void setBusinessObjectFormat(BusinessObjectFormatEntity businessObjectFormat)
+    {
+        this.businessObjectFormat = businessObjectFormat;
+    }
+
+    public Integer getBusinessObjectFormatId()
+    {
+        return businessObjectFormatId;
+    }
+
+    public void setBusinessObjectFormatId(Integer businessObjectFormatId)
+    {
+        this.businessObjectFormatId = businessObjectFormatId;
+    }
+
+    public StorageEntity getStorage()
+    {
+        return storage;
+    }
+
+    public void setStorage(StorageEntity storage)
+    {
+        this.storage = storage;
+    }
+
+    public String getStorageName()
+    {
+        return storageName;
+    }
+
+    public void setStorageName(String storageName)
+    {
+        this.storageName = storageName;
+    }
+
+    public String getPartitionValue()
+    {
+        return partitionValue;
+    }
+
+    public void setPartitionValue(String partitionValue)
+    {
+        this.partitionValue = partitionValue;
+    }
+
+    public String getPartitionValue2()
+    {
+        return partitionValue2;
+    }
+
+    public void setPartitionValue2(String partitionValue2)
+    {
+        this.partitionValue2 = partitionValue2;
+    }
+
+    public String getPartitionValue3()
+    {
+        return partitionValue3;
+    }
+
+    public void setPartitionValue3(String partitionValue3)
+    {
+        this.partitionValue3 = partitionValue3;
+    }
+
+    public String getPartitionValue4()
+    {
+        return partitionValue4;
+    }
+
+    public void setPartitionValue4(String partitionValue4)
+    {
+        this.partitionValue4 = partitionValue4;
+    }
+
+    public String getPartitionValue5()
+    {
+        return partitionValue5;
+    }
+
+    public void setPartitionValue5(String partitionValue5)
+    {
+        this.partitionValue5 = partitionValue5;
+    }
+
+    public Integer getBusinessObjectDataVersion()
+    {
+        return businessObjectDataVersion;
+    }
+
+    public void setBusinessObjectDataVersion(Integer businessObjectDataVersion)
+    {
+        this.businessObjectDataVersion = businessObjectDataVersion;
+    }
+
+    public StorageUnitStatusEntity getStorageUnitStatus()
+    {
+        return storageUnitStatus;
+    }
+
+    public void setStorageUnitStatus(StorageUnitStatusEntity storageUnitStatus)
+    {
+        this.storageUnitStatus = storageUnitStatus;
+    }
+
+    public String getStorageUnitStatusCode()
+    {
+        return storageUnitStatusCode;
+    }
+
+    public void setStorageUnitStatusCode(String storageUnitStatusCode)
+    {
+        this.storageUnitStatusCode = storageUnitStatusCode;
+    }
+}
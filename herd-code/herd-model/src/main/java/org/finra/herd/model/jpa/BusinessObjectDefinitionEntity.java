@@ -33,6 +33,7 @@ import javax.persistence.Transient;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import org.hibernate.annotations.BatchSize;
 
 /**
  * A business object definition.
@@ -41,6 +42,11 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 @Entity
 public class BusinessObjectDefinitionEntity extends AuditableEntity
 {
+    /**
+     * The number of lazy collections initialized by a single query once one of them gets accessed within the persistence context.
+     */
+    public static final int COLLECTION_BATCH_SIZE = 100;
+
     /**
      * The table name.
      */
@@ -74,21 +80,25 @@ public class BusinessObjectDefinitionEntity extends AuditableEntity
 
     @JsonManagedReference(value="businessObjectDefinition-businessObjectFormats")
     @OneToMany(mappedBy = "businessObjectDefinition")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private Collection<BusinessObjectFormatEntity> businessObjectFormats;
 
     @JsonManagedReference(value="businessObjectDefinition-attributes")
     @OneToMany(mappedBy = "businessObjectDefinition", orphanRemoval = true, cascade = {CascadeType.ALL})
     @OrderBy("name")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private Collection<BusinessObjectDefinitionAttributeEntity> attributes;
 
     @JsonManagedReference(value="businessObjectDefinition-columns")
     @OneToMany(mappedBy = "businessObjectDefinition", orphanRemoval = true, cascade = {CascadeType.ALL})
     @OrderBy("name")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private Collection<BusinessObjectDefinitionColumnEntity> columns;
 
     @JsonManagedReference(value="businessObjectDefinition-businessObjectDefinitionTags")
     @OneToMany(mappedBy = "businessObjectDefinition", orphanRemoval = true, cascade = {CascadeType.ALL})
     @OrderBy("tag_id")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private Collection<BusinessObjectDefinitionTagEntity> businessObjectDefinitionTags;
 
     @JsonManagedReference(value = "businessObjectDefinition-descriptiveBusinessObjectFormat")
@@ -99,11 +109,13 @@ public class BusinessObjectDefinitionEntity extends AuditableEntity
     @JsonManagedReference(value="businessObjectDefinition-sampleDataFiles")
     @OneToMany(mappedBy = "businessObjectDefinition", orphanRemoval = true, cascade = {CascadeType.ALL})
     @OrderBy("file_nm,drcty_path_tx")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private Collection<BusinessObjectDefinitionSampleDataFileEntity> sampleDataFiles;
 
     @JsonManagedReference(value="businessObjectDefinition-subjectMatterExperts")
     @OneToMany(mappedBy = "businessObjectDefinition", orphanRemoval = true, cascade = {CascadeType.ALL})
     @OrderBy("user_id")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private Collection<BusinessObjectDefinitionSubjectMatterExpertEntity> subjectMatterExperts;
 
     @Transient
@@ -35,6 +35,7 @@ import javax.persistence.Table;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Type;
 
 /**
@@ -98,6 +99,7 @@ public class BusinessObjectFormatEntity extends AuditableEntity
     @JsonManagedReference(value = "businessObjectFormat-attributes")
     @OneToMany(mappedBy = "businessObjectFormat", orphanRemoval = true, cascade = {CascadeType.ALL})
     @OrderBy("name")
+    @BatchSize(size = BusinessObjectDefinitionEntity.COLLECTION_BATCH_SIZE)
     private Collection<BusinessObjectFormatAttributeEntity> attributes;
 
     @Column(name = "prtn_key_tx")
@@ -125,6 +127,7 @@ public class BusinessObjectFormatEntity extends AuditableEntity
     @JsonManagedReference(value = "businessObjectFormat-attributeDefinitions")
     @OneToMany(mappedBy = "businessObjectFormat", orphanRemoval = true, cascade = {CascadeType.ALL})
     @OrderBy("name")
+    @BatchSize(size = BusinessObjectDefinitionEntity.COLLECTION_BATCH_SIZE)
     private Collection<BusinessObjectDataAttributeDefinitionEntity> attributeDefinitions;
 
     @JsonManagedReference(value = "businessObjectFormat-schemaColumns")
@@ -15,16 +15,22 @@
 */
 package org.finra.herd.model.jpa;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 /**
  * A storage policy rule type.
  */
 @Table(name = "strge_plcy_rule_type_cd_lk")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class StoragePolicyRuleTypeEntity extends AuditableEntity
 {
     /**
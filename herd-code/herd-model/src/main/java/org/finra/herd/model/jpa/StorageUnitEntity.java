@@ -25,18 +25,41 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.OneToMany;
 import javax.persistence.OrderBy;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.BatchSize;
+
 /**
  * A storage unit.
  */
 @Table(name = StorageUnitEntity.TABLE_NAME)
 @Entity
+@NamedEntityGraph(name = StorageUnitEntity.KEY_FETCH_PLAN, attributeNodes = {@NamedAttributeNode("storage"), @NamedAttributeNode("status"),
+    @NamedAttributeNode(value = "businessObjectData", subgraph = "businessObjectData")}, subgraphs = {
+    @NamedSubgraph(name = "businessObjectData", attributeNodes = {
+        @NamedAttributeNode(value = "businessObjectFormat", subgraph = "businessObjectFormat"), @NamedAttributeNode("status")}),
+    @NamedSubgraph(name = "businessObjectFormat", attributeNodes = {
+        @NamedAttributeNode(value = "businessObjectDefinition", subgraph = "businessObjectDefinition"), @NamedAttributeNode("fileType")}),
+    @NamedSubgraph(name = "businessObjectDefinition", attributeNodes = {@NamedAttributeNode("namespace")})})
 public class StorageUnitEntity extends AuditableEntity
 {
+    /**
+     * The name of the fetch plan that loads storage units along with their storage, status, and everything needed to build the storage unit key in the same
+     * query.
+     */
+    public static final String KEY_FETCH_PLAN = "StorageUnitEntity.key";
+
+    /**
+     * The number of storage file collections initialized by a single query once one of them gets accessed within the persistence context.
+     */
+    public static final int COLLECTION_BATCH_SIZE = 100;
+
     /**
      * The table name.
      */
@@ -50,6 +73,7 @@ public class StorageUnitEntity extends AuditableEntity
 
     @OneToMany(mappedBy = "storageUnit", orphanRemoval = true, cascade = {CascadeType.ALL})
     @OrderBy("path")
+    @BatchSize(size = COLLECTION_BATCH_SIZE)
     private Collection<StorageFileEntity> storageFiles;
 
     /**
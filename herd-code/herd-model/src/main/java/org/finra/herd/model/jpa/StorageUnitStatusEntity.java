@@ -15,11 +15,14 @@
 */
 package org.finra.herd.model.jpa;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Type;
 
 /**
@@ -27,6 +30,8 @@ import org.hibernate.annotations.Type;
  */
 @Table(name = "strge_unit_stts_cd_lk")
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class StorageUnitStatusEntity extends AuditableEntity
 {
     // List of common statuses
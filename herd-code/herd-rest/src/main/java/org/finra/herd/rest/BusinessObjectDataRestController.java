@@ -39,6 +39,8 @@ import org.finra.herd.model.api.xml.BusinessObjectDataAvailability;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityCollectionRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataCreateCollectionRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataCreateCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataCreateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdl;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlCollectionRequest;
@@ -54,6 +56,8 @@ import org.finra.herd.model.api.xml.BusinessObjectDataRetryStoragePolicyTransiti
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchResult;
 import org.finra.herd.model.api.xml.BusinessObjectDataUploadCredential;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataVersions;
 import org.finra.herd.model.api.xml.BusinessObjectDefinitionKey;
 import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
@@ -147,6 +151,31 @@ public class BusinessObjectDataRestController extends HerdBaseController
         return businessObjectData;
     }
 
+    /**
+     * Creates (i.e. registers) a collection of business object data registered against the same business object format. The entire collection is registered
+     * in a single transaction. <p> Requires WRITE permission on all namespaces </p>
+     *
+     * @param businessObjectDataCreateCollectionRequest the information needed to create the business object data
+     *
+     * @return the created business object data listed in the order of the create requests
+     */
+    @RequestMapping(value = "/businessObjectData/collection", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_COLLECTION_POST)
+    public BusinessObjectDataCreateCollectionResponse createBusinessObjectDataCollection(
+        @RequestBody BusinessObjectDataCreateCollectionRequest businessObjectDataCreateCollectionRequest)
+    {
+        BusinessObjectDataCreateCollectionResponse businessObjectDataCreateCollectionResponse =
+            businessObjectDataService.createBusinessObjectDataCollection(businessObjectDataCreateCollectionRequest);
+
+        // Trigger notifications once the entire collection is committed.
+        for (BusinessObjectData businessObjectData : businessObjectDataCreateCollectionResponse.getBusinessObjectDataElements())
+        {
+            businessObjectDataDaoHelper.triggerNotificationsForCreateBusinessObjectData(businessObjectData);
+        }
+
+        return businessObjectDataCreateCollectionResponse;
+    }
+
     /**
      * Deletes an existing business object data without subpartition values with namespace. <p> Requires WRITE permission on namespace </p>
      *
@@ -677,6 +706,29 @@ public class BusinessObjectDataRestController extends HerdBaseController
         return businessObjectDataInvalidateUnregisteredResponse;
     }
 
+    /**
+     * Prepares an upload of new business object data in a single call. Invalidates the latest business object data version when it is still in UPLOADING
+     * status and the force flag is set, pre-registers the new business object data, and returns it along with its storage, S3 key prefix, and the AWS
+     * credential to upload with. <p> Requires WRITE permission on namespace </p>
+     *
+     * @param request the business object data upload preparation request
+     *
+     * @return the business object data upload preparation response
+     */
+    @RequestMapping(value = "/businessObjectData/upload/preparation", method = RequestMethod.POST, consumes = {"application/xml", "application/json"})
+    @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_UPLOAD_PREPARATION_POST)
+    @ApiOperation(value = "Prepares a Business Object Data Upload. This is not meant for public consumption.", hidden = true)
+    public BusinessObjectDataUploadPreparationResponse prepareBusinessObjectDataUpload(@RequestBody BusinessObjectDataUploadPreparationRequest request)
+    {
+        BusinessObjectDataUploadPreparationResponse businessObjectDataUploadPreparationResponse =
+            businessObjectDataService.prepareBusinessObjectDataUpload(request);
+
+        // Trigger notifications.
+        businessObjectDataDaoHelper.triggerNotificationsForPrepareBusinessObjectDataUpload(businessObjectDataUploadPreparationResponse);
+
+        return businessObjectDataUploadPreparationResponse;
+    }
+
     /**
      * Initiates a restore request for a currently archived business object data.
      *
@@ -31,6 +31,8 @@ import org.springframework.web.bind.annotation.RestController;
 import org.finra.herd.dao.helper.HerdStringHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusInformation;
+import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateCollectionRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateResponse;
 import org.finra.herd.model.dto.SecurityFunctions;
@@ -319,4 +321,34 @@ public class BusinessObjectDataStatusRestController extends HerdBaseController
 
         return businessObjectDataStatusUpdateResponse;
     }
+
+    /**
+     * Updates statuses of a collection of business object data that belong to the same business object format. The entire collection is updated in a single
+     * transaction. <p>Requires WRITE permission on all namespaces</p>
+     *
+     * @param request the business object data status update collection request
+     *
+     * @return the business object data status update collection response
+     */
+    @RequestMapping(value = BUSINESS_OBJECT_DATA_STATUS_URI_PREFIX + "/collection", method = RequestMethod.PUT,
+        consumes = {"application/xml", "application/json"})
+    @Secured(SecurityFunctions.FN_BUSINESS_OBJECT_DATA_STATUS_COLLECTION_PUT)
+    public BusinessObjectDataStatusUpdateCollectionResponse updateBusinessObjectDataStatusCollection(
+        @RequestBody BusinessObjectDataStatusUpdateCollectionRequest request)
+    {
+        // Update statuses of the business object data.
+        BusinessObjectDataStatusUpdateCollectionResponse businessObjectDataStatusUpdateCollectionResponse =
+            businessObjectDataStatusService.updateBusinessObjectDataStatusCollection(request);
+
+        // Create business object data notifications.
+        for (BusinessObjectDataStatusUpdateResponse businessObjectDataStatusUpdateResponse : businessObjectDataStatusUpdateCollectionResponse
+            .getBusinessObjectDataStatusUpdateResponses())
+        {
+            notificationEventService.processBusinessObjectDataNotificationEventAsync(NotificationEventTypeEntity.EventTypesBdata.BUS_OBJCT_DATA_STTS_CHG,
+                businessObjectDataStatusUpdateResponse.getBusinessObjectDataKey(), businessObjectDataStatusUpdateResponse.getStatus(),
+                businessObjectDataStatusUpdateResponse.getPreviousStatus());
+        }
+
+        return businessObjectDataStatusUpdateCollectionResponse;
+    }
 }
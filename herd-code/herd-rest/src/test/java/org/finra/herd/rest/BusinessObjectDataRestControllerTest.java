@@ -45,6 +45,8 @@ import org.finra.herd.model.api.xml.BusinessObjectDataAvailability;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityCollectionRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataCreateCollectionRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataCreateCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataCreateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdl;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlCollectionRequest;
@@ -60,6 +62,8 @@ import org.finra.herd.model.api.xml.BusinessObjectDataRetryStoragePolicyTransiti
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchResult;
 import org.finra.herd.model.api.xml.BusinessObjectDataUploadCredential;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataVersion;
 import org.finra.herd.model.api.xml.BusinessObjectDataVersions;
 import org.finra.herd.model.api.xml.BusinessObjectDefinitionKey;
@@ -172,6 +176,41 @@ public class BusinessObjectDataRestControllerTest extends AbstractRestTest
         assertEquals(businessObjectData, result);
     }
 
+    @Test
+    public void testCreateBusinessObjectDataCollection()
+    {
+        // Create a business object data create collection request.
+        BusinessObjectDataCreateCollectionRequest businessObjectDataCreateCollectionRequest =
+            new BusinessObjectDataCreateCollectionRequest(Arrays.asList(new BusinessObjectDataCreateRequest(), new BusinessObjectDataCreateRequest()));
+
+        // Create business object data.
+        BusinessObjectData businessObjectData = new BusinessObjectData();
+        businessObjectData.setId(ID);
+        BusinessObjectData businessObjectData2 = new BusinessObjectData();
+        businessObjectData2.setId(ID_2);
+
+        // Create a business object data create collection response.
+        BusinessObjectDataCreateCollectionResponse businessObjectDataCreateCollectionResponse =
+            new BusinessObjectDataCreateCollectionResponse(Arrays.asList(businessObjectData, businessObjectData2));
+
+        // Mock the external calls.
+        when(businessObjectDataService.createBusinessObjectDataCollection(businessObjectDataCreateCollectionRequest))
+            .thenReturn(businessObjectDataCreateCollectionResponse);
+
+        // Call the method under test.
+        BusinessObjectDataCreateCollectionResponse result =
+            businessObjectDataRestController.createBusinessObjectDataCollection(businessObjectDataCreateCollectionRequest);
+
+        // Verify the external calls.
+        verify(businessObjectDataService).createBusinessObjectDataCollection(businessObjectDataCreateCollectionRequest);
+        verify(businessObjectDataDaoHelper).triggerNotificationsForCreateBusinessObjectData(businessObjectData);
+        verify(businessObjectDataDaoHelper).triggerNotificationsForCreateBusinessObjectData(businessObjectData2);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertEquals(businessObjectDataCreateCollectionResponse, result);
+    }
+
     @Test
     public void testDeleteBusinessObjectData()
     {
@@ -565,6 +604,33 @@ public class BusinessObjectDataRestControllerTest extends AbstractRestTest
         assertEquals(businessObjectDataInvalidateUnregisteredResponse, result);
     }
 
+    @Test
+    public void testPrepareBusinessObjectDataUpload()
+    {
+        // Create a business object data upload preparation request.
+        BusinessObjectDataUploadPreparationRequest businessObjectDataUploadPreparationRequest =
+            new BusinessObjectDataUploadPreparationRequest(new BusinessObjectDataCreateRequest(), true);
+
+        // Create a business object data upload preparation response.
+        BusinessObjectDataUploadPreparationResponse businessObjectDataUploadPreparationResponse = new BusinessObjectDataUploadPreparationResponse();
+
+        // Mock the external calls.
+        when(businessObjectDataService.prepareBusinessObjectDataUpload(businessObjectDataUploadPreparationRequest))
+            .thenReturn(businessObjectDataUploadPreparationResponse);
+
+        // Call the method under test.
+        BusinessObjectDataUploadPreparationResponse result =
+            businessObjectDataRestController.prepareBusinessObjectDataUpload(businessObjectDataUploadPreparationRequest);
+
+        // Verify the external calls.
+        verify(businessObjectDataService).prepareBusinessObjectDataUpload(businessObjectDataUploadPreparationRequest);
+        verify(businessObjectDataDaoHelper).triggerNotificationsForPrepareBusinessObjectDataUpload(businessObjectDataUploadPreparationResponse);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertEquals(businessObjectDataUploadPreparationResponse, result);
+    }
+
     @Test
     public void testRestoreBusinessObjectData()
     {
@@ -21,6 +21,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Before;
@@ -32,6 +33,8 @@ import org.mockito.MockitoAnnotations;
 import org.finra.herd.dao.helper.HerdStringHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusInformation;
+import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateCollectionRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateResponse;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
@@ -198,6 +201,42 @@ public class BusinessObjectDataStatusRestControllerTest extends AbstractRestTest
         assertEquals(businessObjectDataStatusUpdateResponse, result);
     }
 
+    @Test
+    public void testUpdateBusinessObjectDataStatusCollection()
+    {
+        // Create a business object data key.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+
+        // Create a business object data status update collection request.
+        BusinessObjectDataStatusUpdateCollectionRequest businessObjectDataStatusUpdateCollectionRequest =
+            new BusinessObjectDataStatusUpdateCollectionRequest(Arrays.asList(new BusinessObjectDataStatusInformation(businessObjectDataKey, BDATA_STATUS_2)));
+
+        // Create a business object data status update collection response.
+        BusinessObjectDataStatusUpdateCollectionResponse businessObjectDataStatusUpdateCollectionResponse =
+            new BusinessObjectDataStatusUpdateCollectionResponse(Arrays.asList(new BusinessObjectDataStatusUpdateResponse(businessObjectDataKey, BDATA_STATUS_2,
+                BDATA_STATUS)));
+
+        // Mock the external calls.
+        when(businessObjectDataStatusService.updateBusinessObjectDataStatusCollection(businessObjectDataStatusUpdateCollectionRequest))
+            .thenReturn(businessObjectDataStatusUpdateCollectionResponse);
+
+        // Call the method under test.
+        BusinessObjectDataStatusUpdateCollectionResponse result =
+            businessObjectDataStatusRestController.updateBusinessObjectDataStatusCollection(businessObjectDataStatusUpdateCollectionRequest);
+
+        // Verify the external calls.
+        verify(businessObjectDataStatusService).updateBusinessObjectDataStatusCollection(businessObjectDataStatusUpdateCollectionRequest);
+        verify(notificationEventService)
+            .processBusinessObjectDataNotificationEventAsync(NotificationEventTypeEntity.EventTypesBdata.BUS_OBJCT_DATA_STTS_CHG, businessObjectDataKey,
+                BDATA_STATUS_2, BDATA_STATUS);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertEquals(businessObjectDataStatusUpdateCollectionResponse, result);
+    }
+
     @Test
     public void testUpdateBusinessObjectDataStatusMissingOptionalParameters()
     {
@@ -21,6 +21,8 @@ import org.finra.herd.model.api.xml.BusinessObjectDataAvailability;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityCollectionRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataCreateCollectionRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataCreateCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataCreateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdl;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlCollectionRequest;
@@ -33,6 +35,8 @@ import org.finra.herd.model.api.xml.BusinessObjectDataKeys;
 import org.finra.herd.model.api.xml.BusinessObjectDataRetentionInformationUpdateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataRetryStoragePolicyTransitionRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataVersions;
 import org.finra.herd.model.api.xml.BusinessObjectDefinitionKey;
 import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
@@ -75,6 +79,15 @@ public interface BusinessObjectDataService
      */
     BusinessObjectData createBusinessObjectData(BusinessObjectDataCreateRequest businessObjectDataCreateRequest);
 
+    /**
+     * Creates new business object data from a collection of create requests registered against the same business object format. Creates its own transaction.
+     *
+     * @param request the business object data create collection request
+     *
+     * @return the business object data create collection response with the newly created business object data
+     */
+    BusinessObjectDataCreateCollectionResponse createBusinessObjectDataCollection(BusinessObjectDataCreateCollectionRequest request);
+
     /**
      * Deletes an existing business object data.
      *
@@ -167,6 +180,17 @@ public interface BusinessObjectDataService
     BusinessObjectDataInvalidateUnregisteredResponse invalidateUnregisteredBusinessObjectData(
         BusinessObjectDataInvalidateUnregisteredRequest businessObjectDataInvalidateUnregisteredRequest);
 
+    /**
+     * Prepares an upload of new business object data. Invalidates the latest business object data version when it is still in UPLOADING status and the force
+     * flag is set, pre-registers the new business object data, and returns it along with its storage, S3 key prefix, and the temporary credentials to upload
+     * with. The registration is committed in its own transaction before the upload credentials get issued.
+     *
+     * @param request the business object data upload preparation request
+     *
+     * @return the business object data upload preparation response
+     */
+    BusinessObjectDataUploadPreparationResponse prepareBusinessObjectDataUpload(BusinessObjectDataUploadPreparationRequest request);
+
     /**
      * Initiates a restore request for a currently archived business object data.
      *
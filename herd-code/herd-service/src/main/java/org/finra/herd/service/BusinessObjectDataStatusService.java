@@ -17,6 +17,8 @@ package org.finra.herd.service;
 
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusInformation;
+import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateCollectionRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateResponse;
 
@@ -46,4 +48,13 @@ public interface BusinessObjectDataStatusService
      */
     public BusinessObjectDataStatusUpdateResponse updateBusinessObjectDataStatus(BusinessObjectDataKey businessObjectDataKey,
         BusinessObjectDataStatusUpdateRequest request);
+
+    /**
+     * Updates statuses of a collection of business object data that belong to the same business object format.
+     *
+     * @param request the business object data status update collection request
+     *
+     * @return the business object data status update collection response
+     */
+    public BusinessObjectDataStatusUpdateCollectionResponse updateBusinessObjectDataStatusCollection(BusinessObjectDataStatusUpdateCollectionRequest request);
 }
@@ -0,0 +1,35 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service;
+
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationResponse;
+
+/**
+ * The helper service class for the business object data upload preparation functionality.
+ */
+public interface BusinessObjectDataUploadPreparationHelperService
+{
+    /**
+     * Prepares for the business object data upload by invalidating the latest business object data version when it is still in UPLOADING status and the
+     * force flag is set, and by pre-registering the new business object data. The returned response does not contain the upload credentials.
+     *
+     * @param request the business object data upload preparation request
+     *
+     * @return the business object data upload preparation response without the upload credentials
+     */
+    public BusinessObjectDataUploadPreparationResponse prepareToUpload(BusinessObjectDataUploadPreparationRequest request);
+}
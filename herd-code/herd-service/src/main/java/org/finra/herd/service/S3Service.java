@@ -15,6 +15,7 @@
 */
 package org.finra.herd.service;
 
+import java.io.File;
 import java.util.List;
 
 import com.amazonaws.services.s3.model.S3ObjectSummary;
@@ -95,6 +96,36 @@ public interface S3Service
      */
     S3FileTransferResultsDto downloadFile(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto) throws InterruptedException;
 
+    /**
+     * Downloads a file from S3 to the local file system, resuming the download from the end of the local file when an earlier download left a partial local
+     * file behind. The download fails and the local file gets removed when the S3 file no longer has the specified ETag. The downloaded file is validated
+     * against the size and, when available, the MD5 digest of the S3 file.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. Only the S3 bucket name and the S3 connection parameters are used, so the
+     * same parameters can be shared by concurrent downloads.
+     * @param s3Key the S3 key of the file to download
+     * @param localFile the local file to download into
+     * @param eTag the ETag of the S3 file the local file has been downloaded from
+     *
+     * @return the results with the number of bytes that actually got transferred from S3.
+     * @throws InterruptedException if any problems were encountered.
+     */
+    S3FileTransferResultsDto resumeDownloadFile(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, String s3Key, File localFile, String eTag)
+        throws InterruptedException;
+
+    /**
+     * Gets S3 objects for the list of files (S3 keys) matching the S3 key prefix in the given bucket (S3 bucket name). When the S3 key prefix holds more S3
+     * objects than a single listing page returns, the S3 keys not found on the listed pages are probed with metadata-only HEAD requests executed on up to the
+     * maximum number of threads, instead of listing the whole S3 key prefix. The S3 keys that do not exist are not included in the result.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer request parameters. The S3 bucket name, the S3 key prefix, and the file list identify the S3
+     * objects to get.
+     * @param ignoreZeroByteDirectoryMarkers specifies whether to ignore 0 byte objects that represent S3 directories.
+     *
+     * @return the list of existing S3 objects represented by S3 object summaries in the order of the file list
+     */
+    List<S3ObjectSummary> getObjectSummaries(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean ignoreZeroByteDirectoryMarkers);
+
     /**
      * Lists all S3 objects matching the S3 key prefix in the given bucket (S3 bucket name).
      *
@@ -29,6 +29,7 @@ import org.springframework.stereotype.Component;
 
 import org.finra.herd.core.HerdDateUtils;
 import org.finra.herd.core.SuppressLogging;
+import org.finra.herd.service.helper.AlternateKeyEntityCacheHelper;
 
 @Component
 @Aspect
@@ -65,17 +66,19 @@ public class StopWatchAdvice extends AbstractServiceAdvice
         if ((AnnotationUtils.findAnnotation(targetClass, SuppressLogging.class) == null) &&
             (AnnotationUtils.findAnnotation(targetMethod, SuppressLogging.class) == null) && (LOGGER.isInfoEnabled()))
         {
-            // Start the stop watch.
+            // Start the stop watch and remember how many alternate key lookups were served from the entity cache so far.
             StopWatch stopWatch = new StopWatch();
             stopWatch.start();
+            long startCacheHitCount = AlternateKeyEntityCacheHelper.getCacheHitCount();
 
             // Proceed to the join point (i.e. call the method and let it return).
             Object returnValue = pjp.proceed();
 
-            // Log the duration.
+            // Log the duration along with the number of alternate key lookups avoided by the entity cache.
             long durationMilliseconds = stopWatch.getTime();
-            LOGGER.info("javaMethod=\"{}.{}\" javaMethodDurationTimeInMilliseconds={} javaMethodDurationTimeFormatted=\"{}\"", targetClass.getName(),
-                targetMethodSignature.getName(), durationMilliseconds, HerdDateUtils.formatDuration(durationMilliseconds));
+            LOGGER.info("javaMethod=\"{}.{}\" javaMethodDurationTimeInMilliseconds={} javaMethodDurationTimeFormatted=\"{}\" entityLookupsAvoided={}",
+                targetClass.getName(), targetMethodSignature.getName(), durationMilliseconds, HerdDateUtils.formatDuration(durationMilliseconds),
+                AlternateKeyEntityCacheHelper.getCacheHitCount() - startCacheHitCount);
 
             // Return the method return value.
             return returnValue;
@@ -175,6 +175,24 @@ public class ServiceSpringModuleConfig
         return taskExecutor;
     }
 
+    /**
+     * Returns a task executor dedicated to processing the individual requests of the collection requests. The pool is bounded, so a burst of large collection
+     * requests queues up rather than exhausting the database connection pool.
+     *
+     * @return the task executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor collectionRequestTaskExecutor()
+    {
+        int threadPoolSize = configurationHelper.getProperty(ConfigurationValue.COLLECTION_REQUEST_THREAD_POOL_SIZE, Integer.class);
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(threadPoolSize);
+        taskExecutor.setMaxPoolSize(threadPoolSize);
+        taskExecutor.setThreadNamePrefix("collection-request-");
+        taskExecutor.setDaemon(true);
+        return taskExecutor;
+    }
+
     /**
      * Returns an Activiti Async executor that uses our configured task executor.
      *
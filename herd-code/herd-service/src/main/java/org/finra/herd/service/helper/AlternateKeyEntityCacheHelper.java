@@ -0,0 +1,212 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import org.finra.herd.dao.HerdDao;
+
+/**
+ * A transaction scoped identity map of entities resolved by their alternate keys. DAO helpers consult this cache first, so repeated lookups of the same
+ * entity within a single transaction do not re-run the alternate key query. A cached entity is only returned while it is still managed by the current
+ * persistence context, so entities that were removed or detached are resolved again. Outside of a transaction, the cache is bypassed.
+ */
+@Component
+public class AlternateKeyEntityCacheHelper
+{
+    /**
+     * The per-thread number of alternate key lookups that were served from the cache.
+     */
+    private static final ThreadLocal<MutableLong> CACHE_HIT_COUNT = ThreadLocal.withInitial(MutableLong::new);
+
+    @Autowired
+    private HerdDao herdDao;
+
+    /**
+     * Returns the number of alternate key lookups served from the cache by the current thread so far. Callers are expected to compute the difference between
+     * two readings to get the number of lookups avoided by a unit of work.
+     *
+     * @return the number of cache hits for the current thread
+     */
+    public static long getCacheHitCount()
+    {
+        return CACHE_HIT_COUNT.get().longValue();
+    }
+
+    /**
+     * Gets an entity by its alternate key from the transaction scoped cache, loading and caching it on a cache miss. Entities that are not found are not
+     * cached.
+     *
+     * @param entityClass the entity class
+     * @param alternateKey the case insensitive alternate key of the entity
+     * @param entityLoader the loader that resolves the entity by its alternate key, returns null when the entity does not exist
+     * @param <T> the type of the entity
+     *
+     * @return the entity or null if the entity does not exist
+     */
+    public <T> T getEntity(Class<T> entityClass, String alternateKey, Supplier<T> entityLoader)
+    {
+        return getEntity(entityClass, Collections.singletonList(alternateKey), entityLoader);
+    }
+
+    /**
+     * Gets an entity by its composite alternate key from the transaction scoped cache, loading and caching it on a cache miss. Entities that are not found are
+     * not cached.
+     *
+     * @param entityClass the entity class
+     * @param alternateKeyValues the case insensitive values of the alternate key of the entity, listed in the alternate key order
+     * @param entityLoader the loader that resolves the entity by its alternate key, returns null when the entity does not exist
+     * @param <T> the type of the entity
+     *
+     * @return the entity or null if the entity does not exist
+     */
+    public <T> T getEntity(Class<T> entityClass, List<String> alternateKeyValues, Supplier<T> entityLoader)
+    {
+        Map<AlternateKey, Object> entityCache = getTransactionEntityCache();
+
+        // Without an active transaction there is nothing to scope the cache to.
+        if (entityCache == null || alternateKeyValues.contains(null))
+        {
+            return entityLoader.get();
+        }
+
+        AlternateKey cacheKey = new AlternateKey(entityClass, alternateKeyValues);
+
+        Object cachedEntity = entityCache.get(cacheKey);
+        if (cachedEntity != null && herdDao.getEntityManager().contains(cachedEntity))
+        {
+            CACHE_HIT_COUNT.get().increment();
+            return entityClass.cast(cachedEntity);
+        }
+
+        T entity = entityLoader.get();
+        if (entity != null)
+        {
+            entityCache.put(cacheKey, entity);
+        }
+        else
+        {
+            entityCache.remove(cacheKey);
+        }
+
+        return entity;
+    }
+
+    /**
+     * Gets the entity cache bound to the current transaction, binding a new one on first use. When the transaction gets suspended by a nested transaction, the
+     * cache gets unbound, so the nested transaction neither sees nor populates the cache of the outer transaction.
+     *
+     * @return the entity cache or null if there is no active transaction synchronization
+     */
+    @SuppressWarnings("unchecked")
+    private Map<AlternateKey, Object> getTransactionEntityCache()
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            return null;
+        }
+
+        Map<AlternateKey, Object> entityCache = (Map<AlternateKey, Object>) TransactionSynchronizationManager.getResource(this);
+
+        if (entityCache == null)
+        {
+            final Map<AlternateKey, Object> transactionEntityCache = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, transactionEntityCache);
+
+            // Release the cache along with the transaction.
+            final Object resourceKey = this;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+            {
+                @Override
+                public void afterCompletion(int status)
+                {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+                }
+
+                @Override
+                public void resume()
+                {
+                    TransactionSynchronizationManager.bindResource(resourceKey, transactionEntityCache);
+                }
+
+                @Override
+                public void suspend()
+                {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+                }
+            });
+
+            entityCache = transactionEntityCache;
+        }
+
+        return entityCache;
+    }
+
+    /**
+     * The cache key of an entity, made of the entity class and the upper cased values of its alternate key.
+     */
+    private static class AlternateKey
+    {
+        private final Class<?> entityClass;
+
+        private final List<String> values;
+
+        private AlternateKey(Class<?> entityClass, List<String> alternateKeyValues)
+        {
+            this.entityClass = entityClass;
+            this.values = new ArrayList<>(alternateKeyValues.size());
+            for (String alternateKeyValue : alternateKeyValues)
+            {
+                values.add(alternateKeyValue.toUpperCase());
+            }
+        }
+
+        @Override
+        public boolean equals(Object object)
+        {
+            if (this == object)
+            {
+                return true;
+            }
+            if (object == null || getClass() != object.getClass())
+            {
+                return false;
+            }
+
+            AlternateKey that = (AlternateKey) object;
+
+            return entityClass.equals(that.entityClass) && values.equals(that.values);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(entityClass, values);
+        }
+    }
+}
@@ -19,8 +19,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeSet;
 
 import com.amazonaws.services.s3.model.S3ObjectSummary;
@@ -43,6 +45,7 @@ import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataCreateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataInvalidateUnregisteredResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationResponse;
 import org.finra.herd.model.api.xml.BusinessObjectFormat;
 import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
 import org.finra.herd.model.api.xml.PartitionValueFilter;
@@ -93,6 +96,9 @@ public class BusinessObjectDataDaoHelper
     @Autowired
     private BusinessObjectDataHelper businessObjectDataHelper;
 
+    @Autowired
+    private BusinessObjectDataPartitionSummaryDaoHelper businessObjectDataPartitionSummaryDaoHelper;
+
     @Autowired
     private BusinessObjectDataStatusDaoHelper businessObjectDataStatusDaoHelper;
 
@@ -234,90 +240,130 @@ public class BusinessObjectDataDaoHelper
      */
     public BusinessObjectData createBusinessObjectData(BusinessObjectDataCreateRequest request, boolean fileSizeRequired)
     {
-        if (StringUtils.isBlank(request.getStatus()))
-        {
-            request.setStatus(BusinessObjectDataStatusEntity.VALID);
-        }
-        else
-        {
-            request.setStatus(request.getStatus().trim());
-        }
-
         // Get the status entity if status is specified else set it to VALID
-        BusinessObjectDataStatusEntity businessObjectDataStatusEntity =
-            businessObjectDataStatusDaoHelper.getBusinessObjectDataStatusEntity(request.getStatus());
+        BusinessObjectDataStatusEntity businessObjectDataStatusEntity = getBusinessObjectDataStatusEntity(request, new HashMap<>());
 
         // Perform the validation.
         validateBusinessObjectDataCreateRequest(request, fileSizeRequired, businessObjectDataStatusEntity);
 
         // Get the business object format for the specified parameters and make sure it exists.
-        BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectFormatDaoHelper.getBusinessObjectFormatEntity(
-            new BusinessObjectFormatKey(request.getNamespace(), request.getBusinessObjectDefinitionName(), request.getBusinessObjectFormatUsage(),
-                request.getBusinessObjectFormatFileType(), request.getBusinessObjectFormatVersion()));
+        BusinessObjectFormatEntity businessObjectFormatEntity =
+            businessObjectFormatDaoHelper.getBusinessObjectFormatEntity(getBusinessObjectFormatKey(request));
 
-        attributeDaoHelper
-            .validateAttributesAgainstBusinessObjectDataAttributeDefinitions(request.getAttributes(), businessObjectFormatEntity.getAttributeDefinitions());
-
-        // Ensure the specified partition key matches what's configured within the business object format.
-        Assert.isTrue(businessObjectFormatEntity.getPartitionKey().equalsIgnoreCase(request.getPartitionKey()), String
-            .format("Partition key \"%s\" doesn't match configured business object format partition key \"%s\".", request.getPartitionKey(),
-                businessObjectFormatEntity.getPartitionKey()));
+        // Validate the request against the business object format.
+        validateBusinessObjectDataCreateRequestAgainstBusinessObjectFormat(request, businessObjectFormatEntity);
 
         // Get the latest format version for this business object data, if it exists.
-        BusinessObjectDataEntity existingBusinessObjectDataEntity = businessObjectDataDao.getBusinessObjectDataByAltKey(
-            new BusinessObjectDataKey(request.getNamespace(), request.getBusinessObjectDefinitionName(), request.getBusinessObjectFormatUsage(),
-                request.getBusinessObjectFormatFileType(), request.getBusinessObjectFormatVersion(), request.getPartitionValue(),
-                request.getSubPartitionValues(), null));
+        BusinessObjectDataEntity existingBusinessObjectDataEntity = getLatestBusinessObjectDataEntity(request);
 
-        if (existingBusinessObjectDataEntity != null)
+        // Create and persist the business object data.
+        return createBusinessObjectData(request, businessObjectFormatEntity, businessObjectDataStatusEntity, existingBusinessObjectDataEntity);
+    }
+
+    /**
+     * Creates new business object data from a collection of create requests registered against the same business object format. The business object format
+     * and the business object data statuses are resolved once for the entire collection and the latest business object data versions are looked up by a
+     * single query. All of the new business object data entities are created before any of them gets persisted and then they are persisted without an
+     * individual flush and refresh, so no query causes a flush in between and their inserts can be batched by the JPA provider. The partition summary is
+     * updated and the status change notifications are processed for the entire collection afterwards. The entire collection is created in the current
+     * transaction.
+     *
+     * @param requests the list of business object data create requests
+     *
+     * @return the list of newly created business object data listed in the order of the create requests
+     */
+    public List<BusinessObjectData> createBusinessObjectDataCollection(List<BusinessObjectDataCreateRequest> requests)
+    {
+        Assert.isTrue(CollectionUtils.isNotEmpty(requests), "At least one business object data create request must be specified.");
+        validateBusinessObjectDataCollectionSize(requests.size());
+
+        // Validate all of the requests and resolve their statuses, so the status entities are retrieved only once per status code.
+        Map<String, BusinessObjectDataStatusEntity> businessObjectDataStatusEntities = new HashMap<>();
+        List<BusinessObjectDataStatusEntity> requestBusinessObjectDataStatusEntities = new ArrayList<>();
+        for (BusinessObjectDataCreateRequest request : requests)
         {
-            if (!Boolean.TRUE.equals(request.isCreateNewVersion()))
+            Assert.notNull(request, "A business object data create request can't be null.");
+            BusinessObjectDataStatusEntity businessObjectDataStatusEntity = getBusinessObjectDataStatusEntity(request, businessObjectDataStatusEntities);
+            validateBusinessObjectDataCreateRequest(request, true, businessObjectDataStatusEntity);
+            requestBusinessObjectDataStatusEntities.add(businessObjectDataStatusEntity);
+        }
+
+        // Ensure that all of the requests are registered against the same business object format.
+        BusinessObjectFormatKey businessObjectFormatKey = getBusinessObjectFormatKey(requests.get(0));
+        Set<List<String>> partitions = new HashSet<>();
+        List<List<String>> requestPartitions = new ArrayList<>();
+        Set<String> primaryPartitionValues = new LinkedHashSet<>();
+        for (BusinessObjectDataCreateRequest request : requests)
+        {
+            Assert.isTrue(businessObjectFormatHelper.isSameBusinessObjectFormat(businessObjectFormatKey, getBusinessObjectFormatKey(request)), String
+                .format("All business object data create requests must be registered against the same business object format {%s}.",
+                    businessObjectFormatHelper.businessObjectFormatKeyToString(businessObjectFormatKey)));
+
+            // Ensure that the same partition is not registered more than once by this collection.
+            List<String> partition = new ArrayList<>();
+            partition.add(request.getPartitionValue());
+            if (request.getSubPartitionValues() != null)
             {
-                throw new AlreadyExistsException("Unable to create business object data because it already exists and a new version is not allowed " +
-                    "since the \"createNewVersion\" flag is not set to \"true\" in the request.");
+                partition.addAll(request.getSubPartitionValues());
             }
-            else if (Boolean.TRUE.equals(existingBusinessObjectDataEntity.getStatus().getPreRegistrationStatus()))
-            {
-                throw new AlreadyExistsException(String.format(
-                    "Unable to create business object data because it already exists and a new version is not allowed since the latest version is" +
-                        " still in \"%s\", which is one of the pre-registration statuses.", existingBusinessObjectDataEntity.getStatus().getCode()));
+            Assert.isTrue(partitions.add(partition),
+                String.format("Duplicate business object data create requests found for partition values %s.", partition.toString()));
+            requestPartitions.add(partition);
+            primaryPartitionValues.add(request.getPartitionValue());
+        }
 
-            }
+        // Get the business object format once for the entire collection and validate all of the requests against it.
+        BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectFormatDaoHelper.getBusinessObjectFormatEntity(businessObjectFormatKey);
+        for (BusinessObjectDataCreateRequest request : requests)
+        {
+            validateBusinessObjectDataCreateRequestAgainstBusinessObjectFormat(request, businessObjectFormatEntity);
         }
 
-        // Create a business object data entity from the request information.
-        // Please note that simply adding 1 to the latest version without "DB locking" is sufficient here,
-        // even for multi-threading, since we are relying on the DB having version as part of the alternate key.
-        Integer businessObjectDataVersion = existingBusinessObjectDataEntity == null ? BusinessObjectDataEntity.BUSINESS_OBJECT_DATA_INITIAL_VERSION :
-            existingBusinessObjectDataEntity.getVersion() + 1;
-        BusinessObjectDataEntity newVersionBusinessObjectDataEntity =
-            createBusinessObjectDataEntity(request, businessObjectFormatEntity, businessObjectDataVersion, businessObjectDataStatusEntity);
+        // Get the latest versions of the business object data registered for the partitions of this collection by a single query.
+        Map<List<String>, BusinessObjectDataEntity> latestBusinessObjectDataEntities = new HashMap<>();
+        for (BusinessObjectDataEntity businessObjectDataEntity : businessObjectDataDao
+            .getBusinessObjectDataEntitiesByPrimaryPartitionValues(businessObjectFormatEntity, new ArrayList<>(primaryPartitionValues)))
+        {
+            if (BooleanUtils.isTrue(businessObjectDataEntity.getLatestVersion()))
+            {
+                latestBusinessObjectDataEntities
+                    .put(businessObjectDataHelper.getPrimaryAndSubPartitionValues(businessObjectDataEntity), businessObjectDataEntity);
+            }
+        }
 
-        // Update the existing latest business object data version entity, so it would not be flagged as the latest version anymore.
-        if (existingBusinessObjectDataEntity != null)
+        // Create all of the new business object data entities before any of them gets persisted.
+        List<BusinessObjectDataEntity> existingBusinessObjectDataEntities = new ArrayList<>();
+        List<BusinessObjectDataEntity> newBusinessObjectDataEntities = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++)
         {
-            existingBusinessObjectDataEntity.setLatestVersion(Boolean.FALSE);
-            businessObjectDataDao.saveAndRefresh(existingBusinessObjectDataEntity);
+            BusinessObjectDataEntity existingBusinessObjectDataEntity = latestBusinessObjectDataEntities.get(requestPartitions.get(i));
+            existingBusinessObjectDataEntities.add(existingBusinessObjectDataEntity);
+            newBusinessObjectDataEntities.add(
+                createNewVersionBusinessObjectDataEntity(requests.get(i), businessObjectFormatEntity, requestBusinessObjectDataStatusEntities.get(i),
+                    existingBusinessObjectDataEntity));
         }
 
-        // Add an entry to the business object data status history table.
-        BusinessObjectDataStatusHistoryEntity businessObjectDataStatusHistoryEntity = new BusinessObjectDataStatusHistoryEntity();
-        businessObjectDataStatusHistoryEntity.setBusinessObjectData(newVersionBusinessObjectDataEntity);
-        businessObjectDataStatusHistoryEntity.setStatus(businessObjectDataStatusEntity);
-        List<BusinessObjectDataStatusHistoryEntity> businessObjectDataStatusHistoryEntities = new ArrayList<>();
-        businessObjectDataStatusHistoryEntities.add(businessObjectDataStatusHistoryEntity);
-        newVersionBusinessObjectDataEntity.setHistoricalStatuses(businessObjectDataStatusHistoryEntities);
+        // Persist the business object data.
+        for (int i = 0; i < requests.size(); i++)
+        {
+            saveNewVersionBusinessObjectDataEntity(newBusinessObjectDataEntities.get(i), existingBusinessObjectDataEntities.get(i), false);
+        }
 
-        // Persist the new entity.
-        newVersionBusinessObjectDataEntity = businessObjectDataDao.saveAndRefresh(newVersionBusinessObjectDataEntity);
+        // Keep the partition summary in sync with the newly registered business object data.
+        businessObjectDataPartitionSummaryDaoHelper.updateBusinessObjectDataPartitionSummaries(newBusinessObjectDataEntities);
 
-        // Create a status change notification to be sent on create business object data event.
-        messageNotificationEventService
-            .processBusinessObjectDataStatusChangeNotificationEvent(businessObjectDataHelper.getBusinessObjectDataKey(newVersionBusinessObjectDataEntity),
-                businessObjectDataStatusEntity.getCode(), null);
+        // Create status change notifications to be sent on create business object data events and build the response.
+        List<BusinessObjectData> businessObjectDataList = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++)
+        {
+            BusinessObjectDataEntity newBusinessObjectDataEntity = newBusinessObjectDataEntities.get(i);
+            messageNotificationEventService
+                .processBusinessObjectDataStatusChangeNotificationEvent(businessObjectDataHelper.getBusinessObjectDataKey(newBusinessObjectDataEntity),
+                    requestBusinessObjectDataStatusEntities.get(i).getCode(), null);
+            businessObjectDataList.add(businessObjectDataHelper.createBusinessObjectDataFromEntity(newBusinessObjectDataEntity));
+        }
 
-        // Create and return the business object data object from the persisted entity.
-        return businessObjectDataHelper.createBusinessObjectDataFromEntity(newVersionBusinessObjectDataEntity);
+        return businessObjectDataList;
     }
 
     /**
@@ -458,22 +504,91 @@ public class BusinessObjectDataDaoHelper
         // Make sure that business object data exists.
         if (businessObjectDataEntity == null)
         {
-            throw new ObjectNotFoundException(String.format(
-                "Business object data {namespace: \"%s\", businessObjectDefinitionName: \"%s\", businessObjectFormatUsage: \"%s\", " +
-                    "businessObjectFormatFileType: \"%s\", businessObjectFormatVersion: %d, businessObjectDataPartitionValue: \"%s\", " +
-                    "businessObjectDataSubPartitionValues: \"%s\", businessObjectDataVersion: %d, businessObjectDataStatus: \"%s\"} doesn't exist.",
-                businessObjectDataKey.getNamespace(), businessObjectDataKey.getBusinessObjectDefinitionName(),
-                businessObjectDataKey.getBusinessObjectFormatUsage(), businessObjectDataKey.getBusinessObjectFormatFileType(),
-                businessObjectDataKey.getBusinessObjectFormatVersion(), businessObjectDataKey.getPartitionValue(),
-                CollectionUtils.isEmpty(businessObjectDataKey.getSubPartitionValues()) ? "" :
-                    StringUtils.join(businessObjectDataKey.getSubPartitionValues(), ","), businessObjectDataKey.getBusinessObjectDataVersion(),
-                businessObjectDataStatus));
+            throw new ObjectNotFoundException(getBusinessObjectDataNotFoundErrorMessage(businessObjectDataKey, businessObjectDataStatus));
         }
 
         // Return the retrieved business object data entity.
         return businessObjectDataEntity;
     }
 
+    /**
+     * Retrieves business object data of a single business object format by their keys using a single query. The keys must specify the business object data
+     * versions.
+     *
+     * @param businessObjectFormatEntity the business object format entity that all of the business object data belong to
+     * @param businessObjectDataKeys the list of business object data keys
+     *
+     * @return the list of business object data entities listed in the order of the keys
+     * @throws ObjectNotFoundException if any of the business object data doesn't exist
+     */
+    public List<BusinessObjectDataEntity> getBusinessObjectDataEntities(BusinessObjectFormatEntity businessObjectFormatEntity,
+        List<BusinessObjectDataKey> businessObjectDataKeys)
+    {
+        Set<String> primaryPartitionValues = new LinkedHashSet<>();
+        for (BusinessObjectDataKey businessObjectDataKey : businessObjectDataKeys)
+        {
+            primaryPartitionValues.add(businessObjectDataKey.getPartitionValue());
+        }
+
+        // Retrieve all versions of the business object data registered for the primary partition values and index them by partition values and version.
+        Map<List<String>, BusinessObjectDataEntity> businessObjectDataEntities = new HashMap<>();
+        for (BusinessObjectDataEntity businessObjectDataEntity : businessObjectDataDao
+            .getBusinessObjectDataEntitiesByPrimaryPartitionValues(businessObjectFormatEntity, new ArrayList<>(primaryPartitionValues)))
+        {
+            List<String> partitionValuesAndVersion = businessObjectDataHelper.getPrimaryAndSubPartitionValues(businessObjectDataEntity);
+            partitionValuesAndVersion.add(businessObjectDataEntity.getVersion().toString());
+            businessObjectDataEntities.put(partitionValuesAndVersion, businessObjectDataEntity);
+        }
+
+        List<BusinessObjectDataEntity> resultBusinessObjectDataEntities = new ArrayList<>();
+        for (BusinessObjectDataKey businessObjectDataKey : businessObjectDataKeys)
+        {
+            BusinessObjectDataEntity businessObjectDataEntity = businessObjectDataEntities.get(getPartitionValuesAndVersion(businessObjectDataKey));
+
+            if (businessObjectDataEntity == null)
+            {
+                throw new ObjectNotFoundException(getBusinessObjectDataNotFoundErrorMessage(businessObjectDataKey, null));
+            }
+
+            resultBusinessObjectDataEntities.add(businessObjectDataEntity);
+        }
+
+        return resultBusinessObjectDataEntities;
+    }
+
+    /**
+     * Validates that the number of business object data in a collection request does not exceed the configured maximum.
+     *
+     * @param collectionSize the number of business object data in the collection
+     *
+     * @throws IllegalArgumentException if the collection is too large
+     */
+    public void validateBusinessObjectDataCollectionSize(int collectionSize)
+    {
+        int maxCollectionSize = configurationHelper.getProperty(ConfigurationValue.BUSINESS_OBJECT_DATA_COLLECTION_MAX_SIZE, Integer.class);
+        Assert.isTrue(collectionSize <= maxCollectionSize,
+            String.format("The number of business object data in the collection (%d) exceeds the system limit of %d.", collectionSize, maxCollectionSize));
+    }
+
+    /**
+     * Gets the primary and sub-partition values of the business object data key followed by its business object data version.
+     *
+     * @param businessObjectDataKey the business object data key
+     *
+     * @return the list of partition values and the business object data version
+     */
+    public List<String> getPartitionValuesAndVersion(BusinessObjectDataKey businessObjectDataKey)
+    {
+        List<String> partitionValuesAndVersion = new ArrayList<>();
+        partitionValuesAndVersion.add(businessObjectDataKey.getPartitionValue());
+        if (businessObjectDataKey.getSubPartitionValues() != null)
+        {
+            partitionValuesAndVersion.addAll(businessObjectDataKey.getSubPartitionValues());
+        }
+        partitionValuesAndVersion.add(String.valueOf(businessObjectDataKey.getBusinessObjectDataVersion()));
+        return partitionValuesAndVersion;
+    }
+
     /**
      * Builds a list of partition values from the partition value filter. The partition range takes precedence over the list of partition values in the filter.
      * If a range is specified the list of values will come from the expected partition values table for values within the specified range. If the list is
@@ -501,7 +616,10 @@ public class BusinessObjectDataDaoHelper
         if (partitionValueFilter.getPartitionValueRange() != null)
         {
             // A "partition value range" filter option is specified.
-            partitionValues = processPartitionValueRangeFilterOption(partitionValueFilter.getPartitionValueRange(), businessObjectFormatEntity);
+            PartitionValueRange partitionValueRange =
+                resolvePartitionValueRangeTokens(partitionValueFilter.getPartitionValueRange(), partitionKey, partitionColumnPosition, businessObjectFormatKey,
+                    businessObjectDataVersion, storageNames, storagePlatformType, excludedStoragePlatformType);
+            partitionValues = processPartitionValueRangeFilterOption(partitionValueRange, businessObjectFormatEntity);
         }
         else if (partitionValueFilter.getPartitionValues() != null)
         {
@@ -590,6 +708,24 @@ public class BusinessObjectDataDaoHelper
         }
     }
 
+    /**
+     * Trigger business object data and storage unit notifications for business object data upload preparation event.
+     *
+     * @param businessObjectDataUploadPreparationResponse the business object data upload preparation response
+     */
+    public void triggerNotificationsForPrepareBusinessObjectDataUpload(BusinessObjectDataUploadPreparationResponse businessObjectDataUploadPreparationResponse)
+    {
+        // Create a business object data status change notification for the invalidated business object data, if any.
+        if (businessObjectDataUploadPreparationResponse.getInvalidatedBusinessObjectDataKey() != null)
+        {
+            notificationEventService.processBusinessObjectDataNotificationEventAsync(NotificationEventTypeEntity.EventTypesBdata.BUS_OBJCT_DATA_STTS_CHG,
+                businessObjectDataUploadPreparationResponse.getInvalidatedBusinessObjectDataKey(), BusinessObjectDataStatusEntity.INVALID,
+                BusinessObjectDataStatusEntity.UPLOADING);
+        }
+
+        triggerNotificationsForCreateBusinessObjectData(businessObjectDataUploadPreparationResponse.getBusinessObjectData());
+    }
+
     /**
      * Trigger business object data and storage unit notification for unregistered business object data invalidation event.
      *
@@ -615,20 +751,11 @@ public class BusinessObjectDataDaoHelper
         // Retrieve and ensure the status is valid.
         BusinessObjectDataStatusEntity businessObjectDataStatusEntity = businessObjectDataStatusDaoHelper.getBusinessObjectDataStatusEntity(status);
 
-        // Save the current status value.
-        String oldStatus = businessObjectDataEntity.getStatus().getCode();
+        // Update the entity with the new status.
+        String oldStatus = updateBusinessObjectDataStatusEntity(businessObjectDataEntity, businessObjectDataStatusEntity, true);
 
-        // Update the entity with the new values.
-        businessObjectDataEntity.setStatus(businessObjectDataStatusEntity);
-
-        // Add an entry to the business object data status history table
-        BusinessObjectDataStatusHistoryEntity businessObjectDataStatusHistoryEntity = new BusinessObjectDataStatusHistoryEntity();
-        businessObjectDataEntity.getHistoricalStatuses().add(businessObjectDataStatusHistoryEntity);
-        businessObjectDataStatusHistoryEntity.setBusinessObjectData(businessObjectDataEntity);
-        businessObjectDataStatusHistoryEntity.setStatus(businessObjectDataStatusEntity);
-
-        // Persist the entity.
-        businessObjectDataDao.saveAndRefresh(businessObjectDataEntity);
+        // Keep the partition summary in sync with the business object data status.
+        businessObjectDataPartitionSummaryDaoHelper.updateBusinessObjectDataPartitionSummary(businessObjectDataEntity);
 
         // Sent a business object data status change notification.
         messageNotificationEventService
@@ -636,6 +763,36 @@ public class BusinessObjectDataDaoHelper
                 businessObjectDataStatusEntity.getCode(), oldStatus);
     }
 
+    /**
+     * Updates the statuses of a collection of business object data that belong to the same business object format. The business object data entities are
+     * persisted without an individual flush and refresh and no query gets executed until all of them are updated, so the updates can be batched by the JPA
+     * provider. The partition summary is updated and the status change notifications are processed for the entire collection afterwards.
+     *
+     * @param businessObjectDataEntities the list of business object data entities
+     * @param businessObjectDataStatusEntities the list of new business object data status entities listed in the order of the business object data entities
+     */
+    public void updateBusinessObjectDataStatuses(List<BusinessObjectDataEntity> businessObjectDataEntities,
+        List<BusinessObjectDataStatusEntity> businessObjectDataStatusEntities)
+    {
+        // Update the entities with the new statuses.
+        List<String> oldStatuses = new ArrayList<>();
+        for (int i = 0; i < businessObjectDataEntities.size(); i++)
+        {
+            oldStatuses.add(updateBusinessObjectDataStatusEntity(businessObjectDataEntities.get(i), businessObjectDataStatusEntities.get(i), false));
+        }
+
+        // Keep the partition summary in sync with the business object data statuses.
+        businessObjectDataPartitionSummaryDaoHelper.updateBusinessObjectDataPartitionSummaries(businessObjectDataEntities);
+
+        // Sent the business object data status change notifications.
+        for (int i = 0; i < businessObjectDataEntities.size(); i++)
+        {
+            messageNotificationEventService
+                .processBusinessObjectDataStatusChangeNotificationEvent(businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntities.get(i)),
+                    businessObjectDataStatusEntities.get(i).getCode(), oldStatuses.get(i));
+        }
+    }
+
     /**
      * Returns a cloned version of the specified business object data key where all fields are made lowercase.
      *
@@ -659,6 +816,110 @@ public class BusinessObjectDataDaoHelper
         return businessObjectDataKeyClone;
     }
 
+    /**
+     * Creates and persists a new version of the business object data on top of the latest existing version of the business object data, if any.
+     *
+     * @param request the business object data create request
+     * @param businessObjectFormatEntity the business object format entity
+     * @param businessObjectDataStatusEntity the status entity for the new business object data
+     * @param existingBusinessObjectDataEntity the latest version of the business object data, may be null
+     *
+     * @return the newly created and persisted business object data
+     */
+    private BusinessObjectData createBusinessObjectData(BusinessObjectDataCreateRequest request, BusinessObjectFormatEntity businessObjectFormatEntity,
+        BusinessObjectDataStatusEntity businessObjectDataStatusEntity, BusinessObjectDataEntity existingBusinessObjectDataEntity)
+    {
+        // Create and persist a new business object data entity.
+        BusinessObjectDataEntity newVersionBusinessObjectDataEntity = saveNewVersionBusinessObjectDataEntity(
+            createNewVersionBusinessObjectDataEntity(request, businessObjectFormatEntity, businessObjectDataStatusEntity, existingBusinessObjectDataEntity),
+            existingBusinessObjectDataEntity, true);
+
+        // Keep the partition summary in sync with the newly registered business object data.
+        businessObjectDataPartitionSummaryDaoHelper.updateBusinessObjectDataPartitionSummary(newVersionBusinessObjectDataEntity);
+
+        // Create a status change notification to be sent on create business object data event.
+        messageNotificationEventService
+            .processBusinessObjectDataStatusChangeNotificationEvent(businessObjectDataHelper.getBusinessObjectDataKey(newVersionBusinessObjectDataEntity),
+                businessObjectDataStatusEntity.getCode(), null);
+
+        // Create and return the business object data object from the persisted entity.
+        return businessObjectDataHelper.createBusinessObjectDataFromEntity(newVersionBusinessObjectDataEntity);
+    }
+
+    /**
+     * Creates a new version of the business object data entity from the request information without persisting it. This method validates that a new version
+     * can be created on top of the latest existing version of the business object data.
+     *
+     * @param request the business object data create request
+     * @param businessObjectFormatEntity the business object format entity
+     * @param businessObjectDataStatusEntity the status entity for the new business object data
+     * @param existingBusinessObjectDataEntity the latest version of the business object data, may be null
+     *
+     * @return the newly created business object data entity
+     */
+    private BusinessObjectDataEntity createNewVersionBusinessObjectDataEntity(BusinessObjectDataCreateRequest request,
+        BusinessObjectFormatEntity businessObjectFormatEntity, BusinessObjectDataStatusEntity businessObjectDataStatusEntity,
+        BusinessObjectDataEntity existingBusinessObjectDataEntity)
+    {
+        if (existingBusinessObjectDataEntity != null)
+        {
+            if (!Boolean.TRUE.equals(request.isCreateNewVersion()))
+            {
+                throw new AlreadyExistsException("Unable to create business object data because it already exists and a new version is not allowed " +
+                    "since the \"createNewVersion\" flag is not set to \"true\" in the request.");
+            }
+            else if (Boolean.TRUE.equals(existingBusinessObjectDataEntity.getStatus().getPreRegistrationStatus()))
+            {
+                throw new AlreadyExistsException(String.format(
+                    "Unable to create business object data because it already exists and a new version is not allowed since the latest version is" +
+                        " still in \"%s\", which is one of the pre-registration statuses.", existingBusinessObjectDataEntity.getStatus().getCode()));
+
+            }
+        }
+
+        // Create a business object data entity from the request information.
+        // Please note that simply adding 1 to the latest version without "DB locking" is sufficient here,
+        // even for multi-threading, since we are relying on the DB having version as part of the alternate key.
+        Integer businessObjectDataVersion = existingBusinessObjectDataEntity == null ? BusinessObjectDataEntity.BUSINESS_OBJECT_DATA_INITIAL_VERSION :
+            existingBusinessObjectDataEntity.getVersion() + 1;
+        BusinessObjectDataEntity newVersionBusinessObjectDataEntity =
+            createBusinessObjectDataEntity(request, businessObjectFormatEntity, businessObjectDataVersion, businessObjectDataStatusEntity);
+
+        // Add an entry to the business object data status history table.
+        BusinessObjectDataStatusHistoryEntity businessObjectDataStatusHistoryEntity = new BusinessObjectDataStatusHistoryEntity();
+        businessObjectDataStatusHistoryEntity.setBusinessObjectData(newVersionBusinessObjectDataEntity);
+        businessObjectDataStatusHistoryEntity.setStatus(businessObjectDataStatusEntity);
+        List<BusinessObjectDataStatusHistoryEntity> businessObjectDataStatusHistoryEntities = new ArrayList<>();
+        businessObjectDataStatusHistoryEntities.add(businessObjectDataStatusHistoryEntity);
+        newVersionBusinessObjectDataEntity.setHistoricalStatuses(businessObjectDataStatusHistoryEntities);
+
+        return newVersionBusinessObjectDataEntity;
+    }
+
+    /**
+     * Persists a new version of the business object data entity and updates the latest existing version of the business object data, if any, so it would not
+     * be flagged as the latest version anymore.
+     *
+     * @param newVersionBusinessObjectDataEntity the new version of the business object data entity
+     * @param existingBusinessObjectDataEntity the latest existing version of the business object data, may be null
+     * @param refresh specifies whether the persisted entities should be flushed and refreshed right away
+     *
+     * @return the persisted new version of the business object data entity
+     */
+    private BusinessObjectDataEntity saveNewVersionBusinessObjectDataEntity(BusinessObjectDataEntity newVersionBusinessObjectDataEntity,
+        BusinessObjectDataEntity existingBusinessObjectDataEntity, boolean refresh)
+    {
+        // Update the existing latest business object data version entity, so it would not be flagged as the latest version anymore.
+        if (existingBusinessObjectDataEntity != null)
+        {
+            existingBusinessObjectDataEntity.setLatestVersion(Boolean.FALSE);
+            saveBusinessObjectDataEntity(existingBusinessObjectDataEntity, refresh);
+        }
+
+        // Persist the new entity.
+        return saveBusinessObjectDataEntity(newVersionBusinessObjectDataEntity, refresh);
+    }
+
     /**
      * Creates a new business object data entity from the request information.
      *
@@ -763,8 +1024,10 @@ public class BusinessObjectDataDaoHelper
                 // Get the validate file parameters.
                 params = getFileValidationParams(storageEntity, expectedS3KeyPrefix, storageUnitEntity, validatePathPrefix);
 
-                // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-                actualS3Keys = storageFileHelper.getStorageFilesMapFromS3ObjectSummaries(s3Service.listDirectory(params, true));
+                // Get the S3 files being registered, so only those get validated instead of the whole S3 key prefix.
+                // When getting S3 files, we ignore 0 byte objects that represent S3 directories.
+                params.setFiles(storageFileHelper.getFiles(storageFiles));
+                actualS3Keys = storageFileHelper.getStorageFilesMapFromS3ObjectSummaries(s3Service.getObjectSummaries(params, true));
             }
 
             // If the validate path prefix flag is configured, ensure that there are no storage files already registered in this
@@ -882,6 +1145,44 @@ public class BusinessObjectDataDaoHelper
         return storageFileHelper.createStorageFilesFromS3ObjectSummaries(s3ObjectSummaries);
     }
 
+    /**
+     * Gets the business object data status entity for the status specified in the business object data create request. If status is not specified, the
+     * request status is set to VALID. This method also trims the request status.
+     *
+     * @param request the business object data create request
+     * @param businessObjectDataStatusEntities the map of already retrieved business object data status entities keyed by status code
+     *
+     * @return the business object data status entity
+     */
+    private BusinessObjectDataStatusEntity getBusinessObjectDataStatusEntity(BusinessObjectDataCreateRequest request,
+        Map<String, BusinessObjectDataStatusEntity> businessObjectDataStatusEntities)
+    {
+        if (StringUtils.isBlank(request.getStatus()))
+        {
+            request.setStatus(BusinessObjectDataStatusEntity.VALID);
+        }
+        else
+        {
+            request.setStatus(request.getStatus().trim());
+        }
+
+        return businessObjectDataStatusEntities.computeIfAbsent(request.getStatus().toUpperCase(),
+            status -> businessObjectDataStatusDaoHelper.getBusinessObjectDataStatusEntity(request.getStatus()));
+    }
+
+    /**
+     * Gets the business object format key from the business object data create request.
+     *
+     * @param request the business object data create request
+     *
+     * @return the business object format key
+     */
+    private BusinessObjectFormatKey getBusinessObjectFormatKey(BusinessObjectDataCreateRequest request)
+    {
+        return new BusinessObjectFormatKey(request.getNamespace(), request.getBusinessObjectDefinitionName(), request.getBusinessObjectFormatUsage(),
+            request.getBusinessObjectFormatFileType(), request.getBusinessObjectFormatVersion());
+    }
+
     /**
      * Returns a Cartesian product of the lists of values specified.
      *
@@ -915,6 +1216,42 @@ public class BusinessObjectDataDaoHelper
         }
     }
 
+    /**
+     * Gets the latest version of the business object data that the business object data create request registers a new version for.
+     *
+     * @param request the business object data create request
+     *
+     * @return the latest version of the business object data entity or null if the business object data does not exist
+     */
+    private BusinessObjectDataEntity getLatestBusinessObjectDataEntity(BusinessObjectDataCreateRequest request)
+    {
+        return businessObjectDataDao.getBusinessObjectDataByAltKey(
+            new BusinessObjectDataKey(request.getNamespace(), request.getBusinessObjectDefinitionName(), request.getBusinessObjectFormatUsage(),
+                request.getBusinessObjectFormatFileType(), request.getBusinessObjectFormatVersion(), request.getPartitionValue(),
+                request.getSubPartitionValues(), null));
+    }
+
+    /**
+     * Gets the error message for a business object data that doesn't exist.
+     *
+     * @param businessObjectDataKey the business object data key
+     * @param businessObjectDataStatus the business object data status, maybe null
+     *
+     * @return the error message
+     */
+    private String getBusinessObjectDataNotFoundErrorMessage(BusinessObjectDataKey businessObjectDataKey, String businessObjectDataStatus)
+    {
+        return String.format(
+            "Business object data {namespace: \"%s\", businessObjectDefinitionName: \"%s\", businessObjectFormatUsage: \"%s\", " +
+                "businessObjectFormatFileType: \"%s\", businessObjectFormatVersion: %d, businessObjectDataPartitionValue: \"%s\", " +
+                "businessObjectDataSubPartitionValues: \"%s\", businessObjectDataVersion: %d, businessObjectDataStatus: \"%s\"} doesn't exist.",
+            businessObjectDataKey.getNamespace(), businessObjectDataKey.getBusinessObjectDefinitionName(), businessObjectDataKey.getBusinessObjectFormatUsage(),
+            businessObjectDataKey.getBusinessObjectFormatFileType(), businessObjectDataKey.getBusinessObjectFormatVersion(),
+            businessObjectDataKey.getPartitionValue(), CollectionUtils.isEmpty(businessObjectDataKey.getSubPartitionValues()) ? "" :
+                StringUtils.join(businessObjectDataKey.getSubPartitionValues(), ","), businessObjectDataKey.getBusinessObjectDataVersion(),
+            businessObjectDataStatus);
+    }
+
     /**
      * Gets the file validation parameters that can be used for getting a list of files by the S3 service. The returned DTO will contain the expected S3 key
      * prefix when the "validate path prefix" flag is set or it will contain the directory of the storage entity if not.
@@ -1180,6 +1517,117 @@ public class BusinessObjectDataDaoHelper
         return resultPartitionValues;
     }
 
+    /**
+     * Resolves the partition value tokens of a "partition value range" partition value filter option. The minimum partition value token specified as the start
+     * partition value gets substituted with the minimum available partition value and the maximum partition value token specified as the end partition value
+     * gets substituted with the maximum available partition value. This lets a caller select all available partitions within optional bounds in one request.
+     *
+     * @param partitionValueRange the partition value range
+     * @param partitionKey the partition key
+     * @param partitionColumnPosition the partition column position (one-based numbering)
+     * @param businessObjectFormatKey the business object format key
+     * @param businessObjectDataVersion the business object data version
+     * @param storageNames the optional list of storage names (case-insensitive)
+     * @param storagePlatformType the optional storage platform type, e.g. S3 for Hive DDL. It is ignored when the list of storages is not empty
+     * @param excludedStoragePlatformType the optional storage platform type to be excluded from search. It is ignored when the list of storages is not empty or
+     * the storage platform type is specified
+     *
+     * @return the partition value range with the partition value tokens resolved, or the specified partition value range when no tokens are specified
+     */
+    private PartitionValueRange resolvePartitionValueRangeTokens(PartitionValueRange partitionValueRange, String partitionKey, int partitionColumnPosition,
+        BusinessObjectFormatKey businessObjectFormatKey, Integer businessObjectDataVersion, List<String> storageNames, String storagePlatformType,
+        String excludedStoragePlatformType)
+    {
+        String startPartitionValue = partitionValueRange.getStartPartitionValue();
+        String endPartitionValue = partitionValueRange.getEndPartitionValue();
+
+        if (!BusinessObjectDataService.MIN_PARTITION_VALUE_TOKEN.equals(startPartitionValue) &&
+            !BusinessObjectDataService.MAX_PARTITION_VALUE_TOKEN.equals(endPartitionValue))
+        {
+            return partitionValueRange;
+        }
+
+        // If the minimum partition value token is specified, substitute it with the actual partition value.
+        // If a business object data version isn't specified, the latest VALID business object data version will be used.
+        if (BusinessObjectDataService.MIN_PARTITION_VALUE_TOKEN.equals(startPartitionValue))
+        {
+            startPartitionValue = businessObjectDataDao
+                .getBusinessObjectDataMinPartitionValue(partitionColumnPosition, businessObjectFormatKey, businessObjectDataVersion,
+                    BusinessObjectDataStatusEntity.VALID, storageNames, storagePlatformType, excludedStoragePlatformType);
+            if (startPartitionValue == null)
+            {
+                throw new ObjectNotFoundException(
+                    getPartitionValueNotFoundErrorMessage("minimum", partitionKey, businessObjectFormatKey, businessObjectDataVersion, storageNames));
+            }
+        }
+
+        // If the maximum partition value token is specified, substitute it with the actual partition value.
+        // If a business object data version isn't specified, the latest VALID business object data version will be used.
+        if (BusinessObjectDataService.MAX_PARTITION_VALUE_TOKEN.equals(endPartitionValue))
+        {
+            endPartitionValue = businessObjectDataDao
+                .getBusinessObjectDataMaxPartitionValue(partitionColumnPosition, businessObjectFormatKey, businessObjectDataVersion,
+                    BusinessObjectDataStatusEntity.VALID, storageNames, storagePlatformType, excludedStoragePlatformType, null, null);
+            if (endPartitionValue == null)
+            {
+                throw new ObjectNotFoundException(
+                    getPartitionValueNotFoundErrorMessage("maximum", partitionKey, businessObjectFormatKey, businessObjectDataVersion, storageNames));
+            }
+        }
+
+        // Using string compare, validate that the resolved start partition value is less than or equal to the resolved end partition value.
+        Assert.isTrue(startPartitionValue.compareTo(endPartitionValue) <= 0, String
+            .format("The start partition value \"%s\" cannot be greater than the end partition value \"%s\".", startPartitionValue, endPartitionValue));
+
+        PartitionValueRange resolvedPartitionValueRange = new PartitionValueRange();
+        resolvedPartitionValueRange.setStartPartitionValue(startPartitionValue);
+        resolvedPartitionValueRange.setEndPartitionValue(endPartitionValue);
+        return resolvedPartitionValueRange;
+    }
+
+    /**
+     * Updates the business object data entity with the new status and adds an entry to the business object data status history.
+     *
+     * @param businessObjectDataEntity the business object data entity
+     * @param businessObjectDataStatusEntity the new business object data status entity
+     * @param refresh specifies whether the business object data entity should be flushed and refreshed right away
+     *
+     * @return the previous business object data status code
+     */
+    private String updateBusinessObjectDataStatusEntity(BusinessObjectDataEntity businessObjectDataEntity,
+        BusinessObjectDataStatusEntity businessObjectDataStatusEntity, boolean refresh)
+    {
+        // Save the current status value.
+        String oldStatus = businessObjectDataEntity.getStatus().getCode();
+
+        // Update the entity with the new values.
+        businessObjectDataEntity.setStatus(businessObjectDataStatusEntity);
+
+        // Add an entry to the business object data status history table
+        BusinessObjectDataStatusHistoryEntity businessObjectDataStatusHistoryEntity = new BusinessObjectDataStatusHistoryEntity();
+        businessObjectDataEntity.getHistoricalStatuses().add(businessObjectDataStatusHistoryEntity);
+        businessObjectDataStatusHistoryEntity.setBusinessObjectData(businessObjectDataEntity);
+        businessObjectDataStatusHistoryEntity.setStatus(businessObjectDataStatusEntity);
+
+        // Persist the entity.
+        saveBusinessObjectDataEntity(businessObjectDataEntity, refresh);
+
+        return oldStatus;
+    }
+
+    /**
+     * Persists the business object data entity.
+     *
+     * @param businessObjectDataEntity the business object data entity
+     * @param refresh specifies whether the entity should be flushed and refreshed right away
+     *
+     * @return the persisted business object data entity
+     */
+    private BusinessObjectDataEntity saveBusinessObjectDataEntity(BusinessObjectDataEntity businessObjectDataEntity, boolean refresh)
+    {
+        return refresh ? businessObjectDataDao.saveAndRefresh(businessObjectDataEntity) : businessObjectDataDao.save(businessObjectDataEntity);
+    }
+
     /**
      * Validates the business object data create request. This method also trims appropriate request parameters.
      *
@@ -1263,6 +1711,24 @@ public class BusinessObjectDataDaoHelper
         attributeHelper.validateAttributes(request.getAttributes());
     }
 
+    /**
+     * Validates the business object data create request against the business object format it is registered with.
+     *
+     * @param request the business object data create request
+     * @param businessObjectFormatEntity the business object format entity
+     */
+    private void validateBusinessObjectDataCreateRequestAgainstBusinessObjectFormat(BusinessObjectDataCreateRequest request,
+        BusinessObjectFormatEntity businessObjectFormatEntity)
+    {
+        attributeDaoHelper
+            .validateAttributesAgainstBusinessObjectDataAttributeDefinitions(request.getAttributes(), businessObjectFormatEntity.getAttributeDefinitions());
+
+        // Ensure the specified partition key matches what's configured within the business object format.
+        Assert.isTrue(businessObjectFormatEntity.getPartitionKey().equalsIgnoreCase(request.getPartitionKey()), String
+            .format("Partition key \"%s\" doesn't match configured business object format partition key \"%s\".", request.getPartitionKey(),
+                businessObjectFormatEntity.getPartitionKey()));
+    }
+
     /**
      * Validates the business object data keys. This will validate, trim, and make lowercase appropriate fields.
      *
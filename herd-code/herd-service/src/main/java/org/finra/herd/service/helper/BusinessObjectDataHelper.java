@@ -691,16 +691,23 @@ public class BusinessObjectDataHelper
                 Assert.hasText(partitionValueRange.getEndPartitionValue(), "An end partition value for the partition value range must be specified.");
                 partitionValueRange.setEndPartitionValue(partitionValueRange.getEndPartitionValue().trim());
 
-                // Validate that partition value tokens are not specified as start and end partition values.
+                // When partition value tokens are allowed, the minimum partition value token can be used as the start partition value and the maximum
+                // partition value token can be used as the end partition value, so the range gets bounded by the available partition values.
+                boolean minPartitionValueTokenStart =
+                    allowPartitionValueTokens && partitionValueRange.getStartPartitionValue().equals(BusinessObjectDataService.MIN_PARTITION_VALUE_TOKEN);
+                boolean maxPartitionValueTokenEnd =
+                    allowPartitionValueTokens && partitionValueRange.getEndPartitionValue().equals(BusinessObjectDataService.MAX_PARTITION_VALUE_TOKEN);
+
+                // Validate that no other partition value tokens are specified as start and end partition values.
                 // This check is required, regardless if partition value tokens are allowed or not.
-                Assert.isTrue(!partitionValueRange.getStartPartitionValue().equals(BusinessObjectDataService.MAX_PARTITION_VALUE_TOKEN) &&
-                        !partitionValueRange.getStartPartitionValue().equals(BusinessObjectDataService.MIN_PARTITION_VALUE_TOKEN) &&
-                        !partitionValueRange.getEndPartitionValue().equals(BusinessObjectDataService.MAX_PARTITION_VALUE_TOKEN) &&
-                        !partitionValueRange.getEndPartitionValue().equals(BusinessObjectDataService.MIN_PARTITION_VALUE_TOKEN),
+                Assert.isTrue((minPartitionValueTokenStart || !isPartitionValueToken(partitionValueRange.getStartPartitionValue())) &&
+                        (maxPartitionValueTokenEnd || !isPartitionValueToken(partitionValueRange.getEndPartitionValue())),
                     "A partition value token cannot be specified with a partition value range.");
 
                 // Using string compare, validate that start partition value is less than or equal to end partition value.
-                Assert.isTrue(partitionValueRange.getStartPartitionValue().compareTo(partitionValueRange.getEndPartitionValue()) <= 0, String
+                // When a partition value token is specified, this can only be validated once the token gets resolved.
+                Assert.isTrue(minPartitionValueTokenStart || maxPartitionValueTokenEnd ||
+                    partitionValueRange.getStartPartitionValue().compareTo(partitionValueRange.getEndPartitionValue()) <= 0, String
                     .format("The start partition value \"%s\" cannot be greater than the end partition value \"%s\".",
                         partitionValueRange.getStartPartitionValue(), partitionValueRange.getEndPartitionValue()));
             }
@@ -780,4 +787,17 @@ public class BusinessObjectDataHelper
             subPartitionValues.set(i, alternateKeyHelper.validateStringParameter("subpartition value", subPartitionValues.get(i)));
         }
     }
+
+    /**
+     * Checks whether the specified partition value is one of the partition value tokens.
+     *
+     * @param partitionValue the partition value
+     *
+     * @return true if the partition value is a partition value token
+     */
+    private boolean isPartitionValueToken(String partitionValue)
+    {
+        return partitionValue.equals(BusinessObjectDataService.MAX_PARTITION_VALUE_TOKEN) ||
+            partitionValue.equals(BusinessObjectDataService.MIN_PARTITION_VALUE_TOKEN);
+    }
 }
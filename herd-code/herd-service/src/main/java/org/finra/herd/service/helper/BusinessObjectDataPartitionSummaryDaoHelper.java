@@ -0,0 +1,298 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.finra.herd.dao.BusinessObjectDataDao;
+import org.finra.herd.dao.BusinessObjectDataPartitionSummaryDao;
+import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.jpa.BusinessObjectDataEntity;
+import org.finra.herd.model.jpa.BusinessObjectDataPartitionSummaryEntity;
+import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
+import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
+import org.finra.herd.model.jpa.StorageUnitEntity;
+
+/**
+ * Helper that keeps the business object data partition summary table in sync with business object data and storage unit changes. The partition summary table
+ * is always maintained, so it can be used to serve the partition value lookups as soon as it gets enabled.
+ */
+@Component
+public class BusinessObjectDataPartitionSummaryDaoHelper
+{
+    @Autowired
+    private BusinessObjectDataDao businessObjectDataDao;
+
+    @Autowired
+    private BusinessObjectDataHelper businessObjectDataHelper;
+
+    @Autowired
+    private BusinessObjectDataPartitionSummaryDao businessObjectDataPartitionSummaryDao;
+
+    /**
+     * Updates the partition summary for the business object format and partition values of the specified business object data. This method should be called
+     * after business object data gets registered or after a status change of the business object data or any of its storage units.
+     *
+     * @param businessObjectDataEntity the business object data entity
+     */
+    public void updateBusinessObjectDataPartitionSummary(BusinessObjectDataEntity businessObjectDataEntity)
+    {
+        updateBusinessObjectDataPartitionSummary(businessObjectDataEntity, false);
+    }
+
+    /**
+     * Updates the partition summary for the business object format and partition values of the specified business object data as if the business object data
+     * was already deleted. This method should be called right before the business object data gets deleted.
+     *
+     * @param businessObjectDataEntity the business object data entity
+     */
+    public void deleteBusinessObjectDataFromPartitionSummary(BusinessObjectDataEntity businessObjectDataEntity)
+    {
+        updateBusinessObjectDataPartitionSummary(businessObjectDataEntity, true);
+    }
+
+    /**
+     * Updates the partition summary for a collection of business object data that belong to the same business object format. All business object data
+     * versions and partition summary rows for the partitions of the collection are retrieved by a single query each and the partition summary rows are
+     * persisted without an individual flush and refresh, so the inserts and updates can be batched by the JPA provider. The business object format gets locked
+     * before the partition summary rows are retrieved, since a collection registration typically creates new partition summary rows. This method should be
+     * called after the collection of business object data gets registered or after a status change of the business object data in the collection.
+     *
+     * @param businessObjectDataEntities the list of business object data entities that belong to the same business object format
+     */
+    public void updateBusinessObjectDataPartitionSummaries(List<BusinessObjectDataEntity> businessObjectDataEntities)
+    {
+        if (businessObjectDataEntities.isEmpty())
+        {
+            return;
+        }
+
+        // Get the distinct partitions of the collection.
+        BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectDataEntities.get(0).getBusinessObjectFormat();
+        Map<List<String>, BusinessObjectDataEntity> partitions = new LinkedHashMap<>();
+        Set<String> primaryPartitionValues = new LinkedHashSet<>();
+        for (BusinessObjectDataEntity businessObjectDataEntity : businessObjectDataEntities)
+        {
+            partitions.putIfAbsent(businessObjectDataHelper.getPrimaryAndSubPartitionValues(businessObjectDataEntity), businessObjectDataEntity);
+            primaryPartitionValues.add(businessObjectDataEntity.getPartitionValue());
+        }
+
+        // Get all versions of the business object data registered for the partitions of the collection ordered by data version.
+        Map<List<String>, List<BusinessObjectDataEntity>> partitionBusinessObjectDataEntities = new HashMap<>();
+        for (BusinessObjectDataEntity businessObjectDataEntity : businessObjectDataDao
+            .getBusinessObjectDataEntitiesByPrimaryPartitionValues(businessObjectFormatEntity, new ArrayList<>(primaryPartitionValues)))
+        {
+            partitionBusinessObjectDataEntities
+                .computeIfAbsent(businessObjectDataHelper.getPrimaryAndSubPartitionValues(businessObjectDataEntity), partition -> new ArrayList<>())
+                .add(businessObjectDataEntity);
+        }
+
+        // Get the existing partition summary rows for the partitions of the collection after locking the business object format, so none of the rows get
+        // created by a concurrent transaction in the meantime.
+        businessObjectDataPartitionSummaryDao.lockBusinessObjectDataPartitionSummaries(businessObjectFormatEntity);
+        Map<List<String>, List<BusinessObjectDataPartitionSummaryEntity>> partitionSummaryEntities = new HashMap<>();
+        for (BusinessObjectDataPartitionSummaryEntity partitionSummaryEntity : businessObjectDataPartitionSummaryDao
+            .getBusinessObjectDataPartitionSummaryEntitiesByPrimaryPartitionValues(businessObjectFormatEntity, new ArrayList<>(primaryPartitionValues)))
+        {
+            partitionSummaryEntities.computeIfAbsent(getPartitionValues(partitionSummaryEntity), partition -> new ArrayList<>()).add(partitionSummaryEntity);
+        }
+
+        // Recompute the partition summary rows for each partition of the collection.
+        for (Map.Entry<List<String>, BusinessObjectDataEntity> partition : partitions.entrySet())
+        {
+            updateBusinessObjectDataPartitionSummary(partition.getValue(),
+                partitionBusinessObjectDataEntities.getOrDefault(partition.getKey(), Collections.emptyList()),
+                partitionSummaryEntities.getOrDefault(partition.getKey(), Collections.emptyList()), false, true, false);
+        }
+    }
+
+    /**
+     * Recomputes the partition summary rows for the business object format and partition values of the specified business object data.
+     *
+     * @param businessObjectDataEntity the business object data entity
+     * @param excludeBusinessObjectData specifies whether the specified business object data should be ignored, i.e. it is about to be deleted
+     */
+    private void updateBusinessObjectDataPartitionSummary(BusinessObjectDataEntity businessObjectDataEntity, boolean excludeBusinessObjectData)
+    {
+        // Get all versions of the business object data registered for this business object format and partition values ordered by data version.
+        BusinessObjectDataKey businessObjectDataKey = businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntity);
+        businessObjectDataKey.setBusinessObjectDataVersion(null);
+        List<BusinessObjectDataEntity> businessObjectDataEntities = businessObjectDataDao.getBusinessObjectDataEntities(businessObjectDataKey);
+
+        // Get the existing partition summary rows.
+        List<String> partitionValues = businessObjectDataHelper.getPrimaryAndSubPartitionValues(businessObjectDataEntity);
+        List<BusinessObjectDataPartitionSummaryEntity> partitionSummaryEntities = businessObjectDataPartitionSummaryDao
+            .getBusinessObjectDataPartitionSummaryEntities(businessObjectDataEntity.getBusinessObjectFormat(), partitionValues);
+
+        // Recompute the partition summary rows.
+        updateBusinessObjectDataPartitionSummary(businessObjectDataEntity, businessObjectDataEntities, partitionSummaryEntities, excludeBusinessObjectData,
+            false, true);
+    }
+
+    /**
+     * Recomputes the partition summary rows for the business object format and partition values of the specified business object data from the already
+     * retrieved business object data versions and partition summary rows.
+     *
+     * @param businessObjectDataEntity the business object data entity
+     * @param businessObjectDataEntities all versions of the business object data registered for the partition values ordered by data version
+     * @param partitionSummaryEntities the existing partition summary rows for the partition values
+     * @param excludeBusinessObjectData specifies whether the specified business object data should be ignored, i.e. it is about to be deleted
+     * @param businessObjectFormatLocked specifies whether the business object format was locked before the partition summary rows got retrieved
+     * @param refresh specifies whether the partition summary rows should be flushed and refreshed right away
+     */
+    private void updateBusinessObjectDataPartitionSummary(BusinessObjectDataEntity businessObjectDataEntity,
+        List<BusinessObjectDataEntity> businessObjectDataEntities, List<BusinessObjectDataPartitionSummaryEntity> partitionSummaryEntities,
+        boolean excludeBusinessObjectData, boolean businessObjectFormatLocked, boolean refresh)
+    {
+        // Find the storage unit of the latest VALID business object data version in each storage. Later versions override the earlier ones.
+        Map<String, StorageUnitEntity> latestStorageUnits = new HashMap<>();
+        for (BusinessObjectDataEntity versionEntity : businessObjectDataEntities)
+        {
+            if (excludeBusinessObjectData && versionEntity.getId().equals(businessObjectDataEntity.getId()))
+            {
+                continue;
+            }
+
+            if (BusinessObjectDataStatusEntity.VALID.equals(versionEntity.getStatus().getCode()) && versionEntity.getStorageUnits() != null)
+            {
+                for (StorageUnitEntity storageUnitEntity : versionEntity.getStorageUnits())
+                {
+                    latestStorageUnits.put(storageUnitEntity.getStorage().getName(), storageUnitEntity);
+                }
+            }
+        }
+
+        // Update or delete the existing partition summary rows.
+        for (BusinessObjectDataPartitionSummaryEntity partitionSummaryEntity : partitionSummaryEntities)
+        {
+            StorageUnitEntity storageUnitEntity = latestStorageUnits.remove(partitionSummaryEntity.getStorage().getName());
+
+            if (storageUnitEntity == null)
+            {
+                businessObjectDataPartitionSummaryDao.delete(partitionSummaryEntity);
+            }
+            else
+            {
+                updatePartitionSummaryEntity(partitionSummaryEntity, storageUnitEntity, refresh);
+            }
+        }
+
+        // A concurrent registration of the same partition could have created some of the missing partition summary rows since they got retrieved. The rows
+        // only get created while holding a lock on the business object format, so the rows committed in the meantime are updated instead of inserted again.
+        if (!latestStorageUnits.isEmpty() && !businessObjectFormatLocked)
+        {
+            businessObjectDataPartitionSummaryDao.lockBusinessObjectDataPartitionSummaries(businessObjectDataEntity.getBusinessObjectFormat());
+
+            for (BusinessObjectDataPartitionSummaryEntity partitionSummaryEntity : businessObjectDataPartitionSummaryDao
+                .getBusinessObjectDataPartitionSummaryEntities(businessObjectDataEntity.getBusinessObjectFormat(),
+                    businessObjectDataHelper.getPrimaryAndSubPartitionValues(businessObjectDataEntity)))
+            {
+                StorageUnitEntity storageUnitEntity = latestStorageUnits.remove(partitionSummaryEntity.getStorage().getName());
+
+                if (storageUnitEntity != null)
+                {
+                    updatePartitionSummaryEntity(partitionSummaryEntity, storageUnitEntity, refresh);
+                }
+            }
+        }
+
+        // Create partition summary rows for the storages that do not have them yet.
+        for (StorageUnitEntity storageUnitEntity : latestStorageUnits.values())
+        {
+            BusinessObjectDataPartitionSummaryEntity partitionSummaryEntity = new BusinessObjectDataPartitionSummaryEntity();
+            partitionSummaryEntity.setBusinessObjectFormat(businessObjectDataEntity.getBusinessObjectFormat());
+            partitionSummaryEntity.setStorage(storageUnitEntity.getStorage());
+            partitionSummaryEntity.setPartitionValue(businessObjectDataEntity.getPartitionValue());
+            partitionSummaryEntity.setPartitionValue2(businessObjectDataEntity.getPartitionValue2());
+            partitionSummaryEntity.setPartitionValue3(businessObjectDataEntity.getPartitionValue3());
+            partitionSummaryEntity.setPartitionValue4(businessObjectDataEntity.getPartitionValue4());
+            partitionSummaryEntity.setPartitionValue5(businessObjectDataEntity.getPartitionValue5());
+            partitionSummaryEntity.setBusinessObjectDataVersion(storageUnitEntity.getBusinessObjectData().getVersion());
+            partitionSummaryEntity.setStorageUnitStatus(storageUnitEntity.getStatus());
+            savePartitionSummaryEntity(partitionSummaryEntity, refresh);
+        }
+    }
+
+    /**
+     * Gets the primary and sub-partition values of the partition summary row.
+     *
+     * @param partitionSummaryEntity the partition summary entity
+     *
+     * @return the list of primary and sub-partition values without the trailing unused partition values
+     */
+    private List<String> getPartitionValues(BusinessObjectDataPartitionSummaryEntity partitionSummaryEntity)
+    {
+        List<String> partitionValues = new ArrayList<>();
+        for (String partitionValue : Arrays.asList(partitionSummaryEntity.getPartitionValue(), partitionSummaryEntity.getPartitionValue2(),
+            partitionSummaryEntity.getPartitionValue3(), partitionSummaryEntity.getPartitionValue4(), partitionSummaryEntity.getPartitionValue5()))
+        {
+            if (partitionValue == null)
+            {
+                break;
+            }
+            partitionValues.add(partitionValue);
+        }
+        return partitionValues;
+    }
+
+    /**
+     * Updates the partition summary entity to point to the specified storage unit, unless it already does.
+     *
+     * @param partitionSummaryEntity the partition summary entity
+     * @param storageUnitEntity the storage unit entity of the latest VALID business object data version in the storage
+     * @param refresh specifies whether the partition summary entity should be flushed and refreshed right away
+     */
+    private void updatePartitionSummaryEntity(BusinessObjectDataPartitionSummaryEntity partitionSummaryEntity, StorageUnitEntity storageUnitEntity,
+        boolean refresh)
+    {
+        if (!storageUnitEntity.getBusinessObjectData().getVersion().equals(partitionSummaryEntity.getBusinessObjectDataVersion()) ||
+            !storageUnitEntity.getStatus().getCode().equals(partitionSummaryEntity.getStorageUnitStatus().getCode()))
+        {
+            partitionSummaryEntity.setBusinessObjectDataVersion(storageUnitEntity.getBusinessObjectData().getVersion());
+            partitionSummaryEntity.setStorageUnitStatus(storageUnitEntity.getStatus());
+            savePartitionSummaryEntity(partitionSummaryEntity, refresh);
+        }
+    }
+
+    /**
+     * Persists the partition summary entity.
+     *
+     * @param partitionSummaryEntity the partition summary entity
+     * @param refresh specifies whether the partition summary entity should be flushed and refreshed right away
+     */
+    private void savePartitionSummaryEntity(BusinessObjectDataPartitionSummaryEntity partitionSummaryEntity, boolean refresh)
+    {
+        if (refresh)
+        {
+            businessObjectDataPartitionSummaryDao.saveAndRefresh(partitionSummaryEntity);
+        }
+        else
+        {
+            businessObjectDataPartitionSummaryDao.save(partitionSummaryEntity);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package org.finra.herd.service.helper;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -41,6 +42,9 @@ import org.finra.herd.model.jpa.NamespaceEntity;
 @Component
 public class BusinessObjectDefinitionDaoHelper
 {
+    @Autowired
+    private AlternateKeyEntityCacheHelper alternateKeyEntityCacheHelper;
+
     @Autowired
     private AttributeHelper attributeHelper;
 
@@ -67,8 +71,9 @@ public class BusinessObjectDefinitionDaoHelper
     public BusinessObjectDefinitionEntity getBusinessObjectDefinitionEntity(BusinessObjectDefinitionKey businessObjectDefinitionKey)
         throws ObjectNotFoundException
     {
-        BusinessObjectDefinitionEntity businessObjectDefinitionEntity =
-            businessObjectDefinitionDao.getBusinessObjectDefinitionByKey(businessObjectDefinitionKey);
+        BusinessObjectDefinitionEntity businessObjectDefinitionEntity = alternateKeyEntityCacheHelper.getEntity(BusinessObjectDefinitionEntity.class,
+            Arrays.asList(businessObjectDefinitionKey.getNamespace(), businessObjectDefinitionKey.getBusinessObjectDefinitionName()),
+            () -> businessObjectDefinitionDao.getBusinessObjectDefinitionByKey(businessObjectDefinitionKey));
 
         if (businessObjectDefinitionEntity == null)
         {
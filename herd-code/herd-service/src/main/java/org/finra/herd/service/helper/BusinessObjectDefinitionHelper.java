@@ -15,10 +15,14 @@
 */
 package org.finra.herd.service.helper;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,10 +30,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
-import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDefinitionColumnKey;
 import org.finra.herd.model.api.xml.BusinessObjectDefinitionKey;
+import org.finra.herd.model.jpa.BusinessObjectDataAttributeDefinitionEntity;
+import org.finra.herd.model.jpa.BusinessObjectDefinitionAttributeEntity;
+import org.finra.herd.model.jpa.BusinessObjectDefinitionColumnEntity;
 import org.finra.herd.model.jpa.BusinessObjectDefinitionEntity;
+import org.finra.herd.model.jpa.BusinessObjectDefinitionSampleDataFileEntity;
+import org.finra.herd.model.jpa.BusinessObjectDefinitionSubjectMatterExpertEntity;
+import org.finra.herd.model.jpa.BusinessObjectDefinitionTagEntity;
+import org.finra.herd.model.jpa.BusinessObjectFormatAttributeEntity;
+import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
+import org.finra.herd.model.jpa.SchemaColumnEntity;
+import org.finra.herd.model.jpa.StorageAttributeEntity;
+import org.finra.herd.model.jpa.StorageEntity;
+import org.finra.herd.model.jpa.TagEntity;
 import org.finra.herd.service.functional.QuadConsumer;
 
 /**
@@ -40,11 +55,18 @@ public class BusinessObjectDefinitionHelper
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(BusinessObjectDefinitionHelper.class);
 
-    @Autowired
-    private AlternateKeyHelper alternateKeyHelper;
+    /**
+     * The number of levels of children tags written for every business object definition tag, as defined by the search index mapping.
+     */
+    private static final int CHILDREN_TAG_LEVELS = 2;
+
+    /**
+     * The factory for the streaming JSON generators used to write the search index documents.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
     @Autowired
-    private JsonHelper jsonHelper;
+    private AlternateKeyHelper alternateKeyHelper;
 
     /**
      * Returns a string representation of the business object definition key.
@@ -73,14 +95,6 @@ public class BusinessObjectDefinitionHelper
         // For each business object definition apply the passed in function
         businessObjectDefinitionEntities.forEach(businessObjectDefinitionEntity ->
         {
-            // Fetch Join with .size()
-            businessObjectDefinitionEntity.getAttributes().size();
-            businessObjectDefinitionEntity.getBusinessObjectDefinitionTags().size();
-            businessObjectDefinitionEntity.getBusinessObjectFormats().size();
-            businessObjectDefinitionEntity.getColumns().size();
-            businessObjectDefinitionEntity.getSampleDataFiles().size();
-            businessObjectDefinitionEntity.getSubjectMatterExperts().size();
-
             // Convert the business object definition entity to a JSON string
             final String jsonString = safeObjectMapperWriteValueAsString(businessObjectDefinitionEntity);
 
@@ -131,12 +145,16 @@ public class BusinessObjectDefinitionHelper
     }
 
     /**
-     * Wrapper method that will safely call the object mapper write value as string method and handle the JsonProcessingException. This wrapper is needed so
-     * that we can do the object mapping within a Java stream.
+     * Wrapper method that will safely write the search index document of the business object definition and handle any errors. This wrapper is needed so
+     * that we can do the conversion within a Java stream.
+     * <p>
+     * The search index document is a projection of the business object definition that holds only the fields covered by the search index mapping that the
+     * index search queries, returns, filters or aggregates on. It gets written with a streaming JSON generator, so only the associations that make up the
+     * projection get loaded and no intermediate object tree gets built.
      *
      * @param businessObjectDefinitionEntity the business object definition entity to convert to JSON
      *
-     * @return the JSON string value of the business object definition entity
+     * @return the JSON string value of the business object definition search index document
      */
     public String safeObjectMapperWriteValueAsString(final BusinessObjectDefinitionEntity businessObjectDefinitionEntity)
     {
@@ -145,15 +163,14 @@ public class BusinessObjectDefinitionHelper
         try
         {
             // Convert the business object definition entity to a JSON string.
-            jsonString = jsonHelper.objectToJson(businessObjectDefinitionEntity);
+            jsonString = writeSearchIndexDocument(businessObjectDefinitionEntity);
         }
         catch (IllegalStateException illegalStateException)
         {
             LOGGER.warn("Could not parse BusinessObjectDefinitionEntity id={" + businessObjectDefinitionEntity.getId() + "} into JSON string. ",
                 illegalStateException);
         }
-        LOGGER.debug("safeObjectMapperWriteValueAsString" + jsonString + " " + businessObjectDefinitionEntity.getId() + " " +
-            businessObjectDefinitionEntity.getBusinessObjectDefinitionTags());
+        LOGGER.debug("safeObjectMapperWriteValueAsString" + jsonString + " " + businessObjectDefinitionEntity.getId());
         return jsonString;
     }
 
@@ -172,4 +189,261 @@ public class BusinessObjectDefinitionHelper
                 .setScale(3, RoundingMode.HALF_UP);
         businessObjectDefinitionEntity.setTagSearchScoreMultiplier(totalSearchScoreMultiplier);
     }
+
+    /**
+     * Writes the fields of a business object format that are common to the business object formats and the descriptive business object format of the
+     * search index document.
+     *
+     * @param jsonGenerator the JSON generator
+     * @param businessObjectFormatEntity the business object format entity
+     *
+     * @throws IOException if the JSON could not be written
+     */
+    private void writeBusinessObjectFormatFields(JsonGenerator jsonGenerator, BusinessObjectFormatEntity businessObjectFormatEntity) throws IOException
+    {
+        jsonGenerator.writeStringField("usage", businessObjectFormatEntity.getUsage());
+        jsonGenerator.writeStringField("description", businessObjectFormatEntity.getDescription());
+        if (businessObjectFormatEntity.getFileType() != null)
+        {
+            jsonGenerator.writeObjectFieldStart("fileType");
+            jsonGenerator.writeStringField("code", businessObjectFormatEntity.getFileType().getCode());
+            jsonGenerator.writeStringField("description", businessObjectFormatEntity.getFileType().getDescription());
+            jsonGenerator.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes the search index document of a business object definition.
+     *
+     * @param businessObjectDefinitionEntity the business object definition entity
+     *
+     * @return the JSON string value of the search index document
+     * @throws IllegalStateException when an I/O error occurs
+     */
+    private String writeSearchIndexDocument(BusinessObjectDefinitionEntity businessObjectDefinitionEntity) throws IllegalStateException
+    {
+        StringWriter stringWriter = new StringWriter();
+
+        try (JsonGenerator jsonGenerator = JSON_FACTORY.createGenerator(stringWriter))
+        {
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeNumberField("id", businessObjectDefinitionEntity.getId());
+            jsonGenerator.writeStringField("name", businessObjectDefinitionEntity.getName());
+            jsonGenerator.writeStringField("displayName", businessObjectDefinitionEntity.getDisplayName());
+            jsonGenerator.writeStringField("description", businessObjectDefinitionEntity.getDescription());
+            jsonGenerator.writeNumberField("tagSearchScoreMultiplier", businessObjectDefinitionEntity.getTagSearchScoreMultiplier());
+
+            if (businessObjectDefinitionEntity.getNamespace() != null)
+            {
+                jsonGenerator.writeObjectFieldStart("namespace");
+                jsonGenerator.writeStringField("code", businessObjectDefinitionEntity.getNamespace().getCode());
+                jsonGenerator.writeEndObject();
+            }
+
+            if (businessObjectDefinitionEntity.getDataProvider() != null)
+            {
+                jsonGenerator.writeObjectFieldStart("dataProvider");
+                jsonGenerator.writeStringField("name", businessObjectDefinitionEntity.getDataProvider().getName());
+                jsonGenerator.writeEndObject();
+            }
+
+            if (businessObjectDefinitionEntity.getAttributes() != null)
+            {
+                jsonGenerator.writeArrayFieldStart("attributes");
+                for (BusinessObjectDefinitionAttributeEntity attributeEntity : businessObjectDefinitionEntity.getAttributes())
+                {
+                    jsonGenerator.writeStartObject();
+                    jsonGenerator.writeStringField("name", attributeEntity.getName());
+                    jsonGenerator.writeStringField("value", attributeEntity.getValue());
+                    jsonGenerator.writeEndObject();
+                }
+                jsonGenerator.writeEndArray();
+            }
+
+            if (businessObjectDefinitionEntity.getColumns() != null)
+            {
+                jsonGenerator.writeArrayFieldStart("columns");
+                for (BusinessObjectDefinitionColumnEntity columnEntity : businessObjectDefinitionEntity.getColumns())
+                {
+                    jsonGenerator.writeStartObject();
+                    jsonGenerator.writeStringField("name", columnEntity.getName());
+                    jsonGenerator.writeStringField("description", columnEntity.getDescription());
+                    jsonGenerator.writeEndObject();
+                }
+                jsonGenerator.writeEndArray();
+            }
+
+            if (businessObjectDefinitionEntity.getBusinessObjectDefinitionTags() != null)
+            {
+                jsonGenerator.writeArrayFieldStart("businessObjectDefinitionTags");
+                for (BusinessObjectDefinitionTagEntity businessObjectDefinitionTagEntity : businessObjectDefinitionEntity.getBusinessObjectDefinitionTags())
+                {
+                    jsonGenerator.writeStartObject();
+                    jsonGenerator.writeFieldName("tag");
+                    writeTag(jsonGenerator, businessObjectDefinitionTagEntity.getTag(), CHILDREN_TAG_LEVELS);
+                    jsonGenerator.writeEndObject();
+                }
+                jsonGenerator.writeEndArray();
+            }
+
+            if (businessObjectDefinitionEntity.getBusinessObjectFormats() != null)
+            {
+                jsonGenerator.writeArrayFieldStart("businessObjectFormats");
+                for (BusinessObjectFormatEntity businessObjectFormatEntity : businessObjectDefinitionEntity.getBusinessObjectFormats())
+                {
+                    jsonGenerator.writeStartObject();
+                    writeBusinessObjectFormatFields(jsonGenerator, businessObjectFormatEntity);
+                    if (businessObjectFormatEntity.getAttributes() != null)
+                    {
+                        jsonGenerator.writeArrayFieldStart("attributes");
+                        for (BusinessObjectFormatAttributeEntity attributeEntity : businessObjectFormatEntity.getAttributes())
+                        {
+                            jsonGenerator.writeStartObject();
+                            jsonGenerator.writeStringField("name", attributeEntity.getName());
+                            jsonGenerator.writeStringField("value", attributeEntity.getValue());
+                            jsonGenerator.writeEndObject();
+                        }
+                        jsonGenerator.writeEndArray();
+                    }
+                    if (businessObjectFormatEntity.getAttributeDefinitions() != null)
+                    {
+                        jsonGenerator.writeArrayFieldStart("attributeDefinitions");
+                        for (BusinessObjectDataAttributeDefinitionEntity attributeDefinitionEntity : businessObjectFormatEntity.getAttributeDefinitions())
+                        {
+                            jsonGenerator.writeStartObject();
+                            jsonGenerator.writeStringField("name", attributeDefinitionEntity.getName());
+                            jsonGenerator.writeEndObject();
+                        }
+                        jsonGenerator.writeEndArray();
+                    }
+                    jsonGenerator.writeEndObject();
+                }
+                jsonGenerator.writeEndArray();
+            }
+
+            BusinessObjectFormatEntity descriptiveBusinessObjectFormatEntity = businessObjectDefinitionEntity.getDescriptiveBusinessObjectFormat();
+            if (descriptiveBusinessObjectFormatEntity != null)
+            {
+                jsonGenerator.writeObjectFieldStart("descriptiveBusinessObjectFormat");
+                writeBusinessObjectFormatFields(jsonGenerator, descriptiveBusinessObjectFormatEntity);
+                jsonGenerator.writeStringField("documentSchema", descriptiveBusinessObjectFormatEntity.getDocumentSchema());
+                if (descriptiveBusinessObjectFormatEntity.getSchemaColumns() != null)
+                {
+                    jsonGenerator.writeArrayFieldStart("schemaColumns");
+                    for (SchemaColumnEntity schemaColumnEntity : descriptiveBusinessObjectFormatEntity.getSchemaColumns())
+                    {
+                        jsonGenerator.writeStartObject();
+                        jsonGenerator.writeStringField("name", schemaColumnEntity.getName());
+                        jsonGenerator.writeEndObject();
+                    }
+                    jsonGenerator.writeEndArray();
+                }
+                jsonGenerator.writeEndObject();
+            }
+
+            if (businessObjectDefinitionEntity.getSampleDataFiles() != null)
+            {
+                jsonGenerator.writeArrayFieldStart("sampleDataFiles");
+                for (BusinessObjectDefinitionSampleDataFileEntity sampleDataFileEntity : businessObjectDefinitionEntity.getSampleDataFiles())
+                {
+                    jsonGenerator.writeStartObject();
+                    jsonGenerator.writeStringField("fileName", sampleDataFileEntity.getFileName());
+                    jsonGenerator.writeStringField("directoryPath", sampleDataFileEntity.getDirectoryPath());
+                    if (sampleDataFileEntity.getStorage() != null)
+                    {
+                        writeStorage(jsonGenerator, sampleDataFileEntity.getStorage());
+                    }
+                    jsonGenerator.writeEndObject();
+                }
+                jsonGenerator.writeEndArray();
+            }
+
+            if (businessObjectDefinitionEntity.getSubjectMatterExperts() != null)
+            {
+                jsonGenerator.writeArrayFieldStart("subjectMatterExperts");
+                for (BusinessObjectDefinitionSubjectMatterExpertEntity subjectMatterExpertEntity : businessObjectDefinitionEntity.getSubjectMatterExperts())
+                {
+                    jsonGenerator.writeStartObject();
+                    jsonGenerator.writeStringField("userId", subjectMatterExpertEntity.getUserId());
+                    jsonGenerator.writeEndObject();
+                }
+                jsonGenerator.writeEndArray();
+            }
+
+            jsonGenerator.writeEndObject();
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException(e);
+        }
+
+        return stringWriter.toString();
+    }
+
+    /**
+     * Writes the storage of a sample data file as a "storage" object field.
+     *
+     * @param jsonGenerator the JSON generator
+     * @param storageEntity the storage entity
+     *
+     * @throws IOException if the JSON could not be written
+     */
+    private void writeStorage(JsonGenerator jsonGenerator, StorageEntity storageEntity) throws IOException
+    {
+        jsonGenerator.writeObjectFieldStart("storage");
+        jsonGenerator.writeStringField("name", storageEntity.getName());
+        if (storageEntity.getStoragePlatform() != null)
+        {
+            jsonGenerator.writeObjectFieldStart("storagePlatform");
+            jsonGenerator.writeStringField("name", storageEntity.getStoragePlatform().getName());
+            jsonGenerator.writeEndObject();
+        }
+        if (storageEntity.getAttributes() != null)
+        {
+            jsonGenerator.writeArrayFieldStart("attributes");
+            for (StorageAttributeEntity storageAttributeEntity : storageEntity.getAttributes())
+            {
+                jsonGenerator.writeStartObject();
+                jsonGenerator.writeStringField("name", storageAttributeEntity.getName());
+                jsonGenerator.writeStringField("value", storageAttributeEntity.getValue());
+                jsonGenerator.writeEndObject();
+            }
+            jsonGenerator.writeEndArray();
+        }
+        jsonGenerator.writeEndObject();
+    }
+
+    /**
+     * Writes a tag as an object value along with the specified number of levels of its children tags.
+     *
+     * @param jsonGenerator the JSON generator
+     * @param tagEntity the tag entity
+     * @param childrenTagLevels the number of levels of children tags to write
+     *
+     * @throws IOException if the JSON could not be written
+     */
+    private void writeTag(JsonGenerator jsonGenerator, TagEntity tagEntity, int childrenTagLevels) throws IOException
+    {
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeStringField("tagCode", tagEntity.getTagCode());
+        jsonGenerator.writeStringField("displayName", tagEntity.getDisplayName());
+        jsonGenerator.writeStringField("description", tagEntity.getDescription());
+        if (tagEntity.getTagType() != null)
+        {
+            jsonGenerator.writeObjectFieldStart("tagType");
+            jsonGenerator.writeStringField("code", tagEntity.getTagType().getCode());
+            jsonGenerator.writeStringField("displayName", tagEntity.getTagType().getDisplayName());
+            jsonGenerator.writeEndObject();
+        }
+        if (childrenTagLevels > 0 && tagEntity.getChildrenTagEntities() != null)
+        {
+            jsonGenerator.writeArrayFieldStart("childrenTagEntities");
+            for (TagEntity childTagEntity : tagEntity.getChildrenTagEntities())
+            {
+                writeTag(jsonGenerator, childTagEntity, childrenTagLevels - 1);
+            }
+            jsonGenerator.writeEndArray();
+        }
+        jsonGenerator.writeEndObject();
+    }
 }
@@ -15,6 +15,8 @@
 */
 package org.finra.herd.service.helper;
 
+import java.util.Arrays;
+
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -33,6 +35,9 @@ import org.finra.herd.model.jpa.RetentionTypeEntity;
 @Component
 public class BusinessObjectFormatDaoHelper
 {
+    @Autowired
+    private AlternateKeyEntityCacheHelper alternateKeyEntityCacheHelper;
+
     @Autowired
     private BusinessObjectFormatDao businessObjectFormatDao;
 
@@ -100,7 +105,13 @@ public class BusinessObjectFormatDaoHelper
      */
     public BusinessObjectFormatEntity getBusinessObjectFormatEntity(BusinessObjectFormatKey businessObjectFormatKey) throws ObjectNotFoundException
     {
-        BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectFormatDao.getBusinessObjectFormatByAltKey(businessObjectFormatKey);
+        // Only a fully specified alternate key is cached, since the latest format version can change within a transaction.
+        BusinessObjectFormatEntity businessObjectFormatEntity = businessObjectFormatKey.getBusinessObjectFormatVersion() == null ?
+            businessObjectFormatDao.getBusinessObjectFormatByAltKey(businessObjectFormatKey) : alternateKeyEntityCacheHelper
+            .getEntity(BusinessObjectFormatEntity.class, Arrays.asList(businessObjectFormatKey.getNamespace(),
+                businessObjectFormatKey.getBusinessObjectDefinitionName(), businessObjectFormatKey.getBusinessObjectFormatUsage(),
+                businessObjectFormatKey.getBusinessObjectFormatFileType(), businessObjectFormatKey.getBusinessObjectFormatVersion().toString()),
+                () -> businessObjectFormatDao.getBusinessObjectFormatByAltKey(businessObjectFormatKey));
 
         if (businessObjectFormatEntity == null)
         {
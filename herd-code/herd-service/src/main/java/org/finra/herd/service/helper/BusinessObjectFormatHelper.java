@@ -21,7 +21,9 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
@@ -323,6 +325,26 @@ public class BusinessObjectFormatHelper
             businessObjectDataKey.getBusinessObjectFormatVersion());
     }
 
+    /**
+     * Returns true if both business object format keys identify the same business object format. The alternate key string fields are compared in a
+     * case-insensitive way.
+     *
+     * @param businessObjectFormatKey the business object format key
+     * @param otherBusinessObjectFormatKey the other business object format key
+     *
+     * @return true if both keys identify the same business object format, false otherwise
+     */
+    public boolean isSameBusinessObjectFormat(BusinessObjectFormatKey businessObjectFormatKey, BusinessObjectFormatKey otherBusinessObjectFormatKey)
+    {
+        return StringUtils.equalsIgnoreCase(businessObjectFormatKey.getNamespace(), otherBusinessObjectFormatKey.getNamespace()) &&
+            StringUtils.equalsIgnoreCase(businessObjectFormatKey.getBusinessObjectDefinitionName(),
+                otherBusinessObjectFormatKey.getBusinessObjectDefinitionName()) &&
+            StringUtils.equalsIgnoreCase(businessObjectFormatKey.getBusinessObjectFormatUsage(), otherBusinessObjectFormatKey.getBusinessObjectFormatUsage()) &&
+            StringUtils.equalsIgnoreCase(businessObjectFormatKey.getBusinessObjectFormatFileType(),
+                otherBusinessObjectFormatKey.getBusinessObjectFormatFileType()) &&
+            Objects.equals(businessObjectFormatKey.getBusinessObjectFormatVersion(), otherBusinessObjectFormatKey.getBusinessObjectFormatVersion());
+    }
+
     /**
      * Validates the business object format key. This method also trims the key parameters.
      *
@@ -0,0 +1,144 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * A helper class for processing the individual requests of a collection request.
+ */
+@Component
+public class CollectionRequestHelper
+{
+    @Autowired
+    private ThreadPoolTaskExecutor collectionRequestTaskExecutor;
+
+    @Autowired
+    private PlatformTransactionManager herdTransactionManager;
+
+    /**
+     * Processes the individual requests of a collection request concurrently using the shared collection request task executor. Each individual request gets
+     * processed in its own read-only transaction and the number of individual requests processed at the same time is limited by the specified maximum
+     * parallelism. When the maximum parallelism is 1 or there is only one individual request, the requests get processed sequentially on the calling thread
+     * in a single transaction that joins the current transaction, if there is one. The first failure stops processing of the remaining requests and gets
+     * re-thrown to the caller.
+     *
+     * @param requests the list of individual requests
+     * @param requestProcessor the function that processes a single request
+     * @param maxParallelism the maximum number of individual requests to process at the same time
+     * @param <T> the type of the individual request
+     * @param <R> the type of the individual response
+     *
+     * @return the list of individual responses in the same order as the requests
+     */
+    public <T, R> List<R> processRequests(List<T> requests, Function<T, R> requestProcessor, int maxParallelism)
+    {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(herdTransactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        int workerCount = Math.min(Math.max(maxParallelism, 1), requests.size());
+
+        AtomicReferenceArray<R> responses = new AtomicReferenceArray<>(requests.size());
+
+        if (workerCount <= 1)
+        {
+            transactionTemplate.execute(status -> {
+                for (int i = 0; i < requests.size(); i++)
+                {
+                    responses.set(i, requestProcessor.apply(requests.get(i)));
+                }
+                return null;
+            });
+        }
+        else
+        {
+            // Each worker keeps taking the next unprocessed request until there are none left, so the workers stay busy even when the individual requests take
+            // different amounts of time. Setting the index past the end of the list stops all the workers after a failure.
+            AtomicInteger nextIndex = new AtomicInteger();
+            Runnable worker = () -> {
+                int index;
+                while ((index = nextIndex.getAndIncrement()) < requests.size())
+                {
+                    T request = requests.get(index);
+                    try
+                    {
+                        responses.set(index, transactionTemplate.execute(status -> requestProcessor.apply(request)));
+                    }
+                    catch (RuntimeException | Error e)
+                    {
+                        nextIndex.set(requests.size());
+                        throw e;
+                    }
+                }
+            };
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < workerCount; i++)
+            {
+                // The security context wrapper keeps state for the duration of a run, so every worker needs its own instance.
+                futures.add(collectionRequestTaskExecutor.submit(new DelegatingSecurityContextRunnable(worker)));
+            }
+
+            RuntimeException failure = null;
+            for (Future<?> future : futures)
+            {
+                try
+                {
+                    future.get();
+                }
+                catch (InterruptedException e)
+                {
+                    nextIndex.set(requests.size());
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while processing the collection request.", e);
+                }
+                catch (ExecutionException e)
+                {
+                    if (failure == null)
+                    {
+                        failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() :
+                            new IllegalStateException(e.getCause().getMessage(), e.getCause());
+                    }
+                }
+            }
+
+            if (failure != null)
+            {
+                throw failure;
+            }
+        }
+
+        List<R> responseList = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++)
+        {
+            responseList.add(responses.get(i));
+        }
+        return responseList;
+    }
+}
@@ -28,6 +28,9 @@ import org.finra.herd.model.jpa.FileTypeEntity;
 @Component
 public class FileTypeDaoHelper
 {
+    @Autowired
+    private AlternateKeyEntityCacheHelper alternateKeyEntityCacheHelper;
+
     @Autowired
     private FileTypeDao fileTypeDao;
 
@@ -41,7 +44,7 @@ public class FileTypeDaoHelper
      */
     public FileTypeEntity getFileTypeEntity(String fileType) throws ObjectNotFoundException
     {
-        FileTypeEntity fileTypeEntity = fileTypeDao.getFileTypeByCode(fileType);
+        FileTypeEntity fileTypeEntity = alternateKeyEntityCacheHelper.getEntity(FileTypeEntity.class, fileType, () -> fileTypeDao.getFileTypeByCode(fileType));
 
         if (fileTypeEntity == null)
         {
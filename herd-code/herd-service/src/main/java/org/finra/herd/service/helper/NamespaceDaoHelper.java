@@ -28,6 +28,9 @@ import org.finra.herd.model.jpa.NamespaceEntity;
 @Component
 public class NamespaceDaoHelper
 {
+    @Autowired
+    private AlternateKeyEntityCacheHelper alternateKeyEntityCacheHelper;
+
     @Autowired
     private NamespaceDao namespaceDao;
 
@@ -41,7 +44,8 @@ public class NamespaceDaoHelper
      */
     public NamespaceEntity getNamespaceEntity(String namespace) throws ObjectNotFoundException
     {
-        NamespaceEntity namespaceEntity = namespaceDao.getNamespaceByCd(namespace);
+        NamespaceEntity namespaceEntity =
+            alternateKeyEntityCacheHelper.getEntity(NamespaceEntity.class, namespace, () -> namespaceDao.getNamespaceByCd(namespace));
 
         if (namespaceEntity == null)
         {
@@ -19,14 +19,21 @@ import static org.finra.herd.model.dto.SearchIndexUpdateDto.MESSAGE_TYPE_BUSINES
 import static org.finra.herd.model.dto.SearchIndexUpdateDto.MESSAGE_TYPE_TAG_UPDATE;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.quartz.ObjectAlreadyExistsException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.helper.JsonHelper;
@@ -40,7 +47,11 @@ import org.finra.herd.service.NotificationMessagePublishingService;
 import org.finra.herd.service.systemjobs.JmsPublishingJob;
 
 /**
- * SearchIndexUpdateHelper class contains helper methods needed to process a search index update.
+ * SearchIndexUpdateHelper class contains helper methods needed to process a search index update. Within a transaction, the search index updates are buffered
+ * and coalesced, so all the modifications made by the transaction result in a single message per message type and modification type with de-duplicated ids.
+ * The buffered updates are sent right before the transaction commits and discarded if the transaction rolls back. Since the search index documents are built
+ * from the current database state when a message is consumed, the coalesced messages produce the same search index as the individual ones. Outside of a
+ * transaction, every search index update is sent right away.
  */
 @Component
 public class SearchIndexUpdateHelper
@@ -69,8 +80,7 @@ public class SearchIndexUpdateHelper
     {
         List<Integer> businessObjectDefinitionIds = new ArrayList<>();
         businessObjectDefinitionIds.add(businessObjectDefinitionEntity.getId());
-        processMessage(
-            jsonHelper.objectToJson(new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, businessObjectDefinitionIds, modificationType)));
+        processSearchIndexUpdate(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, businessObjectDefinitionIds, modificationType);
     }
 
     /**
@@ -83,8 +93,7 @@ public class SearchIndexUpdateHelper
     {
         List<Integer> businessObjectDefinitionIds = new ArrayList<>();
         businessObjectDefinitionEntityList.forEach(businessObjectDefinitionEntity -> businessObjectDefinitionIds.add(businessObjectDefinitionEntity.getId()));
-        processMessage(
-            jsonHelper.objectToJson(new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, businessObjectDefinitionIds, modificationType)));
+        processSearchIndexUpdate(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, businessObjectDefinitionIds, modificationType);
     }
 
     /**
@@ -97,7 +106,7 @@ public class SearchIndexUpdateHelper
     {
         List<Integer> tagIds = new ArrayList<>();
         tagIds.add(tagEntity.getId());
-        processMessage(jsonHelper.objectToJson(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, tagIds, modificationType)));
+        processSearchIndexUpdate(MESSAGE_TYPE_TAG_UPDATE, tagIds, modificationType);
     }
 
     /**
@@ -110,7 +119,7 @@ public class SearchIndexUpdateHelper
     {
         List<Integer> tagIds = new ArrayList<>();
         tagEntityList.forEach(tagEntity -> tagIds.add(tagEntity.getId()));
-        processMessage(jsonHelper.objectToJson(new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, tagIds, modificationType)));
+        processSearchIndexUpdate(MESSAGE_TYPE_TAG_UPDATE, tagIds, modificationType);
     }
 
     /**
@@ -131,6 +140,63 @@ public class SearchIndexUpdateHelper
         return sqsQueueName;
     }
 
+    /**
+     * Gets the search index updates buffered for the current transaction, binding a new buffer on first use. The buffer gets flushed right before the
+     * transaction commits and released along with the transaction. When the transaction gets suspended by a nested transaction, the buffer gets unbound, so the
+     * nested transaction buffers and sends its own updates.
+     *
+     * @return the map of buffered ids keyed by message type and modification type or null if there is no active transaction synchronization
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Pair<String, String>, Set<Integer>> getTransactionSearchIndexUpdates()
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            return null;
+        }
+
+        Map<Pair<String, String>, Set<Integer>> searchIndexUpdates =
+            (Map<Pair<String, String>, Set<Integer>>) TransactionSynchronizationManager.getResource(this);
+
+        if (searchIndexUpdates == null)
+        {
+            final Map<Pair<String, String>, Set<Integer>> transactionSearchIndexUpdates = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, transactionSearchIndexUpdates);
+
+            final Object resourceKey = this;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+            {
+                @Override
+                public void afterCompletion(int status)
+                {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+                }
+
+                @Override
+                public void beforeCommit(boolean readOnly)
+                {
+                    sendSearchIndexUpdates(transactionSearchIndexUpdates);
+                }
+
+                @Override
+                public void resume()
+                {
+                    TransactionSynchronizationManager.bindResource(resourceKey, transactionSearchIndexUpdates);
+                }
+
+                @Override
+                public void suspend()
+                {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+                }
+            });
+
+            searchIndexUpdates = transactionSearchIndexUpdates;
+        }
+
+        return searchIndexUpdates;
+    }
+
     /**
      * Processes a message by adding it to the database "queue" table to ultimately be placed on the real queue by a separate job.
      *
@@ -176,4 +242,51 @@ public class SearchIndexUpdateHelper
             }
         }
     }
+
+    /**
+     * Processes a search index update. Within a transaction, the ids get added to the transaction buffer. Otherwise, the search index update message gets sent
+     * right away.
+     *
+     * @param messageType the message type
+     * @param ids the list of ids to modify
+     * @param modificationType the type of modification
+     */
+    private void processSearchIndexUpdate(String messageType, List<Integer> ids, String modificationType)
+    {
+        Map<Pair<String, String>, Set<Integer>> searchIndexUpdates = getTransactionSearchIndexUpdates();
+
+        if (searchIndexUpdates == null)
+        {
+            processMessage(jsonHelper.objectToJson(new SearchIndexUpdateDto(messageType, ids, modificationType)));
+        }
+        else
+        {
+            searchIndexUpdates.computeIfAbsent(Pair.of(messageType, modificationType), key -> new LinkedHashSet<>()).addAll(ids);
+        }
+    }
+
+    /**
+     * Sends the buffered search index updates, one message per message type and modification type, in the order the modifications were first requested.
+     *
+     * @param searchIndexUpdates the map of buffered ids keyed by message type and modification type
+     */
+    private void sendSearchIndexUpdates(Map<Pair<String, String>, Set<Integer>> searchIndexUpdates)
+    {
+        if (searchIndexUpdates.isEmpty())
+        {
+            return;
+        }
+
+        int idCount = 0;
+        for (Map.Entry<Pair<String, String>, Set<Integer>> entry : searchIndexUpdates.entrySet())
+        {
+            idCount += entry.getValue().size();
+            processMessage(
+                jsonHelper.objectToJson(new SearchIndexUpdateDto(entry.getKey().getLeft(), new ArrayList<>(entry.getValue()), entry.getKey().getRight())));
+        }
+
+        LOGGER.info("Sent coalesced search index updates. searchIndexUpdateMessageCount={} searchIndexUpdateIdCount={}", searchIndexUpdates.size(), idCount);
+
+        searchIndexUpdates.clear();
+    }
 }
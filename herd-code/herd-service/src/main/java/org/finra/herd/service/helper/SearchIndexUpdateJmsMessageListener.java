@@ -20,6 +20,7 @@ import static org.finra.herd.model.dto.SearchIndexUpdateDto.MESSAGE_TYPE_BUSINES
 import static org.finra.herd.model.dto.SearchIndexUpdateDto.MESSAGE_TYPE_TAG_UPDATE;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -29,6 +30,7 @@ import org.springframework.jms.annotation.JmsListener;
 import org.springframework.jms.config.JmsListenerEndpointRegistry;
 import org.springframework.jms.listener.MessageListenerContainer;
 import org.springframework.jms.listener.adapter.ListenerExecutionFailedException;
+import org.springframework.jms.support.JmsHeaders;
 import org.springframework.messaging.handler.annotation.Headers;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
@@ -142,6 +144,14 @@ public class SearchIndexUpdateJmsMessageListener
             LOGGER.info("Unmarshall the json payload into the searchIndexUpdateDto=\"{}\", jms_messageId=\"{}\"", searchIndexUpdateDto.toString(),
                 allHeaders.get("jms_messageId"));
 
+            // Log the search index update batch size and the lag between the message being sent and received.
+            List<Integer> ids = MESSAGE_TYPE_TAG_UPDATE.equals(searchIndexUpdateDto.getMessageType()) ? searchIndexUpdateDto.getTagIds() :
+                searchIndexUpdateDto.getBusinessObjectDefinitionIds();
+            Object jmsTimestamp = allHeaders.get(JmsHeaders.TIMESTAMP);
+            LOGGER.info("Search index update metrics. messageType=\"{}\" modificationType=\"{}\" searchIndexUpdateBatchSize={} searchIndexUpdateLagMs={} " +
+                    "jms_messageId=\"{}\"", searchIndexUpdateDto.getMessageType(), searchIndexUpdateDto.getModificationType(), ids == null ? 0 : ids.size(),
+                jmsTimestamp instanceof Long ? System.currentTimeMillis() - (Long) jmsTimestamp : null, allHeaders.get("jms_messageId"));
+
             // If the message type is null, this message is in the original message format.
             if (searchIndexUpdateDto.getMessageType() == null)
             {
@@ -31,6 +31,9 @@ import org.finra.herd.model.jpa.StorageEntity;
 @Component
 public class StorageDaoHelper
 {
+    @Autowired
+    private AlternateKeyEntityCacheHelper alternateKeyEntityCacheHelper;
+
     @Autowired
     private StorageDao storageDao;
 
@@ -57,7 +60,7 @@ public class StorageDaoHelper
      */
     public StorageEntity getStorageEntity(String storageName) throws ObjectNotFoundException
     {
-        StorageEntity storageEntity = storageDao.getStorageByName(storageName);
+        StorageEntity storageEntity = alternateKeyEntityCacheHelper.getEntity(StorageEntity.class, storageName, () -> storageDao.getStorageByName(storageName));
 
         if (storageEntity == null)
         {
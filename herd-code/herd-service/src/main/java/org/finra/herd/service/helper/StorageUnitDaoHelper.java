@@ -40,6 +40,9 @@ public class StorageUnitDaoHelper
     @Autowired
     private BusinessObjectDataHelper businessObjectDataHelper;
 
+    @Autowired
+    private BusinessObjectDataPartitionSummaryDaoHelper businessObjectDataPartitionSummaryDaoHelper;
+
     @Autowired
     private MessageNotificationEventService messageNotificationEventService;
 
@@ -192,6 +195,9 @@ public class StorageUnitDaoHelper
         // Persist the entity.
         storageUnitDao.saveAndRefresh(storageUnitEntity);
 
+        // Keep the partition summary in sync with the storage unit status.
+        businessObjectDataPartitionSummaryDaoHelper.updateBusinessObjectDataPartitionSummary(storageUnitEntity.getBusinessObjectData());
+
         // Send a storage unit status change notification as per system configuration.
         messageNotificationEventService
             .processStorageUnitStatusChangeNotificationEvent(businessObjectDataHelper.getBusinessObjectDataKey(storageUnitEntity.getBusinessObjectData()),
@@ -185,6 +185,7 @@ public class BusinessObjectDataFinalizeRestoreHelperServiceImpl implements Busin
         }
 
         // Validate that all Glacier storage class S3 files are now restored.
+        s3FileTransferRequestParamsDto.setMaxThreads(configurationHelper.getProperty(ConfigurationValue.BDATA_RESTORE_S3_MAX_THREADS, Integer.class));
         s3FileTransferRequestParamsDto.setFiles(storageFileHelper.getFiles(storageFileHelper.createStorageFilesFromS3ObjectSummaries(glacierS3Files)));
         s3Service.validateGlacierS3FilesRestored(s3FileTransferRequestParamsDto);
     }
@@ -224,6 +224,10 @@ public class BusinessObjectDataInitiateDestroyHelperServiceImpl implements Busin
         // Get all S3 objects matching the S3 key prefix from the S3 bucket.
         List<S3VersionSummary> s3VersionSummaries = s3Service.listVersions(s3FileTransferRequestParamsDto);
 
+        // Set the maximum number of threads used to tag the S3 objects and whether their current tags need to be read first.
+        s3FileTransferRequestParamsDto.setMaxThreads(configurationHelper.getProperty(ConfigurationValue.S3_OBJECT_TAGGING_MAX_THREADS, Integer.class));
+        s3FileTransferRequestParamsDto.setSkipObjectTagLookup(configurationHelper.getBooleanProperty(ConfigurationValue.S3_OBJECT_TAGGING_SKIP_TAG_LOOKUP));
+
         // Tag the S3 objects to initiate the deletion.
         s3Service.tagVersions(s3FileTransferRequestParamsDto, s3ObjectTaggerParamsDto, s3VersionSummaries,
             new Tag(businessObjectDataDestroyDto.getS3ObjectTagKey(), businessObjectDataDestroyDto.getS3ObjectTagValue()));
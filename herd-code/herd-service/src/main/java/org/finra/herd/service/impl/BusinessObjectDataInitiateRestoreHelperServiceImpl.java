@@ -226,7 +226,8 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImpl implements Busin
                 }
             }
 
-            // Set a list of files to restore.
+            // Set a list of files to restore and the maximum number of threads to initiate the restore requests with.
+            s3FileTransferRequestParamsDto.setMaxThreads(configurationHelper.getProperty(ConfigurationValue.BDATA_RESTORE_S3_MAX_THREADS, Integer.class));
             s3FileTransferRequestParamsDto.setFiles(storageFileHelper.getFiles(storageFileHelper.createStorageFilesFromS3ObjectSummaries(actualS3Files)));
 
             // Initiate restore requests for the list of objects in the Glacier bucket.
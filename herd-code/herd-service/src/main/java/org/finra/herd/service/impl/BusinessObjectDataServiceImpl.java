@@ -49,6 +49,8 @@ import org.finra.herd.model.api.xml.BusinessObjectDataAvailability;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityCollectionRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataAvailabilityRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataCreateCollectionRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataCreateCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataCreateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdl;
 import org.finra.herd.model.api.xml.BusinessObjectDataDdlCollectionRequest;
@@ -64,6 +66,8 @@ import org.finra.herd.model.api.xml.BusinessObjectDataSearchKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataSearchResult;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatus;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataVersion;
 import org.finra.herd.model.api.xml.BusinessObjectDataVersions;
 import org.finra.herd.model.api.xml.BusinessObjectDefinitionKey;
@@ -71,6 +75,7 @@ import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
 import org.finra.herd.model.api.xml.CustomDdlKey;
 import org.finra.herd.model.api.xml.NamespacePermissionEnum;
 import org.finra.herd.model.api.xml.PartitionValueFilter;
+import org.finra.herd.model.api.xml.StorageUnitUploadCredential;
 import org.finra.herd.model.dto.BusinessObjectDataDestroyDto;
 import org.finra.herd.model.dto.BusinessObjectDataRestoreDto;
 import org.finra.herd.model.dto.BusinessObjectDataSearchResultPagingInfoDto;
@@ -91,12 +96,15 @@ import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.service.BusinessObjectDataInitiateDestroyHelperService;
 import org.finra.herd.service.BusinessObjectDataInitiateRestoreHelperService;
 import org.finra.herd.service.BusinessObjectDataService;
+import org.finra.herd.service.BusinessObjectDataUploadPreparationHelperService;
 import org.finra.herd.service.NotificationEventService;
 import org.finra.herd.service.S3Service;
+import org.finra.herd.service.StorageUnitService;
 import org.finra.herd.service.helper.AttributeDaoHelper;
 import org.finra.herd.service.helper.AttributeHelper;
 import org.finra.herd.service.helper.BusinessObjectDataDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
+import org.finra.herd.service.helper.BusinessObjectDataPartitionSummaryDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDataInvalidateUnregisteredHelper;
 import org.finra.herd.service.helper.BusinessObjectDataRetryStoragePolicyTransitionHelper;
 import org.finra.herd.service.helper.BusinessObjectDataSearchHelper;
@@ -105,6 +113,7 @@ import org.finra.herd.service.helper.BusinessObjectDefinitionDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDefinitionHelper;
 import org.finra.herd.service.helper.BusinessObjectFormatDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectFormatHelper;
+import org.finra.herd.service.helper.CollectionRequestHelper;
 import org.finra.herd.service.helper.CustomDdlDaoHelper;
 import org.finra.herd.service.helper.DdlGeneratorFactory;
 import org.finra.herd.service.helper.S3KeyPrefixHelper;
@@ -151,6 +160,9 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
     @Autowired
     private BusinessObjectDataHelper businessObjectDataHelper;
 
+    @Autowired
+    private BusinessObjectDataPartitionSummaryDaoHelper businessObjectDataPartitionSummaryDaoHelper;
+
     @Autowired
     private BusinessObjectDataInitiateDestroyHelperService businessObjectDataInitiateDestroyHelperService;
 
@@ -169,6 +181,9 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
     @Autowired
     private BusinessObjectDataStatusDaoHelper businessObjectDataStatusDaoHelper;
 
+    @Autowired
+    private BusinessObjectDataUploadPreparationHelperService businessObjectDataUploadPreparationHelperService;
+
     @Autowired
     private BusinessObjectDefinitionDaoHelper businessObjectDefinitionDaoHelper;
 
@@ -184,6 +199,9 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
     @Autowired
     private BusinessObjectFormatHelper businessObjectFormatHelper;
 
+    @Autowired
+    private CollectionRequestHelper collectionRequestHelper;
+
     @Autowired
     private ConfigurationHelper configurationHelper;
 
@@ -217,6 +235,9 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
     @Autowired
     private StorageUnitHelper storageUnitHelper;
 
+    @Autowired
+    private StorageUnitService storageUnitService;
+
     @NamespacePermission(fields = "#request.namespace", permissions = NamespacePermissionEnum.READ)
     @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -225,14 +246,21 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         return checkBusinessObjectDataAvailabilityImpl(request);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation executes non-transactionally, suspends the current transaction if one exists. The individual requests get processed concurrently,
+     * each in its own read-only transaction.
+     */
     @NamespacePermission(fields = "#request?.businessObjectDataAvailabilityRequests?.![namespace]",
         permissions = NamespacePermissionEnum.READ)
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BusinessObjectDataAvailabilityCollectionResponse checkBusinessObjectDataAvailabilityCollection(
         BusinessObjectDataAvailabilityCollectionRequest request)
     {
-        return checkBusinessObjectDataAvailabilityCollectionImpl(request);
+        return checkBusinessObjectDataAvailabilityCollectionImpl(request,
+            configurationHelper.getProperty(ConfigurationValue.COLLECTION_REQUEST_MAX_PARALLELISM, Integer.class));
     }
 
     @PublishNotificationMessages
@@ -244,6 +272,20 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         return businessObjectDataDaoHelper.createBusinessObjectData(request);
     }
 
+    @PublishNotificationMessages
+    @NamespacePermission(fields = "#request?.businessObjectDataCreateRequests?.![namespace]", permissions = NamespacePermissionEnum.WRITE)
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public BusinessObjectDataCreateCollectionResponse createBusinessObjectDataCollection(BusinessObjectDataCreateCollectionRequest request)
+    {
+        Assert.notNull(request, "A business object data create collection request must be specified.");
+
+        BusinessObjectDataCreateCollectionResponse response = new BusinessObjectDataCreateCollectionResponse();
+        response.setBusinessObjectDataElements(businessObjectDataDaoHelper.createBusinessObjectDataCollection(request.getBusinessObjectDataCreateRequests()));
+
+        return response;
+    }
+
     @NamespacePermission(fields = "#businessObjectDataKey.namespace", permissions = NamespacePermissionEnum.WRITE)
     @Override
     public BusinessObjectData deleteBusinessObjectData(BusinessObjectDataKey businessObjectDataKey, Boolean deleteFiles)
@@ -361,6 +403,9 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         // Create the business object data object from the entity.
         BusinessObjectData deletedBusinessObjectData = businessObjectDataHelper.createBusinessObjectDataFromEntity(businessObjectDataEntity);
 
+        // Remove this business object data from the partition summary.
+        businessObjectDataPartitionSummaryDaoHelper.deleteBusinessObjectDataFromPartitionSummary(businessObjectDataEntity);
+
         // Delete this business object data.
         businessObjectDataDao.delete(businessObjectDataEntity);
 
@@ -411,12 +456,19 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         return generateBusinessObjectDataDdlImpl(request, false);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation executes non-transactionally, suspends the current transaction if one exists. The individual requests get processed concurrently,
+     * each in its own read-only transaction.
+     */
     @NamespacePermission(fields = "#request?.businessObjectDataDdlRequests?.![namespace]", permissions = NamespacePermissionEnum.READ)
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BusinessObjectDataDdlCollectionResponse generateBusinessObjectDataDdlCollection(BusinessObjectDataDdlCollectionRequest request)
     {
-        return generateBusinessObjectDataDdlCollectionImpl(request);
+        return generateBusinessObjectDataDdlCollectionImpl(request,
+            configurationHelper.getProperty(ConfigurationValue.COLLECTION_REQUEST_MAX_PARALLELISM, Integer.class));
     }
 
     @NamespacePermission(fields = "#businessObjectDefinitionKey.namespace", permissions = NamespacePermissionEnum.READ)
@@ -510,6 +562,19 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         return invalidateUnregisteredBusinessObjectDataImpl(businessObjectDataInvalidateUnregisteredRequest);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation executes non-transactionally, suspends the current transaction if one exists.
+     */
+    @NamespacePermission(fields = "#request?.businessObjectDataCreateRequest?.namespace", permissions = NamespacePermissionEnum.WRITE)
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BusinessObjectDataUploadPreparationResponse prepareBusinessObjectDataUpload(BusinessObjectDataUploadPreparationRequest request)
+    {
+        return prepareBusinessObjectDataUploadImpl(request);
+    }
+
     /**
      * {@inheritDoc}
      * <p/>
@@ -705,11 +770,12 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
      * Performs an availability check for a collection of business object data.
      *
      * @param businessObjectDataAvailabilityCollectionRequest the business object data availability collection requests
+     * @param maxParallelism the maximum number of individual requests to process at the same time
      *
      * @return the business object data availability information
      */
     BusinessObjectDataAvailabilityCollectionResponse checkBusinessObjectDataAvailabilityCollectionImpl(
-        BusinessObjectDataAvailabilityCollectionRequest businessObjectDataAvailabilityCollectionRequest)
+        BusinessObjectDataAvailabilityCollectionRequest businessObjectDataAvailabilityCollectionRequest, int maxParallelism)
     {
         // Perform the validation of the entire request, before we start processing the individual requests that requires the database access.
         validateBusinessObjectDataAvailabilityCollectionRequest(businessObjectDataAvailabilityCollectionRequest);
@@ -717,15 +783,15 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         // Process the individual requests and build the response.
         BusinessObjectDataAvailabilityCollectionResponse businessObjectDataAvailabilityCollectionResponse =
             new BusinessObjectDataAvailabilityCollectionResponse();
-        List<BusinessObjectDataAvailability> businessObjectDataAvailabilityResponses = new ArrayList<>();
+        // Please note that when calling to process individual availability requests, we ask to skip the request validation and trimming step.
+        List<BusinessObjectDataAvailability> businessObjectDataAvailabilityResponses = collectionRequestHelper
+            .processRequests(businessObjectDataAvailabilityCollectionRequest.getBusinessObjectDataAvailabilityRequests(),
+                request -> checkBusinessObjectDataAvailabilityImpl(request, true), maxParallelism);
         businessObjectDataAvailabilityCollectionResponse.setBusinessObjectDataAvailabilityResponses(businessObjectDataAvailabilityResponses);
         boolean isAllDataAvailable = true;
         boolean isAllDataNotAvailable = true;
-        for (BusinessObjectDataAvailabilityRequest request : businessObjectDataAvailabilityCollectionRequest.getBusinessObjectDataAvailabilityRequests())
+        for (BusinessObjectDataAvailability businessObjectDataAvailability : businessObjectDataAvailabilityResponses)
         {
-            // Please note that when calling to process individual availability requests, we ask to skip the request validation and trimming step.
-            BusinessObjectDataAvailability businessObjectDataAvailability = checkBusinessObjectDataAvailabilityImpl(request, true);
-            businessObjectDataAvailabilityResponses.add(businessObjectDataAvailability);
             isAllDataAvailable = isAllDataAvailable && businessObjectDataAvailability.getNotAvailableStatuses().isEmpty();
             isAllDataNotAvailable = isAllDataNotAvailable && businessObjectDataAvailability.getAvailableStatuses().isEmpty();
         }
@@ -793,25 +859,26 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
      * storages.
      *
      * @param businessObjectDataDdlCollectionRequest the business object data DDL collection request
+     * @param maxParallelism the maximum number of individual requests to process at the same time
      *
      * @return the business object data DDL information
      */
     BusinessObjectDataDdlCollectionResponse generateBusinessObjectDataDdlCollectionImpl(
-        BusinessObjectDataDdlCollectionRequest businessObjectDataDdlCollectionRequest)
+        BusinessObjectDataDdlCollectionRequest businessObjectDataDdlCollectionRequest, int maxParallelism)
     {
         // Perform the validation of the entire request, before we start processing the individual requests that requires the database access.
         validateBusinessObjectDataDdlCollectionRequest(businessObjectDataDdlCollectionRequest);
 
         // Process the individual requests and build the response.
         BusinessObjectDataDdlCollectionResponse businessObjectDataDdlCollectionResponse = new BusinessObjectDataDdlCollectionResponse();
-        List<BusinessObjectDataDdl> businessObjectDataDdlResponses = new ArrayList<>();
+        // Please note that when calling to process individual ddl requests, we ask to skip the request validation and trimming step.
+        List<BusinessObjectDataDdl> businessObjectDataDdlResponses = collectionRequestHelper
+            .processRequests(businessObjectDataDdlCollectionRequest.getBusinessObjectDataDdlRequests(),
+                request -> generateBusinessObjectDataDdlImpl(request, true), maxParallelism);
         businessObjectDataDdlCollectionResponse.setBusinessObjectDataDdlResponses(businessObjectDataDdlResponses);
         List<String> ddls = new ArrayList<>();
-        for (BusinessObjectDataDdlRequest request : businessObjectDataDdlCollectionRequest.getBusinessObjectDataDdlRequests())
+        for (BusinessObjectDataDdl businessObjectDataDdl : businessObjectDataDdlResponses)
         {
-            // Please note that when calling to process individual ddl requests, we ask to skip the request validation and trimming step.
-            BusinessObjectDataDdl businessObjectDataDdl = generateBusinessObjectDataDdlImpl(request, true);
-            businessObjectDataDdlResponses.add(businessObjectDataDdl);
             ddls.add(businessObjectDataDdl.getDdl());
         }
         businessObjectDataDdlCollectionResponse.setDdlCollection(StringUtils.join(ddls, "\n\n"));
@@ -960,6 +1027,30 @@ public class BusinessObjectDataServiceImpl implements BusinessObjectDataService
         return businessObjectDataInvalidateUnregisteredHelper.invalidateUnregisteredBusinessObjectData(businessObjectDataInvalidateUnregisteredRequest);
     }
 
+    /**
+     * Prepares an upload of new business object data. The latest business object data version gets invalidated and the new business object data gets
+     * pre-registered in a new transaction that is committed before the upload credentials get issued, so no database locks are held during the call to STS.
+     * A failure to issue the credentials leaves the pre-registered version in UPLOADING status, which a forced upload preparation would invalidate.
+     *
+     * @param request the business object data upload preparation request
+     *
+     * @return the business object data upload preparation response
+     */
+    BusinessObjectDataUploadPreparationResponse prepareBusinessObjectDataUploadImpl(BusinessObjectDataUploadPreparationRequest request)
+    {
+        // Invalidate the latest business object data version, if needed, and pre-register the new business object data.
+        BusinessObjectDataUploadPreparationResponse response = businessObjectDataUploadPreparationHelperService.prepareToUpload(request);
+
+        // Issue the credentials to upload to the pre-registered business object data version.
+        StorageUnitUploadCredential storageUnitUploadCredential = storageUnitService
+            .getStorageUnitUploadCredential(businessObjectDataHelper.getBusinessObjectDataKey(response.getBusinessObjectData()), null,
+                response.getStorage().getName());
+        response.setAwsCredential(storageUnitUploadCredential.getAwsCredential());
+        response.setAwsKmsKeyId(storageUnitUploadCredential.getAwsKmsKeyId());
+
+        return response;
+    }
+
     /**
      * Initiates a restore request for a currently archived business object data. Keeps current transaction context.
      *
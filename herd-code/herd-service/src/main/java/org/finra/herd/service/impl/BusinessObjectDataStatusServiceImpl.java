@@ -15,6 +15,14 @@
 */
 package org.finra.herd.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -27,13 +35,20 @@ import org.finra.herd.model.annotation.NamespacePermission;
 import org.finra.herd.model.annotation.PublishNotificationMessages;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusInformation;
+import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateCollectionRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateResponse;
+import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
 import org.finra.herd.model.api.xml.NamespacePermissionEnum;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
+import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
 import org.finra.herd.service.BusinessObjectDataStatusService;
 import org.finra.herd.service.helper.BusinessObjectDataDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
+import org.finra.herd.service.helper.BusinessObjectDataStatusDaoHelper;
+import org.finra.herd.service.helper.BusinessObjectFormatDaoHelper;
+import org.finra.herd.service.helper.BusinessObjectFormatHelper;
 
 /**
  * The business object data status service implementation.
@@ -48,6 +63,15 @@ public class BusinessObjectDataStatusServiceImpl implements BusinessObjectDataSt
     @Autowired
     private BusinessObjectDataHelper businessObjectDataHelper;
 
+    @Autowired
+    private BusinessObjectDataStatusDaoHelper businessObjectDataStatusDaoHelper;
+
+    @Autowired
+    private BusinessObjectFormatDaoHelper businessObjectFormatDaoHelper;
+
+    @Autowired
+    private BusinessObjectFormatHelper businessObjectFormatHelper;
+
     /**
      * {@inheritDoc}
      * <p/>
@@ -153,4 +177,111 @@ public class BusinessObjectDataStatusServiceImpl implements BusinessObjectDataSt
 
         return response;
     }
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation starts a new transaction.
+     */
+    @PublishNotificationMessages
+    @NamespacePermission(fields = "#request?.businessObjectDataStatusUpdates?.![businessObjectDataKey?.namespace]",
+        permissions = NamespacePermissionEnum.WRITE)
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public BusinessObjectDataStatusUpdateCollectionResponse updateBusinessObjectDataStatusCollection(BusinessObjectDataStatusUpdateCollectionRequest request)
+    {
+        return updateBusinessObjectDataStatusCollectionImpl(request);
+    }
+
+    /**
+     * Updates statuses of a collection of business object data that belong to the same business object format. The collection size is limited by
+     * configuration and the same business object data may not be listed more than once. The business object data entities are retrieved by a single query,
+     * the business object data status entities are retrieved only once per status code and all of the entities are retrieved before any of the business object
+     * data gets updated, so no query causes a flush in between the updates and they can be batched by the JPA provider.
+     *
+     * @param request the business object data status update collection request
+     *
+     * @return the business object data status update collection response
+     */
+    protected BusinessObjectDataStatusUpdateCollectionResponse updateBusinessObjectDataStatusCollectionImpl(
+        BusinessObjectDataStatusUpdateCollectionRequest request)
+    {
+        // Validate the request.
+        Assert.notNull(request, "A business object data status update collection request must be specified.");
+        Assert.isTrue(CollectionUtils.isNotEmpty(request.getBusinessObjectDataStatusUpdates()),
+            "At least one business object data status update must be specified.");
+        businessObjectDataDaoHelper.validateBusinessObjectDataCollectionSize(request.getBusinessObjectDataStatusUpdates().size());
+
+        // Validate and trim the business object data keys and the statuses.
+        BusinessObjectFormatKey businessObjectFormatKey = null;
+        List<BusinessObjectDataKey> businessObjectDataKeys = new ArrayList<>();
+        Set<List<String>> partitionValuesAndVersions = new HashSet<>();
+        for (BusinessObjectDataStatusInformation businessObjectDataStatusUpdate : request.getBusinessObjectDataStatusUpdates())
+        {
+            Assert.notNull(businessObjectDataStatusUpdate, "A business object data status update can't be null.");
+            Assert.notNull(businessObjectDataStatusUpdate.getBusinessObjectDataKey(), "A business object data key must be specified.");
+            businessObjectDataHelper.validateBusinessObjectDataKey(businessObjectDataStatusUpdate.getBusinessObjectDataKey(), true, true);
+            Assert.hasText(businessObjectDataStatusUpdate.getStatus(), "A business object data status must be specified.");
+            businessObjectDataStatusUpdate.setStatus(businessObjectDataStatusUpdate.getStatus().trim());
+
+            // Ensure that all of the business object data belong to the same business object format.
+            BusinessObjectFormatKey currentBusinessObjectFormatKey =
+                businessObjectFormatHelper.getBusinessObjectFormatKey(businessObjectDataStatusUpdate.getBusinessObjectDataKey());
+            if (businessObjectFormatKey == null)
+            {
+                businessObjectFormatKey = currentBusinessObjectFormatKey;
+            }
+            Assert.isTrue(businessObjectFormatHelper.isSameBusinessObjectFormat(businessObjectFormatKey, currentBusinessObjectFormatKey), String
+                .format("All business object data in the collection must belong to the same business object format {%s}.",
+                    businessObjectFormatHelper.businessObjectFormatKeyToString(businessObjectFormatKey)));
+
+            // Ensure that the same business object data is not listed more than once.
+            BusinessObjectDataKey businessObjectDataKey = businessObjectDataStatusUpdate.getBusinessObjectDataKey();
+            Assert.isTrue(partitionValuesAndVersions.add(businessObjectDataDaoHelper.getPartitionValuesAndVersion(businessObjectDataKey)), String
+                .format("Duplicate business object data status updates found for business object data {%s}.",
+                    businessObjectDataHelper.businessObjectDataKeyToString(businessObjectDataKey)));
+            businessObjectDataKeys.add(businessObjectDataKey);
+        }
+
+        // Retrieve and ensure that all of the business object data exist by a single query.
+        List<BusinessObjectDataEntity> businessObjectDataEntities = businessObjectDataDaoHelper
+            .getBusinessObjectDataEntities(businessObjectFormatDaoHelper.getBusinessObjectFormatEntity(businessObjectFormatKey), businessObjectDataKeys);
+
+        // Retrieve all of the status entities before any of the business object data gets updated.
+        Map<String, BusinessObjectDataStatusEntity> businessObjectDataStatusEntityMap = new HashMap<>();
+        List<BusinessObjectDataStatusEntity> businessObjectDataStatusEntities = new ArrayList<>();
+        List<String> previousBusinessObjectDataStatuses = new ArrayList<>();
+        for (int i = 0; i < businessObjectDataEntities.size(); i++)
+        {
+            BusinessObjectDataStatusInformation businessObjectDataStatusUpdate = request.getBusinessObjectDataStatusUpdates().get(i);
+
+            // Retrieve and ensure the status is valid.
+            businessObjectDataStatusEntities.add(businessObjectDataStatusEntityMap.computeIfAbsent(businessObjectDataStatusUpdate.getStatus().toUpperCase(),
+                status -> businessObjectDataStatusDaoHelper.getBusinessObjectDataStatusEntity(businessObjectDataStatusUpdate.getStatus())));
+
+            // Get the current status value.
+            previousBusinessObjectDataStatuses.add(businessObjectDataEntities.get(i).getStatus().getCode());
+        }
+
+        // Update the business object data statuses.
+        businessObjectDataDaoHelper.updateBusinessObjectDataStatuses(businessObjectDataEntities, businessObjectDataStatusEntities);
+
+        // Create the business object data status response objects.
+        List<BusinessObjectDataStatusUpdateResponse> responses = new ArrayList<>();
+        for (int i = 0; i < businessObjectDataEntities.size(); i++)
+        {
+            BusinessObjectDataStatusUpdateResponse response = new BusinessObjectDataStatusUpdateResponse();
+            response.setBusinessObjectDataKey(businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntities.get(i)));
+            response.setStatus(businessObjectDataEntities.get(i).getStatus().getCode());
+            response.setPreviousStatus(previousBusinessObjectDataStatuses.get(i));
+            responses.add(response);
+        }
+
+        // Create and return the business object data status update collection response object.
+        BusinessObjectDataStatusUpdateCollectionResponse businessObjectDataStatusUpdateCollectionResponse =
+            new BusinessObjectDataStatusUpdateCollectionResponse();
+        businessObjectDataStatusUpdateCollectionResponse.setBusinessObjectDataStatusUpdateResponses(responses);
+
+        return businessObjectDataStatusUpdateCollectionResponse;
+    }
 }
@@ -15,6 +15,7 @@
 */
 package org.finra.herd.service.impl;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -347,8 +348,17 @@ public class BusinessObjectDataStorageFileServiceImpl implements BusinessObjectD
             S3FileTransferRequestParamsDto params = storageHelper.getS3BucketAccessParams(storageUnitEntity.getStorage());
             params.setS3KeyPrefix(directoryPathWithTrailingSlash);
 
-            // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-            Map<String, StorageFile> actualS3Keys = storageFileHelper.getStorageFilesMapFromS3ObjectSummaries(s3Service.listDirectory(params, true));
+            // Get only the already registered S3 files and the S3 files listed in the request instead of the whole S3 key prefix.
+            List<File> files = new ArrayList<>();
+            for (String storageFilePath : storageFileEntities.keySet())
+            {
+                files.add(new File(storageFilePath));
+            }
+            files.addAll(storageFileHelper.getFiles(storageFiles));
+            params.setFiles(files);
+
+            // When getting S3 files, we ignore 0 byte objects that represent S3 directories.
+            Map<String, StorageFile> actualS3Keys = storageFileHelper.getStorageFilesMapFromS3ObjectSummaries(s3Service.getObjectSummaries(params, true));
 
             // For the already registered storage files, validate each storage file against S3 keys and metadata reported by S3.
             for (Map.Entry<String, StorageFileEntity> entry : storageFileEntities.entrySet())
@@ -38,6 +38,7 @@ import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.service.BusinessObjectDataStorageUnitService;
 import org.finra.herd.service.helper.BusinessObjectDataDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
+import org.finra.herd.service.helper.BusinessObjectDataPartitionSummaryDaoHelper;
 import org.finra.herd.service.helper.StorageDaoHelper;
 import org.finra.herd.service.helper.StorageFileHelper;
 import org.finra.herd.service.helper.StorageUnitHelper;
@@ -55,6 +56,9 @@ public class BusinessObjectDataStorageUnitServiceImpl implements BusinessObjectD
     @Autowired
     private BusinessObjectDataHelper businessObjectDataHelper;
 
+    @Autowired
+    private BusinessObjectDataPartitionSummaryDaoHelper businessObjectDataPartitionSummaryDaoHelper;
+
     @Autowired
     private StorageDaoHelper storageDaoHelper;
 
@@ -143,6 +147,10 @@ public class BusinessObjectDataStorageUnitServiceImpl implements BusinessObjectD
         // Persist the newly created storage unit entity.
         storageUnitDao.saveAndRefresh(storageUnitEntity);
 
+        // Keep the partition summary in sync with the newly registered storage unit.
+        businessObjectDataEntity.getStorageUnits().add(storageUnitEntity);
+        businessObjectDataPartitionSummaryDaoHelper.updateBusinessObjectDataPartitionSummary(businessObjectDataEntity);
+
         // Construct and return the response.
         return createBusinessObjectDataStorageUnitCreateResponse(storageUnitEntity);
     }
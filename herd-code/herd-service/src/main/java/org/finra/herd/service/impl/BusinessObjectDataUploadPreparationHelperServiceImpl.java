@@ -0,0 +1,132 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.impl;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import org.finra.herd.dao.BusinessObjectDataDao;
+import org.finra.herd.model.annotation.PublishNotificationMessages;
+import org.finra.herd.model.api.xml.BusinessObjectData;
+import org.finra.herd.model.api.xml.BusinessObjectDataCreateRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationResponse;
+import org.finra.herd.model.api.xml.StorageUnit;
+import org.finra.herd.model.jpa.BusinessObjectDataEntity;
+import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
+import org.finra.herd.service.BusinessObjectDataUploadPreparationHelperService;
+import org.finra.herd.service.helper.BusinessObjectDataDaoHelper;
+import org.finra.herd.service.helper.BusinessObjectDataHelper;
+
+/**
+ * An implementation of the helper service class for the business object data upload preparation functionality.
+ */
+@Service
+public class BusinessObjectDataUploadPreparationHelperServiceImpl implements BusinessObjectDataUploadPreparationHelperService
+{
+    @Autowired
+    private BusinessObjectDataDao businessObjectDataDao;
+
+    @Autowired
+    private BusinessObjectDataDaoHelper businessObjectDataDaoHelper;
+
+    @Autowired
+    private BusinessObjectDataHelper businessObjectDataHelper;
+
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation starts a new transaction.
+     */
+    @PublishNotificationMessages
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public BusinessObjectDataUploadPreparationResponse prepareToUpload(BusinessObjectDataUploadPreparationRequest request)
+    {
+        return prepareToUploadImpl(request);
+    }
+
+    /**
+     * Prepares for the business object data upload. The latest business object data version gets invalidated and the new business object data gets
+     * pre-registered in the current transaction, so a failure of either step leaves the latest version as is.
+     *
+     * @param request the business object data upload preparation request
+     *
+     * @return the business object data upload preparation response without the upload credentials
+     */
+    protected BusinessObjectDataUploadPreparationResponse prepareToUploadImpl(BusinessObjectDataUploadPreparationRequest request)
+    {
+        // Validate the request.
+        Assert.notNull(request, "A business object data upload preparation request must be specified.");
+        BusinessObjectDataCreateRequest businessObjectDataCreateRequest = request.getBusinessObjectDataCreateRequest();
+        Assert.notNull(businessObjectDataCreateRequest, "A business object data create request must be specified.");
+        Assert.isTrue(CollectionUtils.size(businessObjectDataCreateRequest.getStorageUnits()) == 1, "Exactly one storage unit must be specified.");
+
+        // Unless specified otherwise, pre-register the business object data in UPLOADING status.
+        if (StringUtils.isBlank(businessObjectDataCreateRequest.getStatus()))
+        {
+            businessObjectDataCreateRequest.setStatus(BusinessObjectDataStatusEntity.UPLOADING);
+        }
+
+        // Get the latest version of the business object data, if it exists.
+        BusinessObjectDataKey latestBusinessObjectDataKey =
+            new BusinessObjectDataKey(businessObjectDataCreateRequest.getNamespace(), businessObjectDataCreateRequest.getBusinessObjectDefinitionName(),
+                businessObjectDataCreateRequest.getBusinessObjectFormatUsage(), businessObjectDataCreateRequest.getBusinessObjectFormatFileType(),
+                businessObjectDataCreateRequest.getBusinessObjectFormatVersion(), businessObjectDataCreateRequest.getPartitionValue(),
+                businessObjectDataCreateRequest.getSubPartitionValues(), null);
+        businessObjectDataHelper.validateBusinessObjectDataKey(latestBusinessObjectDataKey, true, false);
+        BusinessObjectDataEntity latestBusinessObjectDataEntity = businessObjectDataDao.getBusinessObjectDataByAltKey(latestBusinessObjectDataKey);
+
+        BusinessObjectDataUploadPreparationResponse response = new BusinessObjectDataUploadPreparationResponse();
+
+        // An upload that never completed leaves the latest version in UPLOADING status. Such version gets invalidated when the force flag is set.
+        if (latestBusinessObjectDataEntity != null && BusinessObjectDataStatusEntity.UPLOADING.equals(latestBusinessObjectDataEntity.getStatus().getCode()))
+        {
+            BusinessObjectDataKey invalidatedBusinessObjectDataKey = businessObjectDataHelper.getBusinessObjectDataKey(latestBusinessObjectDataEntity);
+
+            if (!BooleanUtils.isTrue(request.isForce()))
+            {
+                throw new IllegalArgumentException(String.format(
+                    "Unable to prepare the upload because the latest business object data version is detected in UPLOADING state. " +
+                        "Please use the force flag to invalidate the latest business object data version and allow the upload to proceed. " +
+                        "Business object data {%s}", businessObjectDataHelper.businessObjectDataKeyToString(invalidatedBusinessObjectDataKey)));
+            }
+
+            businessObjectDataDaoHelper.updateBusinessObjectDataStatus(latestBusinessObjectDataEntity, BusinessObjectDataStatusEntity.INVALID);
+            response.setInvalidatedBusinessObjectDataKey(invalidatedBusinessObjectDataKey);
+        }
+
+        // Pre-register the new business object data.
+        BusinessObjectData businessObjectData = businessObjectDataDaoHelper.createBusinessObjectData(businessObjectDataCreateRequest);
+        response.setBusinessObjectData(businessObjectData);
+
+        // Get the S3 key prefix from the storage directory of the pre-registered storage unit.
+        StorageUnit storageUnit = businessObjectData.getStorageUnits().get(0);
+        Assert.notNull(storageUnit.getStorageDirectory(),
+            String.format("No storage directory is registered for the business object data in \"%s\" storage.", storageUnit.getStorage().getName()));
+        response.setStorage(storageUnit.getStorage());
+        response.setS3KeyPrefix(storageUnit.getStorageDirectory().getDirectoryPath());
+
+        return response;
+    }
+}
@@ -41,6 +41,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.BusinessObjectDataDao;
 import org.finra.herd.dao.BusinessObjectDefinitionDao;
 import org.finra.herd.dao.BusinessObjectFormatDao;
@@ -70,6 +71,7 @@ import org.finra.herd.model.api.xml.CustomDdlKey;
 import org.finra.herd.model.api.xml.NamespacePermissionEnum;
 import org.finra.herd.model.api.xml.Schema;
 import org.finra.herd.model.api.xml.SchemaColumn;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.BusinessObjectDataAttributeDefinitionEntity;
 import org.finra.herd.model.jpa.BusinessObjectDefinitionEntity;
 import org.finra.herd.model.jpa.BusinessObjectFormatAttributeEntity;
@@ -89,6 +91,7 @@ import org.finra.herd.service.helper.BusinessObjectDefinitionDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDefinitionHelper;
 import org.finra.herd.service.helper.BusinessObjectFormatDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectFormatHelper;
+import org.finra.herd.service.helper.CollectionRequestHelper;
 import org.finra.herd.service.helper.CustomDdlDaoHelper;
 import org.finra.herd.service.helper.DdlGenerator;
 import org.finra.herd.service.helper.DdlGeneratorFactory;
@@ -141,6 +144,12 @@ public class BusinessObjectFormatServiceImpl implements BusinessObjectFormatServ
     @Autowired
     private BusinessObjectFormatHelper businessObjectFormatHelper;
 
+    @Autowired
+    private CollectionRequestHelper collectionRequestHelper;
+
+    @Autowired
+    private ConfigurationHelper configurationHelper;
+
     @Autowired
     private CustomDdlDaoHelper customDdlDaoHelper;
 
@@ -547,12 +556,19 @@ public class BusinessObjectFormatServiceImpl implements BusinessObjectFormatServ
         return generateBusinessObjectFormatDdlImpl(request, false);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * This implementation executes non-transactionally, suspends the current transaction if one exists. The individual requests get processed concurrently,
+     * each in its own read-only transaction.
+     */
     @NamespacePermission(fields = "#request?.businessObjectFormatDdlRequests?.![namespace]", permissions = NamespacePermissionEnum.READ)
     @Override
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BusinessObjectFormatDdlCollectionResponse generateBusinessObjectFormatDdlCollection(BusinessObjectFormatDdlCollectionRequest request)
     {
-        return generateBusinessObjectFormatDdlCollectionImpl(request);
+        return generateBusinessObjectFormatDdlCollectionImpl(request,
+            configurationHelper.getProperty(ConfigurationValue.COLLECTION_REQUEST_MAX_PARALLELISM, Integer.class));
     }
 
     @NamespacePermissions({@NamespacePermission(fields = "#businessObjectFormatKey.namespace", permissions = NamespacePermissionEnum.WRITE),
@@ -725,25 +741,26 @@ public class BusinessObjectFormatServiceImpl implements BusinessObjectFormatServ
      * Retrieves the DDL to initialize the specified type of the database system (e.g. Hive) by creating tables for a collection of business object formats.
      *
      * @param businessObjectFormatDdlCollectionRequest the business object format DDL collection request
+     * @param maxParallelism the maximum number of individual requests to process at the same time
      *
      * @return the business object format DDL information
      */
     protected BusinessObjectFormatDdlCollectionResponse generateBusinessObjectFormatDdlCollectionImpl(
-        BusinessObjectFormatDdlCollectionRequest businessObjectFormatDdlCollectionRequest)
+        BusinessObjectFormatDdlCollectionRequest businessObjectFormatDdlCollectionRequest, int maxParallelism)
     {
         // Perform the validation of the entire request, before we start processing the individual requests that requires the database access.
         validateBusinessObjectFormatDdlCollectionRequest(businessObjectFormatDdlCollectionRequest);
 
         // Process the individual requests and build the response.
         BusinessObjectFormatDdlCollectionResponse businessObjectFormatDdlCollectionResponse = new BusinessObjectFormatDdlCollectionResponse();
-        List<BusinessObjectFormatDdl> businessObjectFormatDdlResponses = new ArrayList<>();
+        // Please note that when calling to process individual ddl requests, we ask to skip the request validation and trimming step.
+        List<BusinessObjectFormatDdl> businessObjectFormatDdlResponses = collectionRequestHelper
+            .processRequests(businessObjectFormatDdlCollectionRequest.getBusinessObjectFormatDdlRequests(),
+                request -> generateBusinessObjectFormatDdlImpl(request, true), maxParallelism);
         businessObjectFormatDdlCollectionResponse.setBusinessObjectFormatDdlResponses(businessObjectFormatDdlResponses);
         List<String> ddls = new ArrayList<>();
-        for (BusinessObjectFormatDdlRequest request : businessObjectFormatDdlCollectionRequest.getBusinessObjectFormatDdlRequests())
+        for (BusinessObjectFormatDdl businessObjectFormatDdl : businessObjectFormatDdlResponses)
         {
-            // Please note that when calling to process individual ddl requests, we ask to skip the request validation and trimming step.
-            BusinessObjectFormatDdl businessObjectFormatDdl = generateBusinessObjectFormatDdlImpl(request, true);
-            businessObjectFormatDdlResponses.add(businessObjectFormatDdl);
             ddls.add(businessObjectFormatDdl.getDdl());
         }
         businessObjectFormatDdlCollectionResponse.setDdlCollection(StringUtils.join(ddls, "\n\n"));
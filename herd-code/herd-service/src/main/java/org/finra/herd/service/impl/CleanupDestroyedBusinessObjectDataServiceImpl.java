@@ -40,6 +40,7 @@ import org.finra.herd.service.CleanupDestroyedBusinessObjectDataService;
 import org.finra.herd.service.NotificationEventService;
 import org.finra.herd.service.helper.BusinessObjectDataDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
+import org.finra.herd.service.helper.BusinessObjectDataPartitionSummaryDaoHelper;
 import org.finra.herd.service.helper.StorageUnitHelper;
 
 /**
@@ -58,6 +59,9 @@ public class CleanupDestroyedBusinessObjectDataServiceImpl implements CleanupDes
     @Autowired
     private BusinessObjectDataHelper businessObjectDataHelper;
 
+    @Autowired
+    private BusinessObjectDataPartitionSummaryDaoHelper businessObjectDataPartitionSummaryDaoHelper;
+
     /**
      * The @Lazy annotation below is added to address the following BeanCreationException: - Error creating bean with name 'notificationEventServiceImpl': Bean
      * with name 'notificationEventServiceImpl' has been injected into other beans [...] in its raw version as part of a circular reference, but has eventually
@@ -149,6 +153,9 @@ public class CleanupDestroyedBusinessObjectDataServiceImpl implements CleanupDes
             businessObjectDataDao.saveAndRefresh(parentBusinessObjectDataEntity);
         }
 
+        // Remove this business object data from the partition summary.
+        businessObjectDataPartitionSummaryDaoHelper.deleteBusinessObjectDataFromPartitionSummary(businessObjectDataEntity);
+
         // Delete this business object data.
         businessObjectDataDao.delete(businessObjectDataEntity);
 
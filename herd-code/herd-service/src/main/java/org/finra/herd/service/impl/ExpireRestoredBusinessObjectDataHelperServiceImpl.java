@@ -175,7 +175,8 @@ public class ExpireRestoredBusinessObjectDataHelperServiceImpl implements Expire
             }
         }
 
-        // Set a list of files to expire.
+        // Set a list of files to expire and the maximum number of threads to send the restore requests with.
+        s3FileTransferRequestParamsDto.setMaxThreads(configurationHelper.getProperty(ConfigurationValue.BDATA_RESTORE_S3_MAX_THREADS, Integer.class));
         s3FileTransferRequestParamsDto.setFiles(storageFileHelper.getFiles(storageFileHelper.createStorageFilesFromS3ObjectSummaries(glacierS3Files)));
 
         // To expire the restored S3 objects, initiate restore requests with expiration set to 1 day.
@@ -75,6 +75,7 @@ import org.finra.herd.service.MessageNotificationEventService;
 import org.finra.herd.service.RelationalTableRegistrationHelperService;
 import org.finra.herd.service.helper.AlternateKeyHelper;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
+import org.finra.herd.service.helper.BusinessObjectDataPartitionSummaryDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDataStatusDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDefinitionDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectFormatDaoHelper;
@@ -105,6 +106,9 @@ public class RelationalTableRegistrationHelperServiceImpl implements RelationalT
     @Autowired
     private BusinessObjectDataHelper businessObjectDataHelper;
 
+    @Autowired
+    private BusinessObjectDataPartitionSummaryDaoHelper businessObjectDataPartitionSummaryDaoHelper;
+
     @Autowired
     private BusinessObjectDataStatusDaoHelper businessObjectDataStatusDaoHelper;
 
@@ -430,6 +434,9 @@ public class RelationalTableRegistrationHelperServiceImpl implements RelationalT
         // Persist the newly created business object data entity.
         businessObjectDataEntity = businessObjectDataDao.saveAndRefresh(businessObjectDataEntity);
 
+        // Keep the partition summary in sync with the newly registered business object data.
+        businessObjectDataPartitionSummaryDaoHelper.updateBusinessObjectDataPartitionSummary(businessObjectDataEntity);
+
         // Create a status change notification to be sent on create business object data event.
         messageNotificationEventService
             .processBusinessObjectDataStatusChangeNotificationEvent(businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntity),
@@ -565,6 +572,9 @@ public class RelationalTableRegistrationHelperServiceImpl implements RelationalT
         // Persist the newly created business object data entity.
         businessObjectDataEntity = businessObjectDataDao.saveAndRefresh(businessObjectDataEntity);
 
+        // Keep the partition summary in sync with the newly registered business object data.
+        businessObjectDataPartitionSummaryDaoHelper.updateBusinessObjectDataPartitionSummary(businessObjectDataEntity);
+
         // Create a status change notification to be sent on create business object data event.
         messageNotificationEventService
             .processBusinessObjectDataStatusChangeNotificationEvent(businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntity),
@@ -15,6 +15,7 @@
 */
 package org.finra.herd.service.impl;
 
+import java.io.File;
 import java.util.List;
 
 import com.amazonaws.services.s3.model.S3ObjectSummary;
@@ -96,6 +97,19 @@ public class S3ServiceImpl implements S3Service
         return s3Dao.downloadFile(params);
     }
 
+    @Override
+    public S3FileTransferResultsDto resumeDownloadFile(S3FileTransferRequestParamsDto params, String s3Key, File localFile, String eTag)
+        throws InterruptedException
+    {
+        return s3Dao.resumeDownloadFile(params, s3Key, localFile, eTag);
+    }
+
+    @Override
+    public List<S3ObjectSummary> getObjectSummaries(S3FileTransferRequestParamsDto params, boolean ignoreZeroByteDirectoryMarkers)
+    {
+        return s3Dao.getObjectSummaries(params, ignoreZeroByteDirectoryMarkers);
+    }
+
     @Override
     public List<S3ObjectSummary> listDirectory(S3FileTransferRequestParamsDto params)
     {
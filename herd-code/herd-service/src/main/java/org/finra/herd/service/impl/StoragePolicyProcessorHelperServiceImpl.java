@@ -333,6 +333,10 @@ public class StoragePolicyProcessorHelperServiceImpl implements StoragePolicyPro
         // This time, we do not ignore 0 byte objects that represent S3 directories.
         List<S3ObjectSummary> actualS3Files = s3Service.listDirectory(s3FileTransferRequestParamsDto, false);
 
+        // Set the maximum number of threads used to tag the S3 objects and whether their current tags need to be read first.
+        s3FileTransferRequestParamsDto.setMaxThreads(configurationHelper.getProperty(ConfigurationValue.S3_OBJECT_TAGGING_MAX_THREADS, Integer.class));
+        s3FileTransferRequestParamsDto.setSkipObjectTagLookup(configurationHelper.getBooleanProperty(ConfigurationValue.S3_OBJECT_TAGGING_SKIP_TAG_LOOKUP));
+
         // Tag the S3 objects to initiate the archiving.
         s3Service.tagObjects(s3FileTransferRequestParamsDto, s3ObjectTaggerParamsDto, actualS3Files,
             new Tag(storagePolicyTransitionParamsDto.getS3ObjectTagKey(), storagePolicyTransitionParamsDto.getS3ObjectTagValue()));
@@ -89,6 +89,7 @@ import org.finra.herd.service.helper.BusinessObjectDataSearchHelper;
 import org.finra.herd.service.helper.BusinessObjectDefinitionColumnDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectFormatExternalInterfaceDescriptiveInformationHelper;
 import org.finra.herd.service.helper.BusinessObjectFormatHelper;
+import org.finra.herd.service.helper.CollectionRequestHelper;
 import org.finra.herd.service.helper.EmrClusterDefinitionHelper;
 import org.finra.herd.service.helper.EmrStepHelperFactory;
 import org.finra.herd.service.helper.Hive13DdlGenerator;
@@ -911,6 +912,9 @@ public abstract class AbstractServiceTest extends AbstractDaoTest
     @Autowired
     protected BusinessObjectDataStorageUnitStatusService businessObjectDataStorageUnitStatusService;
 
+    @Autowired
+    protected BusinessObjectDataUploadPreparationHelperService businessObjectDataUploadPreparationHelperService;
+
     @Autowired
     protected BusinessObjectDefinitionColumnDaoHelper businessObjectDefinitionColumnDaoHelper;
 
@@ -944,6 +948,9 @@ public abstract class AbstractServiceTest extends AbstractDaoTest
     @Autowired
     protected CleanupDestroyedBusinessObjectDataService cleanupDestroyedBusinessObjectDataService;
 
+    @Autowired
+    protected CollectionRequestHelper collectionRequestHelper;
+
     @Autowired
     protected CurrentUserService currentUserService;
 
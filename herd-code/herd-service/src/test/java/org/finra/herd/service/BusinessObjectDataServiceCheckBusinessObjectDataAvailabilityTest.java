@@ -16,6 +16,7 @@
 package org.finra.herd.service;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
 
@@ -676,32 +677,6 @@ public class BusinessObjectDataServiceCheckBusinessObjectDataAvailabilityTest ex
             assertEquals("A partition value token cannot be specified with a partition value range.", e.getMessage());
         }
 
-        // Try to check business object data availability when partition value token is specified with a partition value range.
-        request = businessObjectDataServiceTestHelper
-            .getTestBusinessObjectDataAvailabilityRequest(BusinessObjectDataService.MIN_PARTITION_VALUE_TOKEN, END_PARTITION_VALUE);
-        try
-        {
-            businessObjectDataService.checkBusinessObjectDataAvailability(request);
-            fail("Should throw an IllegalArgumentException when partition value token is specified with a partition value range.");
-        }
-        catch (IllegalArgumentException e)
-        {
-            assertEquals("A partition value token cannot be specified with a partition value range.", e.getMessage());
-        }
-
-        // Try to check business object data availability when partition value token is specified with a partition value range.
-        request = businessObjectDataServiceTestHelper
-            .getTestBusinessObjectDataAvailabilityRequest(START_PARTITION_VALUE, BusinessObjectDataService.MAX_PARTITION_VALUE_TOKEN);
-        try
-        {
-            businessObjectDataService.checkBusinessObjectDataAvailability(request);
-            fail("Should throw an IllegalArgumentException when partition value token is specified with a partition value range.");
-        }
-        catch (IllegalArgumentException e)
-        {
-            assertEquals("A partition value token cannot be specified with a partition value range.", e.getMessage());
-        }
-
         // Try to check business object data availability when partition value token is specified with a partition value range.
         request = businessObjectDataServiceTestHelper
             .getTestBusinessObjectDataAvailabilityRequest(END_PARTITION_VALUE, BusinessObjectDataService.MIN_PARTITION_VALUE_TOKEN);
@@ -985,6 +960,35 @@ public class BusinessObjectDataServiceCheckBusinessObjectDataAvailabilityTest ex
             .validateBusinessObjectDataAvailability(request, NO_BUSINESS_OBJECT_DATA_STATUSES, Arrays.asList(expectedNotAvailableStatus), resultAvailability);
     }
 
+    @Test
+    public void testCheckBusinessObjectDataAvailabilityPartitionValueRangePartitionValueTokens()
+    {
+        // Prepare test data.
+        businessObjectDataAvailabilityTestHelper.createDatabaseEntitiesForBusinessObjectDataAvailabilityTesting(PARTITION_KEY_GROUP);
+        expectedPartitionValueDaoTestHelper.createExpectedPartitionValueProcessDatesForApril2014(PARTITION_KEY_GROUP);
+
+        // Check business object data availability using partition value ranges bounded by partition value tokens. The results are expected to match
+        // the results for the partition value ranges bounded by the actual minimum and maximum available partition values.
+        List<List<String>> testCases = Arrays.asList(
+            Arrays.asList(BusinessObjectDataService.MIN_PARTITION_VALUE_TOKEN, BusinessObjectDataService.MAX_PARTITION_VALUE_TOKEN,
+                STORAGE_1_LEAST_PARTITION_VALUE, STORAGE_1_GREATEST_PARTITION_VALUE),
+            Arrays.asList(BusinessObjectDataService.MIN_PARTITION_VALUE_TOKEN, END_PARTITION_VALUE, STORAGE_1_LEAST_PARTITION_VALUE, END_PARTITION_VALUE),
+            Arrays.asList(START_PARTITION_VALUE, BusinessObjectDataService.MAX_PARTITION_VALUE_TOKEN, START_PARTITION_VALUE,
+                STORAGE_1_GREATEST_PARTITION_VALUE));
+        for (List<String> testCase : testCases)
+        {
+            BusinessObjectDataAvailability resultAvailability = businessObjectDataService.checkBusinessObjectDataAvailability(
+                businessObjectDataServiceTestHelper.getTestBusinessObjectDataAvailabilityRequest(testCase.get(0), testCase.get(1)));
+
+            // Validate the results.
+            BusinessObjectDataAvailability expectedAvailability = businessObjectDataService.checkBusinessObjectDataAvailability(
+                businessObjectDataServiceTestHelper.getTestBusinessObjectDataAvailabilityRequest(testCase.get(2), testCase.get(3)));
+            assertFalse(resultAvailability.getAvailableStatuses().isEmpty());
+            assertEquals(expectedAvailability.getAvailableStatuses(), resultAvailability.getAvailableStatuses());
+            assertEquals(expectedAvailability.getNotAvailableStatuses(), resultAvailability.getNotAvailableStatuses());
+        }
+    }
+
     @Test
     public void testCheckBusinessObjectDataAvailabilityPartitionValueRangeMaxValuesExceeded() throws Exception
     {
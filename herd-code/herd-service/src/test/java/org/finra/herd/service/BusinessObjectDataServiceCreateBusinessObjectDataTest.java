@@ -26,7 +26,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.persistence.PersistenceException;
 
@@ -44,6 +46,8 @@ import org.finra.herd.model.AlreadyExistsException;
 import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.api.xml.Attribute;
 import org.finra.herd.model.api.xml.BusinessObjectData;
+import org.finra.herd.model.api.xml.BusinessObjectDataCreateCollectionRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataCreateCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataCreateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.Storage;
@@ -1666,4 +1670,87 @@ public class BusinessObjectDataServiceCreateBusinessObjectDataTest extends Abstr
                 " since the latest version is still in \"UPLOADING\", which is one of the pre-registration statuses.", e.getMessage());
         }
     }
+
+    @Test
+    public void testCreateBusinessObjectDataCollection()
+    {
+        // Create a business object data create request along with the relative database entities.
+        BusinessObjectDataCreateRequest businessObjectDataCreateRequest = businessObjectDataServiceTestHelper.getNewBusinessObjectDataCreateRequest(false);
+
+        // Create a business object data create request for another partition of the same business object format.
+        BusinessObjectDataCreateRequest businessObjectDataCreateRequest2 = new BusinessObjectDataCreateRequest();
+        businessObjectDataCreateRequest2.setNamespace(businessObjectDataCreateRequest.getNamespace());
+        businessObjectDataCreateRequest2.setBusinessObjectDefinitionName(businessObjectDataCreateRequest.getBusinessObjectDefinitionName());
+        businessObjectDataCreateRequest2.setBusinessObjectFormatUsage(businessObjectDataCreateRequest.getBusinessObjectFormatUsage());
+        businessObjectDataCreateRequest2.setBusinessObjectFormatFileType(businessObjectDataCreateRequest.getBusinessObjectFormatFileType());
+        businessObjectDataCreateRequest2.setBusinessObjectFormatVersion(businessObjectDataCreateRequest.getBusinessObjectFormatVersion());
+        businessObjectDataCreateRequest2.setPartitionKey(businessObjectDataCreateRequest.getPartitionKey());
+        businessObjectDataCreateRequest2.setPartitionValue(PARTITION_VALUE_2);
+        businessObjectDataCreateRequest2.setSubPartitionValues(SUBPARTITION_VALUES);
+        businessObjectDataCreateRequest2.setStorageUnits(Arrays.asList(
+            new StorageUnitCreateRequest(businessObjectDataCreateRequest.getStorageUnits().get(0).getStorageName(), new StorageDirectory("Folder2"),
+                NO_STORAGE_FILES, NO_DISCOVER_STORAGE_FILES)));
+
+        // Create both business object data as a collection.
+        BusinessObjectDataCreateCollectionResponse response = businessObjectDataService.createBusinessObjectDataCollection(
+            new BusinessObjectDataCreateCollectionRequest(Arrays.asList(businessObjectDataCreateRequest, businessObjectDataCreateRequest2)));
+
+        // Verify the results.
+        assertEquals(2, response.getBusinessObjectDataElements().size());
+        businessObjectDataServiceTestHelper
+            .validateBusinessObjectData(businessObjectDataCreateRequest, INITIAL_DATA_VERSION, true, response.getBusinessObjectDataElements().get(0));
+        businessObjectDataServiceTestHelper
+            .validateBusinessObjectData(businessObjectDataCreateRequest2, INITIAL_DATA_VERSION, true, response.getBusinessObjectDataElements().get(1));
+    }
+
+    @Test
+    public void testCreateBusinessObjectDataCollectionDuplicatePartitions()
+    {
+        // Create a business object data create request along with the relative database entities.
+        BusinessObjectDataCreateRequest businessObjectDataCreateRequest = businessObjectDataServiceTestHelper.getNewBusinessObjectDataCreateRequest(false);
+
+        // Try to create a collection that registers the same partition twice.
+        try
+        {
+            businessObjectDataService.createBusinessObjectDataCollection(
+                new BusinessObjectDataCreateCollectionRequest(Arrays.asList(businessObjectDataCreateRequest, businessObjectDataCreateRequest)));
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            List<String> partition = new ArrayList<>();
+            partition.add(PARTITION_VALUE);
+            partition.addAll(SUBPARTITION_VALUES);
+            assertEquals(String.format("Duplicate business object data create requests found for partition values %s.", partition), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCreateBusinessObjectDataCollectionMaxSizeExceeded()
+    {
+        // Create a business object data create request along with the relative database entities.
+        BusinessObjectDataCreateRequest businessObjectDataCreateRequest = businessObjectDataServiceTestHelper.getNewBusinessObjectDataCreateRequest(false);
+
+        // Override configuration to allow only a single business object data per collection.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.BUSINESS_OBJECT_DATA_COLLECTION_MAX_SIZE.getKey(), 1);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        // Try to create a collection that is larger than allowed.
+        try
+        {
+            businessObjectDataService.createBusinessObjectDataCollection(
+                new BusinessObjectDataCreateCollectionRequest(Arrays.asList(businessObjectDataCreateRequest, businessObjectDataCreateRequest)));
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("The number of business object data in the collection (2) exceeds the system limit of 1.", e.getMessage());
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
 }
@@ -0,0 +1,146 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import org.finra.herd.model.api.xml.Attribute;
+import org.finra.herd.model.api.xml.BusinessObjectDataCreateRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationResponse;
+import org.finra.herd.model.api.xml.StorageUnitCreateRequest;
+import org.finra.herd.model.dto.ConfigurationValue;
+import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
+import org.finra.herd.model.jpa.StoragePlatformEntity;
+
+/**
+ * This class tests prepareBusinessObjectDataUpload functionality within the business object data service.
+ */
+public class BusinessObjectDataServicePrepareBusinessObjectDataUploadTest extends AbstractServiceTest
+{
+    @Test
+    public void testPrepareBusinessObjectDataUpload()
+    {
+        // Create the relative database entities.
+        createDatabaseEntities();
+
+        // Prepare an upload of the initial business object data version.
+        BusinessObjectDataUploadPreparationResponse response = businessObjectDataService
+            .prepareBusinessObjectDataUpload(new BusinessObjectDataUploadPreparationRequest(getBusinessObjectDataCreateRequest(NO_CREATE_NEW_VERSION), null));
+
+        // Validate the results.
+        assertNotNull(response);
+        assertEquals(INITIAL_DATA_VERSION, response.getBusinessObjectData().getVersion());
+        assertEquals(BusinessObjectDataStatusEntity.UPLOADING, response.getBusinessObjectData().getStatus());
+        assertNull(response.getInvalidatedBusinessObjectDataKey());
+        assertEquals(STORAGE_NAME, response.getStorage().getName());
+        assertNotNull(response.getS3KeyPrefix());
+        assertEquals(response.getBusinessObjectData().getStorageUnits().get(0).getStorageDirectory().getDirectoryPath(), response.getS3KeyPrefix());
+        assertNotNull(response.getAwsCredential());
+        assertNotNull(response.getAwsCredential().getAwsAccessKey());
+        assertNotNull(response.getAwsCredential().getAwsSecretKey());
+        assertNotNull(response.getAwsCredential().getAwsSessionToken());
+        assertNotNull(response.getAwsCredential().getAwsSessionExpirationTime());
+        assertNull(response.getAwsKmsKeyId());
+    }
+
+    @Test
+    public void testPrepareBusinessObjectDataUploadLatestVersionInUploadingStatus()
+    {
+        // Create the relative database entities along with the initial business object data version in UPLOADING status.
+        createDatabaseEntities();
+        businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                NO_SUBPARTITION_VALUES, INITIAL_DATA_VERSION, LATEST_VERSION_FLAG_SET, BusinessObjectDataStatusEntity.UPLOADING);
+
+        // Try to prepare an upload of a new business object data version without the force flag.
+        try
+        {
+            businessObjectDataService.prepareBusinessObjectDataUpload(
+                new BusinessObjectDataUploadPreparationRequest(getBusinessObjectDataCreateRequest(CREATE_NEW_VERSION), false));
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("Unable to prepare the upload because the latest business object data version is detected in UPLOADING state. " +
+                    "Please use the force flag to invalidate the latest business object data version and allow the upload to proceed. " +
+                    "Business object data {%s}", businessObjectDataServiceTestHelper
+                    .getExpectedBusinessObjectDataKeyAsString(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                        NO_SUBPARTITION_VALUES, INITIAL_DATA_VERSION)), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testPrepareBusinessObjectDataUploadLatestVersionInUploadingStatusForce()
+    {
+        // Create the relative database entities along with the initial business object data version in UPLOADING status.
+        createDatabaseEntities();
+        businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                NO_SUBPARTITION_VALUES, INITIAL_DATA_VERSION, LATEST_VERSION_FLAG_SET, BusinessObjectDataStatusEntity.UPLOADING);
+
+        // Prepare an upload of a new business object data version with the force flag set.
+        BusinessObjectDataUploadPreparationResponse response = businessObjectDataService
+            .prepareBusinessObjectDataUpload(new BusinessObjectDataUploadPreparationRequest(getBusinessObjectDataCreateRequest(CREATE_NEW_VERSION), true));
+
+        // Validate the results.
+        BusinessObjectDataKey invalidatedBusinessObjectDataKey =
+            new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, NO_SUBPARTITION_VALUES,
+                INITIAL_DATA_VERSION);
+        assertEquals(SECOND_DATA_VERSION, response.getBusinessObjectData().getVersion());
+        assertEquals(invalidatedBusinessObjectDataKey, response.getInvalidatedBusinessObjectDataKey());
+        assertEquals(BusinessObjectDataStatusEntity.INVALID,
+            businessObjectDataDao.getBusinessObjectDataByAltKey(invalidatedBusinessObjectDataKey).getStatus().getCode());
+    }
+
+    /**
+     * Creates a business object format and an S3 storage that allows upload credentials to be issued.
+     */
+    private void createDatabaseEntities()
+    {
+        businessObjectFormatDaoTestHelper
+            .createBusinessObjectFormatEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, FORMAT_DESCRIPTION,
+                FORMAT_DOCUMENT_SCHEMA, FORMAT_DOCUMENT_SCHEMA_URL, LATEST_VERSION_FLAG_SET, PARTITION_KEY);
+
+        storageDaoTestHelper.createStorageEntity(STORAGE_NAME, StoragePlatformEntity.S3, Arrays
+            .asList(new Attribute(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_UPLOAD_ROLE_ARN), "testRole"),
+                new Attribute(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_BUCKET_NAME), "testBucket"),
+                new Attribute(configurationHelper.getProperty(ConfigurationValue.S3_ATTRIBUTE_NAME_KEY_PREFIX_VELOCITY_TEMPLATE),
+                    S3_KEY_PREFIX_VELOCITY_TEMPLATE)));
+    }
+
+    /**
+     * Gets a business object data create request that pre-registers business object data in the test storage.
+     *
+     * @param createNewVersion specifies if a new business object data version may be created
+     *
+     * @return the business object data create request
+     */
+    private BusinessObjectDataCreateRequest getBusinessObjectDataCreateRequest(Boolean createNewVersion)
+    {
+        return new BusinessObjectDataCreateRequest(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_KEY,
+            PARTITION_VALUE, NO_SUBPARTITION_VALUES, null, Arrays.asList(new StorageUnitCreateRequest(STORAGE_NAME, null, null, null)), NO_ATTRIBUTES,
+            NO_BUSINESS_OBJECT_DATA_PARENTS, createNewVersion);
+    }
+}
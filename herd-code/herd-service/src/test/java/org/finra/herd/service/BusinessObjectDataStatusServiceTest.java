@@ -20,7 +20,9 @@ import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,8 +31,11 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.finra.herd.model.ObjectNotFoundException;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusInformation;
+import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateCollectionRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateCollectionResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataStatusUpdateResponse;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.service.impl.BusinessObjectDataStatusServiceImpl;
 
@@ -807,4 +812,144 @@ public class BusinessObjectDataStatusServiceTest extends AbstractServiceTest
                 e.getMessage());
         }
     }
+
+    @Test
+    public void testUpdateBusinessObjectDataStatusCollection()
+    {
+        // Create and persist relative test entities.
+        businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, DATA_VERSION, true, BDATA_STATUS);
+        businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+                SUBPARTITION_VALUES, DATA_VERSION, true, BDATA_STATUS);
+        businessObjectDataStatusDaoTestHelper.createBusinessObjectDataStatusEntity(BDATA_STATUS_2);
+
+        // Create business object data keys.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+        BusinessObjectDataKey businessObjectDataKey2 =
+            new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2, SUBPARTITION_VALUES,
+                DATA_VERSION);
+
+        // Update statuses of both business object data.
+        BusinessObjectDataStatusUpdateCollectionResponse response = businessObjectDataStatusService.updateBusinessObjectDataStatusCollection(
+            new BusinessObjectDataStatusUpdateCollectionRequest(Arrays
+                .asList(new BusinessObjectDataStatusInformation(businessObjectDataKey, BDATA_STATUS_2),
+                    new BusinessObjectDataStatusInformation(businessObjectDataKey2, BDATA_STATUS_2))));
+
+        // Validate the returned object.
+        assertEquals(2, response.getBusinessObjectDataStatusUpdateResponses().size());
+        businessObjectDataServiceTestHelper.validateBusinessObjectDataStatusUpdateResponse(businessObjectDataKey, BDATA_STATUS_2, BDATA_STATUS,
+            response.getBusinessObjectDataStatusUpdateResponses().get(0));
+        businessObjectDataServiceTestHelper.validateBusinessObjectDataStatusUpdateResponse(businessObjectDataKey2, BDATA_STATUS_2, BDATA_STATUS,
+            response.getBusinessObjectDataStatusUpdateResponses().get(1));
+    }
+
+    @Test
+    public void testUpdateBusinessObjectDataStatusCollectionDifferentBusinessObjectFormats()
+    {
+        // Try to update statuses of business object data that belong to different business object formats.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+        try
+        {
+            businessObjectDataStatusService.updateBusinessObjectDataStatusCollection(new BusinessObjectDataStatusUpdateCollectionRequest(Arrays
+                .asList(new BusinessObjectDataStatusInformation(businessObjectDataKey, BDATA_STATUS_2), new BusinessObjectDataStatusInformation(
+                    new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE_2, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                        SUBPARTITION_VALUES, DATA_VERSION), BDATA_STATUS_2))));
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("All business object data in the collection must belong to the same business object format {%s}.",
+                businessObjectFormatServiceTestHelper
+                    .getExpectedBusinessObjectFormatKeyAsString(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION)),
+                e.getMessage());
+        }
+    }
+
+    @Test
+    public void testUpdateBusinessObjectDataStatusCollectionBusinessObjectDataNoExists()
+    {
+        // Create and persist relative test entities, but only for the first business object data.
+        businessObjectDataDaoTestHelper
+            .createBusinessObjectDataEntity(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                SUBPARTITION_VALUES, DATA_VERSION, true, BDATA_STATUS);
+        businessObjectDataStatusDaoTestHelper.createBusinessObjectDataStatusEntity(BDATA_STATUS_2);
+
+        // Create business object data keys.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+        BusinessObjectDataKey businessObjectDataKey2 =
+            new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2, SUBPARTITION_VALUES,
+                DATA_VERSION);
+
+        // Try to update statuses when the second business object data does not exist.
+        try
+        {
+            businessObjectDataStatusService.updateBusinessObjectDataStatusCollection(new BusinessObjectDataStatusUpdateCollectionRequest(Arrays
+                .asList(new BusinessObjectDataStatusInformation(businessObjectDataKey, BDATA_STATUS_2),
+                    new BusinessObjectDataStatusInformation(businessObjectDataKey2, BDATA_STATUS_2))));
+            fail();
+        }
+        catch (ObjectNotFoundException e)
+        {
+            assertEquals(businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataNotFoundErrorMessage(businessObjectDataKey2, NO_BDATA_STATUS),
+                e.getMessage());
+        }
+    }
+
+    @Test
+    public void testUpdateBusinessObjectDataStatusCollectionDuplicateBusinessObjectData()
+    {
+        // Try to update status of the same business object data twice.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+        try
+        {
+            businessObjectDataStatusService.updateBusinessObjectDataStatusCollection(new BusinessObjectDataStatusUpdateCollectionRequest(Arrays
+                .asList(new BusinessObjectDataStatusInformation(businessObjectDataKey, BDATA_STATUS),
+                    new BusinessObjectDataStatusInformation(businessObjectDataKey, BDATA_STATUS_2))));
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals(String.format("Duplicate business object data status updates found for business object data {%s}.",
+                businessObjectDataServiceTestHelper.getExpectedBusinessObjectDataKeyAsString(businessObjectDataKey)), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testUpdateBusinessObjectDataStatusCollectionMaxSizeExceeded()
+    {
+        // Override configuration to allow only a single business object data per collection.
+        Map<String, Object> overrideMap = new HashMap<>();
+        overrideMap.put(ConfigurationValue.BUSINESS_OBJECT_DATA_COLLECTION_MAX_SIZE.getKey(), 1);
+        modifyPropertySourceInEnvironment(overrideMap);
+
+        try
+        {
+            businessObjectDataStatusService.updateBusinessObjectDataStatusCollection(new BusinessObjectDataStatusUpdateCollectionRequest(Arrays.asList(
+                new BusinessObjectDataStatusInformation(
+                    new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                        SUBPARTITION_VALUES, DATA_VERSION), BDATA_STATUS_2), new BusinessObjectDataStatusInformation(
+                    new BusinessObjectDataKey(NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE_2,
+                        SUBPARTITION_VALUES, DATA_VERSION), BDATA_STATUS_2))));
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("The number of business object data in the collection (2) exceeds the system limit of 1.", e.getMessage());
+        }
+        finally
+        {
+            // Restore the property sources so we don't affect other tests.
+            restorePropertySourceInEnvironment();
+        }
+    }
 }
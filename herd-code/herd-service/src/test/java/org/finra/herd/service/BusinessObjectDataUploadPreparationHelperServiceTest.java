@@ -0,0 +1,81 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import org.finra.herd.model.api.xml.BusinessObjectDataCreateRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationRequest;
+
+/**
+ * This class tests functionality within the business object data upload preparation helper service.
+ */
+public class BusinessObjectDataUploadPreparationHelperServiceTest extends AbstractServiceTest
+{
+    @Autowired
+    @Qualifier(value = "businessObjectDataUploadPreparationHelperServiceImpl")
+    private BusinessObjectDataUploadPreparationHelperService businessObjectDataUploadPreparationHelperServiceImpl;
+
+    /**
+     * This method is to get coverage for the business object data upload preparation helper service methods that have an explicit annotation for
+     * transaction propagation.
+     */
+    @Test
+    public void testBusinessObjectDataUploadPreparationHelperServiceMethodsNewTransactionPropagation()
+    {
+        try
+        {
+            businessObjectDataUploadPreparationHelperServiceImpl.prepareToUpload(null);
+            fail("Should throw an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("A business object data upload preparation request must be specified.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testPrepareToUploadMissingRequiredParameters()
+    {
+        // Try to prepare an upload without a business object data create request.
+        try
+        {
+            businessObjectDataUploadPreparationHelperService.prepareToUpload(new BusinessObjectDataUploadPreparationRequest(null, false));
+            fail("Should throw an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("A business object data create request must be specified.", e.getMessage());
+        }
+
+        // Try to prepare an upload without a storage unit.
+        try
+        {
+            businessObjectDataUploadPreparationHelperService
+                .prepareToUpload(new BusinessObjectDataUploadPreparationRequest(new BusinessObjectDataCreateRequest(), false));
+            fail("Should throw an IllegalArgumentException.");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertEquals("Exactly one storage unit must be specified.", e.getMessage());
+        }
+    }
+}
@@ -21,6 +21,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.List;
 
@@ -197,6 +198,29 @@ public class S3ServiceTest extends AbstractServiceTest
         assertEquals(s3FileTransferResultsDto, result);
     }
 
+    @Test
+    public void testGetObjectSummaries()
+    {
+        // Create an S3 file transfer request parameters DTO.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // Create a list of S3 object summaries.
+        List<S3ObjectSummary> s3ObjectSummaries = Collections.singletonList(new S3ObjectSummary());
+
+        // Mock the external calls.
+        when(s3Dao.getObjectSummaries(s3FileTransferRequestParamsDto, true)).thenReturn(s3ObjectSummaries);
+
+        // Call the method under test.
+        List<S3ObjectSummary> result = s3Service.getObjectSummaries(s3FileTransferRequestParamsDto, true);
+
+        // Verify the external calls.
+        verify(s3Dao).getObjectSummaries(s3FileTransferRequestParamsDto, true);
+        verifyNoMoreInteractions(s3Dao);
+
+        // Validate the returned object.
+        assertEquals(s3ObjectSummaries, result);
+    }
+
     @Test
     public void testListDirectory()
     {
@@ -257,6 +281,32 @@ public class S3ServiceTest extends AbstractServiceTest
         verifyNoMoreInteractions(s3Dao);
     }
 
+    @Test
+    public void testResumeDownloadFile() throws InterruptedException
+    {
+        // Create an S3 file transfer request parameters DTO.
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+
+        // Create a local file.
+        File localFile = new File(LOCAL_FILE);
+
+        // Create an S3 file transfer result DTO.
+        S3FileTransferResultsDto s3FileTransferResultsDto = new S3FileTransferResultsDto();
+
+        // Mock the external calls.
+        when(s3Dao.resumeDownloadFile(s3FileTransferRequestParamsDto, S3_KEY, localFile, STRING_VALUE)).thenReturn(s3FileTransferResultsDto);
+
+        // Call the method under test.
+        S3FileTransferResultsDto result = s3Service.resumeDownloadFile(s3FileTransferRequestParamsDto, S3_KEY, localFile, STRING_VALUE);
+
+        // Verify the external calls.
+        verify(s3Dao).resumeDownloadFile(s3FileTransferRequestParamsDto, S3_KEY, localFile, STRING_VALUE);
+        verifyNoMoreInteractions(s3Dao);
+
+        // Validate the returned object.
+        assertEquals(s3FileTransferResultsDto, result);
+    }
+
     @Test
     public void testTagObjects()
     {
@@ -0,0 +1,132 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import org.finra.herd.model.ObjectNotFoundException;
+import org.finra.herd.model.jpa.NamespaceEntity;
+import org.finra.herd.service.AbstractServiceTest;
+
+/**
+ * This class tests functionality within the alternate key entity cache helper.
+ */
+public class AlternateKeyEntityCacheHelperTest extends AbstractServiceTest
+{
+    @Autowired
+    private AlternateKeyEntityCacheHelper alternateKeyEntityCacheHelper;
+
+    @Autowired
+    private PlatformTransactionManager herdTransactionManager;
+
+    @Autowired
+    private NamespaceDaoHelper namespaceDaoHelper;
+
+    @Test
+    public void testGetEntity()
+    {
+        // Create a namespace entity.
+        NamespaceEntity namespaceEntity = namespaceDaoTestHelper.createNamespaceEntity(NAMESPACE);
+
+        // Resolve the namespace twice using different case and validate that the second lookup is served from the cache.
+        long startCacheHitCount = AlternateKeyEntityCacheHelper.getCacheHitCount();
+        assertSame(namespaceEntity, namespaceDaoHelper.getNamespaceEntity(NAMESPACE.toUpperCase()));
+        assertSame(namespaceEntity, namespaceDaoHelper.getNamespaceEntity(NAMESPACE.toLowerCase()));
+        assertEquals(startCacheHitCount + 1, AlternateKeyEntityCacheHelper.getCacheHitCount());
+    }
+
+    @Test
+    public void testGetEntityCompositeAlternateKey()
+    {
+        // Create a namespace entity and cache it under a composite alternate key whose values contain a separator character.
+        NamespaceEntity namespaceEntity = namespaceDaoTestHelper.createNamespaceEntity(NAMESPACE);
+        assertSame(namespaceEntity, alternateKeyEntityCacheHelper.getEntity(NamespaceEntity.class, Arrays.asList("A|B", "C"), () -> namespaceEntity));
+
+        // Validate that a different composite alternate key that joins into the same string is not served from the cache.
+        long startCacheHitCount = AlternateKeyEntityCacheHelper.getCacheHitCount();
+        assertNull(alternateKeyEntityCacheHelper.getEntity(NamespaceEntity.class, Arrays.asList("A", "B|C"), () -> null));
+        assertEquals(startCacheHitCount, AlternateKeyEntityCacheHelper.getCacheHitCount());
+
+        // Validate that the same composite alternate key is served from the cache regardless of case.
+        assertSame(namespaceEntity, alternateKeyEntityCacheHelper.getEntity(NamespaceEntity.class, Arrays.asList("a|b", "c"), () -> null));
+        assertEquals(startCacheHitCount + 1, AlternateKeyEntityCacheHelper.getCacheHitCount());
+    }
+
+    @Test
+    public void testGetEntityEntityRemoved()
+    {
+        // Create and resolve a namespace entity, so it gets cached.
+        NamespaceEntity namespaceEntity = namespaceDaoTestHelper.createNamespaceEntity(NAMESPACE);
+        assertSame(namespaceEntity, namespaceDaoHelper.getNamespaceEntity(NAMESPACE));
+
+        // Remove the namespace entity.
+        namespaceDao.delete(namespaceEntity);
+
+        // Validate that the removed entity is not returned from the cache.
+        try
+        {
+            namespaceDaoHelper.getNamespaceEntity(NAMESPACE);
+            fail();
+        }
+        catch (ObjectNotFoundException e)
+        {
+            assertEquals(String.format("Namespace \"%s\" doesn't exist.", NAMESPACE), e.getMessage());
+        }
+    }
+
+    @Test
+    public void testGetEntityNestedTransaction()
+    {
+        // Create and resolve a namespace entity, so it gets cached by the current transaction.
+        NamespaceEntity namespaceEntity = namespaceDaoTestHelper.createNamespaceEntity(NAMESPACE);
+        assertSame(namespaceEntity, namespaceDaoHelper.getNamespaceEntity(NAMESPACE));
+
+        // Resolve the namespace in a nested transaction with a loader that does not find it. The nested transaction must neither be served from the cache
+        // of the outer transaction nor evict the cached entity from it.
+        TransactionTemplate transactionTemplate = new TransactionTemplate(herdTransactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        long startCacheHitCount = AlternateKeyEntityCacheHelper.getCacheHitCount();
+        transactionTemplate.execute(status -> {
+            assertNull(alternateKeyEntityCacheHelper.getEntity(NamespaceEntity.class, NAMESPACE, () -> null));
+            return null;
+        });
+        assertEquals(startCacheHitCount, AlternateKeyEntityCacheHelper.getCacheHitCount());
+
+        // Validate that the outer transaction still gets the namespace from its cache.
+        assertSame(namespaceEntity, alternateKeyEntityCacheHelper.getEntity(NamespaceEntity.class, NAMESPACE, () -> null));
+        assertEquals(startCacheHitCount + 1, AlternateKeyEntityCacheHelper.getCacheHitCount());
+    }
+
+    @Test
+    public void testGetEntityNullAlternateKey()
+    {
+        // Validate that a null alternate key bypasses the cache.
+        long startCacheHitCount = AlternateKeyEntityCacheHelper.getCacheHitCount();
+        assertNull(alternateKeyEntityCacheHelper.getEntity(NamespaceEntity.class, null, () -> null));
+        assertEquals(startCacheHitCount, AlternateKeyEntityCacheHelper.getCacheHitCount());
+    }
+}
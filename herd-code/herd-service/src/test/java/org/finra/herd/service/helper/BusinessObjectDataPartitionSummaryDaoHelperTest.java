@@ -0,0 +1,290 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.finra.herd.dao.AbstractDaoTest.BDEF_NAME;
+import static org.finra.herd.dao.AbstractDaoTest.BDEF_NAMESPACE;
+import static org.finra.herd.dao.AbstractDaoTest.DATA_VERSION;
+import static org.finra.herd.dao.AbstractDaoTest.FORMAT_FILE_TYPE_CODE;
+import static org.finra.herd.dao.AbstractDaoTest.FORMAT_USAGE_CODE;
+import static org.finra.herd.dao.AbstractDaoTest.FORMAT_VERSION;
+import static org.finra.herd.dao.AbstractDaoTest.INTEGER_VALUE;
+import static org.finra.herd.dao.AbstractDaoTest.NO_SUBPARTITION_VALUES;
+import static org.finra.herd.dao.AbstractDaoTest.PARTITION_VALUE;
+import static org.finra.herd.dao.AbstractDaoTest.PARTITION_VALUE_2;
+import static org.finra.herd.dao.AbstractDaoTest.STORAGE_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import org.finra.herd.dao.BusinessObjectDataDao;
+import org.finra.herd.dao.BusinessObjectDataPartitionSummaryDao;
+import org.finra.herd.model.api.xml.BusinessObjectDataKey;
+import org.finra.herd.model.jpa.BusinessObjectDataEntity;
+import org.finra.herd.model.jpa.BusinessObjectDataPartitionSummaryEntity;
+import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
+import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
+import org.finra.herd.model.jpa.StorageEntity;
+import org.finra.herd.model.jpa.StorageUnitEntity;
+import org.finra.herd.model.jpa.StorageUnitStatusEntity;
+
+public class BusinessObjectDataPartitionSummaryDaoHelperTest
+{
+    @Mock
+    private BusinessObjectDataDao businessObjectDataDao;
+
+    @Mock
+    private BusinessObjectDataHelper businessObjectDataHelper;
+
+    @Mock
+    private BusinessObjectDataPartitionSummaryDao businessObjectDataPartitionSummaryDao;
+
+    @InjectMocks
+    private BusinessObjectDataPartitionSummaryDaoHelper businessObjectDataPartitionSummaryDaoHelper;
+
+    @Before
+    public void before()
+    {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void testUpdateBusinessObjectDataPartitionSummary()
+    {
+        // Create a VALID business object data entity with a storage unit.
+        BusinessObjectFormatEntity businessObjectFormatEntity = new BusinessObjectFormatEntity();
+
+        BusinessObjectDataStatusEntity businessObjectDataStatusEntity = new BusinessObjectDataStatusEntity();
+        businessObjectDataStatusEntity.setCode(BusinessObjectDataStatusEntity.VALID);
+
+        BusinessObjectDataEntity businessObjectDataEntity = new BusinessObjectDataEntity();
+        businessObjectDataEntity.setId(INTEGER_VALUE);
+        businessObjectDataEntity.setBusinessObjectFormat(businessObjectFormatEntity);
+        businessObjectDataEntity.setPartitionValue(PARTITION_VALUE);
+        businessObjectDataEntity.setVersion(DATA_VERSION);
+        businessObjectDataEntity.setStatus(businessObjectDataStatusEntity);
+
+        StorageEntity storageEntity = new StorageEntity();
+        storageEntity.setName(STORAGE_NAME);
+
+        StorageUnitStatusEntity storageUnitStatusEntity = new StorageUnitStatusEntity();
+        storageUnitStatusEntity.setCode(StorageUnitStatusEntity.ENABLED);
+
+        StorageUnitEntity storageUnitEntity = new StorageUnitEntity();
+        storageUnitEntity.setBusinessObjectData(businessObjectDataEntity);
+        storageUnitEntity.setStorage(storageEntity);
+        storageUnitEntity.setStatus(storageUnitStatusEntity);
+        businessObjectDataEntity.setStorageUnits(new ArrayList<>(Collections.singletonList(storageUnitEntity)));
+
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                NO_SUBPARTITION_VALUES, DATA_VERSION);
+
+        // Mock the external calls.
+        when(businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntity)).thenReturn(businessObjectDataKey);
+        when(businessObjectDataDao.getBusinessObjectDataEntities(businessObjectDataKey)).thenReturn(Collections.singletonList(businessObjectDataEntity));
+        when(businessObjectDataHelper.getPrimaryAndSubPartitionValues(businessObjectDataEntity)).thenReturn(Collections.singletonList(PARTITION_VALUE));
+        when(businessObjectDataPartitionSummaryDao
+            .getBusinessObjectDataPartitionSummaryEntities(businessObjectFormatEntity, Collections.singletonList(PARTITION_VALUE)))
+            .thenReturn(new ArrayList<>());
+
+        // Call the method under test.
+        businessObjectDataPartitionSummaryDaoHelper.updateBusinessObjectDataPartitionSummary(businessObjectDataEntity);
+
+        // Validate that a partition summary row got created for the storage after the business object format got locked.
+        ArgumentCaptor<BusinessObjectDataPartitionSummaryEntity> argumentCaptor = ArgumentCaptor.forClass(BusinessObjectDataPartitionSummaryEntity.class);
+        verify(businessObjectDataHelper).getBusinessObjectDataKey(businessObjectDataEntity);
+        verify(businessObjectDataDao).getBusinessObjectDataEntities(any(BusinessObjectDataKey.class));
+        verify(businessObjectDataHelper, times(2)).getPrimaryAndSubPartitionValues(businessObjectDataEntity);
+        verify(businessObjectDataPartitionSummaryDao).lockBusinessObjectDataPartitionSummaries(businessObjectFormatEntity);
+        verify(businessObjectDataPartitionSummaryDao, times(2))
+            .getBusinessObjectDataPartitionSummaryEntities(businessObjectFormatEntity, Collections.singletonList(PARTITION_VALUE));
+        verify(businessObjectDataPartitionSummaryDao).saveAndRefresh(argumentCaptor.capture());
+        verifyNoMoreInteractionsHelper();
+
+        BusinessObjectDataPartitionSummaryEntity partitionSummaryEntity = argumentCaptor.getValue();
+        assertEquals(businessObjectFormatEntity, partitionSummaryEntity.getBusinessObjectFormat());
+        assertEquals(storageEntity, partitionSummaryEntity.getStorage());
+        assertEquals(PARTITION_VALUE, partitionSummaryEntity.getPartitionValue());
+        assertEquals(DATA_VERSION, partitionSummaryEntity.getBusinessObjectDataVersion());
+        assertEquals(storageUnitStatusEntity, partitionSummaryEntity.getStorageUnitStatus());
+    }
+
+    @Test
+    public void testUpdateBusinessObjectDataPartitionSummaries()
+    {
+        // Create two VALID business object data entities with a storage unit each, registered for two partition values in the same storage.
+        BusinessObjectFormatEntity businessObjectFormatEntity = new BusinessObjectFormatEntity();
+
+        BusinessObjectDataStatusEntity businessObjectDataStatusEntity = new BusinessObjectDataStatusEntity();
+        businessObjectDataStatusEntity.setCode(BusinessObjectDataStatusEntity.VALID);
+
+        StorageEntity storageEntity = new StorageEntity();
+        storageEntity.setName(STORAGE_NAME);
+
+        StorageUnitStatusEntity storageUnitStatusEntity = new StorageUnitStatusEntity();
+        storageUnitStatusEntity.setCode(StorageUnitStatusEntity.ENABLED);
+
+        List<BusinessObjectDataEntity> businessObjectDataEntities = new ArrayList<>();
+        for (String partitionValue : Arrays.asList(PARTITION_VALUE, PARTITION_VALUE_2))
+        {
+            BusinessObjectDataEntity businessObjectDataEntity = new BusinessObjectDataEntity();
+            businessObjectDataEntity.setBusinessObjectFormat(businessObjectFormatEntity);
+            businessObjectDataEntity.setPartitionValue(partitionValue);
+            businessObjectDataEntity.setVersion(DATA_VERSION);
+            businessObjectDataEntity.setStatus(businessObjectDataStatusEntity);
+
+            StorageUnitEntity storageUnitEntity = new StorageUnitEntity();
+            storageUnitEntity.setBusinessObjectData(businessObjectDataEntity);
+            storageUnitEntity.setStorage(storageEntity);
+            storageUnitEntity.setStatus(storageUnitStatusEntity);
+            businessObjectDataEntity.setStorageUnits(new ArrayList<>(Collections.singletonList(storageUnitEntity)));
+
+            businessObjectDataEntities.add(businessObjectDataEntity);
+        }
+
+        // Create an existing partition summary row for the first partition value that points to an earlier business object data version.
+        BusinessObjectDataPartitionSummaryEntity existingPartitionSummaryEntity = new BusinessObjectDataPartitionSummaryEntity();
+        existingPartitionSummaryEntity.setBusinessObjectFormat(businessObjectFormatEntity);
+        existingPartitionSummaryEntity.setStorage(storageEntity);
+        existingPartitionSummaryEntity.setPartitionValue(PARTITION_VALUE);
+        existingPartitionSummaryEntity.setBusinessObjectDataVersion(DATA_VERSION - 1);
+        existingPartitionSummaryEntity.setStorageUnitStatus(storageUnitStatusEntity);
+
+        // Mock the external calls.
+        when(businessObjectDataHelper.getPrimaryAndSubPartitionValues(businessObjectDataEntities.get(0)))
+            .thenReturn(Collections.singletonList(PARTITION_VALUE));
+        when(businessObjectDataHelper.getPrimaryAndSubPartitionValues(businessObjectDataEntities.get(1)))
+            .thenReturn(Collections.singletonList(PARTITION_VALUE_2));
+        when(businessObjectDataDao
+            .getBusinessObjectDataEntitiesByPrimaryPartitionValues(businessObjectFormatEntity, Arrays.asList(PARTITION_VALUE, PARTITION_VALUE_2)))
+            .thenReturn(businessObjectDataEntities);
+        when(businessObjectDataPartitionSummaryDao.getBusinessObjectDataPartitionSummaryEntitiesByPrimaryPartitionValues(businessObjectFormatEntity,
+            Arrays.asList(PARTITION_VALUE, PARTITION_VALUE_2))).thenReturn(Collections.singletonList(existingPartitionSummaryEntity));
+
+        // Call the method under test.
+        businessObjectDataPartitionSummaryDaoHelper.updateBusinessObjectDataPartitionSummaries(businessObjectDataEntities);
+
+        // Validate that the existing partition summary row got updated and a new one got created, both without an individual flush and refresh.
+        ArgumentCaptor<BusinessObjectDataPartitionSummaryEntity> argumentCaptor = ArgumentCaptor.forClass(BusinessObjectDataPartitionSummaryEntity.class);
+        verify(businessObjectDataHelper, times(2)).getPrimaryAndSubPartitionValues(businessObjectDataEntities.get(0));
+        verify(businessObjectDataHelper, times(2)).getPrimaryAndSubPartitionValues(businessObjectDataEntities.get(1));
+        verify(businessObjectDataDao)
+            .getBusinessObjectDataEntitiesByPrimaryPartitionValues(businessObjectFormatEntity, Arrays.asList(PARTITION_VALUE, PARTITION_VALUE_2));
+        verify(businessObjectDataPartitionSummaryDao).lockBusinessObjectDataPartitionSummaries(businessObjectFormatEntity);
+        verify(businessObjectDataPartitionSummaryDao).getBusinessObjectDataPartitionSummaryEntitiesByPrimaryPartitionValues(businessObjectFormatEntity,
+            Arrays.asList(PARTITION_VALUE, PARTITION_VALUE_2));
+        verify(businessObjectDataPartitionSummaryDao, times(2)).save(argumentCaptor.capture());
+        verifyNoMoreInteractionsHelper();
+
+        assertEquals(existingPartitionSummaryEntity, argumentCaptor.getAllValues().get(0));
+        assertEquals(DATA_VERSION, existingPartitionSummaryEntity.getBusinessObjectDataVersion());
+
+        BusinessObjectDataPartitionSummaryEntity partitionSummaryEntity = argumentCaptor.getAllValues().get(1);
+        assertEquals(businessObjectFormatEntity, partitionSummaryEntity.getBusinessObjectFormat());
+        assertEquals(storageEntity, partitionSummaryEntity.getStorage());
+        assertEquals(PARTITION_VALUE_2, partitionSummaryEntity.getPartitionValue());
+        assertEquals(DATA_VERSION, partitionSummaryEntity.getBusinessObjectDataVersion());
+        assertEquals(storageUnitStatusEntity, partitionSummaryEntity.getStorageUnitStatus());
+    }
+
+    @Test
+    public void testUpdateBusinessObjectDataPartitionSummaryCreatedConcurrently()
+    {
+        // Create a VALID business object data entity with a storage unit.
+        BusinessObjectFormatEntity businessObjectFormatEntity = new BusinessObjectFormatEntity();
+
+        BusinessObjectDataStatusEntity businessObjectDataStatusEntity = new BusinessObjectDataStatusEntity();
+        businessObjectDataStatusEntity.setCode(BusinessObjectDataStatusEntity.VALID);
+
+        BusinessObjectDataEntity businessObjectDataEntity = new BusinessObjectDataEntity();
+        businessObjectDataEntity.setId(INTEGER_VALUE);
+        businessObjectDataEntity.setBusinessObjectFormat(businessObjectFormatEntity);
+        businessObjectDataEntity.setPartitionValue(PARTITION_VALUE);
+        businessObjectDataEntity.setVersion(DATA_VERSION);
+        businessObjectDataEntity.setStatus(businessObjectDataStatusEntity);
+
+        StorageEntity storageEntity = new StorageEntity();
+        storageEntity.setName(STORAGE_NAME);
+
+        StorageUnitStatusEntity storageUnitStatusEntity = new StorageUnitStatusEntity();
+        storageUnitStatusEntity.setCode(StorageUnitStatusEntity.ENABLED);
+
+        StorageUnitEntity storageUnitEntity = new StorageUnitEntity();
+        storageUnitEntity.setBusinessObjectData(businessObjectDataEntity);
+        storageUnitEntity.setStorage(storageEntity);
+        storageUnitEntity.setStatus(storageUnitStatusEntity);
+        businessObjectDataEntity.setStorageUnits(new ArrayList<>(Collections.singletonList(storageUnitEntity)));
+
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE,
+                NO_SUBPARTITION_VALUES, DATA_VERSION);
+
+        // Create a partition summary row committed by a concurrent transaction that points to an earlier business object data version.
+        BusinessObjectDataPartitionSummaryEntity concurrentPartitionSummaryEntity = new BusinessObjectDataPartitionSummaryEntity();
+        concurrentPartitionSummaryEntity.setBusinessObjectFormat(businessObjectFormatEntity);
+        concurrentPartitionSummaryEntity.setStorage(storageEntity);
+        concurrentPartitionSummaryEntity.setPartitionValue(PARTITION_VALUE);
+        concurrentPartitionSummaryEntity.setBusinessObjectDataVersion(DATA_VERSION - 1);
+        concurrentPartitionSummaryEntity.setStorageUnitStatus(storageUnitStatusEntity);
+
+        // Mock the external calls. The partition summary row only becomes visible once the business object format is locked.
+        when(businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataEntity)).thenReturn(businessObjectDataKey);
+        when(businessObjectDataDao.getBusinessObjectDataEntities(businessObjectDataKey)).thenReturn(Collections.singletonList(businessObjectDataEntity));
+        when(businessObjectDataHelper.getPrimaryAndSubPartitionValues(businessObjectDataEntity)).thenReturn(Collections.singletonList(PARTITION_VALUE));
+        when(businessObjectDataPartitionSummaryDao
+            .getBusinessObjectDataPartitionSummaryEntities(businessObjectFormatEntity, Collections.singletonList(PARTITION_VALUE)))
+            .thenReturn(new ArrayList<>(), Collections.singletonList(concurrentPartitionSummaryEntity));
+
+        // Call the method under test.
+        businessObjectDataPartitionSummaryDaoHelper.updateBusinessObjectDataPartitionSummary(businessObjectDataEntity);
+
+        // Validate that the partition summary row created by the concurrent transaction got updated instead of a duplicate row getting inserted.
+        verify(businessObjectDataHelper).getBusinessObjectDataKey(businessObjectDataEntity);
+        verify(businessObjectDataDao).getBusinessObjectDataEntities(any(BusinessObjectDataKey.class));
+        verify(businessObjectDataHelper, times(2)).getPrimaryAndSubPartitionValues(businessObjectDataEntity);
+        verify(businessObjectDataPartitionSummaryDao).lockBusinessObjectDataPartitionSummaries(businessObjectFormatEntity);
+        verify(businessObjectDataPartitionSummaryDao, times(2))
+            .getBusinessObjectDataPartitionSummaryEntities(businessObjectFormatEntity, Collections.singletonList(PARTITION_VALUE));
+        verify(businessObjectDataPartitionSummaryDao).saveAndRefresh(concurrentPartitionSummaryEntity);
+        verifyNoMoreInteractionsHelper();
+
+        assertEquals(DATA_VERSION, concurrentPartitionSummaryEntity.getBusinessObjectDataVersion());
+    }
+
+    /**
+     * Checks if any of the mocks has any interaction.
+     */
+    private void verifyNoMoreInteractionsHelper()
+    {
+        verifyNoMoreInteractions(businessObjectDataDao, businessObjectDataHelper, businessObjectDataPartitionSummaryDao);
+    }
+}
@@ -16,9 +16,8 @@
 package org.finra.herd.service.helper;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.fail;
-import static org.mockito.Matchers.any;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -28,17 +27,16 @@ import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import com.fasterxml.jackson.core.JsonLocation;
-import com.fasterxml.jackson.core.JsonParseException;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDefinitionColumnKey;
 import org.finra.herd.model.api.xml.BusinessObjectDefinitionKey;
 import org.finra.herd.model.jpa.BusinessObjectDefinitionEntity;
@@ -58,9 +56,6 @@ public class BusinessObjectDefinitionHelperTest extends AbstractServiceTest
     @InjectMocks
     private BusinessObjectDefinitionHelper businessObjectDefinitionHelper;
 
-    @Mock
-    private JsonHelper jsonHelper;
-
     @Before
     public void before()
     {
@@ -90,31 +85,28 @@ public class BusinessObjectDefinitionHelperTest extends AbstractServiceTest
                 .createBusinessObjectDefinitionEntity(BDEF_NAMESPACE_2, BDEF_NAME_2, DATA_PROVIDER_NAME_2, BDEF_DESCRIPTION_2,
                     businessObjectDefinitionServiceTestHelper.getNewAttributes2())));
 
-        businessObjectDefinitionEntities.forEach(entity ->
-        {
-            entity.setDescriptiveBusinessObjectFormat(new BusinessObjectFormatEntity());
-            entity.getDescriptiveBusinessObjectFormat().setSchemaColumns(new ArrayList<>());
-
-            entity.setSubjectMatterExperts(new ArrayList<>());
-        });
-
-        // Mock the external calls.
-        when(jsonHelper.objectToJson(any())).thenReturn(JSON_STRING);
-
-        // Execute a function for all business object definition entities.
+        // Execute a function for all business object definition entities and keep track of the documents passed to it.
+        final Map<String, String> documents = new HashMap<>();
         businessObjectDefinitionHelper
             .executeFunctionForBusinessObjectDefinitionEntities(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, businessObjectDefinitionEntities,
                 (indexName, documentType, id, json) ->
                 {
+                    assertEquals(SEARCH_INDEX_NAME, indexName);
+                    assertEquals(SEARCH_INDEX_DOCUMENT_TYPE, documentType);
+                    documents.put(id, json);
                 });
 
+        // Validate that the function got called with the search index document of every business object definition.
+        assertEquals(businessObjectDefinitionEntities.size(), documents.size());
+        businessObjectDefinitionEntities.forEach(entity -> assertEquals(businessObjectDefinitionHelper.safeObjectMapperWriteValueAsString(entity),
+            documents.get(entity.getId().toString())));
+
         // Verify the external calls.
-        verify(jsonHelper, times(businessObjectDefinitionEntities.size())).objectToJson(any());
-        verifyNoMoreInteractions(alternateKeyHelper, jsonHelper);
+        verifyNoMoreInteractions(alternateKeyHelper);
     }
 
     @Test
-    public void testExecuteFunctionForBusinessObjectDefinitionEntitiesJsonParseException()
+    public void testExecuteFunctionForBusinessObjectDefinitionEntitiesFunctionException()
     {
         // Create a list of business object definition entities.
         final List<BusinessObjectDefinitionEntity> businessObjectDefinitionEntities = Collections.unmodifiableList(Arrays.asList(
@@ -123,28 +115,22 @@ public class BusinessObjectDefinitionHelperTest extends AbstractServiceTest
                 .createBusinessObjectDefinitionEntity(BDEF_NAMESPACE_2, BDEF_NAME_2, DATA_PROVIDER_NAME_2, BDEF_DESCRIPTION_2,
                     businessObjectDefinitionServiceTestHelper.getNewAttributes2())));
 
-        businessObjectDefinitionEntities.forEach(entity ->
-        {
-            entity.setDescriptiveBusinessObjectFormat(new BusinessObjectFormatEntity());
-            entity.getDescriptiveBusinessObjectFormat().setSchemaColumns(new ArrayList<>());
-
-            entity.setSubjectMatterExperts(new ArrayList<>());
-        });
-
-        // Mock the external calls.
-        when(jsonHelper.objectToJson(any()))
-            .thenThrow(new IllegalStateException(new JsonParseException("Failed to Parse", new JsonLocation("SRC", 100L, 1, 2))));
-
-        // Execute a function for all business object definition entities.
+        // Execute a function that always fails for all business object definition entities.
+        final List<String> ids = new ArrayList<>();
         businessObjectDefinitionHelper
             .executeFunctionForBusinessObjectDefinitionEntities(SEARCH_INDEX_NAME, SEARCH_INDEX_DOCUMENT_TYPE, businessObjectDefinitionEntities,
                 (indexName, documentType, id, json) ->
                 {
+                    ids.add(id);
+                    throw new IllegalStateException(ERROR_MESSAGE);
                 });
 
+        // Validate that the failure did not stop processing of the remaining business object definitions.
+        assertEquals(Arrays.asList(businessObjectDefinitionEntities.get(0).getId().toString(), businessObjectDefinitionEntities.get(1).getId().toString()),
+            ids);
+
         // Verify the external calls.
-        verify(jsonHelper, times(businessObjectDefinitionEntities.size())).objectToJson(any());
-        verifyNoMoreInteractions(alternateKeyHelper, jsonHelper);
+        verifyNoMoreInteractions(alternateKeyHelper);
     }
 
     @Test
@@ -177,7 +163,7 @@ public class BusinessObjectDefinitionHelperTest extends AbstractServiceTest
         // Verify the external calls.
         verify(alternateKeyHelper).validateStringParameter("namespace", BDEF_NAMESPACE);
         verify(alternateKeyHelper).validateStringParameter("business object definition name", BDEF_NAME);
-        verifyNoMoreInteractions(alternateKeyHelper, jsonHelper);
+        verifyNoMoreInteractions(alternateKeyHelper);
 
         // Validate the business object definition key.
         assertEquals(new BusinessObjectDefinitionKey(BDEF_NAMESPACE, BDEF_NAME), businessObjectDefinitionKey);
@@ -243,4 +229,47 @@ public class BusinessObjectDefinitionHelperTest extends AbstractServiceTest
         // Validate the result
         assertEquals(businessObjectDefinitionEntity.getTagSearchScoreMultiplier(), BigDecimal.ONE.setScale(3, RoundingMode.HALF_UP));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSafeObjectMapperWriteValueAsString() throws Exception
+    {
+        // Create a business object definition entity with a descriptive business object format.
+        final BusinessObjectDefinitionEntity businessObjectDefinitionEntity = businessObjectDefinitionDaoTestHelper
+            .createBusinessObjectDefinitionEntity(BDEF_NAMESPACE, BDEF_NAME, DATA_PROVIDER_NAME, BDEF_DESCRIPTION, BDEF_DISPLAY_NAME,
+                businessObjectDefinitionServiceTestHelper.getNewAttributes());
+        businessObjectDefinitionEntity.setDescriptiveBusinessObjectFormat(new BusinessObjectFormatEntity());
+        businessObjectDefinitionEntity.getDescriptiveBusinessObjectFormat().setUsage(FORMAT_USAGE_CODE);
+        businessObjectDefinitionEntity.getDescriptiveBusinessObjectFormat().setSchemaColumns(new ArrayList<>());
+
+        // Tag the business object definition.
+        TagEntity tagEntity = tagDaoTestHelper.createTagEntity(TAG_TYPE, TAG_CODE, TAG_DISPLAY_NAME, TAG_SEARCH_SCORE_MULTIPLIER, TAG_DESCRIPTION, null);
+        businessObjectDefinitionEntity.setBusinessObjectDefinitionTags(Collections
+            .singletonList(businessObjectDefinitionTagDaoTestHelper.createBusinessObjectDefinitionTagEntity(businessObjectDefinitionEntity, tagEntity)));
+
+        // Write the search index document of the business object definition.
+        String result = businessObjectDefinitionHelper.safeObjectMapperWriteValueAsString(businessObjectDefinitionEntity);
+
+        // Validate the fields of the search index document.
+        Map<String, Object> document = jsonHelper.unmarshallJsonToObject(Map.class, result);
+        assertEquals(businessObjectDefinitionEntity.getId(), document.get("id"));
+        assertEquals(BDEF_NAME, document.get("name"));
+        assertEquals(BDEF_DISPLAY_NAME, document.get("displayName"));
+        assertEquals(BDEF_DESCRIPTION, document.get("description"));
+        assertEquals(BDEF_NAMESPACE, ((Map<String, Object>) document.get("namespace")).get("code"));
+        assertEquals(DATA_PROVIDER_NAME, ((Map<String, Object>) document.get("dataProvider")).get("name"));
+        assertEquals(businessObjectDefinitionServiceTestHelper.getNewAttributes().size(), ((List<Object>) document.get("attributes")).size());
+        assertEquals(FORMAT_USAGE_CODE, ((Map<String, Object>) document.get("descriptiveBusinessObjectFormat")).get("usage"));
+        assertEquals(TAG_SEARCH_SCORE_MULTIPLIER.setScale(3, RoundingMode.HALF_UP).doubleValue(), document.get("tagSearchScoreMultiplier"));
+
+        Map<String, Object> tag =
+            (Map<String, Object>) ((Map<String, Object>) ((List<Object>) document.get("businessObjectDefinitionTags")).get(0)).get("tag");
+        assertEquals(TAG_CODE, tag.get("tagCode"));
+        assertEquals(TAG_DISPLAY_NAME, tag.get("displayName"));
+        assertEquals(TAG_TYPE, ((Map<String, Object>) tag.get("tagType")).get("code"));
+
+        // Validate that the audit fields are not a part of the search index document.
+        assertFalse(document.containsKey("createdBy"));
+        assertFalse(document.containsKey("updatedOn"));
+    }
 }
@@ -0,0 +1,99 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.finra.herd.service.helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+import org.finra.herd.model.ObjectNotFoundException;
+import org.finra.herd.service.AbstractServiceTest;
+
+/**
+ * This class tests functionality within the CollectionRequestHelper class.
+ */
+public class CollectionRequestHelperTest extends AbstractServiceTest
+{
+    @Test
+    public void testProcessRequests()
+    {
+        // Create a list of requests.
+        List<Integer> requests = new ArrayList<>();
+        List<String> expectedResponses = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+        {
+            requests.add(i);
+            expectedResponses.add(String.valueOf(i));
+        }
+
+        // Process the requests using multiple workers and keep track of the threads that processed them.
+        Set<String> threadNames = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        List<String> responses = collectionRequestHelper.processRequests(requests, request -> {
+            threadNames.add(Thread.currentThread().getName());
+            return String.valueOf(request);
+        }, 4);
+
+        // Validate that the responses are returned in the order of the requests and that none of them got processed on the calling thread.
+        assertEquals(expectedResponses, responses);
+        assertTrue(!threadNames.isEmpty() && threadNames.size() <= 4);
+        assertTrue(!threadNames.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    public void testProcessRequestsFailure()
+    {
+        // Try to process the requests when one of them fails.
+        try
+        {
+            collectionRequestHelper.processRequests(Arrays.asList(1, 2, 3, 4), request -> {
+                if (request == 3)
+                {
+                    throw new ObjectNotFoundException(String.format("Request \"%d\" failed.", request));
+                }
+                return request;
+            }, 2);
+            fail();
+        }
+        catch (ObjectNotFoundException e)
+        {
+            assertEquals("Request \"3\" failed.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testProcessRequestsSequential()
+    {
+        // Process the requests with the maximum parallelism of 1 and keep track of the threads that processed them.
+        Set<String> threadNames = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        List<Integer> responses = collectionRequestHelper.processRequests(Arrays.asList(3, 1, 2), request -> {
+            threadNames.add(Thread.currentThread().getName());
+            return request * 10;
+        }, 1);
+
+        // Validate that the requests got processed on the calling thread.
+        assertEquals(Arrays.asList(30, 10, 20), responses);
+        assertEquals(Collections.singleton(Thread.currentThread().getName()), threadNames);
+    }
+}
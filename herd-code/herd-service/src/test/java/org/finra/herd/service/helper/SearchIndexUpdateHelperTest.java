@@ -21,11 +21,13 @@ import static org.finra.herd.model.dto.SearchIndexUpdateDto.SEARCH_INDEX_UPDATE_
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.fail;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Before;
@@ -33,6 +35,11 @@ import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.helper.JsonHelper;
@@ -45,6 +52,11 @@ import org.finra.herd.model.jpa.TagEntity;
 import org.finra.herd.service.AbstractServiceTest;
 import org.finra.herd.service.NotificationMessagePublishingService;
 
+/**
+ * The tests run outside of a transaction, since search index updates requested within a transaction are buffered until the transaction commits. The tests for
+ * the buffering manage the transaction synchronization explicitly.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
 public class SearchIndexUpdateHelperTest extends AbstractServiceTest
 {
     @Mock
@@ -498,6 +510,87 @@ public class SearchIndexUpdateHelperTest extends AbstractServiceTest
         verifyNoMoreInteractionsHelper();
     }
 
+    @Test
+    public void testModifyInSearchIndexWithinTransaction()
+    {
+        // Create business object definition and tag entities.
+        BusinessObjectDefinitionEntity businessObjectDefinitionEntity = new BusinessObjectDefinitionEntity();
+        businessObjectDefinitionEntity.setId(1);
+        BusinessObjectDefinitionEntity businessObjectDefinitionEntity2 = new BusinessObjectDefinitionEntity();
+        businessObjectDefinitionEntity2.setId(2);
+        TagEntity tagEntity = new TagEntity();
+        tagEntity.setId(3);
+
+        // Create the coalesced search index dtos.
+        SearchIndexUpdateDto businessObjectDefinitionSearchIndexUpdateDto =
+            new SearchIndexUpdateDto(MESSAGE_TYPE_BUSINESS_OBJECT_DEFINITION_UPDATE, Arrays.asList(1, 2), SEARCH_INDEX_UPDATE_TYPE_UPDATE);
+        SearchIndexUpdateDto tagSearchIndexUpdateDto = new SearchIndexUpdateDto(MESSAGE_TYPE_TAG_UPDATE, Arrays.asList(3), SEARCH_INDEX_UPDATE_TYPE_UPDATE);
+
+        // Mock the call to external methods
+        when(jsonHelper.objectToJson(businessObjectDefinitionSearchIndexUpdateDto)).thenReturn(MESSAGE_TEXT);
+        when(jsonHelper.objectToJson(tagSearchIndexUpdateDto)).thenReturn(MESSAGE_TEXT_2);
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_JMS_LISTENER_ENABLED)).thenReturn("true");
+        when(configurationHelper.getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_SQS_QUEUE_NAME)).thenReturn(AWS_SQS_QUEUE_NAME);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try
+        {
+            // Call the methods under test multiple times for the same entities.
+            searchIndexUpdateHelper.modifyBusinessObjectDefinitionInSearchIndex(businessObjectDefinitionEntity, SEARCH_INDEX_UPDATE_TYPE_UPDATE);
+            searchIndexUpdateHelper.modifyTagInSearchIndex(tagEntity, SEARCH_INDEX_UPDATE_TYPE_UPDATE);
+            searchIndexUpdateHelper.modifyBusinessObjectDefinitionsInSearchIndex(Arrays.asList(businessObjectDefinitionEntity2, businessObjectDefinitionEntity),
+                SEARCH_INDEX_UPDATE_TYPE_UPDATE);
+            searchIndexUpdateHelper.modifyTagsInSearchIndex(Arrays.asList(tagEntity), SEARCH_INDEX_UPDATE_TYPE_UPDATE);
+
+            // Validate that nothing is sent before the transaction commits.
+            verifyNoMoreInteractionsHelper();
+
+            // Commit the transaction.
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        finally
+        {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Verify the calls to external methods
+        verify(jsonHelper).objectToJson(businessObjectDefinitionSearchIndexUpdateDto);
+        verify(jsonHelper).objectToJson(tagSearchIndexUpdateDto);
+        verify(configurationHelper, times(2)).getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_JMS_LISTENER_ENABLED);
+        verify(configurationHelper, times(2)).getProperty(ConfigurationValue.SEARCH_INDEX_UPDATE_SQS_QUEUE_NAME);
+        verify(notificationMessagePublishingService).addNotificationMessageToDatabaseQueue(
+            new NotificationMessage(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT, NO_MESSAGE_HEADERS));
+        verify(notificationMessagePublishingService).addNotificationMessageToDatabaseQueue(
+            new NotificationMessage(MessageTypeEntity.MessageEventTypes.SQS.name(), AWS_SQS_QUEUE_NAME, MESSAGE_TEXT_2, NO_MESSAGE_HEADERS));
+        verifyNoMoreInteractionsHelper();
+    }
+
+    @Test
+    public void testModifyInSearchIndexWithinTransactionRollback()
+    {
+        // Create a tag entity.
+        TagEntity tagEntity = new TagEntity();
+        tagEntity.setId(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try
+        {
+            // Call the method under test.
+            searchIndexUpdateHelper.modifyTagInSearchIndex(tagEntity, SEARCH_INDEX_UPDATE_TYPE_UPDATE);
+
+            // Roll back the transaction.
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+        finally
+        {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Validate that the search index update is discarded.
+        verifyNoMoreInteractionsHelper();
+    }
+
     /**
      * Checks if any of the mocks has any interaction.
      */
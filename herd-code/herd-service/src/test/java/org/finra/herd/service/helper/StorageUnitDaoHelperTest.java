@@ -58,6 +58,9 @@ public class StorageUnitDaoHelperTest
     @Mock
     private BusinessObjectDataHelper businessObjectDataHelper;
 
+    @Mock
+    private BusinessObjectDataPartitionSummaryDaoHelper businessObjectDataPartitionSummaryDaoHelper;
+
     @Mock
     private MessageNotificationEventService messageNotificationEventService;
 
@@ -338,6 +341,7 @@ public class StorageUnitDaoHelperTest
 
         // Verify the external calls.
         verify(storageUnitDao).saveAndRefresh(storageUnitEntity);
+        verify(businessObjectDataPartitionSummaryDaoHelper).updateBusinessObjectDataPartitionSummary(businessObjectDataEntity);
         verify(businessObjectDataHelper).getBusinessObjectDataKey(businessObjectDataEntity);
         verify(messageNotificationEventService)
             .processStorageUnitStatusChangeNotificationEvent(businessObjectDataKey, STORAGE_NAME, STORAGE_UNIT_STATUS_2, STORAGE_UNIT_STATUS);
@@ -387,6 +391,7 @@ public class StorageUnitDaoHelperTest
         // Verify the external calls.
         verify(storageUnitStatusDaoHelper).getStorageUnitStatusEntity(STORAGE_UNIT_STATUS_2);
         verify(storageUnitDao).saveAndRefresh(storageUnitEntity);
+        verify(businessObjectDataPartitionSummaryDaoHelper).updateBusinessObjectDataPartitionSummary(businessObjectDataEntity);
         verify(businessObjectDataHelper).getBusinessObjectDataKey(businessObjectDataEntity);
         verify(messageNotificationEventService)
             .processStorageUnitStatusChangeNotificationEvent(businessObjectDataKey, STORAGE_NAME, STORAGE_UNIT_STATUS_2, STORAGE_UNIT_STATUS);
@@ -398,6 +403,7 @@ public class StorageUnitDaoHelperTest
      */
     private void verifyNoMoreInteractionsHelper()
     {
-        verifyNoMoreInteractions(businessObjectDataHelper, messageNotificationEventService, storageUnitDao, storageUnitStatusDaoHelper);
+        verifyNoMoreInteractions(businessObjectDataHelper, businessObjectDataPartitionSummaryDaoHelper, messageNotificationEventService, storageUnitDao,
+            storageUnitStatusDaoHelper);
     }
 }
@@ -39,6 +39,7 @@ import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.dto.BusinessObjectDataRestoreDto;
+import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
 import org.finra.herd.model.jpa.StorageUnitEntity;
@@ -196,10 +197,12 @@ public class BusinessObjectDataFinalizeRestoreHelperServiceImplTest extends Abst
         finalS3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
         finalS3FileTransferRequestParamsDto.setS3Endpoint(S3_ENDPOINT);
         finalS3FileTransferRequestParamsDto.setS3KeyPrefix(S3_KEY_PREFIX + "/");
+        finalS3FileTransferRequestParamsDto.setMaxThreads(INTEGER_VALUE);
         finalS3FileTransferRequestParamsDto.setFiles(files);
 
         // Mock the external calls.
         when(storageHelper.getS3FileTransferRequestParamsDto()).thenReturn(s3FileTransferRequestParamsDto);
+        when(configurationHelper.getProperty(ConfigurationValue.BDATA_RESTORE_S3_MAX_THREADS, Integer.class)).thenReturn(INTEGER_VALUE);
         when(s3Service.listDirectory(updatedS3FileTransferRequestParamsDto, true)).thenReturn(s3Files);
         when(storageFileHelper.createStorageFilesFromS3ObjectSummaries(glacierS3Files)).thenReturn(glacierStorageFiles);
         when(storageFileHelper.getFiles(glacierStorageFiles)).thenReturn(files);
@@ -213,6 +216,7 @@ public class BusinessObjectDataFinalizeRestoreHelperServiceImplTest extends Abst
         verify(storageFileHelper).validateRegisteredS3Files(storageFiles, s3Files, STORAGE_NAME, businessObjectDataKey);
         verify(storageFileHelper).createStorageFilesFromS3ObjectSummaries(glacierS3Files);
         verify(storageFileHelper).getFiles(glacierStorageFiles);
+        verify(configurationHelper).getProperty(ConfigurationValue.BDATA_RESTORE_S3_MAX_THREADS, Integer.class);
         verify(s3Service).validateGlacierS3FilesRestored(finalS3FileTransferRequestParamsDto);
         verifyNoMoreInteractionsHelper();
     }
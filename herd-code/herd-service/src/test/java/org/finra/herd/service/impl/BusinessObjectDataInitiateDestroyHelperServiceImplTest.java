@@ -302,6 +302,8 @@ public class BusinessObjectDataInitiateDestroyHelperServiceImplTest extends Abst
         updatedS3FileTransferRequestParamsDto.setS3Endpoint(S3_ENDPOINT);
         updatedS3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
         updatedS3FileTransferRequestParamsDto.setS3KeyPrefix(TEST_S3_KEY_PREFIX + "/");
+        updatedS3FileTransferRequestParamsDto.setMaxThreads(INTEGER_VALUE);
+        updatedS3FileTransferRequestParamsDto.setSkipObjectTagLookup(false);
 
         // Create an updated S3 file transfer parameters DTO to be used for S3 object tagging operation.
         S3FileTransferRequestParamsDto updatedS3ObjectTaggerParamsDto = new S3FileTransferRequestParamsDto();
@@ -315,6 +317,8 @@ public class BusinessObjectDataInitiateDestroyHelperServiceImplTest extends Abst
         when(storageHelper.getS3FileTransferRequestParamsDtoByRole(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME))
             .thenReturn(s3ObjectTaggerParamsDto);
         when(s3Service.listVersions(s3FileTransferRequestParamsDto)).thenReturn(s3VersionSummaries);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_OBJECT_TAGGING_MAX_THREADS, Integer.class)).thenReturn(INTEGER_VALUE);
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.S3_OBJECT_TAGGING_SKIP_TAG_LOOKUP)).thenReturn(false);
 
         // Call the method under test.
         businessObjectDataInitiateDestroyHelperServiceImpl.executeS3SpecificSteps(businessObjectDataDestroyDto);
@@ -330,6 +334,8 @@ public class BusinessObjectDataInitiateDestroyHelperServiceImplTest extends Abst
         verify(storageHelper).getS3FileTransferRequestParamsDto();
         verify(storageHelper).getS3FileTransferRequestParamsDtoByRole(S3_OBJECT_TAGGER_ROLE_ARN, S3_OBJECT_TAGGER_ROLE_SESSION_NAME);
         verify(s3Service).listVersions(s3FileTransferRequestParamsDto);
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_OBJECT_TAGGING_MAX_THREADS, Integer.class);
+        verify(configurationHelper).getBooleanProperty(ConfigurationValue.S3_OBJECT_TAGGING_SKIP_TAG_LOOKUP);
         verify(s3Service).tagVersions(updatedS3FileTransferRequestParamsDto, updatedS3ObjectTaggerParamsDto, s3VersionSummaries,
             new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE));
         verifyNoMoreInteractionsHelper();
@@ -169,10 +169,12 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImplTest extends Abst
         finalS3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
         finalS3FileTransferRequestParamsDto.setS3Endpoint(S3_ENDPOINT);
         finalS3FileTransferRequestParamsDto.setS3KeyPrefix(S3_KEY_PREFIX + "/");
+        finalS3FileTransferRequestParamsDto.setMaxThreads(INTEGER_VALUE);
         finalS3FileTransferRequestParamsDto.setFiles(filesToBeRestored);
 
         // Mock the external calls.
         when(storageHelper.getS3FileTransferRequestParamsDto()).thenReturn(initialS3FileTransferRequestParamsDto);
+        when(configurationHelper.getProperty(ConfigurationValue.BDATA_RESTORE_S3_MAX_THREADS, Integer.class)).thenReturn(INTEGER_VALUE);
         when(s3Service.listDirectory(updatedS3FileTransferRequestParamsDto, true)).thenReturn(actualS3Files);
         when(storageFileHelper.createStorageFilesFromS3ObjectSummaries(actualS3Files)).thenReturn(storageFilesCreatedFromActualS3Files);
         when(storageFileHelper.getFiles(storageFilesCreatedFromActualS3Files)).thenReturn(filesToBeRestored);
@@ -186,6 +188,7 @@ public class BusinessObjectDataInitiateRestoreHelperServiceImplTest extends Abst
         verify(storageFileHelper).validateRegisteredS3Files(storageFiles, actualS3Files, STORAGE_NAME, businessObjectDataKey);
         verify(storageFileHelper).createStorageFilesFromS3ObjectSummaries(actualS3Files);
         verify(storageFileHelper).getFiles(storageFilesCreatedFromActualS3Files);
+        verify(configurationHelper).getProperty(ConfigurationValue.BDATA_RESTORE_S3_MAX_THREADS, Integer.class);
         verify(s3Service).restoreObjects(finalS3FileTransferRequestParamsDto, 36135, ARCHIVE_RETRIEVAL_OPTION);
         verifyNoMoreInteractionsHelper();
 
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -31,6 +32,7 @@ import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -40,11 +42,16 @@ import org.finra.herd.dao.BusinessObjectDataDao;
 import org.finra.herd.dao.StorageUnitDao;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.Attribute;
+import org.finra.herd.model.api.xml.AwsCredential;
 import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataAttributesUpdateRequest;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataRetentionInformationUpdateRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationResponse;
 import org.finra.herd.model.api.xml.BusinessObjectFormatKey;
+import org.finra.herd.model.api.xml.Storage;
+import org.finra.herd.model.api.xml.StorageUnitUploadCredential;
 import org.finra.herd.model.dto.BusinessObjectDataDestroyDto;
 import org.finra.herd.model.jpa.BusinessObjectDataAttributeDefinitionEntity;
 import org.finra.herd.model.jpa.BusinessObjectDataEntity;
@@ -52,12 +59,15 @@ import org.finra.herd.model.jpa.BusinessObjectDataStatusEntity;
 import org.finra.herd.model.jpa.BusinessObjectFormatEntity;
 import org.finra.herd.model.jpa.NotificationEventTypeEntity;
 import org.finra.herd.model.jpa.RetentionTypeEntity;
+import org.finra.herd.model.jpa.StoragePlatformEntity;
 import org.finra.herd.model.jpa.StorageUnitStatusEntity;
 import org.finra.herd.service.AbstractServiceTest;
 import org.finra.herd.service.BusinessObjectDataInitiateDestroyHelperService;
 import org.finra.herd.service.BusinessObjectDataInitiateRestoreHelperService;
+import org.finra.herd.service.BusinessObjectDataUploadPreparationHelperService;
 import org.finra.herd.service.NotificationEventService;
 import org.finra.herd.service.S3Service;
+import org.finra.herd.service.StorageUnitService;
 import org.finra.herd.service.helper.AttributeDaoHelper;
 import org.finra.herd.service.helper.AttributeHelper;
 import org.finra.herd.service.helper.BusinessObjectDataDaoHelper;
@@ -70,6 +80,7 @@ import org.finra.herd.service.helper.BusinessObjectDefinitionDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDefinitionHelper;
 import org.finra.herd.service.helper.BusinessObjectFormatDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectFormatHelper;
+import org.finra.herd.service.helper.CollectionRequestHelper;
 import org.finra.herd.service.helper.CustomDdlDaoHelper;
 import org.finra.herd.service.helper.DdlGeneratorFactory;
 import org.finra.herd.service.helper.S3KeyPrefixHelper;
@@ -118,6 +129,9 @@ public class BusinessObjectDataServiceImplTest extends AbstractServiceTest
     @Mock
     private BusinessObjectDataStatusDaoHelper businessObjectDataStatusDaoHelper;
 
+    @Mock
+    private BusinessObjectDataUploadPreparationHelperService businessObjectDataUploadPreparationHelperService;
+
     @Mock
     private BusinessObjectDefinitionDaoHelper businessObjectDefinitionDaoHelper;
 
@@ -130,6 +144,9 @@ public class BusinessObjectDataServiceImplTest extends AbstractServiceTest
     @Mock
     private BusinessObjectFormatHelper businessObjectFormatHelper;
 
+    @Mock
+    private CollectionRequestHelper collectionRequestHelper;
+
     @Mock
     private ConfigurationHelper configurationHelper;
 
@@ -163,6 +180,9 @@ public class BusinessObjectDataServiceImplTest extends AbstractServiceTest
     @Mock
     private StorageUnitHelper storageUnitHelper;
 
+    @Mock
+    private StorageUnitService storageUnitService;
+
     @Before
     public void before()
     {
@@ -224,6 +244,53 @@ public class BusinessObjectDataServiceImplTest extends AbstractServiceTest
         assertEquals(businessObjectData, result);
     }
 
+    @Test
+    public void testPrepareBusinessObjectDataUpload()
+    {
+        // Create a business object data key.
+        BusinessObjectDataKey businessObjectDataKey =
+            new BusinessObjectDataKey(BDEF_NAMESPACE, BDEF_NAME, FORMAT_USAGE_CODE, FORMAT_FILE_TYPE_CODE, FORMAT_VERSION, PARTITION_VALUE, SUBPARTITION_VALUES,
+                DATA_VERSION);
+
+        // Create a business object data upload preparation request.
+        BusinessObjectDataUploadPreparationRequest request = new BusinessObjectDataUploadPreparationRequest();
+
+        // Create a business object data upload preparation response as returned by the helper service.
+        BusinessObjectData businessObjectData = new BusinessObjectData();
+        businessObjectData.setId(ID);
+        BusinessObjectDataUploadPreparationResponse businessObjectDataUploadPreparationResponse = new BusinessObjectDataUploadPreparationResponse();
+        businessObjectDataUploadPreparationResponse.setBusinessObjectData(businessObjectData);
+        businessObjectDataUploadPreparationResponse.setStorage(new Storage(STORAGE_NAME, StoragePlatformEntity.S3, NO_ATTRIBUTES));
+        businessObjectDataUploadPreparationResponse.setS3KeyPrefix(S3_KEY_PREFIX);
+
+        // Create a storage unit upload credential.
+        AwsCredential awsCredential = new AwsCredential(AWS_ASSUMED_ROLE_ACCESS_KEY, AWS_ASSUMED_ROLE_SECRET_KEY, AWS_ASSUMED_ROLE_SESSION_TOKEN,
+            AWS_ASSUMED_ROLE_SESSION_EXPIRATION_TIME);
+        StorageUnitUploadCredential storageUnitUploadCredential = new StorageUnitUploadCredential(awsCredential, AWS_KMS_KEY_ID);
+
+        // Mock the external calls.
+        when(businessObjectDataUploadPreparationHelperService.prepareToUpload(request)).thenReturn(businessObjectDataUploadPreparationResponse);
+        when(businessObjectDataHelper.getBusinessObjectDataKey(businessObjectData)).thenReturn(businessObjectDataKey);
+        when(storageUnitService.getStorageUnitUploadCredential(businessObjectDataKey, null, STORAGE_NAME)).thenReturn(storageUnitUploadCredential);
+
+        // Call the method under test.
+        BusinessObjectDataUploadPreparationResponse result = businessObjectDataServiceImpl.prepareBusinessObjectDataUpload(request);
+
+        // Verify the external calls. The upload credentials are issued only after the registration step returns.
+        InOrder inOrder = inOrder(businessObjectDataUploadPreparationHelperService, storageUnitService);
+        inOrder.verify(businessObjectDataUploadPreparationHelperService).prepareToUpload(request);
+        verify(businessObjectDataHelper).getBusinessObjectDataKey(businessObjectData);
+        inOrder.verify(storageUnitService).getStorageUnitUploadCredential(businessObjectDataKey, null, STORAGE_NAME);
+        verifyNoMoreInteractionsHelper();
+
+        // Validate the results.
+        assertEquals(businessObjectData, result.getBusinessObjectData());
+        assertEquals(STORAGE_NAME, result.getStorage().getName());
+        assertEquals(S3_KEY_PREFIX, result.getS3KeyPrefix());
+        assertEquals(awsCredential, result.getAwsCredential());
+        assertEquals(AWS_KMS_KEY_ID, result.getAwsKmsKeyId());
+    }
+
     @Test
     public void testUpdateBusinessObjectDataAttributes()
     {
@@ -557,8 +624,8 @@ public class BusinessObjectDataServiceImplTest extends AbstractServiceTest
         verifyNoMoreInteractions(attributeDaoHelper, attributeHelper, businessObjectDataDao, businessObjectDataDaoHelper, businessObjectDataHelper,
             businessObjectDataInitiateDestroyHelperService, businessObjectDataInitiateRestoreHelperService, businessObjectDataInvalidateUnregisteredHelper,
             businessObjectDataRetryStoragePolicyTransitionHelper, businessObjectDataSearchHelper, businessObjectDataStatusDaoHelper,
-            businessObjectDefinitionDaoHelper, businessObjectDefinitionHelper, businessObjectFormatDaoHelper, businessObjectFormatHelper, configurationHelper,
-            customDdlDaoHelper, ddlGeneratorFactory, jsonHelper, notificationEventService, s3KeyPrefixHelper, s3Service, storageDaoHelper, storageHelper,
-            storageUnitDao, storageUnitHelper);
+            businessObjectDataUploadPreparationHelperService, businessObjectDefinitionDaoHelper, businessObjectDefinitionHelper, businessObjectFormatDaoHelper,
+            businessObjectFormatHelper, collectionRequestHelper, configurationHelper, customDdlDaoHelper, ddlGeneratorFactory, jsonHelper,
+            notificationEventService, s3KeyPrefixHelper, s3Service, storageDaoHelper, storageHelper, storageUnitDao, storageUnitHelper, storageUnitService);
     }
 }
@@ -21,6 +21,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -45,6 +46,7 @@ import org.finra.herd.model.jpa.StorageUnitEntity;
 import org.finra.herd.service.AbstractServiceTest;
 import org.finra.herd.service.helper.BusinessObjectDataDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
+import org.finra.herd.service.helper.BusinessObjectDataPartitionSummaryDaoHelper;
 import org.finra.herd.service.helper.StorageDaoHelper;
 import org.finra.herd.service.helper.StorageFileHelper;
 import org.finra.herd.service.helper.StorageUnitHelper;
@@ -60,6 +62,9 @@ public class BusinessObjectDataStorageUnitServiceImplTest extends AbstractServic
     @Mock
     private BusinessObjectDataHelper businessObjectDataHelper;
 
+    @Mock
+    private BusinessObjectDataPartitionSummaryDaoHelper businessObjectDataPartitionSummaryDaoHelper;
+
     @InjectMocks
     private BusinessObjectDataStorageUnitServiceImpl businessObjectDataStorageUnitServiceImpl;
 
@@ -108,6 +113,7 @@ public class BusinessObjectDataStorageUnitServiceImplTest extends AbstractServic
         // Create a business object data entity.
         BusinessObjectDataEntity businessObjectDataEntity = new BusinessObjectDataEntity();
         businessObjectDataEntity.setId(ID);
+        businessObjectDataEntity.setStorageUnits(new ArrayList<>());
 
         // Create a storage entity.
         StorageEntity storageEntity = new StorageEntity();
@@ -153,6 +159,7 @@ public class BusinessObjectDataStorageUnitServiceImplTest extends AbstractServic
         verify(storageUnitHelper).createBusinessObjectDataStorageUnitKey(businessObjectDataKey, STORAGE_NAME);
         verify(storageFileHelper).createStorageFilesFromEntities(storageFileEntities);
         verify(storageUnitDao).saveAndRefresh(storageUnitEntity);
+        verify(businessObjectDataPartitionSummaryDaoHelper).updateBusinessObjectDataPartitionSummary(businessObjectDataEntity);
         verifyNoMoreInteractionsHelper();
 
         // Validate the results.
@@ -288,6 +295,7 @@ public class BusinessObjectDataStorageUnitServiceImplTest extends AbstractServic
      */
     private void verifyNoMoreInteractionsHelper()
     {
-        verifyNoMoreInteractions(businessObjectDataDaoHelper, businessObjectDataHelper, storageDaoHelper, storageFileHelper, storageUnitDao, storageUnitHelper);
+        verifyNoMoreInteractions(businessObjectDataDaoHelper, businessObjectDataHelper, businessObjectDataPartitionSummaryDaoHelper, storageDaoHelper,
+            storageFileHelper, storageUnitDao, storageUnitHelper);
     }
 }
@@ -28,6 +28,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.dao.BusinessObjectDataDao;
 import org.finra.herd.dao.BusinessObjectDefinitionDao;
 import org.finra.herd.dao.BusinessObjectFormatDao;
@@ -45,6 +46,7 @@ import org.finra.herd.service.helper.BusinessObjectDefinitionDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDefinitionHelper;
 import org.finra.herd.service.helper.BusinessObjectFormatDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectFormatHelper;
+import org.finra.herd.service.helper.CollectionRequestHelper;
 import org.finra.herd.service.helper.CustomDdlDaoHelper;
 import org.finra.herd.service.helper.DdlGeneratorFactory;
 import org.finra.herd.service.helper.FileTypeDaoHelper;
@@ -83,6 +85,12 @@ public class BusinessObjectFormatServiceImplTest extends AbstractServiceTest
     @InjectMocks
     private BusinessObjectFormatServiceImpl businessObjectFormatServiceImpl;
 
+    @Mock
+    private CollectionRequestHelper collectionRequestHelper;
+
+    @Mock
+    private ConfigurationHelper configurationHelper;
+
     @Mock
     private CustomDdlDaoHelper customDdlDaoHelper;
 
@@ -480,7 +488,8 @@ public class BusinessObjectFormatServiceImplTest extends AbstractServiceTest
     private void verifyNoMoreInteractionsHelper()
     {
         verifyNoMoreInteractions(alternateKeyHelper, attributeHelper, businessObjectDataDao, businessObjectDefinitionDao, businessObjectDefinitionDaoHelper,
-            businessObjectDefinitionHelper, businessObjectFormatDao, businessObjectFormatDaoHelper, businessObjectFormatHelper, customDdlDaoHelper,
-            ddlGeneratorFactory, fileTypeDaoHelper, messageNotificationEventService, partitionKeyGroupDaoHelper, searchIndexUpdateHelper);
+            businessObjectDefinitionHelper, businessObjectFormatDao, businessObjectFormatDaoHelper, businessObjectFormatHelper, collectionRequestHelper,
+            configurationHelper, customDdlDaoHelper, ddlGeneratorFactory, fileTypeDaoHelper, messageNotificationEventService, partitionKeyGroupDaoHelper,
+            searchIndexUpdateHelper);
     }
 }
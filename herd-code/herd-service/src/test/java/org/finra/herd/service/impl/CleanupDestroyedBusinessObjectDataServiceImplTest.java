@@ -50,6 +50,7 @@ import org.finra.herd.service.AbstractServiceTest;
 import org.finra.herd.service.NotificationEventService;
 import org.finra.herd.service.helper.BusinessObjectDataDaoHelper;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
+import org.finra.herd.service.helper.BusinessObjectDataPartitionSummaryDaoHelper;
 import org.finra.herd.service.helper.StorageUnitHelper;
 
 /**
@@ -66,6 +67,9 @@ public class CleanupDestroyedBusinessObjectDataServiceImplTest extends AbstractS
     @Mock
     private BusinessObjectDataHelper mockBusinessObjectDataHelper;
 
+    @Mock
+    private BusinessObjectDataPartitionSummaryDaoHelper mockBusinessObjectDataPartitionSummaryDaoHelper;
+
     @InjectMocks
     private CleanupDestroyedBusinessObjectDataServiceImpl cleanupDestroyedBusinessObjectDataService;
 
@@ -121,6 +125,7 @@ public class CleanupDestroyedBusinessObjectDataServiceImplTest extends AbstractS
 
         verify(businessObjectDataEntity).getStorageUnits();
 
+        verify(mockBusinessObjectDataPartitionSummaryDaoHelper).deleteBusinessObjectDataFromPartitionSummary(businessObjectDataEntity);
         verify(mockBusinessObjectDataDao).delete(businessObjectDataEntity);
 
         verify(mockNotificationEventService)
@@ -241,7 +246,7 @@ public class CleanupDestroyedBusinessObjectDataServiceImplTest extends AbstractS
      */
     private void verifyNoMoreInteractionsHelper()
     {
-        verifyNoMoreInteractions(mockBusinessObjectDataHelper, mockBusinessObjectDataDaoHelper, mockBusinessObjectDataDao, mockNotificationEventService,
-            mockStorageUnitDao, mockStorageUnitHelper);
+        verifyNoMoreInteractions(mockBusinessObjectDataHelper, mockBusinessObjectDataDaoHelper, mockBusinessObjectDataDao,
+            mockBusinessObjectDataPartitionSummaryDaoHelper, mockNotificationEventService, mockStorageUnitDao, mockStorageUnitHelper);
     }
 }
@@ -213,10 +213,12 @@ public class ExpireRestoredBusinessObjectDataHelperServiceImplTest extends Abstr
         finalS3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
         finalS3FileTransferRequestParamsDto.setS3Endpoint(S3_ENDPOINT);
         finalS3FileTransferRequestParamsDto.setS3KeyPrefix(S3_KEY_PREFIX + "/");
+        finalS3FileTransferRequestParamsDto.setMaxThreads(INTEGER_VALUE);
         finalS3FileTransferRequestParamsDto.setFiles(files);
 
         // Mock the external calls.
         when(storageHelper.getS3FileTransferRequestParamsDto()).thenReturn(s3FileTransferRequestParamsDto);
+        when(configurationHelper.getProperty(ConfigurationValue.BDATA_RESTORE_S3_MAX_THREADS, Integer.class)).thenReturn(INTEGER_VALUE);
         when(s3Service.listDirectory(updatedS3FileTransferRequestParamsDto, true)).thenReturn(s3Files);
         when(storageFileHelper.createStorageFilesFromS3ObjectSummaries(glacierS3Files)).thenReturn(glacierStorageFiles);
         when(storageFileHelper.getFiles(glacierStorageFiles)).thenReturn(files);
@@ -230,6 +232,7 @@ public class ExpireRestoredBusinessObjectDataHelperServiceImplTest extends Abstr
         verify(storageFileHelper).validateRegisteredS3Files(storageFiles, s3Files, STORAGE_NAME, businessObjectDataKey);
         verify(storageFileHelper).createStorageFilesFromS3ObjectSummaries(glacierS3Files);
         verify(storageFileHelper).getFiles(glacierStorageFiles);
+        verify(configurationHelper).getProperty(ConfigurationValue.BDATA_RESTORE_S3_MAX_THREADS, Integer.class);
         verify(s3Service).restoreObjects(finalS3FileTransferRequestParamsDto, 1, null);
         verifyNoMoreInteractionsHelper();
     }
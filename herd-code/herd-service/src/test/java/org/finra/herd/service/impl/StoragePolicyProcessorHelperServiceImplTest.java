@@ -234,6 +234,8 @@ public class StoragePolicyProcessorHelperServiceImplTest extends AbstractService
         updatedS3FileTransferRequestParamsDto.setS3Endpoint(S3_ENDPOINT);
         updatedS3FileTransferRequestParamsDto.setS3BucketName(S3_BUCKET_NAME);
         updatedS3FileTransferRequestParamsDto.setS3KeyPrefix(TEST_S3_KEY_PREFIX + "/");
+        updatedS3FileTransferRequestParamsDto.setMaxThreads(INTEGER_VALUE);
+        updatedS3FileTransferRequestParamsDto.setSkipObjectTagLookup(false);
 
         // Create an updated S3 file transfer parameters DTO to be used for S3 object tagging operation.
         S3FileTransferRequestParamsDto updatedS3ObjectTaggerParamsDto = new S3FileTransferRequestParamsDto();
@@ -248,6 +250,8 @@ public class StoragePolicyProcessorHelperServiceImplTest extends AbstractService
             .thenReturn(s3ObjectTaggerParamsDto);
         when(s3Service.listDirectory(s3FileTransferRequestParamsDto, true)).thenReturn(actualS3FilesWithoutZeroByteDirectoryMarkers);
         when(s3Service.listDirectory(s3FileTransferRequestParamsDto, false)).thenReturn(actualS3Files);
+        when(configurationHelper.getProperty(ConfigurationValue.S3_OBJECT_TAGGING_MAX_THREADS, Integer.class)).thenReturn(INTEGER_VALUE);
+        when(configurationHelper.getBooleanProperty(ConfigurationValue.S3_OBJECT_TAGGING_SKIP_TAG_LOOKUP)).thenReturn(false);
 
         // Call the method under test.
         storagePolicyProcessorHelperServiceImpl.executeStoragePolicyTransitionImpl(storagePolicyTransitionParamsDto);
@@ -259,6 +263,8 @@ public class StoragePolicyProcessorHelperServiceImplTest extends AbstractService
         verify(storageFileHelper).validateRegisteredS3Files(storageFiles, actualS3FilesWithoutZeroByteDirectoryMarkers, STORAGE_NAME, businessObjectDataKey);
         verify(s3Service).listDirectory(s3FileTransferRequestParamsDto, true);
         verify(s3Service).listDirectory(s3FileTransferRequestParamsDto, false);
+        verify(configurationHelper).getProperty(ConfigurationValue.S3_OBJECT_TAGGING_MAX_THREADS, Integer.class);
+        verify(configurationHelper).getBooleanProperty(ConfigurationValue.S3_OBJECT_TAGGING_SKIP_TAG_LOOKUP);
         verify(s3Service)
             .tagObjects(updatedS3FileTransferRequestParamsDto, updatedS3ObjectTaggerParamsDto, actualS3Files, new Tag(S3_OBJECT_TAG_KEY, S3_OBJECT_TAG_VALUE));
         verifyNoMoreInteractionsHelper();
@@ -68,7 +68,7 @@ public class TestBusinessObjectDataServiceImpl extends BusinessObjectDataService
     public BusinessObjectDataAvailabilityCollectionResponse checkBusinessObjectDataAvailabilityCollection(
         BusinessObjectDataAvailabilityCollectionRequest request)
     {
-        return checkBusinessObjectDataAvailabilityCollectionImpl(request);
+        return checkBusinessObjectDataAvailabilityCollectionImpl(request, 1);
     }
 
     /**
@@ -113,7 +113,7 @@ public class TestBusinessObjectDataServiceImpl extends BusinessObjectDataService
     @Override
     public BusinessObjectDataDdlCollectionResponse generateBusinessObjectDataDdlCollection(BusinessObjectDataDdlCollectionRequest request)
     {
-        return generateBusinessObjectDataDdlCollectionImpl(request);
+        return generateBusinessObjectDataDdlCollectionImpl(request, 1);
     }
 
     /**
@@ -50,6 +50,6 @@ public class TestBusinessObjectFormatServiceImpl extends BusinessObjectFormatSer
     @Override
     public BusinessObjectFormatDdlCollectionResponse generateBusinessObjectFormatDdlCollection(BusinessObjectFormatDdlCollectionRequest request)
     {
-        return generateBusinessObjectFormatDdlCollectionImpl(request);
+        return generateBusinessObjectFormatDdlCollectionImpl(request, 1);
     }
 }
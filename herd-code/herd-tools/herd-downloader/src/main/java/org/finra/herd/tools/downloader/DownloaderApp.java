@@ -15,6 +15,7 @@
 */
 package org.finra.herd.tools.downloader;
 
+import org.apache.commons.cli.Option;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configurator;
 import org.slf4j.Logger;
@@ -34,6 +35,9 @@ public class DownloaderApp extends DataBridgeApp
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(DownloaderApp.class);
 
+    // The downloader specific command line options.
+    private Option resumeOpt;
+
     // An argument parser for the application.
     private ArgumentParser argParser;
 
@@ -43,6 +47,10 @@ public class DownloaderApp extends DataBridgeApp
     public DownloaderApp()
     {
         argParser = new ArgumentParser("herd-downloader-app");
+
+        // Create command line options specific to the downloader. Other common options will be handled by the base class.
+        resumeOpt = argParser.addArgument("r", "resume", false,
+            "If set, resumes an earlier download into the local path by downloading only the files that are missing or were partially downloaded.", false);
     }
 
     /**
@@ -78,7 +86,7 @@ public class DownloaderApp extends DataBridgeApp
             RegServerAccessParamsDto.builder().withRegServerHost(regServerHost).withRegServerPort(regServerPort).withUseSsl(useSsl)
                 .withUsername(argParser.getStringValue(usernameOpt)).withPassword(argParser.getStringValue(passwordOpt))
                 .withTrustSelfSignedCertificate(trustSelfSignedCertificate).withDisableHostnameVerification(disableHostnameVerification).build();
-        controller.performDownload(regServerAccessParamsDto, argParser.getFileValue(manifestPathOpt), params);
+        controller.performDownload(regServerAccessParamsDto, argParser.getFileValue(manifestPathOpt), params, argParser.getBooleanValue(resumeOpt));
 
         // No exceptions were returned so return success.
         return ReturnValue.SUCCESS;
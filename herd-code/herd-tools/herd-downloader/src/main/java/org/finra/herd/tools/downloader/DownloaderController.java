@@ -17,18 +17,31 @@ package org.finra.herd.tools.downloader;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.xml.bind.JAXBException;
 
+import com.amazonaws.services.s3.model.S3ObjectSummary;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.slf4j.Logger;
@@ -52,6 +65,7 @@ import org.finra.herd.model.dto.DownloaderOutputManifestDto;
 import org.finra.herd.model.dto.ManifestFile;
 import org.finra.herd.model.dto.RegServerAccessParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+import org.finra.herd.model.dto.S3FileTransferResultsDto;
 import org.finra.herd.service.helper.BusinessObjectDataHelper;
 import org.finra.herd.service.helper.StorageFileHelper;
 import org.finra.herd.service.helper.StorageHelper;
@@ -92,12 +106,43 @@ public class DownloaderController extends DataBridgeController
      */
     private static final String OUTPUT_MANIFEST_FILE_NAME = "manifest.json";
 
+    /**
+     * The suffix of the journal file that lists the ETags of the S3 files that got downloaded into a target local directory, when downloading in the resume
+     * mode. A file is recorded once when its download starts and once more when it is completely downloaded. The journal file is kept next to the target local
+     * directory, so it does not get mixed up with the downloaded files.
+     */
+    static final String DOWNLOAD_JOURNAL_FILE_SUFFIX = ".download-journal";
+
+    /**
+     * Executes the downloader workflow.
+     *
+     * @param regServerAccessParamsDto the DTO for the parameters required to communicate with the herd registration server
+     * @param manifestPath the local path to the manifest file
+     * @param s3FileTransferRequestParamsDto the S3 file transfer DTO request parameters
+     *
+     * @throws InterruptedException if the upload thread was interrupted
+     * @throws JAXBException if a JAXB error was encountered
+     * @throws IOException if an I/O error was encountered
+     * @throws URISyntaxException if a URI syntax error was encountered
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     */
+    public void performDownload(RegServerAccessParamsDto regServerAccessParamsDto, File manifestPath,
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto)
+        throws InterruptedException, JAXBException, IOException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
+    {
+        performDownload(regServerAccessParamsDto, manifestPath, s3FileTransferRequestParamsDto, false);
+    }
+
     /**
      * Executes the downloader workflow.
      *
      * @param regServerAccessParamsDto the DTO for the parameters required to communicate with the herd registration server
      * @param manifestPath the local path to the manifest file
      * @param s3FileTransferRequestParamsDto the S3 file transfer DTO request parameters
+     * @param resume specifies whether to resume an earlier download into the target local directory. When set, only the files that are missing or were
+     * partially downloaded get transferred and a failed download leaves the target local directory as is, so that it can be resumed again
      *
      * @throws InterruptedException if the upload thread was interrupted
      * @throws JAXBException if a JAXB error was encountered
@@ -111,7 +156,7 @@ public class DownloaderController extends DataBridgeController
         "manifestReader.readJsonManifest will always return an DownloaderInputManifestDto object. targetLocalDirectory.list().length will not" +
             " return a NullPointerException.")
     public void performDownload(RegServerAccessParamsDto regServerAccessParamsDto, File manifestPath,
-        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto)
+        S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, boolean resume)
         throws InterruptedException, JAXBException, IOException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
     {
         boolean cleanUpTargetLocalDirectoryOnFailure = false;
@@ -155,7 +200,7 @@ public class DownloaderController extends DataBridgeController
                     throw new IllegalArgumentException(String.format("Failed to create target local directory \"%s\".", targetLocalDirectory.getPath()));
                 }
             }
-            else
+            else if (!resume)
             {
                 // Check if the target local directory is empty.
                 if (targetLocalDirectory.list().length > 0)
@@ -176,7 +221,8 @@ public class DownloaderController extends DataBridgeController
             // Since the S3 key prefix represents a directory, we add a trailing '/' character to it.
             s3FileTransferRequestParamsDto.setS3KeyPrefix(s3KeyPrefixInformation.getS3KeyPrefix() + "/");
             // When listing S3 files, we ignore 0 byte objects that represent S3 directories.
-            List<String> actualS3Files = storageFileHelper.getFilePathsFromS3ObjectSummaries(s3Service.listDirectory(s3FileTransferRequestParamsDto, true));
+            List<S3ObjectSummary> s3ObjectSummaries = s3Service.listDirectory(s3FileTransferRequestParamsDto, true);
+            List<String> actualS3Files = storageFileHelper.getFilePathsFromS3ObjectSummaries(s3ObjectSummaries);
 
             // Validate S3 files before we start the download.
             storageFileHelper.validateStorageUnitS3Files(storageUnit, actualS3Files, s3KeyPrefixInformation.getS3KeyPrefix());
@@ -185,9 +231,16 @@ public class DownloaderController extends DataBridgeController
             s3FileTransferRequestParamsDto.setMaxThreads(adjustIntegerValue(s3FileTransferRequestParamsDto.getMaxThreads(), MIN_THREADS, MAX_THREADS));
 
             // Download S3 files to the target local directory.
-            s3FileTransferRequestParamsDto.setRecursive(true);
-            cleanUpTargetLocalDirectoryOnFailure = true;
-            s3Service.downloadDirectory(s3FileTransferRequestParamsDto);
+            if (resume)
+            {
+                resumeDownload(s3FileTransferRequestParamsDto, storageUnit, s3ObjectSummaries, targetLocalDirectory);
+            }
+            else
+            {
+                s3FileTransferRequestParamsDto.setRecursive(true);
+                cleanUpTargetLocalDirectoryOnFailure = true;
+                s3Service.downloadDirectory(s3FileTransferRequestParamsDto);
+            }
 
             // Validate the downloaded files.
             storageFileHelper.validateDownloadedS3Files(s3FileTransferRequestParamsDto.getLocalPath(), s3KeyPrefixInformation.getS3KeyPrefix(), storageUnit);
@@ -202,6 +255,12 @@ public class DownloaderController extends DataBridgeController
             DownloaderOutputManifestDto downloaderOutputManifestDto =
                 createDownloaderOutputManifestDto(businessObjectData, storageUnit, s3KeyPrefixInformation.getS3KeyPrefix());
             manifestWriter.writeJsonManifest(targetLocalDirectory, OUTPUT_MANIFEST_FILE_NAME, downloaderOutputManifestDto);
+
+            // The journal is no longer needed once the download is complete.
+            if (resume)
+            {
+                Files.deleteIfExists(getDownloadJournalFile(targetLocalDirectory).toPath());
+            }
         }
         catch (InterruptedException | JAXBException | IOException | URISyntaxException e)
         {
@@ -217,6 +276,188 @@ public class DownloaderController extends DataBridgeController
         }
     }
 
+    /**
+     * Downloads the storage unit files that are not in the target local directory yet, resuming the partially downloaded ones. The files get downloaded
+     * concurrently, up to the maximum number of threads. Every file is recorded in the download journal with the ETag of its S3 file before its download
+     * starts and once more as soon as it is completely downloaded and validated. The completely downloaded files are skipped as long as their S3 file and
+     * their local size did not change, while a partially downloaded file is only resumed when its S3 file still has the ETag it was started from, otherwise
+     * it gets downloaded again from the start.
+     *
+     * @param s3FileTransferRequestParamsDto the S3 file transfer DTO request parameters
+     * @param storageUnit the S3 storage unit to download the files of
+     * @param s3ObjectSummaries the summaries of the S3 files listed for the storage unit
+     * @param targetLocalDirectory the target local directory
+     *
+     * @throws InterruptedException if the download thread was interrupted
+     * @throws IOException if an I/O error was encountered
+     */
+    private void resumeDownload(S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto, StorageUnit storageUnit,
+        List<S3ObjectSummary> s3ObjectSummaries, File targetLocalDirectory) throws InterruptedException, IOException
+    {
+        Map<String, String> eTags = new HashMap<>();
+        for (S3ObjectSummary s3ObjectSummary : s3ObjectSummaries)
+        {
+            eTags.put(s3ObjectSummary.getKey(), s3ObjectSummary.getETag());
+        }
+
+        File journalFile = getDownloadJournalFile(targetLocalDirectory);
+        Set<String> journalEntries = journalFile.isFile() ? new HashSet<>(Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8)) : new HashSet<>();
+
+        List<StorageFile> storageFiles = storageUnit.getStorageFiles() == null ? new ArrayList<>() : storageUnit.getStorageFiles();
+
+        // An output manifest found in the target local directory was created by an earlier download, so it gets created again at the end.
+        Path outputManifestPath = targetLocalDirectory.toPath().resolve(OUTPUT_MANIFEST_FILE_NAME);
+        if (storageFiles.stream()
+            .noneMatch(storageFile -> Paths.get(s3FileTransferRequestParamsDto.getLocalPath(), storageFile.getFilePath()).equals(outputManifestPath)))
+        {
+            Files.deleteIfExists(outputManifestPath);
+        }
+
+        List<StorageFile> storageFilesToDownload = new ArrayList<>();
+        for (StorageFile storageFile : storageFiles)
+        {
+            File localFile = Paths.get(s3FileTransferRequestParamsDto.getLocalPath(), storageFile.getFilePath()).toFile();
+            String eTag = eTags.get(storageFile.getFilePath());
+            if (!journalEntries.contains(getDownloadJournalEntry(storageFile, eTag)) || localFile.length() != storageFile.getFileSizeBytes())
+            {
+                // The local file can't be resumed from unless it was downloaded from the same version of the S3 file.
+                if (!journalEntries.contains(getDownloadJournalStartEntry(storageFile, eTag)))
+                {
+                    Files.deleteIfExists(localFile.toPath());
+                }
+
+                storageFilesToDownload.add(storageFile);
+            }
+        }
+
+        LOGGER.info(String.format("Resuming the download into \"%s\" target local directory. Downloading %d out of %d files.", targetLocalDirectory.getPath(),
+            storageFilesToDownload.size(), storageFiles.size()));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(s3FileTransferRequestParamsDto.getMaxThreads());
+        try (Writer journalWriter = Files.newBufferedWriter(journalFile.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND))
+        {
+            List<Future<S3FileTransferResultsDto>> futures = new ArrayList<>();
+            for (StorageFile storageFile : storageFilesToDownload)
+            {
+                futures.add(executorService.submit(() -> {
+                    File localFile = Paths.get(s3FileTransferRequestParamsDto.getLocalPath(), storageFile.getFilePath()).toFile();
+                    Files.createDirectories(localFile.getParentFile().toPath());
+
+                    String eTag = eTags.get(storageFile.getFilePath());
+                    if (!journalEntries.contains(getDownloadJournalStartEntry(storageFile, eTag)))
+                    {
+                        writeDownloadJournalEntry(journalWriter, getDownloadJournalStartEntry(storageFile, eTag));
+                    }
+
+                    S3FileTransferResultsDto results =
+                        s3Service.resumeDownloadFile(s3FileTransferRequestParamsDto, storageFile.getFilePath(), localFile, eTag);
+
+                    writeDownloadJournalEntry(journalWriter, getDownloadJournalEntry(storageFile, eTag));
+
+                    return results;
+                }));
+            }
+
+            // Wait for all the files, so that every file that can be downloaded makes it into the journal, and then report the first failure.
+            long totalBytesTransferred = 0;
+            Exception failure = null;
+            for (Future<S3FileTransferResultsDto> future : futures)
+            {
+                try
+                {
+                    totalBytesTransferred += future.get().getTotalBytesTransferred();
+                }
+                catch (ExecutionException e)
+                {
+                    if (failure == null)
+                    {
+                        failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    }
+                }
+            }
+
+            if (failure instanceof InterruptedException)
+            {
+                throw (InterruptedException) failure;
+            }
+            else if (failure instanceof IOException)
+            {
+                throw (IOException) failure;
+            }
+            else if (failure instanceof RuntimeException)
+            {
+                throw (RuntimeException) failure;
+            }
+            else if (failure != null)
+            {
+                throw new IllegalStateException(failure.getMessage(), failure);
+            }
+
+            LOGGER.info(String.format("Downloaded %d files into \"%s\" target local directory. totalBytesTransferred=%d", storageFilesToDownload.size(),
+                targetLocalDirectory.getPath(), totalBytesTransferred));
+        }
+        finally
+        {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the download journal file of a target local directory.
+     *
+     * @param targetLocalDirectory the target local directory
+     *
+     * @return the download journal file
+     */
+    private File getDownloadJournalFile(File targetLocalDirectory)
+    {
+        return new File(targetLocalDirectory.getPath() + DOWNLOAD_JOURNAL_FILE_SUFFIX);
+    }
+
+    /**
+     * Gets the download journal entry of a completely downloaded storage file.
+     *
+     * @param storageFile the storage file
+     * @param eTag the ETag of the S3 file the storage file was downloaded from
+     *
+     * @return the download journal entry
+     */
+    private String getDownloadJournalEntry(StorageFile storageFile, String eTag)
+    {
+        return storageFile.getFileSizeBytes() + "\t" + eTag + "\t" + storageFile.getFilePath();
+    }
+
+    /**
+     * Gets the download journal entry of a storage file whose download started.
+     *
+     * @param storageFile the storage file
+     * @param eTag the ETag of the S3 file the storage file is downloaded from
+     *
+     * @return the download journal entry
+     */
+    private String getDownloadJournalStartEntry(StorageFile storageFile, String eTag)
+    {
+        return eTag + "\t" + storageFile.getFilePath();
+    }
+
+    /**
+     * Appends an entry to the download journal, making sure that it is written before the download goes on.
+     *
+     * @param journalWriter the download journal writer shared by the concurrent downloads
+     * @param journalEntry the download journal entry
+     *
+     * @throws IOException if an I/O error was encountered
+     */
+    private void writeDownloadJournalEntry(Writer journalWriter, String journalEntry) throws IOException
+    {
+        synchronized (journalWriter)
+        {
+            journalWriter.write(journalEntry);
+            journalWriter.write(System.lineSeparator());
+            journalWriter.flush();
+        }
+    }
+
     /**
      * Logs all files found in the specified local directory.
      *
@@ -16,26 +16,38 @@
 package org.finra.herd.tools.downloader;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.xml.datatype.DatatypeFactory;
 
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
 import org.apache.commons.io.FileUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -50,6 +62,7 @@ import org.finra.herd.model.api.xml.AwsCredential;
 import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.S3KeyPrefixInformation;
 import org.finra.herd.model.api.xml.Storage;
+import org.finra.herd.model.api.xml.StorageFile;
 import org.finra.herd.model.api.xml.StorageUnit;
 import org.finra.herd.model.api.xml.StorageUnitDownloadCredential;
 import org.finra.herd.model.dto.DownloaderInputManifestDto;
@@ -355,6 +368,178 @@ public class DownloaderControllerTest extends AbstractDownloaderTest
         }
     }
 
+    /**
+     * Asserts that a download in the resume mode keeps the files downloaded before a failure, that resuming it downloads only the rest of the data and that a
+     * partially downloaded file gets downloaded again from the start once its S3 file was replaced.
+     */
+    @Test
+    public void testPerformDownloadResume() throws Exception
+    {
+        /*
+         * Create and inject mock objects
+         */
+        DownloaderWebClient mockDownloaderWebClient = mock(DownloaderWebClient.class);
+        DownloaderWebClient originalDownloaderWebClient = (DownloaderWebClient) ReflectionTestUtils.getField(downloaderController, "downloaderWebClient");
+        ReflectionTestUtils.setField(downloaderController, "downloaderWebClient", mockDownloaderWebClient);
+
+        DownloaderManifestReader mockDownloaderManifestReader = mock(DownloaderManifestReader.class);
+        DownloaderManifestReader originalDownloaderManifestReader =
+            (DownloaderManifestReader) ReflectionTestUtils.getField(downloaderController, "manifestReader");
+        ReflectionTestUtils.setField(downloaderController, "manifestReader", mockDownloaderManifestReader);
+
+        BusinessObjectDataHelper mockBusinessObjectDataHelper = mock(BusinessObjectDataHelper.class);
+        BusinessObjectDataHelper originalBusinessObjectDataHelper =
+            (BusinessObjectDataHelper) ReflectionTestUtils.getField(downloaderController, "businessObjectDataHelper");
+        ReflectionTestUtils.setField(downloaderController, "businessObjectDataHelper", mockBusinessObjectDataHelper);
+
+        S3Service mockS3Service = mock(S3Service.class);
+        S3Service originalS3Service = (S3Service) ReflectionTestUtils.getField(downloaderController, "s3Service");
+        ReflectionTestUtils.setField(downloaderController, "s3Service", mockS3Service);
+
+        StorageFileHelper mockStorageFileHelper = mock(StorageFileHelper.class);
+        StorageFileHelper originalStorageFileHelper = (StorageFileHelper) ReflectionTestUtils.getField(downloaderController, "storageFileHelper");
+        ReflectionTestUtils.setField(downloaderController, "storageFileHelper", mockStorageFileHelper);
+
+        StorageHelper mockStorageHelper = mock(StorageHelper.class);
+        StorageHelper originalStorageHelper = (StorageHelper) ReflectionTestUtils.getField(downloaderController, "storageHelper");
+        ReflectionTestUtils.setField(downloaderController, "storageHelper", mockStorageHelper);
+
+        /*
+         * Start test
+         */
+        Path localPath = Files.createTempDirectory(null);
+        try
+        {
+            String s3KeyPrefix = "s3KeyPrefix";
+            String storageName = "storageName";
+            Path targetDirectoryPath = localPath.resolve(s3KeyPrefix);
+            File journalFile = new File(targetDirectoryPath.toString() + DownloaderController.DOWNLOAD_JOURNAL_FILE_SUFFIX);
+
+            StorageFile storageFile1 = new StorageFile();
+            storageFile1.setFilePath(s3KeyPrefix + "/file1");
+            storageFile1.setFileSizeBytes(4L);
+            StorageFile storageFile2 = new StorageFile();
+            storageFile2.setFilePath(s3KeyPrefix + "/file2");
+            storageFile2.setFileSizeBytes(4L);
+
+            StorageUnit storageUnit = new StorageUnit(new Storage(storageName, null, null), null, null, StorageUnitStatusEntity.ENABLED, null, null, null);
+            storageUnit.setStorageFiles(Arrays.asList(storageFile1, storageFile2));
+            S3KeyPrefixInformation s3KeyPrefixInformation = new S3KeyPrefixInformation();
+            s3KeyPrefixInformation.setS3KeyPrefix(s3KeyPrefix);
+
+            S3ObjectSummary s3ObjectSummary1 = new S3ObjectSummary();
+            s3ObjectSummary1.setKey(s3KeyPrefix + "/file1");
+            s3ObjectSummary1.setETag("eTag1");
+            S3ObjectSummary s3ObjectSummary2 = new S3ObjectSummary();
+            s3ObjectSummary2.setKey(s3KeyPrefix + "/file2");
+            s3ObjectSummary2.setETag("eTag2");
+            Map<String, String> s3FileData = new HashMap<>();
+            s3FileData.put("eTag1", "abcd");
+            s3FileData.put("eTag2", "efgh");
+            s3FileData.put("eTag3", "wxyz");
+
+            /*
+             * Mock operations on mocked dependencies. The attempts to download the second file fail half way through until told otherwise.
+             */
+            when(mockDownloaderManifestReader.readJsonManifest(any())).thenReturn(new DownloaderInputManifestDto());
+            when(mockDownloaderWebClient.getBusinessObjectData(any())).thenReturn(new BusinessObjectData());
+            when(mockBusinessObjectDataHelper.getStorageUnitByStorageName(any(), any())).thenReturn(storageUnit);
+            when(mockDownloaderWebClient.getS3KeyPrefix(any())).thenReturn(s3KeyPrefixInformation);
+            when(mockS3Service.listDirectory(any(), eq(true))).thenReturn(Arrays.asList(s3ObjectSummary1, s3ObjectSummary2));
+            AtomicBoolean failDownload = new AtomicBoolean(true);
+            List<Long> file2Offsets = Collections.synchronizedList(new ArrayList<>());
+            when(mockS3Service.resumeDownloadFile(any(), any(), any(), any())).then(new Answer<S3FileTransferResultsDto>()
+            {
+                @Override
+                public S3FileTransferResultsDto answer(InvocationOnMock invocation) throws Throwable
+                {
+                    File localFile = invocation.getArgument(2);
+                    String data = s3FileData.get(invocation.<String>getArgument(3));
+                    long offset = localFile.length();
+                    if ("file2".equals(localFile.getName()))
+                    {
+                        file2Offsets.add(offset);
+                    }
+                    boolean fail = "file2".equals(localFile.getName()) && failDownload.get();
+                    String dataToWrite = fail ? data.substring((int) offset, 2) : data.substring((int) offset);
+                    Files.write(localFile.toPath(), dataToWrite.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    if (fail)
+                    {
+                        throw new AmazonClientException("Connection reset");
+                    }
+
+                    S3FileTransferResultsDto results = new S3FileTransferResultsDto();
+                    results.setTotalBytesTransferred((long) dataToWrite.length());
+                    results.setTotalFilesTransferred(1L);
+                    return results;
+                }
+            });
+
+            S3FileTransferRequestParamsDto s3FileTransferRequestParamsDto = new S3FileTransferRequestParamsDto();
+            s3FileTransferRequestParamsDto.setLocalPath(localPath.toString());
+            s3FileTransferRequestParamsDto.setMaxThreads(2);
+
+            // Run the download and validate that both files got recorded in the journal when started, but only the first one as completely downloaded.
+            try
+            {
+                downloaderController.performDownload(null, null, s3FileTransferRequestParamsDto, true);
+                fail();
+            }
+            catch (AmazonClientException e)
+            {
+                assertEquals("Connection reset", e.getMessage());
+            }
+            assertEquals("abcd", new String(Files.readAllBytes(targetDirectoryPath.resolve("file1")), StandardCharsets.UTF_8));
+            assertEquals("ef", new String(Files.readAllBytes(targetDirectoryPath.resolve("file2")), StandardCharsets.UTF_8));
+            assertEquals(
+                new HashSet<>(Arrays.asList("eTag1\t" + s3KeyPrefix + "/file1", "4\teTag1\t" + s3KeyPrefix + "/file1", "eTag2\t" + s3KeyPrefix + "/file2")),
+                new HashSet<>(Files.readAllLines(journalFile.toPath(), StandardCharsets.UTF_8)));
+
+            // Replace the second S3 file and validate that resuming the download starts it over instead of appending to the data of the old version.
+            s3ObjectSummary2.setETag("eTag3");
+            try
+            {
+                downloaderController.performDownload(null, null, s3FileTransferRequestParamsDto, true);
+                fail();
+            }
+            catch (AmazonClientException e)
+            {
+                assertEquals("Connection reset", e.getMessage());
+            }
+            assertEquals("wx", new String(Files.readAllBytes(targetDirectoryPath.resolve("file2")), StandardCharsets.UTF_8));
+
+            // Resume the download and validate that only the partially downloaded file got downloaded again.
+            failDownload.set(false);
+            downloaderController.performDownload(null, null, s3FileTransferRequestParamsDto, true);
+
+            assertEquals("abcd", new String(Files.readAllBytes(targetDirectoryPath.resolve("file1")), StandardCharsets.UTF_8));
+            assertEquals("wxyz", new String(Files.readAllBytes(targetDirectoryPath.resolve("file2")), StandardCharsets.UTF_8));
+            assertEquals(Arrays.asList(0L, 0L, 2L), file2Offsets);
+            assertTrue(targetDirectoryPath.resolve("manifest.json").toFile().isFile());
+            assertFalse(journalFile.exists());
+            verify(mockS3Service, times(1)).resumeDownloadFile(any(), eq(s3KeyPrefix + "/file1"), any(), eq("eTag1"));
+            verify(mockS3Service, times(1)).resumeDownloadFile(any(), eq(s3KeyPrefix + "/file2"), any(), eq("eTag2"));
+            verify(mockS3Service, times(2)).resumeDownloadFile(any(), eq(s3KeyPrefix + "/file2"), any(), eq("eTag3"));
+            verify(mockS3Service, never()).downloadDirectory(any());
+        }
+        finally
+        {
+            /*
+             * Restore mocked dependencies to their original implementation
+             */
+            ReflectionTestUtils.setField(downloaderController, "downloaderWebClient", originalDownloaderWebClient);
+            ReflectionTestUtils.setField(downloaderController, "manifestReader", originalDownloaderManifestReader);
+            ReflectionTestUtils.setField(downloaderController, "businessObjectDataHelper", originalBusinessObjectDataHelper);
+            ReflectionTestUtils.setField(downloaderController, "s3Service", originalS3Service);
+            ReflectionTestUtils.setField(downloaderController, "storageFileHelper", originalStorageFileHelper);
+            ReflectionTestUtils.setField(downloaderController, "storageHelper", originalStorageHelper);
+
+            // Clean up any temporary files
+            FileUtils.deleteDirectory(localPath.toFile());
+            FileUtils.deleteQuietly(new File(localPath.resolve("s3KeyPrefix").toString() + DownloaderController.DOWNLOAD_JOURNAL_FILE_SUFFIX));
+        }
+    }
+
     @Test
     public void testCreateDownloaderOutputManifestDto()
     {
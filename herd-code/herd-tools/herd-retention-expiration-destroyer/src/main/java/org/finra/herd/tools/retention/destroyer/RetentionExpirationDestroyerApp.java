@@ -42,20 +42,46 @@ public class RetentionExpirationDestroyerApp
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RetentionExpirationDestroyerApp.class);
 
+    private static final Integer MAX_THREADS_DEFAULT = 1;           // Default number of business object data instances destroyed concurrently.
+
+    private static final Integer MAX_THREADS_MIN = 1;               // Minimum number of business object data instances destroyed concurrently.
+
+    private static final Integer MAX_THREADS_MAX = 100;             // Maximum number of business object data instances destroyed concurrently.
+
+    private static final Integer MAX_RETRY_ATTEMPTS_DEFAULT = 3;    // Default number of retry attempts per business object data instance.
+
+    private static final Integer MAX_RETRY_ATTEMPTS_MIN = 0;        // Minimum number of retry attempts per business object data instance.
+
+    private static final Integer MAX_RETRY_ATTEMPTS_MAX = 10;       // Maximum number of retry attempts per business object data instance.
+
+    private static final Integer RETRY_DELAY_SECS_DEFAULT = 5;      // Default delay in seconds between the retry attempts.
+
+    private static final Integer RETRY_DELAY_SECS_MIN = 0;          // Minimum delay in seconds between the retry attempts.
+
+    private static final Integer RETRY_DELAY_SECS_MAX = 900;        // Maximum delay in seconds between the retry attempts.
+
     private ArgumentParser argParser;
 
+    private Option checkpointFileOpt;
+
     private Boolean disableHostnameVerification;
 
     private Option disableHostnameVerificationOpt;
 
     private Option localInputFileOpt;
 
+    private Integer maxRetryAttempts;
+
+    private Integer maxThreads;
+
     private Option passwordOpt;
 
     private Option regServerHostOpt;
 
     private Integer regServerPort;
 
+    private Integer retryDelaySecs;
+
     private Boolean trustSelfSignedCertificate;
 
     private Option trustSelfSignedCertificateOpt;
@@ -132,7 +158,8 @@ public class RetentionExpirationDestroyerApp
 
         // Call the controller with the user specified parameters to perform the upload.
         RetentionExpirationDestroyerController controller = applicationContext.getBean(RetentionExpirationDestroyerController.class);
-        controller.performRetentionExpirationDestruction(argParser.getFileValue(localInputFileOpt), regServerAccessParamsDto);
+        controller.performRetentionExpirationDestruction(argParser.getFileValue(localInputFileOpt), regServerAccessParamsDto, maxThreads, maxRetryAttempts,
+            retryDelaySecs, argParser.getFileValue(checkpointFileOpt));
 
         // No exceptions were returned so return success.
         return ToolsCommonConstants.ReturnValue.SUCCESS;
@@ -164,6 +191,13 @@ public class RetentionExpirationDestroyerApp
                 argParser.addArgument("C", "trustSelfSignedCertificate", true, "If set to true, makes HTTPS client trust self-signed certificate.", false);
             disableHostnameVerificationOpt =
                 argParser.addArgument("d", "disableHostnameVerification", true, "If set to true, turns off hostname verification.", false);
+            Option maxThreadsOpt =
+                argParser.addArgument("t", "maxThreads", true, "The maximum number of business object data instances to be destroyed concurrently.", false);
+            Option maxRetryAttemptsOpt =
+                argParser.addArgument("R", "maxRetryAttempts", true, "The maximum number of retry attempts per business object data instance.", false);
+            Option retryDelaySecsOpt = argParser.addArgument("D", "retryDelaySecs", true, "The delay in seconds between the retry attempts.", false);
+            checkpointFileOpt = argParser.addArgument("c", "checkpointFile", true,
+                "The path to a local checkpoint file that records processed input lines. Lines already recorded there are skipped on a re-run.", false);
             Option helpOpt = argParser.addArgument("h", "help", false, "Display usage information and exit.", false);
             Option versionOpt = argParser.addArgument("v", "version", false, "Display version information and exit.", false);
 
@@ -203,6 +237,9 @@ public class RetentionExpirationDestroyerApp
 
             // Extract all Integer option values here to catch any NumberFormatException exceptions.
             regServerPort = argParser.getIntegerValue(regServerPortOpt);
+            maxThreads = argParser.getIntegerValue(maxThreadsOpt, MAX_THREADS_DEFAULT, MAX_THREADS_MIN, MAX_THREADS_MAX);
+            maxRetryAttempts = argParser.getIntegerValue(maxRetryAttemptsOpt, MAX_RETRY_ATTEMPTS_DEFAULT, MAX_RETRY_ATTEMPTS_MIN, MAX_RETRY_ATTEMPTS_MAX);
+            retryDelaySecs = argParser.getIntegerValue(retryDelaySecsOpt, RETRY_DELAY_SECS_DEFAULT, RETRY_DELAY_SECS_MIN, RETRY_DELAY_SECS_MAX);
         }
         catch (ParseException ex)
         {
@@ -17,24 +17,38 @@ package org.finra.herd.tools.retention.destroyer;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.opencsv.CSVReader;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import org.finra.herd.core.helper.HerdThreadHelper;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.dto.RegServerAccessParamsDto;
+import org.finra.herd.tools.common.databridge.HttpErrorResponseException;
 
 @Component
 public class RetentionExpirationDestroyerController
@@ -46,6 +60,15 @@ public class RetentionExpirationDestroyerController
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RetentionExpirationDestroyerController.class);
 
+    private static final int PROGRESS_REPORT_INTERVAL_ITEMS = 1000;
+
+    private static final long PROGRESS_REPORT_INTERVAL_SECS = 60L;
+
+    private static final int WORK_QUEUE_SIZE_PER_THREAD = 10;
+
+    @Autowired
+    private HerdThreadHelper herdThreadHelper;
+
     @Autowired
     private JsonHelper jsonHelper;
 
@@ -53,7 +76,7 @@ public class RetentionExpirationDestroyerController
     private RetentionExpirationDestroyerWebClient retentionExpirationDestroyerWebClient;
 
     /**
-     * Executes the retention expiration destroyer workflow.
+     * Executes the retention expiration destroyer workflow sequentially, without retries or checkpointing.
      *
      * @param localInputFile the local input file
      * @param regServerAccessParamsDto the DTO for the parameters required to communicate with the registration server
@@ -61,22 +84,122 @@ public class RetentionExpirationDestroyerController
      * @throws Exception if any problems were encountered
      */
     public void performRetentionExpirationDestruction(File localInputFile, RegServerAccessParamsDto regServerAccessParamsDto) throws Exception
+    {
+        performRetentionExpirationDestruction(localInputFile, regServerAccessParamsDto, 1, 0, 0, null);
+    }
+
+    /**
+     * Executes the retention expiration destroyer workflow. Business object data instances are destroyed by a bounded pool of worker threads. When a
+     * checkpoint file is specified, the keys of successfully destroyed business object data instances are recorded in it and the business object data
+     * instances already recorded there are skipped, so an interrupted or partially failed run can be resumed, even with a regenerated input file.
+     *
+     * @param localInputFile the local input file
+     * @param regServerAccessParamsDto the DTO for the parameters required to communicate with the registration server
+     * @param maxThreads the maximum number of business object data instances to be destroyed concurrently
+     * @param maxRetryAttempts the maximum number of retry attempts per business object data instance
+     * @param retryDelaySecs the delay in seconds between the retry attempts
+     * @param checkpointFile the optional local checkpoint file
+     *
+     * @throws Exception if any problems were encountered
+     */
+    public void performRetentionExpirationDestruction(File localInputFile, RegServerAccessParamsDto regServerAccessParamsDto, Integer maxThreads,
+        Integer maxRetryAttempts, Integer retryDelaySecs, File checkpointFile) throws Exception
     {
         // Read business object data keys from the input CSV file.
         List<BusinessObjectDataKey> businessObjectDataKeys = getBusinessObjectDataKeys(localInputFile);
 
+        // Skip the business object data instances that were already processed by a previous run, along with the duplicate ones.
+        Set<BusinessObjectDataKey> pendingBusinessObjectDataKeys = new LinkedHashSet<>(businessObjectDataKeys);
+        pendingBusinessObjectDataKeys.removeAll(getProcessedBusinessObjectDataKeys(checkpointFile));
+
         // Initialize the web client.
         retentionExpirationDestroyerWebClient.setRegServerAccessParamsDto(regServerAccessParamsDto);
 
-        // Process business object data keys one by one.
-        LOGGER.info("Processing {} business object data instances for destruction.", CollectionUtils.size(businessObjectDataKeys));
-        for (BusinessObjectDataKey businessObjectDataKey : businessObjectDataKeys)
+        // Process business object data keys using a bounded pool of worker threads. The work queue is bounded as well, so the submitting thread would run
+        // the task itself when all workers are busy and the queue is full.
+        int totalCount = CollectionUtils.size(businessObjectDataKeys);
+        int pendingCount = pendingBusinessObjectDataKeys.size();
+        LOGGER.info("Processing {} business object data instances for destruction using {} thread(s). {} instances were already processed or duplicated.",
+            pendingCount, maxThreads, totalCount - pendingCount);
+        AtomicInteger succeededCount = new AtomicInteger();
+        AtomicInteger failedCount = new AtomicInteger();
+        AtomicInteger checkpointFailedCount = new AtomicInteger();
+        long startTimeMillis = System.currentTimeMillis();
+
+        ThreadPoolExecutor executor =
+            new ThreadPoolExecutor(maxThreads, maxThreads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(maxThreads * WORK_QUEUE_SIZE_PER_THREAD),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        try (Writer checkpointWriter = checkpointFile != null ?
+            new OutputStreamWriter(new FileOutputStream(checkpointFile, true), StandardCharsets.UTF_8) : null)
+        {
+            for (BusinessObjectDataKey businessObjectDataKey : pendingBusinessObjectDataKeys)
+            {
+                executor.execute(() -> {
+                    try
+                    {
+                        destroyBusinessObjectDataWithRetry(businessObjectDataKey, maxRetryAttempts, retryDelaySecs);
+                        LOGGER.info("Successfully marked for destruction. Business object data {}", jsonHelper.objectToJson(businessObjectDataKey));
+                        succeededCount.incrementAndGet();
+                    }
+                    catch (Exception e)
+                    {
+                        LOGGER.error("Failed to destroy business object data {}. {}", jsonHelper.objectToJson(businessObjectDataKey), e.toString(), e);
+                        failedCount.incrementAndGet();
+                        logProgress(succeededCount.get() + failedCount.get(), pendingCount, failedCount.get(), startTimeMillis, false);
+                        return;
+                    }
+
+                    // The business object data is already destroyed, so a failure to record it is not a destruction failure.
+                    try
+                    {
+                        writeCheckpoint(checkpointWriter, businessObjectDataKey);
+                    }
+                    catch (Exception e)
+                    {
+                        LOGGER.error("Failed to record destroyed business object data {} in the checkpoint file. {}",
+                            jsonHelper.objectToJson(businessObjectDataKey), e.toString(), e);
+                        checkpointFailedCount.incrementAndGet();
+                    }
+
+                    logProgress(succeededCount.get() + failedCount.get(), pendingCount, failedCount.get(), startTimeMillis, false);
+                });
+            }
+
+            // Wait for all submitted tasks to complete.
+            executor.shutdown();
+            while (!executor.awaitTermination(PROGRESS_REPORT_INTERVAL_SECS, TimeUnit.SECONDS))
+            {
+                logProgress(succeededCount.get() + failedCount.get(), pendingCount, failedCount.get(), startTimeMillis, true);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        logProgress(succeededCount.get() + failedCount.get(), pendingCount, failedCount.get(), startTimeMillis, true);
+
+        List<String> failures = new ArrayList<>();
+
+        if (failedCount.get() > 0)
+        {
+            failures.add(String.format("Failed to destroy %d out of %d business object data instances.%s", failedCount.get(), pendingCount,
+                checkpointFile != null ? " Re-run with the same checkpoint file to process the remaining instances." : ""));
+        }
+
+        if (checkpointFailedCount.get() > 0)
         {
-            retentionExpirationDestroyerWebClient.destroyBusinessObjectData(businessObjectDataKey);
-            LOGGER.info("Successfully marked for destruction. Business object data {}", jsonHelper.objectToJson(businessObjectDataKey));
+            failures.add(String.format("Failed to record %d out of %d destroyed business object data instances in checkpoint file \"%s\".",
+                checkpointFailedCount.get(), succeededCount.get(), checkpointFile));
         }
 
-        LOGGER.info("Successfully processed {} business object data instances for destruction.", CollectionUtils.size(businessObjectDataKeys));
+        if (!failures.isEmpty())
+        {
+            throw new IllegalStateException(StringUtils.join(failures, " "));
+        }
+
+        LOGGER.info("Successfully processed {} business object data instances for destruction.", totalCount);
     }
 
     /**
@@ -172,4 +295,126 @@ public class RetentionExpirationDestroyerController
 
         return businessObjectDataKeyList;
     }
+
+    /**
+     * Destroys the business object data with a retry on a communication error or a server side error.
+     *
+     * @param businessObjectDataKey the business object data key
+     * @param maxRetryAttempts the maximum number of retry attempts
+     * @param retryDelaySecs the delay in seconds between the retry attempts
+     *
+     * @throws Exception if any problems were encountered
+     */
+    private void destroyBusinessObjectDataWithRetry(BusinessObjectDataKey businessObjectDataKey, Integer maxRetryAttempts, Integer retryDelaySecs)
+        throws Exception
+    {
+        // Initialize a retry count to know the number of times we re-try calling the method.
+        int retryCount = 0;
+
+        // Loop indefinitely. We will exit the loop by returning within the loop or throwing an exception at some point.
+        while (true)
+        {
+            try
+            {
+                retentionExpirationDestroyerWebClient.destroyBusinessObjectData(businessObjectDataKey);
+                break;
+            }
+            catch (Exception e)
+            {
+                // Client side errors (other than the communication ones) would not go away on a retry.
+                boolean retryable = e instanceof IOException || (e instanceof HttpErrorResponseException &&
+                    ((HttpErrorResponseException) e).getStatusCode() >= HttpStatus.SC_INTERNAL_SERVER_ERROR);
+
+                // Check if we've retried enough times.
+                if (!retryable || retryCount >= maxRetryAttempts)
+                {
+                    throw e;
+                }
+
+                // Log a warning.
+                LOGGER.warn("An exception occurred when destroying business object data. {}", e.toString());
+                LOGGER.warn("Will retry in " + retryDelaySecs + " second(s) and no more than " + (maxRetryAttempts - retryCount) + " more time(s).");
+
+                // We can retry again so increment a counter to keep track of the number of times we retried.
+                retryCount++;
+
+                // Sleep for the specified delay interval.
+                herdThreadHelper.sleep(retryDelaySecs * 1000L);
+            }
+        }
+    }
+
+    /**
+     * Reads the business object data keys recorded in the checkpoint file, one JSON object per line.
+     *
+     * @param checkpointFile the checkpoint file, maybe null
+     *
+     * @return the set of business object data keys that were already processed
+     * @throws IOException if any problems were encountered
+     */
+    private Set<BusinessObjectDataKey> getProcessedBusinessObjectDataKeys(File checkpointFile) throws IOException
+    {
+        Set<BusinessObjectDataKey> processedBusinessObjectDataKeys = new HashSet<>();
+
+        if (checkpointFile != null && checkpointFile.exists())
+        {
+            for (String line : FileUtils.readLines(checkpointFile, StandardCharsets.UTF_8))
+            {
+                if (StringUtils.isNotBlank(line))
+                {
+                    try
+                    {
+                        processedBusinessObjectDataKeys.add(jsonHelper.unmarshallJsonToObject(BusinessObjectDataKey.class, line.trim()));
+                    }
+                    catch (IOException e)
+                    {
+                        throw new IllegalArgumentException(
+                            String.format("Checkpoint file \"%s\" contains an invalid business object data key \"%s\".", checkpointFile.toString(), line),
+                            e);
+                    }
+                }
+            }
+        }
+
+        return processedBusinessObjectDataKeys;
+    }
+
+    /**
+     * Logs the progress and the throughput of the destruction.
+     *
+     * @param processedCount the number of processed business object data instances
+     * @param totalCount the total number of business object data instances to be processed
+     * @param failedCount the number of business object data instances that failed to be destroyed
+     * @param startTimeMillis the time the processing started at
+     * @param force specifies whether to log regardless of the progress reporting interval
+     */
+    private void logProgress(int processedCount, int totalCount, int failedCount, long startTimeMillis, boolean force)
+    {
+        if (force || processedCount % PROGRESS_REPORT_INTERVAL_ITEMS == 0)
+        {
+            double elapsedSecs = Math.max(System.currentTimeMillis() - startTimeMillis, 1L) / 1000.0;
+            LOGGER.info(String.format("Processed %d out of %d business object data instances (%d failed) in %.1f second(s), %.2f instances per second.",
+                processedCount, totalCount, failedCount, elapsedSecs, processedCount / elapsedSecs));
+        }
+    }
+
+    /**
+     * Records the key of a successfully destroyed business object data instance in the checkpoint file.
+     *
+     * @param checkpointWriter the checkpoint file writer, maybe null
+     * @param businessObjectDataKey the business object data key
+     *
+     * @throws IOException if any problems were encountered
+     */
+    private void writeCheckpoint(Writer checkpointWriter, BusinessObjectDataKey businessObjectDataKey) throws IOException
+    {
+        if (checkpointWriter != null)
+        {
+            synchronized (checkpointWriter)
+            {
+                checkpointWriter.write(jsonHelper.objectToJson(businessObjectDataKey) + System.lineSeparator());
+                checkpointWriter.flush();
+            }
+        }
+    }
 }
@@ -16,25 +16,35 @@
 package org.finra.herd.tools.retention.destroyer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import org.finra.herd.core.helper.LogLevel;
+import org.finra.herd.dao.helper.JsonHelper;
+import org.finra.herd.dao.impl.MockHttpClientOperationsImpl;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.dto.RegServerAccessParamsDto;
 import org.finra.herd.tools.common.databridge.DataBridgeWebClient;
 
 public class RetentionExpirationDestroyerControllerTest extends AbstractRetentionExpirationDestroyerTest
 {
+    @Autowired
+    private JsonHelper jsonHelper;
+
     @Before
     @Override
     public void setup() throws Exception
@@ -159,6 +169,69 @@ public class RetentionExpirationDestroyerControllerTest extends AbstractRetentio
         retentionExpirationDestroyerController.performRetentionExpirationDestruction(inputCsvFile, regServerAccessParamsDto);
     }
 
+    @Test
+    public void testPerformRetentionExpirationDestructionWithCheckpoint() throws Exception
+    {
+        // Create a local input CSV file.
+        File inputCsvFile = createLocalInputCsvFile();
+
+        // Get the JSON representations of the business object data keys listed in the input file.
+        List<String> businessObjectDataKeys = new ArrayList<>();
+        for (BusinessObjectDataKey businessObjectDataKey : retentionExpirationDestroyerController.getBusinessObjectDataKeys(inputCsvFile))
+        {
+            businessObjectDataKeys.add(jsonHelper.objectToJson(businessObjectDataKey));
+        }
+
+        // Create a checkpoint file that marks the first business object data as already processed.
+        File checkpointFile = Paths.get(LOCAL_TEMP_PATH_INPUT.toString(), "checkpoint.txt").toFile();
+        FileUtils.writeStringToFile(checkpointFile, businessObjectDataKeys.get(0) + System.lineSeparator(), StandardCharsets.UTF_8);
+
+        // Create and initialize the registration server DTO.
+        RegServerAccessParamsDto regServerAccessParamsDto =
+            RegServerAccessParamsDto.builder().withRegServerHost(WEB_SERVICE_HOSTNAME).withRegServerPort(WEB_SERVICE_HTTPS_PORT).withUseSsl(true)
+                .withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD).withTrustSelfSignedCertificate(true)
+                .withDisableHostnameVerification(true).build();
+
+        // Perform the retention expiration destruction using multiple threads.
+        retentionExpirationDestroyerController.performRetentionExpirationDestruction(inputCsvFile, regServerAccessParamsDto, 2, 1, 0, checkpointFile);
+
+        // Validate that all business object data instances are now recorded in the checkpoint file, the first one only once.
+        List<String> checkpointLines = FileUtils.readLines(checkpointFile, StandardCharsets.UTF_8);
+        assertEquals(3, checkpointLines.size());
+        assertEquals(new HashSet<>(businessObjectDataKeys), new HashSet<>(checkpointLines));
+    }
+
+    @Test
+    public void testPerformRetentionExpirationDestructionWithRetryFailure() throws Exception
+    {
+        // Create a local input CSV file.
+        File inputCsvFile = createLocalInputCsvFile();
+
+        // Create a checkpoint file location.
+        File checkpointFile = Paths.get(LOCAL_TEMP_PATH_INPUT.toString(), "checkpoint.txt").toFile();
+
+        // Create and initialize the registration server DTO using a hostname that makes every call fail with an I/O exception.
+        RegServerAccessParamsDto regServerAccessParamsDto =
+            RegServerAccessParamsDto.builder().withRegServerHost(MockHttpClientOperationsImpl.HOSTNAME_THROW_IO_EXCEPTION).withRegServerPort(WEB_SERVICE_HTTPS_PORT)
+                .withUseSsl(true).withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD).withTrustSelfSignedCertificate(true)
+                .withDisableHostnameVerification(true).build();
+
+        // Try to perform the retention expiration destruction.
+        try
+        {
+            retentionExpirationDestroyerController.performRetentionExpirationDestruction(inputCsvFile, regServerAccessParamsDto, 2, 1, 0, checkpointFile);
+            fail();
+        }
+        catch (IllegalStateException e)
+        {
+            assertEquals("Failed to destroy 3 out of 3 business object data instances. Re-run with the same checkpoint file to process the remaining instances.",
+                e.getMessage());
+        }
+
+        // Validate that no business object data instances are recorded in the checkpoint file.
+        assertTrue(FileUtils.readLines(checkpointFile, StandardCharsets.UTF_8).isEmpty());
+    }
+
     /**
      * Creates a local SCV file with a header and two business object data entries.
      *
@@ -47,6 +47,12 @@ public class RetentionExpirationExporterApp
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RetentionExpirationExporterApp.class);
 
+    private static final Integer MAX_THREADS_DEFAULT = 1;           // Default number of search result pages fetched concurrently.
+
+    private static final Integer MAX_THREADS_MIN = 1;               // Minimum number of search result pages fetched concurrently.
+
+    private static final Integer MAX_THREADS_MAX = 20;              // Maximum number of search result pages fetched concurrently.
+
     private ArgumentParser argParser;
 
     private Option businessObjectDefinitionNameOpt;
@@ -57,6 +63,8 @@ public class RetentionExpirationExporterApp
 
     private Option localOutputFileOpt;
 
+    private Integer maxThreads;
+
     private Option namespaceOpt;
 
     private Option passwordOpt;
@@ -149,7 +157,8 @@ public class RetentionExpirationExporterApp
         // Call the controller with the user specified parameters to perform the upload.
         RetentionExpirationExporterController controller = applicationContext.getBean(RetentionExpirationExporterController.class);
         controller.performRetentionExpirationExport(argParser.getStringValue(namespaceOpt), argParser.getStringValue(businessObjectDefinitionNameOpt),
-            argParser.getFileValue(localOutputFileOpt), regServerAccessParamsDto, argParser.getStringValue(udcServerHostOpt));
+            argParser.getFileValue(localOutputFileOpt), regServerAccessParamsDto, argParser.getStringValue(udcServerHostOpt),
+            maxThreads);
 
         // No exceptions were returned so return success.
         return ToolsCommonConstants.ReturnValue.SUCCESS;
@@ -184,6 +193,8 @@ public class RetentionExpirationExporterApp
                 argParser.addArgument("C", "trustSelfSignedCertificate", true, "If set to true, makes HTTPS client trust self-signed certificate.", false);
             disableHostnameVerificationOpt =
                 argParser.addArgument("d", "disableHostnameVerification", true, "If set to true, turns off hostname verification.", false);
+            Option maxThreadsOpt =
+                argParser.addArgument("t", "maxThreads", true, "The maximum number of business object data search result pages fetched concurrently.", false);
             Option helpOpt = argParser.addArgument("h", "help", false, "Display usage information and exit.", false);
             Option versionOpt = argParser.addArgument("v", "version", false, "Display version information and exit.", false);
 
@@ -223,6 +234,7 @@ public class RetentionExpirationExporterApp
 
             // Extract all Integer option values here to catch any NumberFormatException exceptions.
             regServerPort = argParser.getIntegerValue(regServerPortOpt);
+            maxThreads = argParser.getIntegerValue(maxThreadsOpt, MAX_THREADS_DEFAULT, MAX_THREADS_MIN, MAX_THREADS_MAX);
         }
         catch (ParseException ex)
         {
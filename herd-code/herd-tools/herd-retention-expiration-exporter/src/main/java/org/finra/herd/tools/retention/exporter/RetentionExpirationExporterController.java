@@ -23,10 +23,16 @@ import java.io.Writer;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -53,7 +59,7 @@ class RetentionExpirationExporterController
     private RetentionExpirationExporterWebClient retentionExpirationExporterWebClient;
 
     /**
-     * Executes the retention expiration exporter workflow.
+     * Executes the retention expiration exporter workflow fetching one page of business object data at a time.
      *
      * @param namespace the namespace of business object data
      * @param businessObjectDefinitionName the business object definition name of business object data
@@ -65,6 +71,27 @@ class RetentionExpirationExporterController
      */
     void performRetentionExpirationExport(String namespace, String businessObjectDefinitionName, File localOutputFile,
         RegServerAccessParamsDto regServerAccessParamsDto, String udcServerHost) throws Exception
+    {
+        performRetentionExpirationExport(namespace, businessObjectDefinitionName, localOutputFile, regServerAccessParamsDto, udcServerHost, 1);
+    }
+
+    /**
+     * Executes the retention expiration exporter workflow. The CSV rows are written to the output file as the search result pages arrive, so the business
+     * object data records are never accumulated in memory. When more than one thread is allowed, the search result pages are fetched concurrently in windows
+     * of that many pages and written out in page order. The CSV rows go to a temporary file in the directory of the output file that only gets renamed to the
+     * output file once the export completes, so a failed export does not leave a partial output file behind.
+     *
+     * @param namespace the namespace of business object data
+     * @param businessObjectDefinitionName the business object definition name of business object data
+     * @param localOutputFile the local output file
+     * @param regServerAccessParamsDto the DTO for the parameters required to communicate with the registration server
+     * @param udcServerHost the hostname of the UDC application server
+     * @param maxThreads the maximum number of search result pages to be fetched concurrently
+     *
+     * @throws Exception if any problems were encountered
+     */
+    void performRetentionExpirationExport(String namespace, String businessObjectDefinitionName, File localOutputFile,
+        RegServerAccessParamsDto regServerAccessParamsDto, String udcServerHost, Integer maxThreads) throws Exception
     {
         // Fail if local output file already exists.
         if (localOutputFile.exists())
@@ -82,6 +109,10 @@ class RetentionExpirationExporterController
         // Get business object display name.
         String businessObjectDefinitionDisplayName = getBusinessObjectDefinitionDisplayName(businessObjectDefinition);
 
+        // Create business object definition URI.
+        String businessObjectDefinitionUdcUri =
+            getBusinessObjectDefinitionUdcUri(udcServerHost, businessObjectDefinition.getNamespace(), businessObjectDefinition.getBusinessObjectDefinitionName());
+
         // Create a search request for business object data with the filter on retention expiration option.
         BusinessObjectDataSearchKey businessObjectDataSearchKey = new BusinessObjectDataSearchKey();
         businessObjectDataSearchKey.setNamespace(namespace);
@@ -92,24 +123,63 @@ class RetentionExpirationExporterController
         BusinessObjectDataSearchFilter businessObjectDataSearchFilter = new BusinessObjectDataSearchFilter(businessObjectDataSearchKeys);
         BusinessObjectDataSearchRequest request = new BusinessObjectDataSearchRequest(Collections.singletonList(businessObjectDataSearchFilter));
 
-        // Create a result list for business object data.
-        List<BusinessObjectData> businessObjectDataList = new ArrayList<>();
+        // Create a temporary output file next to the local output file.
+        File temporaryOutputFile = File.createTempFile(localOutputFile.getName() + ".", ".tmp", localOutputFile.getAbsoluteFile().getParentFile());
 
-        // Fetch business object data from server until no records found.
-        int pageNumber = 1;
-        BusinessObjectDataSearchResult businessObjectDataSearchResult = retentionExpirationExporterWebClient.searchBusinessObjectData(request, pageNumber);
-        while (CollectionUtils.isNotEmpty(businessObjectDataSearchResult.getBusinessObjectDataElements()))
+        // Only use a thread pool when pages are to be fetched concurrently.
+        ExecutorService executorService = maxThreads > 1 ? Executors.newFixedThreadPool(maxThreads) : null;
+
+        int recordCount = 0;
+        try
         {
-            LOGGER.info("Fetched {} business object data records from the registration server.",
-                CollectionUtils.size(businessObjectDataSearchResult.getBusinessObjectDataElements()));
-            businessObjectDataList.addAll(businessObjectDataSearchResult.getBusinessObjectDataElements());
-            pageNumber++;
-            businessObjectDataSearchResult = retentionExpirationExporterWebClient.searchBusinessObjectData(request, pageNumber);
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(temporaryOutputFile), StandardCharsets.UTF_8))
+            {
+                // Write csv file header.
+                writeLine(writer, Arrays.asList("Namespace", "Business Object Definition Name", "Business Object Format Usage",
+                    "Business Object Format File Type", "Business Object Format Version", "Primary Partition Value", "Sub-Partition Value 1",
+                    "Sub-Partition Value 2", "Sub-Partition Value 3", "Sub-Partition Value 4", "Business Object Data Version",
+                    "Business Object Definition Display Name", "Business Object Definition URI"));
+
+                // Fetch business object data from server and write it to the output file until no records found.
+                int pageNumber = 1;
+                boolean lastPageReached = false;
+                while (!lastPageReached)
+                {
+                    for (BusinessObjectDataSearchResult businessObjectDataSearchResult : searchBusinessObjectData(request, pageNumber, maxThreads,
+                        executorService))
+                    {
+                        if (CollectionUtils.isEmpty(businessObjectDataSearchResult.getBusinessObjectDataElements()))
+                        {
+                            lastPageReached = true;
+                            break;
+                        }
+
+                        LOGGER.info("Fetched {} business object data records from the registration server.",
+                            CollectionUtils.size(businessObjectDataSearchResult.getBusinessObjectDataElements()));
+                        writeToCsvFile(writer, businessObjectDefinitionDisplayName, businessObjectDefinitionUdcUri,
+                            businessObjectDataSearchResult.getBusinessObjectDataElements());
+                        recordCount += businessObjectDataSearchResult.getBusinessObjectDataElements().size();
+                    }
+
+                    pageNumber += maxThreads;
+                }
+            }
+
+            // Rename the temporary output file now that the export is complete.
+            Files.move(temporaryOutputFile.toPath(), localOutputFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+            LOGGER.info("Exported {} business object data records to \"{}\" file.", recordCount, localOutputFile.toString());
         }
+        finally
+        {
+            if (executorService != null)
+            {
+                executorService.shutdownNow();
+            }
 
-        // Write business object data to the output CSV file.
-        writeToCsvFile(localOutputFile, businessObjectDefinition.getNamespace(), businessObjectDefinition.getBusinessObjectDefinitionName(),
-            businessObjectDefinitionDisplayName, udcServerHost, businessObjectDataList);
+            // Clean up the temporary output file if the export failed.
+            Files.deleteIfExists(temporaryOutputFile.toPath());
+        }
     }
 
     /**
@@ -184,44 +254,76 @@ class RetentionExpirationExporterController
     }
 
     /**
-     * Writes business object data to the CSV file.
+     * Fetches a window of consecutive business object data search result pages. The pages are fetched concurrently when an executor service is specified.
      *
-     * @param localOutputFile the file to write
-     * @param namespace the namespace of business object definition
-     * @param businessObjectDefinitionName the name of the business object definition
-     * @param businessObjectDefinitionDisplayName the display name of the business object definition
-     * @param udcServerHost the hostname of the UDC application server
-     * @param businessObjectDataList the list of business object data
+     * @param request the business object data search request
+     * @param firstPageNumber the number of the first page to fetch
+     * @param pageCount the number of pages to fetch
+     * @param executorService the executor service used to fetch the pages concurrently, maybe null
      *
-     * @throws IOException if any problems were encountered
+     * @return the list of search results in page order
+     * @throws Exception if any problems were encountered
      */
-    private void writeToCsvFile(File localOutputFile, String namespace, String businessObjectDefinitionName, String businessObjectDefinitionDisplayName,
-        String udcServerHost, List<BusinessObjectData> businessObjectDataList) throws IOException, URISyntaxException
+    private List<BusinessObjectDataSearchResult> searchBusinessObjectData(BusinessObjectDataSearchRequest request, int firstPageNumber, int pageCount,
+        ExecutorService executorService) throws Exception
     {
-        // Create business object definition URI.
-        String businessObjectDefinitionUdcUri = getBusinessObjectDefinitionUdcUri(udcServerHost, namespace, businessObjectDefinitionName);
+        List<BusinessObjectDataSearchResult> businessObjectDataSearchResults = new ArrayList<>();
 
-        // Create the local output file.
-        try (Writer writer = new OutputStreamWriter(new FileOutputStream(localOutputFile), StandardCharsets.UTF_8))
+        if (executorService == null)
+        {
+            businessObjectDataSearchResults.add(retentionExpirationExporterWebClient.searchBusinessObjectData(request, firstPageNumber));
+        }
+        else
         {
-            // Write csv file header.
-            writeLine(writer, Arrays.asList("Namespace", "Business Object Definition Name", "Business Object Format Usage", "Business Object Format File Type",
-                "Business Object Format Version", "Primary Partition Value", "Sub-Partition Value 1", "Sub-Partition Value 2", "Sub-Partition Value 3",
-                "Sub-Partition Value 4", "Business Object Data Version", "Business Object Definition Display Name", "Business Object Definition URI"));
+            List<Future<BusinessObjectDataSearchResult>> futures = new ArrayList<>();
+            for (int pageNumber = firstPageNumber; pageNumber < firstPageNumber + pageCount; pageNumber++)
+            {
+                final int currentPageNumber = pageNumber;
+                futures.add(executorService.submit(() -> retentionExpirationExporterWebClient.searchBusinessObjectData(request, currentPageNumber)));
+            }
 
-            for (BusinessObjectData businessObjectData : businessObjectDataList)
+            for (Future<BusinessObjectDataSearchResult> future : futures)
             {
-                int subPartitionsCount = CollectionUtils.size(businessObjectData.getSubPartitionValues());
-                List<String> businessObjectDataRecords = Arrays.asList(businessObjectData.getNamespace(), businessObjectData.getBusinessObjectDefinitionName(),
-                    businessObjectData.getBusinessObjectFormatUsage(), businessObjectData.getBusinessObjectFormatFileType(),
-                    Integer.toString(businessObjectData.getBusinessObjectFormatVersion()), businessObjectData.getPartitionValue(),
-                    subPartitionsCount > 0 ? businessObjectData.getSubPartitionValues().get(0) : "",
-                    subPartitionsCount > 1 ? businessObjectData.getSubPartitionValues().get(1) : "",
-                    subPartitionsCount > 2 ? businessObjectData.getSubPartitionValues().get(2) : "",
-                    subPartitionsCount > 3 ? businessObjectData.getSubPartitionValues().get(3) : "", Integer.toString(businessObjectData.getVersion()),
-                    businessObjectDefinitionDisplayName, businessObjectDefinitionUdcUri);
-                writeLine(writer, businessObjectDataRecords);
+                try
+                {
+                    businessObjectDataSearchResults.add(future.get());
+                }
+                catch (ExecutionException e)
+                {
+                    // Rethrow the original exception thrown by the web client.
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
             }
         }
+
+        return businessObjectDataSearchResults;
+    }
+
+    /**
+     * Writes business object data to the CSV file.
+     *
+     * @param writer the writer of the CSV file
+     * @param businessObjectDefinitionDisplayName the display name of the business object definition
+     * @param businessObjectDefinitionUdcUri the UDC URI of the business object definition
+     * @param businessObjectDataList the list of business object data
+     *
+     * @throws IOException if any problems were encountered
+     */
+    private void writeToCsvFile(Writer writer, String businessObjectDefinitionDisplayName, String businessObjectDefinitionUdcUri,
+        List<BusinessObjectData> businessObjectDataList) throws IOException
+    {
+        for (BusinessObjectData businessObjectData : businessObjectDataList)
+        {
+            int subPartitionsCount = CollectionUtils.size(businessObjectData.getSubPartitionValues());
+            List<String> businessObjectDataRecords = Arrays.asList(businessObjectData.getNamespace(), businessObjectData.getBusinessObjectDefinitionName(),
+                businessObjectData.getBusinessObjectFormatUsage(), businessObjectData.getBusinessObjectFormatFileType(),
+                Integer.toString(businessObjectData.getBusinessObjectFormatVersion()), businessObjectData.getPartitionValue(),
+                subPartitionsCount > 0 ? businessObjectData.getSubPartitionValues().get(0) : "",
+                subPartitionsCount > 1 ? businessObjectData.getSubPartitionValues().get(1) : "",
+                subPartitionsCount > 2 ? businessObjectData.getSubPartitionValues().get(2) : "",
+                subPartitionsCount > 3 ? businessObjectData.getSubPartitionValues().get(3) : "", Integer.toString(businessObjectData.getVersion()),
+                businessObjectDefinitionDisplayName, businessObjectDefinitionUdcUri);
+            writeLine(writer, businessObjectDataRecords);
+        }
     }
 }
@@ -128,11 +128,10 @@ class RetentionExpirationExporterWebClient extends DataBridgeWebClient
 
         URI uri = uriBuilder.build();
 
-        // Create a JAXB context and marshaller
-        JAXBContext requestContext = JAXBContext.newInstance(BusinessObjectDataSearchRequest.class);
+        // Get a cached JAXB context and create a marshaller
+        JAXBContext requestContext = getJaxbContext(BusinessObjectDataSearchRequest.class);
         Marshaller requestMarshaller = requestContext.createMarshaller();
         requestMarshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
-        requestMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
 
         StringWriter stringWriter = new StringWriter();
         requestMarshaller.marshal(businessObjectDataSearchRequest, stringWriter);
@@ -15,17 +15,29 @@
  */
 package org.finra.herd.tools.retention.exporter;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import org.finra.herd.core.helper.LogLevel;
 import org.finra.herd.model.api.xml.BusinessObjectDefinition;
@@ -134,4 +146,64 @@ public class RetentionExpirationExporterControllerTest extends AbstractExporterT
         }
         assertEquals(expectedOutputFileContent, outputFileContent);
     }
+
+    @Test
+    public void testPerformRetentionExpirationExportFailure() throws Exception
+    {
+        File outputFile = new File(LOCAL_OUTPUT_FILE);
+
+        // Create and initialize the registration server DTO.
+        RegServerAccessParamsDto regServerAccessParamsDto =
+            RegServerAccessParamsDto.builder().withRegServerHost(WEB_SERVICE_HOSTNAME).withRegServerPort(WEB_SERVICE_HTTPS_PORT).withUseSsl(true)
+                .withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD).withTrustSelfSignedCertificate(true)
+                .withDisableHostnameVerification(true).build();
+
+        // Inject a web client that fails to fetch the second search result page.
+        RetentionExpirationExporterWebClient mockWebClient =
+            mock(RetentionExpirationExporterWebClient.class, AdditionalAnswers.delegatesTo(retentionExpirationExporterWebClient));
+        doThrow(new IOException("testException")).when(mockWebClient).searchBusinessObjectData(any(), eq(2));
+        ReflectionTestUtils.setField(retentionExpirationExporterController, "retentionExpirationExporterWebClient", mockWebClient);
+
+        // Try to perform the retention expiration export.
+        try
+        {
+            retentionExpirationExporterController
+                .performRetentionExpirationExport(NAMESPACE, BUSINESS_OBJECT_DEFINITION_NAME, outputFile, regServerAccessParamsDto, UDC_SERVICE_HOSTNAME);
+            fail();
+        }
+        catch (IOException e)
+        {
+            assertEquals("testException", e.getMessage());
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(retentionExpirationExporterController, "retentionExpirationExporterWebClient", retentionExpirationExporterWebClient);
+        }
+
+        // Validate that neither the output file nor a temporary file got left behind, so the export can be re-run.
+        assertFalse(outputFile.exists());
+        assertArrayEquals(new String[0], LOCAL_TEMP_PATH_OUTPUT.toFile().list());
+    }
+
+    @Test
+    public void testPerformRetentionExpirationExportMultipleThreads() throws Exception
+    {
+        File outputFile = new File(LOCAL_OUTPUT_FILE);
+        File sequentialOutputFile = Paths.get(LOCAL_TEMP_PATH_OUTPUT.toString(), "sequential-" + LOCAL_FILE).toFile();
+
+        // Create and initialize the registration server DTO.
+        RegServerAccessParamsDto regServerAccessParamsDto =
+            RegServerAccessParamsDto.builder().withRegServerHost(WEB_SERVICE_HOSTNAME).withRegServerPort(WEB_SERVICE_HTTPS_PORT).withUseSsl(true)
+                .withUsername(WEB_SERVICE_HTTPS_USERNAME).withPassword(WEB_SERVICE_HTTPS_PASSWORD).withTrustSelfSignedCertificate(true)
+                .withDisableHostnameVerification(true).build();
+
+        // Perform the retention expiration export fetching the pages concurrently and then sequentially.
+        retentionExpirationExporterController
+            .performRetentionExpirationExport(NAMESPACE, BUSINESS_OBJECT_DEFINITION_NAME, outputFile, regServerAccessParamsDto, UDC_SERVICE_HOSTNAME, 3);
+        retentionExpirationExporterController
+            .performRetentionExpirationExport(NAMESPACE, BUSINESS_OBJECT_DEFINITION_NAME, sequentialOutputFile, regServerAccessParamsDto, UDC_SERVICE_HOSTNAME);
+
+        // Validate that both output files have the same content.
+        assertEquals(FileUtils.readFileToString(sequentialOutputFile, StandardCharsets.UTF_8), FileUtils.readFileToString(outputFile, StandardCharsets.UTF_8));
+    }
 }
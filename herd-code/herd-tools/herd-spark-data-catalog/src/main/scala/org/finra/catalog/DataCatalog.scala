@@ -17,9 +17,12 @@ package org.finra.catalog
 
 import java.io.File
 import java.util
+import java.util.concurrent.Executors
 
 import scala.collection.JavaConverters._
 import scala.collection.mutable.ArrayBuffer
+import scala.concurrent.{Await, ExecutionContext, Future}
+import scala.concurrent.duration.Duration
 import scala.util.{Failure, Success, Try}
 import scala.util.matching.Regex
 import scala.xml._
@@ -102,6 +105,12 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
   // for credStash
   var credStash: CredStashWrapper = getCredStash
 
+  // for creating herd API clients
+  var apiClientFactory: (String, Option[String], Option[String]) => HerdApi = DefaultSource.defaultApiClientFactory
+
+  // maximum number of concurrent herd calls made by findNamespace
+  var findNamespaceMaxThreads = 8
+
   // XML pretty printer
   private val printer = new scala.xml.PrettyPrinter(80, 4)
 
@@ -268,7 +277,7 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
    * @return list of (object name, partition value) tuples
    */
   def dmSearchRequest(ns: String, obj: String): util.List[BusinessObjectData] = {
-    val ha = ds.defaultApiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+    val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
 
     val businessObjectDataSearchKey = new BusinessObjectDataSearchKey()
     businessObjectDataSearchKey.setNamespace(ns)
@@ -306,7 +315,7 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
   private def dmDeleteFormat(ns: String, obj: String, schema: Int, usage: String = "PRC", format: String = "PARQUET"): Unit = {
     logger.debug(s"Deleting registered formats for obj $obj")
     try {
-      val ha = ds.defaultApiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+      val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
 
       ha.removeBusinessObjectFormat(ns, obj, usage, format, schema)
     } catch {
@@ -324,7 +333,7 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
   private def dmDeleteObjectDefinition(ns: String, obj: String): Unit = {
     logger.debug(s"Deleting obj definition for $obj")
     try {
-      val ha = ds.defaultApiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+      val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
 
       ha.removeBusinessObjectDefinition(ns, obj)
     } catch {
@@ -351,7 +360,7 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
     for ((ns, obj, usage, format, schema, pk, part, version) <- partitions) {
       logger.debug(s"Deleting registered partitions of $obj")
       try {
-        val ha = ds.defaultApiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+        val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
         ha.removeBusinessObjectData(ns, obj, usage, format, schema, pk, part, Seq(), version)
       } catch {
         case _: Throwable => logger.debug("WARNING: Could not remove object partitions.  Ignoring...")
@@ -366,7 +375,7 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
    * @return list of names
    */
   def dmAllObjectsInNamespace(ns: String): List[String] = {
-    val ha = ds.defaultApiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+    val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
 
     val businessObjectDefinitionKeys = ha.getBusinessObjectsByNamespace(ns).getBusinessObjectDefinitionKeys
 
@@ -547,7 +556,7 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
    */
   def queryPath(namespace: String, objectName: String, usage: String, fileFormat: String, partitionKey: String, partitionValuesInOrder: Array[String],
                 schemaVersion: Int, dataVersion: Int): String = {
-    val ha = ds.defaultApiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+    val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
 
     val businessObjectData = ha.getBusinessObjectData(namespace, objectName, usage, fileFormat, schemaVersion, partitionKey, partitionValuesInOrder(0),
       partitionValuesInOrder.drop(1), dataVersion)
@@ -568,7 +577,7 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
    */
   def queryPathFromGenerateDdl(namespace: String, objectName: String, usage: String, fileFormat: String, partitionKey: String,
                                partitionValuesInOrder: Array[String], schemaVersion: Int, dataVersion: Int): List[String] = {
-    val ha = ds.defaultApiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+    val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
 
     val businessObjectDataDdl = ha.getBusinessObjectDataGenerateDdl(namespace, objectName, usage, fileFormat,
       schemaVersion, partitionKey, partitionValuesInOrder, dataVersion)
@@ -614,7 +623,7 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
    * @return list of namespaces
    */
   def getNamespaces(namespaceCode: String = ""): List[String] = {
-    val ha = ds.defaultApiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+    val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
 
     if (namespaceCode.isEmpty) {
       val namespaceKeys = ha.getAllNamespaces.getNamespaceKeys
@@ -633,7 +642,7 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
    * @return DataFrame of BusinessObjectDefinition objects
    */
   def getBusinessObjectDefinitions(namespace: String = ""): DataFrame = {
-    val ha = ds.defaultApiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+    val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
 
     val businessObjectDefinitionKeys = ha.getBusinessObjectsByNamespace(namespace).getBusinessObjectDefinitionKeys
 
@@ -654,7 +663,7 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
    *
    */
   def callBusinessObjectFormatQuery(namespace: String, objectName: String, usage: String, fileFormat: String, schemaVersion: Int): String = {
-    val ha = ds.defaultApiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+    val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
 
     val businessObjectFormat = ha.getBusinessObjectFormat(namespace, objectName, usage, fileFormat, schemaVersion)
 
@@ -670,7 +679,7 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
    * @return DataFrame of business object formats
    */
   def getBusinessObjectFormats(namespace: String, businessObjectDefinitionName: String, latestVersion: Boolean = true): DataFrame = {
-    val ha = ds.defaultApiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+    val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
 
     val businessObjectFormatKeys = ha.getBusinessObjectFormats(namespace, businessObjectDefinitionName, latestVersion).getBusinessObjectFormatKeys
 
@@ -1009,7 +1018,7 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
         StructField("Reason", StringType, nullable = false) :: parts.toList)
 
     // get data availability
-    val ha = ds.defaultApiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+    val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
 
     val businessObjectDataAvailability = ha.getBusinessObjectDataAvailability(namespace, objectName, usage, fileFormat,
        partitionKey, firstPartValue, lastPartValue)
@@ -1278,28 +1287,38 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
   /**
    * Searches for the given table the list of given namespaces
    *
+   * The namespaces are checked concurrently with one herd call each, and without running any Spark jobs. The calls run on
+   * a pool of at most findNamespaceMaxThreads threads owned by this call, so they never tie up the global execution context.
+   *
    * @param objectName the business object name
-   * @param namespaces the namespace
-   * @return namespace
+   * @param namespaces the namespaces to search, in order of preference
+   * @return the first namespace that contains the business object, or null if none does
    */
   def findNamespace(objectName: String, namespaces: List[String]): String = {
+    if (namespaces.isEmpty) {
+      return null
+    }
 
-    var namespace: String = null
-
-    // search for the table in the right namespace
-    for (aNamespace <- namespaces; if namespace == null) {
-      val hubObjectDefs = getBusinessObjectDefinitions(aNamespace)
-
-      // was a row returned?
-      val cnt = hubObjectDefs.filter('definitionName === objectName).count
+    val executorService = Executors.newFixedThreadPool(math.max(1, math.min(namespaces.size, findNamespaceMaxThreads)))
+    implicit val executionContext: ExecutionContext = ExecutionContext.fromExecutorService(executorService)
 
-      // got our namespace!
-      if (cnt == 1) {
-        namespace = aNamespace
-      }
+    try {
+      val lookups = namespaces.map(aNamespace => Future {
+        val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+
+        ha.getBusinessObjectsByNamespace(aNamespace).getBusinessObjectDefinitionKeys.asScala
+          .exists(_.getBusinessObjectDefinitionName == objectName)
+      })
+
+      // wait for the lookups in order of preference, so the first match wins even if a later namespace answered first
+      namespaces.zip(lookups)
+        .find { case (_, lookup) => Await.result(lookup, Duration.Inf) }
+        .map(_._1)
+        .orNull
+    } finally {
+      // the remaining lookups are no longer needed once a match is found
+      executorService.shutdownNow()
     }
-
-    namespace
   }
 
   /**
@@ -1410,7 +1429,7 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
                                     partitionKey: String = "partition",
                                     partitionValue: String = "none"): (Int, Int, String) = {
 
-    val ha = ds.defaultApiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+    val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
 
     Try(ha.getBusinessObjectByName(nameSpace, objectName)) match {
       case Success(_) => Unit
@@ -1471,7 +1490,7 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
                                          dataVersion: Int,
                                          status: ObjectStatus.Value = ObjectStatus.VALID): Unit = {
 
-    val ha = ds.defaultApiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+    val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
 
     ha.updateBusinessObjectData(nameSpace, objectName, usage, fileFormat, formatVersion,
       partitionKey, partitionValue, Nil, dataVersion, status)
@@ -1497,7 +1516,7 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
                             partitionValue: String = "none",
                             dataVersion: Int = -1): String = {
 
-    val ha = ds.defaultApiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+    val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
 
     val dataVersionToUse: Integer = dataVersion match {
       case -1 => null
@@ -1559,7 +1578,7 @@ class DataCatalog(val spark: SparkSession, host: String) extends Serializable {
                         partitionKey: String = "partition",
                         partitionValue: String = "none"): Int = {
 
-    val ha = ds.defaultApiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
+    val ha = apiClientFactory(baseRestUrl, Some(this.username), Some(this.password))
 
     Try(ha.getBusinessObjectByName(nameSpace, objectName)) match {
       case Success(_) => Unit
@@ -16,16 +16,27 @@
 package org.finra.catalog
 
 import java.util
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.IntBinaryOperator
+
+import scala.collection.JavaConverters._
 
 import org.apache.spark.sql.SparkSession
-import org.junit.Assert.assertEquals
+import org.apache.spark.sql.herd.HerdApi
+import org.junit.Assert.{assertEquals, assertFalse, assertNull, assertTrue}
 import org.junit.runner.RunWith
 import org.mockito.ArgumentCaptor
-import org.mockito.Mockito.when
+import org.mockito.ArgumentMatchers.anyString
+import org.mockito.Mockito.{never, times, verify, when}
+import org.mockito.invocation.InvocationOnMock
+import org.mockito.stubbing.Answer
 import org.scalatest.FunSuite
 import org.scalatest.junit.JUnitRunner
 import org.scalatest.mockito.MockitoSugar
 
+import org.finra.herd.sdk.model.{BusinessObjectDefinitionKey, BusinessObjectDefinitionKeys}
+
 
 @RunWith(classOf[JUnitRunner])
 class DataCatalogTest extends FunSuite with MockitoSugar {
@@ -86,6 +97,99 @@ class DataCatalogTest extends FunSuite with MockitoSugar {
     assertEquals("dev", context.get("SDLC"))
   }
 
+  private def businessObjectDefinitionKeys(namespace: String, names: String*): BusinessObjectDefinitionKeys = {
+    val keys = new BusinessObjectDefinitionKeys()
+    keys.setBusinessObjectDefinitionKeys(names.map(name => {
+      val key = new BusinessObjectDefinitionKey()
+      key.setNamespace(namespace)
+      key.setBusinessObjectDefinitionName(name)
+      key
+    }).asJava)
+    keys
+  }
+
+  test("findNamespace should return the first namespace in preference order that contains the object without running Spark jobs") {
+    val dataCatalog = new DataCatalog(spark, "test.com")
+
+    // Create mock herd API client
+    val mockHerdApi = mock[HerdApi]
+    // Inject the mock object
+    dataCatalog.apiClientFactory = (_, _, _) => mockHerdApi
+
+    when(mockHerdApi.getBusinessObjectsByNamespace("NS1")).thenReturn(businessObjectDefinitionKeys("NS1", "OTHER"))
+    when(mockHerdApi.getBusinessObjectsByNamespace("NS2")).thenReturn(businessObjectDefinitionKeys("NS2", "OTHER", "TABLE"))
+    when(mockHerdApi.getBusinessObjectsByNamespace("NS3")).thenReturn(businessObjectDefinitionKeys("NS3", "TABLE"))
+
+    spark.sparkContext.setJobGroup("findNamespace", "findNamespace")
+    val namespace = try {
+      dataCatalog.findNamespace("TABLE", List("NS1", "NS2", "NS3"))
+    } finally {
+      spark.sparkContext.clearJobGroup()
+    }
+
+    // Verify the namespace
+    assertEquals("NS2", namespace)
+
+    // Verify that every namespace was looked up with a single herd call and no Spark job was run
+    verify(mockHerdApi, times(3)).getBusinessObjectsByNamespace(anyString)
+    verify(mockHerdApi, never).getBusinessObjectByName(anyString, anyString)
+    assertEquals(0, spark.sparkContext.statusTracker.getJobIdsForGroup("findNamespace").length)
+  }
+
+  test("findNamespace should return null when no namespace contains the object") {
+    val dataCatalog = new DataCatalog(spark, "test.com")
+
+    // Create mock herd API client
+    val mockHerdApi = mock[HerdApi]
+    // Inject the mock object
+    dataCatalog.apiClientFactory = (_, _, _) => mockHerdApi
+
+    when(mockHerdApi.getBusinessObjectsByNamespace("NS1")).thenReturn(businessObjectDefinitionKeys("NS1", "OTHER"))
+    when(mockHerdApi.getBusinessObjectsByNamespace("NS2")).thenReturn(businessObjectDefinitionKeys("NS2"))
+
+    assertNull(dataCatalog.findNamespace("TABLE", List("NS1", "NS2")))
+    verify(mockHerdApi, times(2)).getBusinessObjectsByNamespace(anyString)
+  }
+
+  test("findNamespace should bound the concurrent herd calls and release its threads") {
+    val dataCatalog = new DataCatalog(spark, "test.com")
+    dataCatalog.findNamespaceMaxThreads = 2
+
+    // Create mock herd API client
+    val mockHerdApi = mock[HerdApi]
+    // Inject the mock object
+    dataCatalog.apiClientFactory = (_, _, _) => mockHerdApi
+
+    // Track the concurrent herd calls and the threads making them
+    val activeCalls = new AtomicInteger()
+    val maxActiveCalls = new AtomicInteger()
+    val lookupThreads = ConcurrentHashMap.newKeySet[Thread]()
+    when(mockHerdApi.getBusinessObjectsByNamespace(anyString)).thenAnswer(new Answer[BusinessObjectDefinitionKeys] {
+      override def answer(invocation: InvocationOnMock): BusinessObjectDefinitionKeys = {
+        lookupThreads.add(Thread.currentThread())
+        maxActiveCalls.accumulateAndGet(activeCalls.incrementAndGet(), new IntBinaryOperator {
+          override def applyAsInt(left: Int, right: Int): Int = math.max(left, right)
+        })
+        try {
+          Thread.sleep(50)
+          businessObjectDefinitionKeys(invocation.getArgument[String](0), "OTHER")
+        } finally {
+          activeCalls.decrementAndGet()
+        }
+      }
+    })
+
+    assertNull(dataCatalog.findNamespace("TABLE", List("NS1", "NS2", "NS3", "NS4", "NS5")))
+
+    // Verify that no more than the configured number of herd calls ran at once
+    verify(mockHerdApi, times(5)).getBusinessObjectsByNamespace(anyString)
+    assertTrue(maxActiveCalls.get <= 2)
+
+    // Verify that the lookup threads were shut down
+    lookupThreads.asScala.foreach(_.join(10000))
+    assertFalse(lookupThreads.asScala.exists(_.isAlive))
+  }
+
   test("dmAllObjectsInNamespaceXML should return the business object definition keys in XML format") {
     // @TODO: Create a unit test
     // val dataCatalog = new DataCatalog(spark, "test.com")
@@ -69,6 +69,9 @@ import org.finra.herd.sdk.model._
     * If `username` and `password` are defined those will be used for authentication. If `credName` is specified
     * then that will be used. If no credentials are specified, then anonymous authentication will be used.
     *
+    * The formats, partitions and DDL fetched from Herd are cached across reads within a SparkSession when `spark.herd.cache.ttl`
+    * is set, see [[HerdMetadataCache]]. Refreshing a DataFrame or writing to the business object invalidates its cached metadata.
+    *
     * ==Example==
     * {{{
     * val df = spark.read.format("herd")
@@ -193,12 +196,11 @@ class DefaultSource(apiClientFactory: (String, Option[String], Option[String]) =
   private def getFormatUsageAndFileType(
     api: HerdApi,
     params: HerdOptions,
+    formats: BusinessObjectFormatKeys,
     schema: Option[StructType] = None,
     registerIfNotPresent: Boolean = false
   ): (String, String, Int) = {
 
-    val formats = api.getBusinessObjectFormats(params.namespace, params.businessObjectName)
-
     val preferredTypes = params.fileTypes.map(_.toLowerCase).zipWithIndex.toMap
 
     val result = formats.getBusinessObjectFormatKeys.asScala
@@ -255,30 +257,69 @@ class DefaultSource(apiClientFactory: (String, Option[String], Option[String]) =
 
     val api = apiClientFactory(url, username, password)
 
-    val (formatUsage, formatFileType, formatVersion) = getFormatUsageAndFileType(api, params)
+    val metadataCache = HerdMetadataCache(sparkSession, url)
+
+    val formats = metadataCache.getOrLoad(HerdMetadataCacheKey.of(username, params.namespace, params.businessObjectName, "", "", None, None, "formats")) {
+      api.getBusinessObjectFormats(params.namespace, params.businessObjectName)
+    }
+
+    val (formatUsage, formatFileType, formatVersion) = getFormatUsageAndFileType(api, params, formats)
 
     log.info(s"Querying ${params.namespace} ${params.businessObjectName} ${formatUsage} ${formatFileType} ${formatVersion}")
 
-    val fmt = api.getBusinessObjectFormat(
-      params.namespace,
-      params.businessObjectName,
-      formatUsage,
-      formatFileType,
-      formatVersion
-    )
+    val fmt = metadataCache.getOrLoad(HerdMetadataCacheKey.of(username, params.namespace, params.businessObjectName, formatUsage, formatFileType,
+      Some(formatVersion), None, "format")) {
+      api.getBusinessObjectFormat(
+        params.namespace,
+        params.businessObjectName,
+        formatUsage,
+        formatFileType,
+        formatVersion
+      )
+    }
 
     log.info(s"Using PartitionKey ${fmt.getPartitionKey}, PartitionKeyGroup ${fmt.getSchema.getPartitionKeyGroup}")
 
-    val allData = api.getBusinessObjectPartitions(
-      params.namespace,
-      params.businessObjectName,
-      formatUsage,
-      formatFileType,
-      formatVersion,
-      params.partitionFilter
-    )
+    // a list of partition filters needs the partition key of every filter, so the primary partition filter of the options gets the format's one
+    val primaryPartitionFilter = params.partitionFilter.map {
+      case PartitionValuesFilter(_, values) => PartitionValuesFilter(fmt.getPartitionKey, values)
+      case PartitionRangeFilter(_, range) => PartitionRangeFilter(fmt.getPartitionKey, range)
+    }
+
+    // the partitions get fetched by the file index once it is listed, along with the filters on the sub-partition columns of the query
+    val getPartitions = (subPartitionFilters: Seq[PartitionFilter]) => {
+      // the filters on the sub-partition columns only ever list values, so the primary partition filter can still be a range
+      val partitionFilters = primaryPartitionFilter.toSeq ++ subPartitionFilters
+
+      val partitionFilterLookup = ("partitions" +: partitionFilters.map(HerdFileIndexBase.describePartitionFilter)).mkString(":")
+
+      val partitions = metadataCache.getOrLoad(HerdMetadataCacheKey.of(username, params.namespace, params.businessObjectName, formatUsage, formatFileType,
+        Some(formatVersion), None, partitionFilterLookup)) {
+        if (subPartitionFilters.isEmpty) {
+          api.getBusinessObjectPartitions(
+            params.namespace,
+            params.businessObjectName,
+            formatUsage,
+            formatFileType,
+            formatVersion,
+            params.partitionFilter
+          )
+        } else {
+          api.getBusinessObjectPartitions(
+            params.namespace,
+            params.businessObjectName,
+            formatUsage,
+            formatFileType,
+            formatVersion,
+            partitionFilters
+          )
+        }
+      }
+
+      log.info(s"Got ${partitions.size} results")
 
-    log.info(s"Got ${allData.size} results")
+      partitions
+    }
 
     val (dataSourceFormat, options) = toSparkDataSourceAndOptions(formatFileType, fmt.getSchema, parameters)
 
@@ -297,19 +338,24 @@ class DefaultSource(apiClientFactory: (String, Option[String], Option[String]) =
     val fileIndex = new HerdFileIndex(
       sparkSession,
       () => localApiClientFactory(url, username, password),
-      allData,
+      getPartitions,
       params.namespace,
       params.businessObjectName,
       formatUsage,
       formatFileType,
       fmt.getPartitionKey,
-      partitionSchema.getOrElse(new StructType)
+      partitionSchema.getOrElse(new StructType),
+      metadataCache,
+      username
     )
 
     val useHerdOrcFormat = sparkSession.version < "2.3.0"
 
     val correctedDataSourceFormat = dataSourceFormat match {
       case "orc" if useHerdOrcFormat => "org.apache.spark.sql.hive.orc.HerdOrcFileFormat"
+      // the vectorized native ORC reader, which also maps the files written by Hive without field names by their index in the Herd schema,
+      // "orc" would otherwise resolve to the row based Hive ORC format unless spark.sql.orc.impl is set to native
+      case "orc" => "org.apache.spark.sql.hive.orc.HerdNativeOrcFileFormat"
       case _ => dataSourceFormat
     }
 
@@ -352,6 +398,7 @@ class DefaultSource(apiClientFactory: (String, Option[String], Option[String]) =
     val (formatUsage, formatFileType, formatVersion) = getFormatUsageAndFileType(
       api,
       params,
+      api.getBusinessObjectFormats(params.namespace, params.businessObjectName),
       Some(data.schema),
       params.registerNewFormat
     )
@@ -504,6 +551,9 @@ class DefaultSource(apiClientFactory: (String, Option[String], Option[String]) =
         throw e
     } finally {
       sparkSession.sessionState.listenerManager.unregister(queryExecutionListener)
+
+      // the formats and partitions cached by earlier reads of this object are now out of date
+      HerdMetadataCache(sparkSession, url).invalidate(params.namespace, params.businessObjectName)
     }
 
     new BaseRelation() {
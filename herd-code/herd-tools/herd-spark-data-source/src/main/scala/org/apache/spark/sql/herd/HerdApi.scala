@@ -21,7 +21,7 @@ import scala.collection.JavaConverters._
 import scala.util.{Failure, Success, Try}
 
 import org.finra.herd.sdk.api._
-import org.finra.herd.sdk.invoker.ApiClient
+import org.finra.herd.sdk.invoker.{ApiClient, ApiException}
 import org.finra.herd.sdk.model.{PartitionValueFilter, _}
 
 /** A subset of business object data statuses used by the custom data source */
@@ -107,6 +107,22 @@ trait HerdApi {
                                   formatUsage: String, formatFileType: String, formatVersion: Int,
                                   partitionFilter: Option[PartitionFilter]): Seq[(Int, String, Seq[String], Int)]
 
+  /** Retrieve the available partitions that match all of the partition filters
+   *
+   * Every filter applies to a different partition column, identified by its partition key. The partition columns without a filter match any value.
+   *
+   * @param namespace          The namespace
+   * @param businessObjectName The business object definition name
+   * @param formatUsage        The business object format usage (e.g. PRC).
+   * @param formatFileType     The business object format file type (e.g. GZ).
+   * @param formatVersion      The version of the business object format (e.g. 0).
+   * @param partitionFilters   the partition filters, at most one of them can be a range
+   * @return list of partitions
+   */
+  def getBusinessObjectPartitions(namespace: String, businessObjectName: String,
+                                  formatUsage: String, formatFileType: String, formatVersion: Int,
+                                  partitionFilters: Seq[PartitionFilter]): Seq[(Int, String, Seq[String], Int)]
+
   /** Get the business object data based on the specified parameters
    *
    * @param namespace          The namespace
@@ -317,6 +333,9 @@ trait Retry {
 class DefaultHerdApi(private val apiClient: ApiClient) extends HerdApi with Retry {
   override val log: Logger = Logger.getLogger(classOf[DefaultHerdApi])
 
+  /** Set to false once the Herd server rejects the partition value tokens in a partition value range */
+  @volatile private var partitionValueRangeTokensSupported = true
+
   def getBusinessObjectDefinitionApi(apiClient: ApiClient) : BusinessObjectDefinitionApi = {
     new BusinessObjectDefinitionApi(apiClient)
   }
@@ -417,9 +436,15 @@ class DefaultHerdApi(private val apiClient: ApiClient) extends HerdApi with Retr
     val api = getBusinessObjectDataApi(apiClient)
 
     partitionFilter match {
-      case None =>
+      case None if partitionValueRangeTokensSupported =>
+        // A partition value range bounded by the partition value tokens selects all available partitions in a single call,
+        // as the tokens get resolved to the minimum and maximum available partition values on the server side
+        val filterRange = new PartitionValueRange()
+        filterRange.setStartPartitionValue("${minimum.partition.value}")
+        filterRange.setEndPartitionValue("${maximum.partition.value}")
+
         val filter = new PartitionValueFilter()
-        filter.setPartitionValues(List("${maximum.partition.value}", "${minimum.partition.value}").asJava)
+        filter.setPartitionValueRange(filterRange)
 
         val req = new BusinessObjectDataAvailabilityRequest()
         req.setNamespace(namespace)
@@ -430,36 +455,26 @@ class DefaultHerdApi(private val apiClient: ApiClient) extends HerdApi with Retr
         req.setPartitionValueFilter(filter)
         req.setIncludeAllRegisteredSubPartitions(false)
 
-        val range = withRetry {
+        Try(withRetry {
           api.businessObjectDataCheckBusinessObjectDataAvailability(req)
-        }.getAvailableStatuses.asScala.map { status =>
-          status.getPartitionValue
-        }
-
-        filter.setPartitionValues(null)
-
-        if (range.isEmpty) {
-          return Seq.empty
-        } else if (range.size == 1) {
-          filter.setPartitionValues(List(range.head).asJava)
-        } else {
-          val filterRange = new PartitionValueRange()
-          filterRange.setStartPartitionValue(range.head)
-          filterRange.setEndPartitionValue(range.last)
-
-          filter.setPartitionValueRange(filterRange)
-        }
-
-        req.setIncludeAllRegisteredSubPartitions(false)
-
-        withRetry {
-          api.businessObjectDataCheckBusinessObjectDataAvailability(req)
-        }.getAvailableStatuses.asScala.map { status =>
-          (status.getBusinessObjectFormatVersion.toInt,
-            status.getPartitionValue,
-            status.getSubPartitionValues.asScala,
-            status.getBusinessObjectDataVersion.toInt)
+        }) match {
+          case Success(availability) => availability.getAvailableStatuses.asScala.map { status =>
+            (status.getBusinessObjectFormatVersion.toInt,
+              status.getPartitionValue,
+              status.getSubPartitionValues.asScala,
+              status.getBusinessObjectDataVersion.toInt)
+          }
+          case Failure(ex: ApiException) if ex.getCode == 400 =>
+            // Herd servers that predate the partition value tokens in a range reject the request,
+            // so resolve the range bounds with a separate call from now on
+            log.warn("Partition value tokens are not supported in a partition value range, resolving the range bounds first", ex)
+            partitionValueRangeTokensSupported = false
+
+            getBusinessObjectPartitionsByRangeBounds(api, namespace, businessObjectDefinitionName, formatUsage, formatFileType)
+          case Failure(ex) => throw ex
         }
+      case None =>
+        getBusinessObjectPartitionsByRangeBounds(api, namespace, businessObjectDefinitionName, formatUsage, formatFileType)
       case Some(filter) =>
         val req = new BusinessObjectDataAvailabilityRequest()
         req.setNamespace(namespace)
@@ -485,6 +500,83 @@ class DefaultHerdApi(private val apiClient: ApiClient) extends HerdApi with Retr
     }
   }
 
+  /**
+   * Resolves all available partitions with two calls, the first one resolves the minimum and maximum available partition values
+   * and the second one selects the partitions in the range between them. Used with Herd servers that do not accept the partition
+   * value tokens in a partition value range.
+   */
+  private def getBusinessObjectPartitionsByRangeBounds(api: BusinessObjectDataApi, namespace: String, businessObjectDefinitionName: String,
+                                                       formatUsage: String, formatFileType: String): Seq[(Int, String, Seq[String], Int)] = {
+    val filter = new PartitionValueFilter()
+    filter.setPartitionValues(List("${maximum.partition.value}", "${minimum.partition.value}").asJava)
+
+    val req = new BusinessObjectDataAvailabilityRequest()
+    req.setNamespace(namespace)
+    req.setBusinessObjectDefinitionName(businessObjectDefinitionName)
+    req.setBusinessObjectFormatUsage(formatUsage)
+    req.setBusinessObjectFormatFileType(formatFileType)
+    req.setPartitionValueFilters(null)
+    req.setPartitionValueFilter(filter)
+    req.setIncludeAllRegisteredSubPartitions(false)
+
+    val range = withRetry {
+      api.businessObjectDataCheckBusinessObjectDataAvailability(req)
+    }.getAvailableStatuses.asScala.map { status =>
+      status.getPartitionValue
+    }
+
+    filter.setPartitionValues(null)
+
+    if (range.isEmpty) {
+      return Seq.empty
+    } else if (range.size == 1) {
+      filter.setPartitionValues(List(range.head).asJava)
+    } else {
+      val filterRange = new PartitionValueRange()
+      filterRange.setStartPartitionValue(range.head)
+      filterRange.setEndPartitionValue(range.last)
+
+      filter.setPartitionValueRange(filterRange)
+    }
+
+    withRetry {
+      api.businessObjectDataCheckBusinessObjectDataAvailability(req)
+    }.getAvailableStatuses.asScala.map { status =>
+      (status.getBusinessObjectFormatVersion.toInt,
+        status.getPartitionValue,
+        status.getSubPartitionValues.asScala,
+        status.getBusinessObjectDataVersion.toInt)
+    }
+  }
+
+  override def getBusinessObjectPartitions(namespace: String, businessObjectDefinitionName: String, formatUsage: String,
+                                           formatFileType: String, formatVersion: Int,
+                                           partitionFilters: Seq[PartitionFilter]): Seq[(Int, String, Seq[String], Int)] = {
+    if (partitionFilters.isEmpty) {
+      return getBusinessObjectPartitions(namespace, businessObjectDefinitionName, formatUsage, formatFileType, formatVersion, None)
+    }
+
+    val api = getBusinessObjectDataApi(apiClient)
+
+    val req = new BusinessObjectDataAvailabilityRequest()
+    req.setNamespace(namespace)
+    req.setBusinessObjectDefinitionName(businessObjectDefinitionName)
+    req.setBusinessObjectFormatUsage(formatUsage)
+    req.setBusinessObjectFormatFileType(formatFileType)
+    req.setPartitionValueFilters(partitionFilters.map(toPartitionValueFilter).asJava)
+    req.setPartitionValueFilter(null)
+    req.setIncludeAllRegisteredSubPartitions(false)
+
+    withRetry {
+      api.businessObjectDataCheckBusinessObjectDataAvailability(req)
+    }.getAvailableStatuses.asScala.map { status =>
+      (status.getBusinessObjectFormatVersion.toInt,
+        status.getPartitionValue,
+        status.getSubPartitionValues.asScala,
+        status.getBusinessObjectDataVersion.toInt)
+    }
+  }
+
   override def getBusinessObjectData(namespace: String, businessObjectName: String,
                                      formatUsage: String, formatFileType: String,
                                      formatVersion: Int, partitionKey: String, partitionValue: String,
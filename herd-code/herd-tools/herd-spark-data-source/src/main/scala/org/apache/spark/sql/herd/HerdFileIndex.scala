@@ -24,6 +24,7 @@ import org.apache.spark.sql.catalyst.catalog.ExternalCatalogUtils.unescapePathNa
 import org.apache.spark.sql.catalyst.expressions._
 import org.apache.spark.sql.execution.datasources.{FileIndex, PartitionPath, PartitionSpec}
 import org.apache.spark.sql.types._
+import org.apache.spark.unsafe.types.UTF8String
 import org.apache.spark.util.SerializableConfiguration
 import scala.collection.mutable
 import scala.collection.mutable.ArrayBuffer
@@ -38,30 +39,42 @@ import scala.util.matching.Regex
  *
  * @param sparkSession        The spark session
  * @param api                 The ApiClient instance needed by Herd SDK
- * @param herdPartitions      The list of partitions
+ * @param herdPartitions      Fetches the partitions that match the herd partition filters, all partitions without filters
  * @param namespace           The namespace
  * @param businessObjectName  The business object definition name
  * @param formatUsage         The business object format usage (e.g. PRC).
  * @param formatFileType      The business object format file type (e.g. GZ).
  * @param partitionKey        The business object format partition key.
  * @param herdPartitionSchema The schema associated with the business object format
+ * @param metadataCache       The cache of the herd metadata used by reads in this spark session
+ * @param user                The herd username or credential name the API calls are made as, if any
  */
 private[sql] abstract class HerdFileIndexBase(
                                              sparkSession: SparkSession,
                                              api: () => HerdApi,
-                                             herdPartitions: Seq[(Int, String, Seq[String], Int)],
+                                             herdPartitions: Seq[PartitionFilter] => Seq[(Int, String, Seq[String], Int)],
                                              namespace: String,
                                              businessObjectName: String,
                                              formatUsage: String,
                                              formatFileType: String,
                                              partitionKey: String,
-                                             herdPartitionSchema: StructType) extends FileIndex with Logging {
+                                             herdPartitionSchema: StructType,
+                                             metadataCache: HerdMetadataCache,
+                                             user: Option[String]) extends FileIndex with Logging {
 
   import HerdFileIndexBase._
 
   protected val hadoopConf = sparkSession.sessionState.newHadoopConf()
 
-  protected val partitionSpec = {
+  protected lazy val partitionSpec = makePartitionSpec(herdPartitions(Seq.empty))
+
+  /**
+   * Builds the partition spec of the herd partitions
+   *
+   * @param herdPartitions list of herd partitions
+   * @return the partition spec
+   */
+  private def makePartitionSpec(herdPartitions: Seq[(Int, String, Seq[String], Int)]): PartitionSpec = {
     val partitions = herdPartitions.map {
       case (formatVersion, partitionValue, subPartitionValues, dataVersion) =>
         val row = if (herdPartitionSchema.nonEmpty) {
@@ -98,6 +111,30 @@ private[sql] abstract class HerdFileIndexBase(
     PartitionSpec(herdPartitionSchema, partitions)
   }
 
+  /**
+   * Translates the predicates on the sub-partition columns into herd partition filters
+   *
+   * @param predicates the partition pruning predicates
+   * @return the herd partition filters
+   */
+  protected def subPartitionFilters(predicates: Seq[Expression]): Seq[PartitionFilter] = {
+    toSubPartitionFilters(predicates, herdPartitionSchema)
+  }
+
+  /**
+   * Returns the partition spec with only the partitions that match the sub-partition filters, fetching them from herd when there are filters
+   *
+   * @param subPartitionFilters the herd filters on the sub-partition columns
+   * @return the partition spec
+   */
+  protected def partitionSpecFor(subPartitionFilters: Seq[PartitionFilter]): PartitionSpec = {
+    if (subPartitionFilters.isEmpty) {
+      partitionSpec
+    } else {
+      makePartitionSpec(herdPartitions(subPartitionFilters))
+    }
+  }
+
   @transient protected val cachedAllFiles = mutable.LinkedHashMap[Path, Array[FileStatus]]()
 
   override def rootPaths: Seq[Path] = partitionSpec.partitions.map(_.path)
@@ -111,7 +148,7 @@ private[sql] abstract class HerdFileIndexBase(
   protected def bulkListLeafFiles(paths: Seq[Path]): Seq[(Path, Array[FileStatus])] = {
     val localApiFactory = api
     val fileStatuses = if (paths.size < sparkSession.sessionState.conf.parallelPartitionDiscoveryThreshold) {
-      listS3KeyPrefixes(localApiFactory(), paths.map(_.toString))
+      listS3KeyPrefixes(localApiFactory(), paths.map(_.toString), Some(metadataCache), user)
         .map {
           case (path, s3KeyPrefixes) => (path, getAllFilesUnderS3KeyPrefixes(hadoopConf, s3KeyPrefixes).toArray)
         }
@@ -151,6 +188,7 @@ private[sql] abstract class HerdFileIndexBase(
 
   override def refresh(): Unit = {
     cachedAllFiles.clear()
+    metadataCache.invalidate(namespace, businessObjectName)
   }
 
   override def sizeInBytes: Long = Long.MaxValue
@@ -169,20 +207,67 @@ private[sql] abstract class HerdFileIndexBase(
   def filterPartitions(filters: Seq[Expression]): FileIndex
 }
 
-private object HerdFileIndexBase extends Logging {
+private object HerdFileIndexBase extends Logging with PredicateHelper {
 
   def parsePartitionPath(path: String): Map[String, Option[String]] = {
     path.split("/").map(_.split("=")).map(i => i.head -> i.drop(1).headOption).toMap
   }
 
+  /**
+   * Translates the equality and IN predicates on the string sub-partition columns into herd partition filters
+   *
+   * The filters select a superset of the partitions that match the predicates, so the predicates still need to be evaluated against the partitions.
+   * The range predicates are only evaluated against the partitions, since herd expands a partition value range from the partition key group of the
+   * primary partition.
+   *
+   * @param predicates      the partition pruning predicates
+   * @param partitionSchema the partition schema, the first column being the primary partition
+   * @return the herd partition filters, at most one per sub-partition column
+   */
+  def toSubPartitionFilters(predicates: Seq[Expression], partitionSchema: StructType): Seq[PartitionFilter] = {
+    val conjuncts = predicates.flatMap(splitConjunctivePredicates)
+
+    partitionSchema.drop(1).filter(_.dataType == StringType).flatMap { field =>
+      val values = conjuncts.collect {
+        case ColumnValues(name, columnValues) if name == field.name => columnValues
+      }.reduceOption(_ intersect _)
+
+      values.filter(_.nonEmpty).map(columnValues => PartitionValuesFilter(field.name, columnValues.toArray.sorted))
+    }
+  }
+
+  /** Matches the predicates that restrict a column to a set of string values */
+  private object ColumnValues {
+    def unapply(predicate: Expression): Option[(String, Set[String])] = predicate match {
+      case EqualTo(a: Attribute, StringLiteral(value)) => Some((a.name, Set(value)))
+      case EqualTo(StringLiteral(value), a: Attribute) => Some((a.name, Set(value)))
+      case In(a: Attribute, list) if list.forall(StringLiteral.unapply(_).isDefined) =>
+        Some((a.name, list.flatMap(StringLiteral.unapply).toSet))
+      case InSet(a: Attribute, set) if set.forall(v => v != null && v.isInstanceOf[UTF8String]) =>
+        Some((a.name, set.map(_.toString)))
+      case _ => None
+    }
+  }
+
+  /** Matches the non-null string literals */
+  private object StringLiteral {
+    def unapply(expression: Expression): Option[String] = expression match {
+      case Literal(value: UTF8String, StringType) => Some(value.toString)
+      case _ => None
+    }
+  }
+
   /**
    * Find all S3 directories(aka s3 key prefixes) specified by the paths
    *
-   * @param api   The ApiClient instance needed by Herd SDK
-   * @param paths List of herd paths
+   * @param api           The ApiClient instance needed by Herd SDK
+   * @param paths         List of herd paths
+   * @param metadataCache The cache to look the DDL up in first, only available on the driver
+   * @param user          The herd username or credential name the API calls are made as, if any
    * @return list of s3 key prefixes
    */
-  def listS3KeyPrefixes(api: HerdApi, paths: Seq[String]): Seq[(String, Seq[String])] = {
+  def listS3KeyPrefixes(api: HerdApi, paths: Seq[String], metadataCache: Option[HerdMetadataCache] = None,
+                        user: Option[String] = None): Seq[(String, Seq[String])] = {
     if (paths.isEmpty) {
       return Seq.empty
     }
@@ -191,7 +276,7 @@ private object HerdFileIndexBase extends Logging {
     val partitionKey = parts("partitionKey").get
     val partitionValues = paths.map(path => parsePartitionPath(path)("partitionValue").get).toList
 
-    Try(api.getBusinessObjectDataGenerateDdl(
+    def getDdl() = api.getBusinessObjectDataGenerateDdl(
       parts("namespace").get,
       parts("businessObjectName").get,
       parts("formatUsage").get,
@@ -200,7 +285,22 @@ private object HerdFileIndexBase extends Logging {
       partitionKey,
       partitionValues.distinct,
       parts("dataVersion").get.toInt
-    )) match {
+    )
+
+    Try(metadataCache match {
+      case Some(cache) =>
+        cache.getOrLoad(HerdMetadataCacheKey.of(
+          user,
+          parts("namespace").get,
+          parts("businessObjectName").get,
+          parts("formatUsage").get,
+          parts("formatFileType").get,
+          Some(parts("formatVersion").get.toInt),
+          Some(parts("dataVersion").get.toInt),
+          s"ddl:$partitionKey=${partitionValues.distinct.mkString(",")}"
+        ))(getDdl())
+      case None => getDdl()
+    }) match {
       case Success(objectDataDdl) => getS3KeyPrefixes(objectDataDdl.getDdl(), paths)
       case Failure(error) =>
         log.error(s"Could not fetch object data DDL request for $partitionValues", error)
@@ -208,6 +308,17 @@ private object HerdFileIndexBase extends Logging {
     }
   }
 
+  /**
+   * Describes a herd partition filter, to tell apart the herd lookups made with different filters
+   *
+   * @param filter the partition filter
+   * @return the description of the filter
+   */
+  def describePartitionFilter(filter: PartitionFilter): String = filter match {
+    case PartitionValuesFilter(key, values) => s"$key=${values.mkString(",")}"
+    case PartitionRangeFilter(key, (start, end)) => s"$key=$start-$end"
+  }
+
   /**
    * Retrieve all the S3 directories(aka S3 key prefixes) from the business object data DDL
    *
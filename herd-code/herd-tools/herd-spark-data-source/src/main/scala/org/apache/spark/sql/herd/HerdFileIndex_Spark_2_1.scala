@@ -25,13 +25,15 @@ import org.apache.spark.sql.types.StructType
 private[sql] class HerdFileIndex(
     sparkSession: SparkSession,
     api: () => HerdApi,
-    herdPartitions: Seq[(Int, String, Seq[String], Int)],
+    herdPartitions: Seq[PartitionFilter] => Seq[(Int, String, Seq[String], Int)],
     namespace: String,
     businessObjectName: String,
     formatUsage: String,
     formatFileType: String,
     partitionKey: String,
-    herdPartitionSchema: StructType)
+    herdPartitionSchema: StructType,
+    metadataCache: HerdMetadataCache,
+    user: Option[String])
   extends HerdFileIndexBase(
     sparkSession,
     api,
@@ -41,13 +43,18 @@ private[sql] class HerdFileIndex(
     formatUsage,
     formatFileType,
     partitionKey,
-    herdPartitionSchema) {
+    herdPartitionSchema,
+    metadataCache,
+    user) {
 
   override def listFiles(filters: Seq[Expression]): Seq[PartitionDirectory] = {
-    val prunedPartitions = if (partitionSpec.partitionColumns.isEmpty) {
+    // the filters on the sub-partition columns let herd return only the matching partitions
+    val herdFilters = subPartitionFilters(filters)
+
+    val prunedPartitions = if (herdPartitionSchema.isEmpty) {
       partitionSpec.partitions
     } else {
-      prunePartitions(filters, partitionSpec)
+      prunePartitions(filters, partitionSpecFor(herdFilters))
     }
 
     val selectedPartitions = {
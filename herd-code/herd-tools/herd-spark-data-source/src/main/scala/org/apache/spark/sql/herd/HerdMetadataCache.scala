@@ -0,0 +1,175 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.apache.spark.sql.herd
+
+import java.util
+
+import org.apache.spark.internal.Logging
+import org.apache.spark.network.util.JavaUtils
+import org.apache.spark.sql.SparkSession
+import scala.collection.JavaConverters._
+import scala.collection.mutable
+
+/** Identifies a piece of cached herd metadata by the herd user it was fetched as and the business object format and data version it describes
+ *
+ * The user is part of the key, so that metadata fetched with the credentials of one user is never returned to another user of the same herd instance.
+ *
+ * @param user               The herd username or credential name the metadata was fetched as, if any
+ * @param namespace          The namespace
+ * @param businessObjectName The business object definition name
+ * @param formatUsage        The business object format usage, empty when the metadata is not specific to a format
+ * @param formatFileType     The business object format file type, empty when the metadata is not specific to a format
+ * @param formatVersion      The business object format version, if any
+ * @param dataVersion        The business object data version, if any
+ * @param lookup             Describes the lookup that produced the metadata (e.g. the partition filter used)
+ */
+private[sql] case class HerdMetadataCacheKey(
+                                              user: Option[String],
+                                              namespace: String,
+                                              businessObjectName: String,
+                                              formatUsage: String,
+                                              formatFileType: String,
+                                              formatVersion: Option[Int],
+                                              dataVersion: Option[Int],
+                                              lookup: String)
+
+private[sql] object HerdMetadataCacheKey {
+
+  /** Creates a cache key, ignoring the case of the herd key values the same way herd does */
+  def of(user: Option[String], namespace: String, businessObjectName: String, formatUsage: String, formatFileType: String,
+         formatVersion: Option[Int], dataVersion: Option[Int], lookup: String): HerdMetadataCacheKey = {
+    new HerdMetadataCacheKey(user, namespace.toUpperCase, businessObjectName.toUpperCase, formatUsage.toUpperCase,
+      formatFileType.toUpperCase, formatVersion, dataVersion, lookup)
+  }
+
+}
+
+/** A cache for the formats, partitions and DDL the data source fetches from a single herd instance while planning a read
+ *
+ * Entries expire after the time to live and the least recently used entries are evicted once the maximum number of entries is reached. A time to
+ * live of zero disables caching, so that every lookup goes to herd.
+ *
+ * @param ttlMillis  The time to live of an entry in milliseconds
+ * @param maxEntries The maximum number of entries to keep
+ * @param clock      Returns the current time in milliseconds
+ */
+private[sql] class HerdMetadataCache(val ttlMillis: Long, val maxEntries: Int, clock: () => Long = () => System.currentTimeMillis())
+  extends Logging {
+
+  private val entries = new util.LinkedHashMap[HerdMetadataCacheKey, (Long, Any)](16, 0.75f, true) {
+    override def removeEldestEntry(eldest: util.Map.Entry[HerdMetadataCacheKey, (Long, Any)]): Boolean = this.size() > maxEntries
+  }
+
+  /** Returns the cached value for the key, or loads, caches and returns it when there is no live entry
+   *
+   * @param key  The cache key
+   * @param load Fetches the value from herd
+   * @return The cached or loaded value
+   */
+  def getOrLoad[T](key: HerdMetadataCacheKey)(load: => T): T = {
+    if (ttlMillis <= 0 || maxEntries <= 0) {
+      load
+    } else {
+      val cached = entries.synchronized {
+        Option(entries.get(key)).filter(_._1 > clock())
+      }
+
+      cached match {
+        case Some((_, value)) =>
+          log.debug(s"Using cached herd metadata for $key")
+          value.asInstanceOf[T]
+        case None =>
+          val value = load
+          entries.synchronized {
+            entries.put(key, (clock() + ttlMillis, value))
+          }
+          value
+      }
+    }
+  }
+
+  /** Removes all entries of a business object definition, for all users
+   *
+   * @param namespace          The namespace
+   * @param businessObjectName The business object definition name
+   */
+  def invalidate(namespace: String, businessObjectName: String): Unit = {
+    entries.synchronized {
+      entries.keySet.asScala.retain(key =>
+        !(key.namespace.equalsIgnoreCase(namespace) && key.businessObjectName.equalsIgnoreCase(businessObjectName)))
+    }
+  }
+
+  /** Removes all entries */
+  def invalidateAll(): Unit = {
+    entries.synchronized {
+      entries.clear()
+    }
+  }
+
+  /** The number of entries, including the ones that have expired but were not evicted yet */
+  def size: Int = {
+    entries.synchronized {
+      entries.size()
+    }
+  }
+}
+
+/** Keeps a herd metadata cache per herd URL for every SparkSession
+ *
+ * ==Configuration==
+ * `spark.herd.cache.ttl` - How long cached metadata stays valid, e.g. `10m` (optional, default `0` which disables the cache)
+ *
+ * `spark.herd.cache.maxEntries` - The maximum number of cached lookups per herd URL (optional, default `1000`)
+ */
+private[sql] object HerdMetadataCache {
+
+  val TTL_CONF = "spark.herd.cache.ttl"
+
+  val MAX_ENTRIES_CONF = "spark.herd.cache.maxEntries"
+
+  private val DEFAULT_MAX_ENTRIES = 1000
+
+  private val caches = new util.WeakHashMap[SparkSession, mutable.Map[String, HerdMetadataCache]]()
+
+  /** Returns the metadata cache of a herd instance for the SparkSession, creating a new one when the cache configuration has changed
+   *
+   * @param sparkSession The spark session
+   * @param url          The URL of the herd service
+   * @return The herd metadata cache
+   */
+  def apply(sparkSession: SparkSession, url: String): HerdMetadataCache = {
+    val ttlMillis = sparkSession.conf.getOption(TTL_CONF).map(JavaUtils.timeStringAsMs).getOrElse(0L)
+    val maxEntries = sparkSession.conf.getOption(MAX_ENTRIES_CONF).map(_.toInt).getOrElse(DEFAULT_MAX_ENTRIES)
+
+    caches.synchronized {
+      val sessionCaches = Option(caches.get(sparkSession)).getOrElse {
+        val newSessionCaches = mutable.Map[String, HerdMetadataCache]()
+        caches.put(sparkSession, newSessionCaches)
+        newSessionCaches
+      }
+
+      sessionCaches.get(url)
+        .filter(cache => cache.ttlMillis == ttlMillis && cache.maxEntries == maxEntries)
+        .getOrElse {
+          val cache = new HerdMetadataCache(ttlMillis, maxEntries)
+          sessionCaches.put(url, cache)
+          cache
+        }
+    }
+  }
+
+}
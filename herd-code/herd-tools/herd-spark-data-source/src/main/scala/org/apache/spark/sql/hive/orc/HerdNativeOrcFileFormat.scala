@@ -0,0 +1,259 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.apache.spark.sql.hive.orc
+
+import java.net.URI
+
+import scala.collection.JavaConverters._
+
+import org.apache.hadoop.conf.Configuration
+import org.apache.hadoop.fs.Path
+import org.apache.orc.{OrcFile, Reader}
+import org.apache.orc.mapred.OrcInputFormat
+import org.apache.spark.TaskContext
+import org.apache.spark.internal.Logging
+import org.apache.spark.sql.SparkSession
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.catalyst.expressions.UnsafeProjection
+import org.apache.spark.sql.execution.datasources.PartitionedFile
+import org.apache.spark.sql.execution.datasources.orc.{OrcColumnVector, OrcFileFormat => NativeOrcFileFormat}
+import org.apache.spark.sql.execution.vectorized.{ColumnVectorUtils, OnHeapColumnVector}
+import org.apache.spark.sql.sources.Filter
+import org.apache.spark.sql.types.{AtomicType, StructType}
+import org.apache.spark.sql.vectorized.{ColumnarBatch, ColumnVector}
+import org.apache.spark.util.SerializableConfiguration
+
+/**
+ * Wrapper for the native [[org.apache.spark.sql.execution.datasources.orc.OrcFileFormat]] of Spark 2.3 and later that also reads the files
+ * written by Hive without field names, even when they hold more fields than the Herd schema (https://issues.apache.org/jira/browse/HIVE-7189)
+ *
+ * The ORC reader of each file is opened once, its footer is used both to map the required columns and to read the rows. The columns of the files
+ * with positional field names are mapped by their index in the Herd schema, so every file of a scan can be read in columnar batches.
+ */
+private[sql] class HerdNativeOrcFileFormat extends NativeOrcFileFormat with Logging {
+
+  override def buildReaderWithPartitionValues(
+      sparkSession: SparkSession,
+      dataSchema: StructType,
+      partitionSchema: StructType,
+      requiredSchema: StructType,
+      filters: Seq[Filter],
+      options: Map[String, String],
+      hadoopConf: Configuration): (PartitionedFile) => Iterator[InternalRow] = {
+
+    // building the native reader also pushes the filters down into the Hadoop configuration
+    val nativeReader = super.buildReaderWithPartitionValues(sparkSession, dataSchema, partitionSchema, requiredSchema, filters,
+      options, hadoopConf)
+
+    val resultSchema = StructType(requiredSchema.fields ++ partitionSchema.fields)
+
+    // the ORC column vectors only hold atomic values, the other scans read the files written by Hive with the row based Hive reader
+    if (resultSchema.forall(_.dataType.isInstanceOf[AtomicType])) {
+      buildColumnarReader(sparkSession, dataSchema, partitionSchema, requiredSchema, hadoopConf)
+    } else {
+      buildRowReader(sparkSession, dataSchema, partitionSchema, requiredSchema, options, hadoopConf, nativeReader)
+    }
+  }
+
+  /**
+   * Builds the reader that reads every file in columnar batches, which are returned as is when the scan supports batches
+   */
+  private def buildColumnarReader(
+      sparkSession: SparkSession,
+      dataSchema: StructType,
+      partitionSchema: StructType,
+      requiredSchema: StructType,
+      hadoopConf: Configuration): (PartitionedFile) => Iterator[InternalRow] = {
+
+    val resultSchema = StructType(requiredSchema.fields ++ partitionSchema.fields)
+    val enableBatch = supportBatch(sparkSession, resultSchema)
+    val capacity = sparkSession.sessionState.conf.orcVectorizedReaderBatchSize
+    val isCaseSensitive = sparkSession.sessionState.conf.caseSensitiveAnalysis
+
+    val broadcastedHadoopConf =
+      sparkSession.sparkContext.broadcast(new SerializableConfiguration(hadoopConf))
+
+    new (PartitionedFile => Iterator[InternalRow]) with Serializable {
+      override def apply(file: PartitionedFile) = {
+        val conf = broadcastedHadoopConf.value.value
+
+        val filePath = new Path(new URI(file.filePath))
+        val reader = OrcFile.createReader(filePath, OrcFile.readerOptions(conf).filesystem(filePath.getFileSystem(conf)))
+
+        val fieldNames = reader.getSchema.getFieldNames.asScala
+
+        if (fieldNames.isEmpty) {
+          // the file is empty
+          Iterator.empty
+        } else {
+          val columnIds = HerdNativeOrcFileFormat.requestedColumnIds(fieldNames, dataSchema, requiredSchema, isCaseSensitive)
+          val batches = HerdNativeOrcFileFormat.readBatches(reader, file, conf, columnIds, requiredSchema, partitionSchema, capacity)
+
+          if (enableBatch) {
+            batches.asInstanceOf[Iterator[InternalRow]]
+          } else {
+            val unsafeProjection = UnsafeProjection.create(resultSchema)
+
+            batches.flatMap(_.rowIterator().asScala).map(unsafeProjection)
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Builds the row reader that picks the native or the Hive reader depending on the field names of each file
+   */
+  private def buildRowReader(
+      sparkSession: SparkSession,
+      dataSchema: StructType,
+      partitionSchema: StructType,
+      requiredSchema: StructType,
+      options: Map[String, String],
+      hadoopConf: Configuration,
+      nativeReader: PartitionedFile => Iterator[InternalRow]): (PartitionedFile) => Iterator[InternalRow] = {
+
+    // the Hive reader maps the required columns to the positional field names by their index in the Herd schema,
+    // the filters are not pushed down since they refer to the Herd field names and get evaluated after the scan anyway
+    val hiveReader = new OrcFileFormat().buildReaderWithPartitionValues(sparkSession, dataSchema, partitionSchema, requiredSchema,
+      Seq.empty, options, hadoopConf)
+
+    val broadcastedHadoopConf =
+      sparkSession.sparkContext.broadcast(new SerializableConfiguration(hadoopConf))
+
+    new (PartitionedFile => Iterator[InternalRow]) with Serializable {
+      override def apply(file: PartitionedFile) = {
+        val conf = broadcastedHadoopConf.value.value
+
+        val filePath = new Path(new URI(file.filePath))
+        val fieldNames = OrcFile.createReader(filePath, OrcFile.readerOptions(conf).filesystem(filePath.getFileSystem(conf)))
+          .getSchema.getFieldNames.asScala
+
+        if (fieldNames.nonEmpty && fieldNames.forall(_.startsWith("_col"))) {
+          log.info(s"Using Hive reader for ${file.filePath} with positional field names")
+
+          hiveReader(file)
+        } else {
+          nativeReader(file)
+        }
+      }
+    }
+  }
+}
+
+private[orc] object HerdNativeOrcFileFormat {
+
+  /**
+   * Finds the index of each required column in the ORC file, -1 for the columns missing from the file
+   *
+   * @param fieldNames      the field names of the ORC file
+   * @param dataSchema      the Herd schema
+   * @param requiredSchema  the required columns
+   * @param isCaseSensitive whether the field names are case sensitive
+   * @return the column indexes
+   */
+  def requestedColumnIds(fieldNames: Seq[String], dataSchema: StructType, requiredSchema: StructType,
+                         isCaseSensitive: Boolean): Array[Int] = {
+    if (fieldNames.forall(_.startsWith("_col"))) {
+      // the file was written by Hive, the fields map to the Herd schema by their index
+      requiredSchema.fieldNames.map(dataSchema.fieldIndex).map(index => if (index < fieldNames.length) index else -1)
+    } else if (isCaseSensitive) {
+      requiredSchema.fieldNames.map(fieldNames.indexOf(_))
+    } else {
+      requiredSchema.fieldNames.map(name => fieldNames.indexWhere(_.equalsIgnoreCase(name)))
+    }
+  }
+
+  /**
+   * Reads the split of a file in columnar batches, which hold the required columns followed by the partition columns
+   *
+   * The batch and its column vectors are reused by the successive batches.
+   *
+   * @param reader          the ORC reader of the file
+   * @param file            the file split
+   * @param conf            the Hadoop configuration, with the pushed down filters
+   * @param columnIds       the index of each required column in the file, -1 for the missing ones
+   * @param requiredSchema  the required columns
+   * @param partitionSchema the partition columns
+   * @param capacity        the number of rows in a batch
+   * @return the batches
+   */
+  def readBatches(reader: Reader, file: PartitionedFile, conf: Configuration, columnIds: Array[Int], requiredSchema: StructType,
+                  partitionSchema: StructType, capacity: Int): Iterator[ColumnarBatch] = {
+    val recordReader = reader.rows(OrcInputFormat.buildOptions(conf, reader, file.start, file.length))
+    var closed = false
+
+    def close(): Unit = {
+      if (!closed) {
+        closed = true
+        recordReader.close()
+      }
+    }
+
+    Option(TaskContext.get()).foreach(_.addTaskCompletionListener(_ => close()))
+
+    val orcBatch = reader.getSchema.createRowBatch(capacity)
+
+    val orcColumns = requiredSchema.fields.zip(columnIds).map {
+      case (field, columnId) if columnId >= 0 => Some(new OrcColumnVector(field.dataType, orcBatch.cols(columnId)))
+      case _ => None
+    }
+
+    val columns: Array[ColumnVector] = requiredSchema.fields.zip(orcColumns).map {
+      case (_, Some(orcColumn)) => orcColumn
+      case (field, None) =>
+        val missingColumn = new OnHeapColumnVector(capacity, field.dataType)
+        missingColumn.putNulls(0, capacity)
+        missingColumn.setIsConstant()
+        missingColumn
+    } ++ partitionSchema.fields.indices.map { index =>
+      val partitionColumn = new OnHeapColumnVector(capacity, partitionSchema(index).dataType)
+      ColumnVectorUtils.populate(partitionColumn, file.partitionValues, index)
+      partitionColumn.setIsConstant()
+      partitionColumn
+    }
+
+    val batch = new ColumnarBatch(columns)
+
+    new Iterator[ColumnarBatch] {
+      private var hasNextBatch: Option[Boolean] = None
+
+      override def hasNext: Boolean = {
+        if (hasNextBatch.isEmpty) {
+          hasNextBatch = Some(recordReader.nextBatch(orcBatch) && orcBatch.size > 0)
+
+          if (hasNextBatch.get) {
+            orcColumns.flatten.foreach(_.setBatchSize(orcBatch.size))
+            batch.setNumRows(orcBatch.size)
+          } else {
+            close()
+          }
+        }
+
+        hasNextBatch.get
+      }
+
+      override def next(): ColumnarBatch = {
+        if (!hasNext) {
+          throw new NoSuchElementException("End of stream")
+        }
+
+        hasNextBatch = None
+        batch
+      }
+    }
+  }
+}
@@ -30,7 +30,7 @@ import org.scalatest.junit.JUnitRunner
 import org.scalatest.mock.MockitoSugar
 
 import org.finra.herd.sdk.api._
-import org.finra.herd.sdk.invoker.ApiClient
+import org.finra.herd.sdk.invoker.{ApiClient, ApiException}
 import org.finra.herd.sdk.model._
 
 /** unit tests for DefaultHerdApi */
@@ -205,16 +205,7 @@ class DefaultHerdApiSuite extends FunSuite with MockitoSugar with BeforeAndAfter
   }
 
   test("Test HerdApi.getBusinessObjectPartitions no partition filter") {
-    val req1 = new BusinessObjectDataAvailabilityRequest
-    req1.setNamespace(NAMESPACE)
-    req1.setBusinessObjectDefinitionName(BUSINESS_OBJECT_DEFINITION)
-    req1.setBusinessObjectFormatUsage(FORMAT_USAGE)
-    req1.setBusinessObjectFormatFileType(FILE_TYPE)
-    req1.setPartitionValueFilters(null)
-    val filter = new PartitionValueFilter()
-    filter.setPartitionValues(List("${maximum.partition.value}", "${minimum.partition.value}").asJava)
-    req1.setPartitionValueFilter(filter)
-    req1.setIncludeAllRegisteredSubPartitions(false)
+    val requestCaptor = ArgumentCaptor.forClass(classOf[BusinessObjectDataAvailabilityRequest])
 
     val businessObjectDataAvailability = new BusinessObjectDataAvailability
     var businessObjectDataStatusStart = new BusinessObjectDataStatus
@@ -227,33 +218,24 @@ class DefaultHerdApiSuite extends FunSuite with MockitoSugar with BeforeAndAfter
     businessObjectDataStatusEnd.setBusinessObjectDataVersion(DATA_VERSION)
     businessObjectDataAvailability.setAvailableStatuses(List(businessObjectDataStatusStart, businessObjectDataStatusEnd).asJava)
 
-    val req2 = new BusinessObjectDataAvailabilityRequest
-    req2.setNamespace(NAMESPACE)
-    req2.setBusinessObjectDefinitionName(BUSINESS_OBJECT_DEFINITION)
-    req2.setBusinessObjectFormatUsage(FORMAT_USAGE)
-    req2.setBusinessObjectFormatFileType(FILE_TYPE)
-    req2.setPartitionValueFilters(null)
-    req2.setIncludeAllRegisteredSubPartitions(false)
-
-    var partitionRangeFilter = new PartitionValueFilter()
-    partitionRangeFilter.setPartitionValues(null)
-    val partitionRange = new PartitionValueRange
-    partitionRange.setStartPartitionValue(PARTITION_VALUE)
-    partitionRange.setEndPartitionValue(PARTITION_VALUE_1)
-    partitionRangeFilter.setPartitionValueRange(partitionRange)
-
-    req2.setPartitionValueFilter(partitionRangeFilter)
-
-    when(mockBusinessObjectDataApi.businessObjectDataCheckBusinessObjectDataAvailability(req1))
-      .thenReturn(businessObjectDataAvailability)
-    when(mockBusinessObjectDataApi.businessObjectDataCheckBusinessObjectDataAvailability(req2))
+    when(mockBusinessObjectDataApi.businessObjectDataCheckBusinessObjectDataAvailability(requestCaptor.capture()))
       .thenReturn(businessObjectDataAvailability)
     when(defaultHerdApi.getBusinessObjectDataApi(mockApiClient)).thenReturn(mockBusinessObjectDataApi)
 
     val actualPartitions = defaultHerdApi.getBusinessObjectPartitions(NAMESPACE, BUSINESS_OBJECT_DEFINITION, FORMAT_USAGE,
       FILE_TYPE, FORMAT_VERSION, Option.empty)
     verify(defaultHerdApi).getBusinessObjectDataApi(mockApiClient)
-    verify(mockBusinessObjectDataApi, times(2)).businessObjectDataCheckBusinessObjectDataAvailability(any())
+    verify(mockBusinessObjectDataApi).businessObjectDataCheckBusinessObjectDataAvailability(any())
+
+    val businessObjectDataAvailabilityRequest = requestCaptor.getValue.asInstanceOf[BusinessObjectDataAvailabilityRequest]
+    assertEquals(NAMESPACE, businessObjectDataAvailabilityRequest.getNamespace)
+    assertEquals(BUSINESS_OBJECT_DEFINITION, businessObjectDataAvailabilityRequest.getBusinessObjectDefinitionName)
+    assertEquals(FORMAT_USAGE, businessObjectDataAvailabilityRequest.getBusinessObjectFormatUsage)
+    assertEquals(FILE_TYPE, businessObjectDataAvailabilityRequest.getBusinessObjectFormatFileType)
+    val partitionValueFilter = businessObjectDataAvailabilityRequest.getPartitionValueFilter
+    assertEquals(null, partitionValueFilter.getPartitionValues)
+    assertEquals("${minimum.partition.value}", partitionValueFilter.getPartitionValueRange.getStartPartitionValue)
+    assertEquals("${maximum.partition.value}", partitionValueFilter.getPartitionValueRange.getEndPartitionValue)
 
     assertEquals(2, actualPartitions.size)
     assertEquals(FORMAT_VERSION, actualPartitions(0)._1)
@@ -264,6 +246,77 @@ class DefaultHerdApiSuite extends FunSuite with MockitoSugar with BeforeAndAfter
     assertEquals(DATA_VERSION, actualPartitions(1)._4)
   }
 
+  test("Test HerdApi.getBusinessObjectPartitions no partition filter falls back to range bounds on older Herd servers") {
+    // the older Herd servers resolve the partition value tokens only when they are listed as partition values
+    val rangeBounds = new BusinessObjectDataAvailability
+    rangeBounds.setAvailableStatuses(List(PARTITION_VALUE, PARTITION_VALUE_1).map { partitionValue =>
+      val businessObjectDataStatus = new BusinessObjectDataStatus
+      businessObjectDataStatus.setPartitionValue(partitionValue)
+      businessObjectDataStatus
+    }.asJava)
+
+    val businessObjectDataAvailability = new BusinessObjectDataAvailability
+    businessObjectDataAvailability.setAvailableStatuses(List(PARTITION_VALUE, PARTITION_VALUE_1).map { partitionValue =>
+      val businessObjectDataStatus = new BusinessObjectDataStatus
+      businessObjectDataStatus.setPartitionValue(partitionValue)
+      businessObjectDataStatus.setSubPartitionValues(new util.ArrayList[String]())
+      businessObjectDataStatus.setBusinessObjectFormatVersion(FORMAT_VERSION)
+      businessObjectDataStatus.setBusinessObjectDataVersion(DATA_VERSION)
+      businessObjectDataStatus
+    }.asJava)
+
+    val rejected = new ApiException(400, "A partition value token cannot be specified with a partition value range.")
+
+    // the range request is rejected on every retry, then the range bounds and the range get resolved by two calls per lookup
+    when(mockBusinessObjectDataApi.businessObjectDataCheckBusinessObjectDataAvailability(any()))
+      .thenThrow(rejected, rejected, rejected, rejected)
+      .thenReturn(rangeBounds, businessObjectDataAvailability, rangeBounds, businessObjectDataAvailability)
+    when(defaultHerdApi.getBusinessObjectDataApi(mockApiClient)).thenReturn(mockBusinessObjectDataApi)
+
+    val actualPartitions = defaultHerdApi.getBusinessObjectPartitions(NAMESPACE, BUSINESS_OBJECT_DEFINITION, FORMAT_USAGE,
+      FILE_TYPE, FORMAT_VERSION, Option.empty)
+    verify(mockBusinessObjectDataApi, times(6)).businessObjectDataCheckBusinessObjectDataAvailability(any())
+    assertEquals(Seq(PARTITION_VALUE, PARTITION_VALUE_1), actualPartitions.map(_._2))
+
+    // once rejected, the range bounds are resolved right away without sending the partition value tokens in a range
+    val nextPartitions = defaultHerdApi.getBusinessObjectPartitions(NAMESPACE, BUSINESS_OBJECT_DEFINITION, FORMAT_USAGE,
+      FILE_TYPE, FORMAT_VERSION, Option.empty)
+    verify(mockBusinessObjectDataApi, times(8)).businessObjectDataCheckBusinessObjectDataAvailability(any())
+    assertEquals(Seq(PARTITION_VALUE, PARTITION_VALUE_1), nextPartitions.map(_._2))
+  }
+
+  test("Test HerdApi.getBusinessObjectPartitions no partition filter with thousands of partitions") {
+    val partitionCount = 10000
+
+    val businessObjectDataAvailability = new BusinessObjectDataAvailability
+    businessObjectDataAvailability.setAvailableStatuses((0 until partitionCount).map { i =>
+      val businessObjectDataStatus = new BusinessObjectDataStatus
+      businessObjectDataStatus.setPartitionValue(f"$PARTITION_VALUE$i%05d")
+      businessObjectDataStatus.setSubPartitionValues(new util.ArrayList[String]())
+      businessObjectDataStatus.setBusinessObjectFormatVersion(FORMAT_VERSION)
+      businessObjectDataStatus.setBusinessObjectDataVersion(DATA_VERSION)
+      businessObjectDataStatus
+    }.asJava)
+
+    when(mockBusinessObjectDataApi.businessObjectDataCheckBusinessObjectDataAvailability(any()))
+      .thenReturn(businessObjectDataAvailability)
+    when(defaultHerdApi.getBusinessObjectDataApi(mockApiClient)).thenReturn(mockBusinessObjectDataApi)
+
+    val startTime = System.nanoTime()
+    val actualPartitions = defaultHerdApi.getBusinessObjectPartitions(NAMESPACE, BUSINESS_OBJECT_DEFINITION, FORMAT_USAGE,
+      FILE_TYPE, FORMAT_VERSION, Option.empty)
+    val elapsedMillis = (System.nanoTime() - startTime) / 1000000
+
+    // all the partitions are resolved with a single metadata call
+    verify(mockBusinessObjectDataApi, times(1)).businessObjectDataCheckBusinessObjectDataAvailability(any())
+    assertEquals(partitionCount, actualPartitions.size)
+    assertEquals(f"${PARTITION_VALUE}00000", actualPartitions.head._2)
+    assertEquals(f"$PARTITION_VALUE${partitionCount - 1}%05d", actualPartitions.last._2)
+
+    // the bound is generous on purpose, it is only meant to catch per-partition round trips sneaking back in
+    assert(elapsedMillis < 5000, s"Resolving $partitionCount partitions took $elapsedMillis ms")
+  }
+
   test("Test HerdApi.getBusinessObjectPartitions with partition filter") {
     val requestCaptor = ArgumentCaptor.forClass(classOf[BusinessObjectDataAvailabilityRequest])
 
@@ -21,8 +21,15 @@ import com.fasterxml.jackson.databind.ObjectMapper
 import com.google.common.base.Charsets
 import com.google.common.io.Resources
 import org.apache.commons.io.FileUtils
+import org.apache.hadoop.fs.Path
 import org.apache.spark.sql.{DataFrame, Row, SaveMode, SparkSession}
+import org.apache.spark.sql.catalyst.expressions._
+import org.apache.spark.sql.execution.FileSourceScanExec
+import org.apache.spark.sql.execution.datasources.{HadoopFsRelation, LogicalRelation}
 import org.apache.spark.sql.types.{DateType, IntegerType, StringType, StructType}
+import org.mockito.ArgumentMatchers.{any, anyBoolean, anyInt, anyString}
+import org.mockito.ArgumentCaptor
+import org.mockito.Mockito.{never, spy, times, verify}
 import org.scalatest.{BeforeAndAfterAll, FunSuite, Matchers}
 import scala.collection.JavaConverters._
 
@@ -82,6 +89,32 @@ private class BaseHerdApi(testCase: String, partitions: Map[(String, String), St
   override def getBusinessObjectPartitions(namespace: String, businessObjectName: String, formatUsage: String,
                                            formatFileType: String, formatVersion: Int,
                                            partitionFilter: Option[PartitionFilter]): Seq[(Int, String, Seq[String], Int)] = {
+    readPartitions()
+  }
+
+  override def getBusinessObjectPartitions(namespace: String, businessObjectName: String, formatUsage: String,
+                                           formatFileType: String, formatVersion: Int,
+                                           partitionFilters: Seq[PartitionFilter]): Seq[(Int, String, Seq[String], Int)] = {
+    val formatJson = Resources.toString(
+      Resources.getResource(s"herd-models/$testCase/businessObjectFormat.json"), Charsets.UTF_8)
+    val partitionColumns = mapper.readValue(formatJson, classOf[BusinessObjectFormat]).getSchema.getPartitions.asScala.map(_.getName.toUpperCase)
+
+    readPartitions().filter {
+      case (_, partitionValue, subPartitionValues, _) =>
+        val values = partitionValue +: subPartitionValues
+
+        partitionFilters.forall { filter =>
+          val value = values(partitionColumns.indexOf(filter.key.toUpperCase))
+
+          filter match {
+            case PartitionValuesFilter(_, filterValues) => filterValues.contains(value)
+            case PartitionRangeFilter(_, (start, end)) => value >= start && value <= end
+          }
+        }
+    }
+  }
+
+  private def readPartitions(): Seq[(Int, String, Seq[String], Int)] = {
     val keysJson = Resources.toString(
       Resources.getResource(s"herd-models/$testCase/businessObjectDataByFormat.json"), Charsets.UTF_8)
     val keys = mapper.readValue(keysJson, classOf[BusinessObjectDataKeys])
@@ -223,6 +256,56 @@ private class BaseHerdApi(testCase: String, partitions: Map[(String, String), St
   }
 }
 
+/* describes a single partition of a wide ORC object whose files are written by the test itself */
+private class WideOrcHerdApi(columnCount: Int, location: String) extends BaseHerdApi("test-case-5", Map.empty) {
+
+  override def getBusinessObjectFormat(namespace: String, businessObjectName: String, formatUsage: String,
+                                       formatFileType: String, formatVersion: Int): BusinessObjectFormat = {
+    val columns = (0 until columnCount).map { index =>
+      val column = new SchemaColumn()
+      column.setName(s"C$index")
+      column.setType("INT")
+      column
+    }
+
+    val partitionColumn = new SchemaColumn()
+    partitionColumn.setName("SDATE")
+    partitionColumn.setType("DATE")
+
+    val schema = new Schema()
+    schema.setColumns(columns.asJava)
+    schema.setPartitions(Seq(partitionColumn).asJava)
+
+    val format = new BusinessObjectFormat()
+    format.setPartitionKey("SDATE")
+    format.setSchema(schema)
+
+    format
+  }
+
+  override def getBusinessObjectPartitions(namespace: String, businessObjectName: String, formatUsage: String,
+                                           formatFileType: String, formatVersion: Int,
+                                           partitionFilter: Option[PartitionFilter]): Seq[(Int, String, Seq[String], Int)] = {
+    Seq((0, "2017-01-01", Seq.empty, 0))
+  }
+
+  override def getBusinessObjectPartitions(namespace: String, businessObjectName: String, formatUsage: String,
+                                           formatFileType: String, formatVersion: Int,
+                                           partitionFilters: Seq[PartitionFilter]): Seq[(Int, String, Seq[String], Int)] = {
+    Seq((0, "2017-01-01", Seq.empty, 0))
+  }
+
+  override def getBusinessObjectDataGenerateDdl(namespace: String, businessObjectName: String,
+                                                formatUsage: String, formatFileType: String,
+                                                formatVersion: Int, partitionKey: String, partitionValues: Seq[String],
+                                                dataVersion: Int): BusinessObjectDataDdl = {
+    val ddl = new BusinessObjectDataDdl()
+    ddl.setDdl(s"ALTER TABLE `WIDE` ADD PARTITION (`SDATE`='2017-01-01') LOCATION 's3a://src/$location';")
+
+    ddl
+  }
+}
+
 class DefaultSourceSuite extends FunSuite with BeforeAndAfterAll with Matchers {
 
   /* creates a local SparkSession with a mock S3A filesystem */
@@ -287,6 +370,63 @@ class DefaultSourceSuite extends FunSuite with BeforeAndAfterAll with Matchers {
     spark.sqlContext.baseRelationToDataFrame(relation)
   }
 
+  private def withMetadataCache(block: => Unit): Unit = {
+    spark.conf.set(HerdMetadataCache.TTL_CONF, "10m")
+
+    try {
+      block
+    } finally {
+      HerdMetadataCache(spark, defaultParams("url")).invalidateAll()
+      spark.conf.unset(HerdMetadataCache.TTL_CONF)
+    }
+  }
+
+  private def scanWideOrcFiles(fieldName: Int => String, extraFileColumnCount: Int = 0): Unit = {
+    val columnCount = 500
+    val rowCount = 20000
+    val location = "test-output/wide-orc/sdate=2017-01-01"
+
+    FileUtils.deleteDirectory(new java.io.File(location))
+
+    spark.range(rowCount)
+      .selectExpr((0 until columnCount + extraFileColumnCount).map(index => s"cast(id + $index as int) as ${fieldName(index)}"): _*)
+      .write
+      .orc(location)
+
+    // herd lists every file under the storage directory, so only keep the data files
+    new java.io.File(location).listFiles().filterNot(_.getName.endsWith(".orc")).foreach(_.delete())
+
+    val df = getDataFrame(new WideOrcHerdApi(columnCount, location), defaultParams)
+
+    df.queryExecution.analyzed.collect {
+      case LogicalRelation(relation: HadoopFsRelation, _, _, _) => relation.fileFormat
+    }.head shouldBe a[org.apache.spark.sql.hive.orc.HerdNativeOrcFileFormat]
+
+    val aggregates = df.selectExpr("count(*)", "sum(C0)", s"sum(C${columnCount - 1})", "min(SDATE)")
+
+    // every file gets read in columnar batches, including the ones written by Hive
+    aggregates.queryExecution.executedPlan.collect {
+      case scan: FileSourceScanExec => scan.supportsBatch
+    } shouldBe Seq(true)
+
+    val start = System.currentTimeMillis()
+    val result = aggregates.collect().head
+    val elapsed = System.currentTimeMillis() - start
+
+    info(s"Scanned $rowCount rows of $columnCount columns in $elapsed ms")
+
+    result.getLong(0) shouldBe rowCount
+    result.getLong(1) shouldBe (0L until rowCount).sum
+    result.getLong(2) shouldBe (0L until rowCount).map(_ + columnCount - 1).sum
+    result.getDate(3).toString shouldBe "2017-01-01"
+  }
+
+  private def listedFiles(df: DataFrame): Seq[Path] = {
+    df.queryExecution.optimizedPlan.collect {
+      case relation: LogicalRelation => relation.relation.asInstanceOf[HadoopFsRelation].location.inputFiles.map(new Path(_)).toSeq
+    }.flatten
+  }
+
   override def afterAll(): Unit = {
     spark.stop()
   }
@@ -437,4 +577,137 @@ class DefaultSourceSuite extends FunSuite with BeforeAndAfterAll with Matchers {
 
     val result = df.selectExpr("min(sdate)", "max(sdate)").collect()
   }
+
+  test("repeated loads use the cached herd metadata") {
+    val parts = Map(
+      ("2017-01-01", "2017-01-02") -> "businessObjectDataDdl.json"
+    )
+    val api = spy(new BaseHerdApi("test-case-1", parts))
+
+    withMetadataCache {
+      getDataFrame(api, defaultParams).collect() should contain theSameElementsAs(EXPECTED_ROWS)
+      getDataFrame(api, defaultParams).collect() should contain theSameElementsAs(EXPECTED_ROWS)
+    }
+
+    verify(api, times(1)).getBusinessObjectFormats(anyString(), anyString(), anyBoolean())
+    verify(api, times(1)).getBusinessObjectFormat(anyString(), anyString(), anyString(), anyString(), anyInt())
+    verify(api, times(1)).getBusinessObjectPartitions(anyString(), anyString(), anyString(), anyString(), anyInt(),
+      any[Option[PartitionFilter]]())
+    verify(api, times(1)).getBusinessObjectDataGenerateDdl(anyString(), anyString(), anyString(), anyString(), anyInt(),
+      anyString(), any[Seq[String]](), anyInt())
+  }
+
+  test("loads without a metadata cache time to live always call herd") {
+    val parts = Map(
+      ("2017-01-01", "2017-01-02") -> "businessObjectDataDdl.json"
+    )
+    val api = spy(new BaseHerdApi("test-case-1", parts))
+
+    getDataFrame(api, defaultParams).collect()
+    getDataFrame(api, defaultParams).collect()
+
+    verify(api, times(2)).getBusinessObjectFormats(anyString(), anyString(), anyBoolean())
+    verify(api, times(2)).getBusinessObjectFormat(anyString(), anyString(), anyString(), anyString(), anyInt())
+    verify(api, times(2)).getBusinessObjectPartitions(anyString(), anyString(), anyString(), anyString(), anyInt(),
+      any[Option[PartitionFilter]]())
+    verify(api, times(2)).getBusinessObjectDataGenerateDdl(anyString(), anyString(), anyString(), anyString(), anyInt(),
+      anyString(), any[Seq[String]](), anyInt())
+  }
+
+  test("refresh invalidates the cached herd metadata") {
+    val parts = Map(
+      ("2017-01-01", "2017-01-02") -> "businessObjectDataDdl.json"
+    )
+    val api = spy(new BaseHerdApi("test-case-1", parts))
+
+    withMetadataCache {
+      val relation = new DefaultSource((_, _, _) => api).createRelation(spark.sqlContext, defaultParams)
+
+      spark.sqlContext.baseRelationToDataFrame(relation).collect()
+      relation.asInstanceOf[HadoopFsRelation].location.refresh()
+
+      getDataFrame(api, defaultParams).collect() should contain theSameElementsAs(EXPECTED_ROWS)
+    }
+
+    verify(api, times(2)).getBusinessObjectFormats(anyString(), anyString(), anyBoolean())
+    verify(api, times(2)).getBusinessObjectFormat(anyString(), anyString(), anyString(), anyString(), anyInt())
+    verify(api, times(2)).getBusinessObjectPartitions(anyString(), anyString(), anyString(), anyString(), anyInt(),
+      any[Option[PartitionFilter]]())
+  }
+
+  test("filters on sub-partition columns narrow the herd lookups") {
+    val parts = Map(
+      ("2017-01-01", "2017-01-02") -> "businessObjectDataDdl.json"
+    )
+    val api = spy(new BaseHerdApi("test-case-3", parts))
+    val allPartitionsApi = spy(new BaseHerdApi("test-case-3", parts))
+
+    val df = getDataFrame(api, defaultParams).filter($"symbol" === "A")
+    val allPartitionsDf = getDataFrame(allPartitionsApi, defaultParams).filter($"sdate".isNotNull)
+
+    df.collect() should contain theSameElementsAs(EXPECTED_ROWS.filter(_.getString(1) == "A"))
+    allPartitionsDf.collect() should contain theSameElementsAs(EXPECTED_ROWS)
+
+    // only the partitions of one of the two symbols get fetched and listed
+    listedFiles(df).map(_.getParent.getName) should contain only("symbol=A")
+    listedFiles(df).size * 2 shouldBe listedFiles(allPartitionsDf).size
+
+    val partitionFilters = ArgumentCaptor.forClass[Seq[PartitionFilter], Seq[PartitionFilter]](classOf[Seq[PartitionFilter]])
+    verify(api, times(1)).getBusinessObjectPartitions(anyString(), anyString(), anyString(), anyString(), anyInt(),
+      partitionFilters.capture())
+    verify(api, never()).getBusinessObjectPartitions(anyString(), anyString(), anyString(), anyString(), anyInt(),
+      any[Option[PartitionFilter]]())
+    partitionFilters.getValue.map(HerdFileIndexBase.describePartitionFilter) shouldBe Seq("SYMBOL=A")
+
+    // the DDL is still requested for the primary partition values only
+    val ddlPartitionValues = ArgumentCaptor.forClass[Seq[String], Seq[String]](classOf[Seq[String]])
+    verify(api, times(1)).getBusinessObjectDataGenerateDdl(anyString(), anyString(), anyString(), anyString(), anyInt(),
+      anyString(), ddlPartitionValues.capture(), anyInt())
+    ddlPartitionValues.getValue shouldBe Seq("2017-01-01")
+
+    verify(allPartitionsApi, never()).getBusinessObjectPartitions(anyString(), anyString(), anyString(), anyString(), anyInt(),
+      any[Seq[PartitionFilter]]())
+  }
+
+  test("translate sub-partition predicates into herd partition filters") {
+    val partitionSchema = new StructType()
+      .add("SDATE", DateType)
+      .add("SYMBOL", StringType)
+      .add("VENUE", StringType)
+      .add("SEQ", IntegerType)
+    val Seq(sdate, symbol, venue, seq) = partitionSchema.toAttributes
+
+    def translate(predicates: Expression*): Seq[String] = {
+      HerdFileIndexBase.toSubPartitionFilters(predicates, partitionSchema).map(HerdFileIndexBase.describePartitionFilter)
+    }
+
+    translate(EqualTo(symbol, Literal("A"))) shouldBe Seq("SYMBOL=A")
+    translate(In(symbol, Seq(Literal("B"), Literal("A"))), EqualTo(Literal("X"), venue)) shouldBe Seq("SYMBOL=A,B", "VENUE=X")
+    translate(And(In(symbol, Seq(Literal("A"), Literal("B"))), EqualTo(symbol, Literal("B")))) shouldBe Seq("SYMBOL=B")
+
+    // the ranges on the sub-partition columns are only evaluated locally
+    translate(GreaterThanOrEqual(symbol, Literal("A")), LessThan(symbol, Literal("C"))) shouldBe Seq.empty
+    translate(GreaterThan(symbol, Literal("A")), LessThan(symbol, Literal("C")),
+      GreaterThan(venue, Literal("X")), LessThan(venue, Literal("Z"))) shouldBe Seq.empty
+    translate(EqualTo(symbol, Literal("A")), GreaterThan(venue, Literal("X")), LessThan(venue, Literal("Z"))) shouldBe Seq("SYMBOL=A")
+
+    // predicates that cannot be expressed as herd filters are left to the local pruning
+    translate(EqualTo(sdate, Literal.create(java.sql.Date.valueOf("2017-01-01"), DateType))) shouldBe Seq.empty
+    translate(EqualTo(seq, Literal(1))) shouldBe Seq.empty
+    translate(Or(EqualTo(symbol, Literal("A")), EqualTo(venue, Literal("X")))) shouldBe Seq.empty
+    translate(EqualTo(symbol, Literal("A")), EqualTo(symbol, Literal("B"))) shouldBe Seq.empty
+  }
+
+  test("load wide ORC files written by Hive") {
+    scanWideOrcFiles(index => s"_col$index")
+  }
+
+  test("load wide ORC files written by Hive with more fields than the Herd schema") {
+    // the native ORC reader rejects such files, so their columns get mapped by their index in the Herd schema
+    scanWideOrcFiles(index => s"_col$index", extraFileColumnCount = 1)
+  }
+
+  test("load wide ORC files with lower case field names") {
+    scanWideOrcFiles(index => s"c$index")
+  }
 }
@@ -0,0 +1,95 @@
+/*
+* Copyright 2015 herd contributors
+*
+* Licensed under the Apache License, Version 2.0 (the "License");
+* you may not use this file except in compliance with the License.
+* You may obtain a copy of the License at
+*
+*     http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS,
+* WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+* See the License for the specific language governing permissions and
+* limitations under the License.
+*/
+package org.apache.spark.sql.herd
+
+import org.scalatest.{FunSuite, Matchers}
+
+/** unit tests for HerdMetadataCache */
+class HerdMetadataCacheSuite extends FunSuite with Matchers {
+
+  private def key(lookup: String, businessObjectName: String = "TEST", user: Option[String] = Some("user")): HerdMetadataCacheKey = {
+    HerdMetadataCacheKey.of(user, "FOO", businessObjectName, "PRC", "CSV", Some(0), None, lookup)
+  }
+
+  test("entries expire after the time to live") {
+    var now = 0L
+    var loads = 0
+    val cache = new HerdMetadataCache(1000, 10, () => now)
+
+    cache.getOrLoad(key("format")) { loads += 1; loads } shouldBe 1
+
+    now = 999
+    cache.getOrLoad(key("format")) { loads += 1; loads } shouldBe 1
+
+    now = 1000
+    cache.getOrLoad(key("format")) { loads += 1; loads } shouldBe 2
+  }
+
+  test("least recently used entries are evicted once the maximum number of entries is reached") {
+    var loads = 0
+    val cache = new HerdMetadataCache(1000, 2, () => 0L)
+
+    cache.getOrLoad(key("a")) { loads += 1; "a" }
+    cache.getOrLoad(key("b")) { loads += 1; "b" }
+    cache.getOrLoad(key("a")) { loads += 1; "a" }
+    cache.getOrLoad(key("c")) { loads += 1; "c" }
+
+    cache.size shouldBe 2
+    loads shouldBe 3
+
+    cache.getOrLoad(key("a")) { loads += 1; "a" }
+    loads shouldBe 3
+
+    cache.getOrLoad(key("b")) { loads += 1; "b" }
+    loads shouldBe 4
+  }
+
+  test("a time to live of zero disables the cache") {
+    var loads = 0
+    val cache = new HerdMetadataCache(0, 10, () => 0L)
+
+    cache.getOrLoad(key("format")) { loads += 1; loads } shouldBe 1
+    cache.getOrLoad(key("format")) { loads += 1; loads } shouldBe 2
+
+    cache.size shouldBe 0
+  }
+
+  test("invalidate removes all entries of a business object definition regardless of case") {
+    val cache = new HerdMetadataCache(1000, 10, () => 0L)
+
+    cache.getOrLoad(key("format")) { "format" }
+    cache.getOrLoad(key("partitions")) { "partitions" }
+    cache.getOrLoad(key("format", "OTHER")) { "format" }
+
+    cache.invalidate("foo", "test")
+
+    cache.size shouldBe 1
+    cache.getOrLoad(key("format", "other")) { "reloaded" } shouldBe "format"
+  }
+
+  test("entries are not shared between users") {
+    val cache = new HerdMetadataCache(1000, 10, () => 0L)
+
+    cache.getOrLoad(key("format")) { "user" } shouldBe "user"
+    cache.getOrLoad(key("format", user = Some("other"))) { "other" } shouldBe "other"
+    cache.getOrLoad(key("format", user = None)) { "anonymous" } shouldBe "anonymous"
+    cache.getOrLoad(key("format")) { "reloaded" } shouldBe "user"
+
+    cache.invalidate("foo", "test")
+
+    cache.size shouldBe 0
+  }
+}
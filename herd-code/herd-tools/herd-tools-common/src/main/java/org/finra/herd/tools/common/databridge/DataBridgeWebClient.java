@@ -30,6 +30,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -92,6 +94,11 @@ public abstract class DataBridgeWebClient
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DataBridgeWebClient.class);
 
+    /**
+     * The JAXB contexts shared by all web clients, keyed by the classes they are bound to. JAXB contexts are thread-safe and expensive to create.
+     */
+    private static final ConcurrentMap<List<Class<?>>, JAXBContext> JAXB_CONTEXTS = new ConcurrentHashMap<>();
+
     @Autowired
     protected HerdStringHelper herdStringHelper;
 
@@ -157,11 +164,10 @@ public abstract class DataBridgeWebClient
             storageFile.setRowCount(manifestFile.getRowCount());
         }
 
-        // Create a JAXB context and marshaller
-        JAXBContext requestContext = JAXBContext.newInstance(BusinessObjectDataStorageFilesCreateRequest.class);
+        // Get a cached JAXB context and create a marshaller
+        JAXBContext requestContext = getJaxbContext(BusinessObjectDataStorageFilesCreateRequest.class);
         Marshaller requestMarshaller = requestContext.createMarshaller();
         requestMarshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
-        requestMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
 
         StringWriter sw = new StringWriter();
         requestMarshaller.marshal(request, sw);
@@ -296,47 +302,12 @@ public abstract class DataBridgeWebClient
     {
         LOGGER.info("Pre-registering business object data with the registration server...");
 
-        BusinessObjectDataCreateRequest request = new BusinessObjectDataCreateRequest();
-        request.setNamespace(manifest.getNamespace());
-        request.setBusinessObjectDefinitionName(manifest.getBusinessObjectDefinitionName());
-        request.setBusinessObjectFormatUsage(manifest.getBusinessObjectFormatUsage());
-        request.setBusinessObjectFormatFileType(manifest.getBusinessObjectFormatFileType());
-        request.setBusinessObjectFormatVersion(Integer.parseInt(manifest.getBusinessObjectFormatVersion()));
-        request.setPartitionKey(manifest.getPartitionKey());
-        request.setPartitionValue(manifest.getPartitionValue());
-        request.setSubPartitionValues(manifest.getSubPartitionValues());
-        request.setCreateNewVersion(createNewVersion);
-        request.setStatus(BusinessObjectDataStatusEntity.UPLOADING);
-
-        List<StorageUnitCreateRequest> storageUnits = new ArrayList<>();
-        request.setStorageUnits(storageUnits);
-        StorageUnitCreateRequest storageUnit = new StorageUnitCreateRequest();
-        storageUnits.add(storageUnit);
-        storageUnit.setStorageName(storageName);
-
-        // Add business object data attributes, if any.
-        if (manifest.getAttributes() != null)
-        {
-            List<Attribute> attributes = new ArrayList<>();
-            request.setAttributes(attributes);
-
-            for (Map.Entry<String, String> entry : manifest.getAttributes().entrySet())
-            {
-                Attribute attribute = new Attribute();
-                attributes.add(attribute);
-                attribute.setName(entry.getKey());
-                attribute.setValue(entry.getValue());
-            }
-        }
-
-        // Add business object data parents, if any.
-        request.setBusinessObjectDataParents(manifest.getBusinessObjectDataParents());
+        BusinessObjectDataCreateRequest request = getBusinessObjectDataCreateRequest(manifest, storageName, createNewVersion);
 
-        // Create a JAXB context and marshaller
-        JAXBContext requestContext = JAXBContext.newInstance(BusinessObjectDataCreateRequest.class);
+        // Get a cached JAXB context and create a marshaller
+        JAXBContext requestContext = getJaxbContext(BusinessObjectDataCreateRequest.class);
         Marshaller requestMarshaller = requestContext.createMarshaller();
         requestMarshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
-        requestMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
 
         StringWriter sw = new StringWriter();
         requestMarshaller.marshal(request, sw);
@@ -394,11 +365,10 @@ public abstract class DataBridgeWebClient
         BusinessObjectDataStatusUpdateRequest request = new BusinessObjectDataStatusUpdateRequest();
         request.setStatus(businessObjectDataStatus);
 
-        // Create a JAXB context and marshaller
-        JAXBContext requestContext = JAXBContext.newInstance(BusinessObjectDataStatusUpdateRequest.class);
+        // Get a cached JAXB context and create a marshaller
+        JAXBContext requestContext = getJaxbContext(BusinessObjectDataStatusUpdateRequest.class);
         Marshaller requestMarshaller = requestContext.createMarshaller();
         requestMarshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
-        requestMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
 
         StringWriter sw = new StringWriter();
         requestMarshaller.marshal(request, sw);
@@ -472,6 +442,57 @@ public abstract class DataBridgeWebClient
         return (BusinessObjectData) processXmlHttpResponse(httpResponse, actionDescription, BusinessObjectData.class);
     }
 
+    /**
+     * Gets a business object data create request that pre-registers the business object data listed in the uploader input manifest in UPLOADING status.
+     *
+     * @param manifest the uploader input manifest file
+     * @param storageName the storage name
+     * @param createNewVersion if not set, only initial version of the business object data is allowed to be created
+     *
+     * @return the business object data create request
+     */
+    protected BusinessObjectDataCreateRequest getBusinessObjectDataCreateRequest(UploaderInputManifestDto manifest, String storageName,
+        Boolean createNewVersion)
+    {
+        BusinessObjectDataCreateRequest request = new BusinessObjectDataCreateRequest();
+        request.setNamespace(manifest.getNamespace());
+        request.setBusinessObjectDefinitionName(manifest.getBusinessObjectDefinitionName());
+        request.setBusinessObjectFormatUsage(manifest.getBusinessObjectFormatUsage());
+        request.setBusinessObjectFormatFileType(manifest.getBusinessObjectFormatFileType());
+        request.setBusinessObjectFormatVersion(Integer.parseInt(manifest.getBusinessObjectFormatVersion()));
+        request.setPartitionKey(manifest.getPartitionKey());
+        request.setPartitionValue(manifest.getPartitionValue());
+        request.setSubPartitionValues(manifest.getSubPartitionValues());
+        request.setCreateNewVersion(createNewVersion);
+        request.setStatus(BusinessObjectDataStatusEntity.UPLOADING);
+
+        List<StorageUnitCreateRequest> storageUnits = new ArrayList<>();
+        request.setStorageUnits(storageUnits);
+        StorageUnitCreateRequest storageUnit = new StorageUnitCreateRequest();
+        storageUnits.add(storageUnit);
+        storageUnit.setStorageName(storageName);
+
+        // Add business object data attributes, if any.
+        if (manifest.getAttributes() != null)
+        {
+            List<Attribute> attributes = new ArrayList<>();
+            request.setAttributes(attributes);
+
+            for (Map.Entry<String, String> entry : manifest.getAttributes().entrySet())
+            {
+                Attribute attribute = new Attribute();
+                attributes.add(attribute);
+                attribute.setName(entry.getKey());
+                attribute.setValue(entry.getValue());
+            }
+        }
+
+        // Add business object data parents, if any.
+        request.setBusinessObjectDataParents(manifest.getBusinessObjectDataParents());
+
+        return request;
+    }
+
     /**
      * Extracts BusinessObjectDataStorageFilesCreateResponse object from the registration server HTTP response.
      *
@@ -582,6 +603,33 @@ public abstract class DataBridgeWebClient
         return s3KeyPrefixInformation;
     }
 
+    /**
+     * Gets a JAXB context bound to the specified classes. The context is created once and cached for reuse by subsequent calls.
+     *
+     * @param classes the classes to be recognized by the JAXB context
+     *
+     * @return the JAXB context
+     * @throws JAXBException if a JAXB error was encountered
+     */
+    protected static JAXBContext getJaxbContext(Class<?>... classes) throws JAXBException
+    {
+        List<Class<?>> contextKey = Arrays.asList(classes);
+
+        JAXBContext jaxbContext = JAXB_CONTEXTS.get(contextKey);
+
+        if (jaxbContext == null)
+        {
+            jaxbContext = JAXBContext.newInstance(classes);
+            JAXBContext existingJaxbContext = JAXB_CONTEXTS.putIfAbsent(contextKey, jaxbContext);
+            if (existingJaxbContext != null)
+            {
+                jaxbContext = existingJaxbContext;
+            }
+        }
+
+        return jaxbContext;
+    }
+
     /**
      * Returns an URI scheme.
      */
@@ -615,7 +663,7 @@ public abstract class DataBridgeWebClient
                 InputStream inputStream = new ByteArrayInputStream(xmlResponse.getBytes(StandardCharsets.UTF_8));
 
                 // Un-marshall the response to the specified object class.
-                JAXBContext responseContext = JAXBContext.newInstance(responseClass);
+                JAXBContext responseContext = getJaxbContext(responseClass);
                 Unmarshaller responseUnmarshaller = responseContext.createUnmarshaller();
                 responseObject = responseUnmarshaller.unmarshal(inputStream);
             }
@@ -626,7 +674,7 @@ public abstract class DataBridgeWebClient
                 InputStream inputStream = new ByteArrayInputStream(xmlResponse.getBytes(StandardCharsets.UTF_8));
 
                 // Un-marshall response to the ErrorInformation object.
-                JAXBContext responseContext = JAXBContext.newInstance(ErrorInformation.class);
+                JAXBContext responseContext = getJaxbContext(ErrorInformation.class);
                 Unmarshaller responseUnmarshaller = responseContext.createUnmarshaller();
                 ErrorInformation errorInfo = (ErrorInformation) responseUnmarshaller.unmarshal(inputStream);
 
@@ -17,7 +17,9 @@ package org.finra.herd.tools.common.databridge;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -221,6 +223,14 @@ public class DataBridgeWebClientTest extends AbstractDataBridgeTest
         }
     }
 
+    @Test
+    public void testGetJaxbContext() throws Exception
+    {
+        // Validate that the JAXB context is created once and then reused for the same set of classes.
+        assertSame(DataBridgeWebClient.getJaxbContext(Storage.class), DataBridgeWebClient.getJaxbContext(Storage.class));
+        assertNotSame(DataBridgeWebClient.getJaxbContext(Storage.class), DataBridgeWebClient.getJaxbContext(ErrorInformation.class));
+    }
+
     @Test
     public void testGetRegServerAccessParamsDto()
     {
@@ -18,6 +18,7 @@ package org.finra.herd.tools.uploader;
 import java.io.FileNotFoundException;
 
 import org.apache.commons.cli.Option;
+import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configurator;
 import org.slf4j.Logger;
@@ -48,11 +49,19 @@ public class UploaderApp extends DataBridgeApp
 
     private Option forceOpt;
 
+    private Option multipartUploadPartSizeMbOpt;
+
+    private Option multipartUploadThresholdMbOpt;
+
     // Integer values for command line options that are of type "Integer".
     private Integer maxRetryAttempts;
 
     private Integer retryDelaySecs;
 
+    private Integer multipartUploadPartSizeMb;
+
+    private Integer multipartUploadThresholdMb;
+
     // An argument parser for the application.
     private ArgumentParser argParser;
 
@@ -68,6 +77,10 @@ public class UploaderApp extends DataBridgeApp
 
     private static final Integer RETRY_DELAY_SECS_MAX = 900;        // Maximum delay in seconds between the business object data registration retry attempts.
 
+    private static final Integer MULTIPART_UPLOAD_SIZE_MB_MIN = 5;     // Minimum multipart upload part size and threshold in MB, as allowed by S3.
+
+    private static final Integer MULTIPART_UPLOAD_SIZE_MB_MAX = 5120;  // Maximum multipart upload part size and threshold in MB, as allowed by S3.
+
     /**
      * Constructs a new UploaderApp instance.
      */
@@ -85,6 +98,11 @@ public class UploaderApp extends DataBridgeApp
             argParser.addArgument("D", "retryDelaySecs", true, "The delay in seconds between the business object data registration retry attempts.", false);
         forceOpt = argParser.addArgument("f", "force", false,
             "If set, allows upload to proceed when the latest version of the business object data has UPLOADING status by invalidating that version.", false);
+        multipartUploadPartSizeMbOpt = argParser.addArgument("b", "multipartUploadPartSizeMb", true,
+            "The size in MB of the parts the files get uploaded in. If not set, the part size is picked from the size of the largest file and the number of " +
+                "threads.", false);
+        multipartUploadThresholdMbOpt = argParser.addArgument("T", "multipartUploadThresholdMb", true,
+            "The size in MB starting from which the files get uploaded in parts. If not set, the threshold follows the part size.", false);
     }
 
     /**
@@ -111,6 +129,10 @@ public class UploaderApp extends DataBridgeApp
             // Extract uploader specific Integer option values here to catch any NumberFormatException exceptions.
             maxRetryAttempts = argParser.getIntegerValue(maxRetryAttemptsOpt, MAX_RETRY_ATTEMPTS_DEFAULT, MAX_RETRY_ATTEMPTS_MIN, MAX_RETRY_ATTEMPTS_MAX);
             retryDelaySecs = argParser.getIntegerValue(retryDelaySecsOpt, RETRY_DELAY_SECS_DEFAULT, RETRY_DELAY_SECS_MIN, RETRY_DELAY_SECS_MAX);
+            multipartUploadPartSizeMb =
+                argParser.getIntegerValue(multipartUploadPartSizeMbOpt, null, MULTIPART_UPLOAD_SIZE_MB_MIN, MULTIPART_UPLOAD_SIZE_MB_MAX);
+            multipartUploadThresholdMb =
+                argParser.getIntegerValue(multipartUploadThresholdMbOpt, null, MULTIPART_UPLOAD_SIZE_MB_MIN, MULTIPART_UPLOAD_SIZE_MB_MAX);
         }
         catch (Exception ex)
         {
@@ -150,7 +172,9 @@ public class UploaderApp extends DataBridgeApp
                 .withAwsAccessKeyId(argParser.getStringValue(s3AccessKeyOpt)).withAwsSecretKey(argParser.getStringValue(s3SecretKeyOpt))
                 .withS3Endpoint(argParser.getStringValue(s3EndpointOpt)).withMaxThreads(maxThreads)
                 .withHttpProxyHost(argParser.getStringValue(httpProxyHostOpt)).withHttpProxyPort(httpProxyPort)
-                .withSocketTimeout(argParser.getIntegerValue(socketTimeoutOpt)).build();
+                .withSocketTimeout(argParser.getIntegerValue(socketTimeoutOpt))
+                .withMultipartUploadPartSize(multipartUploadPartSizeMb != null ? multipartUploadPartSizeMb * FileUtils.ONE_MB : null)
+                .withMultipartUploadThreshold(multipartUploadThresholdMb != null ? multipartUploadThresholdMb * FileUtils.ONE_MB : null).build();
 
         // Call the controller with the user specified parameters to perform the upload.
         UploaderController controller = applicationContext.getBean(UploaderController.class);
@@ -23,15 +23,15 @@ import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 import javax.xml.bind.JAXBException;
 
 import com.amazonaws.services.s3.model.S3ObjectSummary;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.IterableUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,12 +41,9 @@ import org.springframework.stereotype.Component;
 import org.finra.herd.core.HerdFileUtils;
 import org.finra.herd.core.helper.ConfigurationHelper;
 import org.finra.herd.core.helper.HerdThreadHelper;
-import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.AwsCredential;
-import org.finra.herd.model.api.xml.BusinessObjectData;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
-import org.finra.herd.model.api.xml.BusinessObjectDataVersion;
-import org.finra.herd.model.api.xml.BusinessObjectDataVersions;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationResponse;
 import org.finra.herd.model.api.xml.Storage;
 import org.finra.herd.model.dto.ConfigurationValue;
 import org.finra.herd.model.dto.ManifestFile;
@@ -76,9 +73,6 @@ public class UploaderController extends DataBridgeController
     @Autowired
     private HerdThreadHelper herdThreadHelper;
 
-    @Autowired
-    private JsonHelper jsonHelper;
-
     @Autowired
     private UploaderManifestReader manifestReader;
 
@@ -143,33 +137,43 @@ public class UploaderController extends DataBridgeController
             // Initialize uploader web client.
             uploaderWebClient.setRegServerAccessParamsDto(regServerAccessParamsDto);
 
-            // Handle the latest business object data version if one exists.
-            checkLatestBusinessObjectDataVersion(manifest, force);
-
-            // Pre-register a new version of business object data in UPLOADING state with the registration server.
-            BusinessObjectData businessObjectData = uploaderWebClient.preRegisterBusinessObjectData(manifest, storageName, createNewVersion);
+            // With a single call to the registration server, handle the latest business object data version if one exists, pre-register a new version of
+            // business object data in UPLOADING state, and get the storage, the S3 key prefix, and the credentials to upload the files with.
+            BusinessObjectDataUploadPreparationResponse businessObjectDataUploadPreparationResponse =
+                uploaderWebClient.prepareBusinessObjectDataUpload(manifest, storageName, createNewVersion, force);
 
             // Get business object data key.
-            businessObjectDataKey = businessObjectDataHelper.getBusinessObjectDataKey(businessObjectData);
+            businessObjectDataKey = businessObjectDataHelper.getBusinessObjectDataKey(businessObjectDataUploadPreparationResponse.getBusinessObjectData());
 
             // Get the business object data version.
             Integer businessObjectDataVersion = businessObjectDataKey.getBusinessObjectDataVersion();
 
-            // Add credential provider.
+            // Add credential provider. The credentials returned along with the pre-registered business object data are used first, so the registration
+            // server only gets asked for new credentials once those expire.
+            AwsCredential initialAwsCredential = businessObjectDataUploadPreparationResponse.getAwsCredential();
             params.getAdditionalAwsCredentialsProviders().add(new AutoRefreshCredentialProvider()
             {
+                private AwsCredential awsCredential = initialAwsCredential;
+
                 @Override
                 public AwsCredential getNewAwsCredential() throws Exception
                 {
+                    if (awsCredential != null)
+                    {
+                        AwsCredential result = awsCredential;
+                        awsCredential = null;
+                        return result;
+                    }
+
                     return uploaderWebClient.getBusinessObjectDataUploadCredential(manifest, storageName, businessObjectDataVersion, null).getAwsCredential();
                 }
             });
 
-            // Get S3 key prefix from the business object data pre-registration response.
-            String s3KeyPrefix = IterableUtils.get(businessObjectData.getStorageUnits(), 0).getStorageDirectory().getDirectoryPath();
+            // Get S3 key prefix from the business object data upload preparation response.
+            String s3KeyPrefix = businessObjectDataUploadPreparationResponse.getS3KeyPrefix();
 
             // Get S3 bucket information.
-            Storage storage = uploaderWebClient.getStorage(storageName);
+            Storage storage = businessObjectDataUploadPreparationResponse.getStorage();
 
             // Get S3 bucket name.  Please note that since this value is required we pass a "true" flag.
             String s3BucketName =
@@ -205,10 +209,15 @@ public class UploaderController extends DataBridgeController
             // Upload files.
             s3Service.uploadFileList(params);
 
-            // Get the list of files uploaded to S3 key prefix.
+            // List the S3 key prefix once after the upload and validate the uploaded files against that listing. The local files are not read again, since
+            // the S3 client already validates the content digest of every file while it streams the file to S3.
+            List<S3ObjectSummary> s3ObjectSummaries = s3Service.listDirectory(params);
+            validateUploadedS3Files(params.getS3KeyPrefix(), manifest.getManifestFiles(), sourceFiles, s3ObjectSummaries);
+
+            // Log the list of files uploaded to S3 key prefix reusing the same listing.
             if (LOGGER.isInfoEnabled())
             {
-                logS3KeyPrefixContents(params);
+                logS3KeyPrefixContents(params, s3ObjectSummaries);
             }
 
             // Add storage files to the business object data.
@@ -299,59 +308,6 @@ public class UploaderController extends DataBridgeController
         }
     }
 
-    /**
-     * Handles the uploader logic regarding the latest business object data version if one exists.
-     *
-     * @param manifest the uploader input manifest
-     * @param force if set, allows upload to proceed when the latest version of the business object data has UPLOADING status by invalidating that version
-     *
-     * @throws JAXBException if a JAXB error was encountered
-     * @throws IOException if an I/O error was encountered
-     * @throws URISyntaxException if a URI syntax error was encountered
-     * @throws KeyStoreException if a key store exception occurs
-     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
-     * @throws KeyManagementException if key management exception
-     */
-    private void checkLatestBusinessObjectDataVersion(UploaderInputManifestDto manifest, Boolean force)
-        throws JAXBException, IOException, URISyntaxException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
-    {
-        // Retrieve all already registered versions for this business object data.
-        BusinessObjectDataVersions businessObjectDataVersions = uploaderWebClient.getBusinessObjectDataVersions(
-            new BusinessObjectDataKey(manifest.getNamespace(), manifest.getBusinessObjectDefinitionName(), manifest.getBusinessObjectFormatUsage(),
-                manifest.getBusinessObjectFormatFileType(), Integer.valueOf(manifest.getBusinessObjectFormatVersion()), manifest.getPartitionValue(),
-                manifest.getSubPartitionValues(), null));
-
-        // Check if the latest version of the business object data.
-        if (CollectionUtils.isNotEmpty(businessObjectDataVersions.getBusinessObjectDataVersions()))
-        {
-            BusinessObjectDataVersion latestBusinessObjectDataVersion =
-                businessObjectDataVersions.getBusinessObjectDataVersions().get(businessObjectDataVersions.getBusinessObjectDataVersions().size() - 1);
-
-            // Check if the latest version of the business object data is in UPLOADING state.
-            if (BusinessObjectDataStatusEntity.UPLOADING.equals(latestBusinessObjectDataVersion.getStatus()))
-            {
-                LOGGER.info(String.format("Found the latest version of the business object data in UPLOADING state. businessObjectDataKey=%s",
-                    jsonHelper.objectToJson(latestBusinessObjectDataVersion.getBusinessObjectDataKey())));
-
-                if (force)
-                {
-                    // If the "force" flag is set, change the status of the latest business object data version to INVALID.
-                    uploaderWebClient
-                        .updateBusinessObjectDataStatus(latestBusinessObjectDataVersion.getBusinessObjectDataKey(), BusinessObjectDataStatusEntity.INVALID);
-                }
-                else
-                {
-                    // Fail the upload due to the status of the latest business object data version being UPLOADING.
-                    throw new IllegalArgumentException(String.format(
-                        "Unable to register business object data because the latest business object data version is detected in UPLOADING state. " +
-                            "Please use -force option to invalidate the latest business object version and allow upload to proceed. " +
-                            "Business object data {%s}",
-                        businessObjectDataHelper.businessObjectDataKeyToString(latestBusinessObjectDataVersion.getBusinessObjectDataKey())));
-                }
-            }
-        }
-    }
-
     /**
      * Returns a list of all duplicate files found in the specified list of files.
      *
@@ -432,19 +388,58 @@ public class UploaderController extends DataBridgeController
     }
 
     /**
-     * Logs all files found in the specified S3 location.
+     * Logs all files found in the specified S3 location along with their ETags, which hold the content digests computed by S3 while the files were uploaded.
      *
      * @param params the S3 file transfer request parameters
+     * @param s3ObjectSummaries the list of S3 object summaries found in the S3 location
      */
-    private void logS3KeyPrefixContents(S3FileTransferRequestParamsDto params)
+    private void logS3KeyPrefixContents(S3FileTransferRequestParamsDto params, List<S3ObjectSummary> s3ObjectSummaries)
     {
-        List<S3ObjectSummary> s3ObjectSummaries = s3Service.listDirectory(params);
         LOGGER.info(
             String.format("Found %d keys with prefix \"%s\" in bucket \"%s\":", s3ObjectSummaries.size(), params.getS3KeyPrefix(), params.getS3BucketName()));
 
         for (S3ObjectSummary s3ObjectSummary : s3ObjectSummaries)
         {
-            LOGGER.info(String.format("    s3://%s/%s", params.getS3BucketName(), s3ObjectSummary.getKey()));
+            LOGGER.info(String.format("    s3://%s/%s eTag=%s", params.getS3BucketName(), s3ObjectSummary.getKey(), s3ObjectSummary.getETag()));
+        }
+    }
+
+    /**
+     * Validates that every uploaded local file is present in the S3 location with the size of the local file.
+     *
+     * @param s3KeyPrefix the S3 key prefix with a trailing '/' character
+     * @param manifestFiles the list of manifest files
+     * @param sourceFiles the list of uploaded local files, in the order of the manifest files
+     * @param s3ObjectSummaries the list of S3 object summaries found in the S3 location
+     *
+     * @throws IOException if an uploaded file is missing or does not match the size of the local file
+     */
+    private void validateUploadedS3Files(String s3KeyPrefix, List<ManifestFile> manifestFiles, List<File> sourceFiles,
+        List<S3ObjectSummary> s3ObjectSummaries) throws IOException
+    {
+        Map<String, S3ObjectSummary> s3ObjectSummaryMap = new HashMap<>();
+        for (S3ObjectSummary s3ObjectSummary : s3ObjectSummaries)
+        {
+            s3ObjectSummaryMap.put(s3ObjectSummary.getKey(), s3ObjectSummary);
+        }
+
+        for (int i = 0; i < manifestFiles.size(); i++)
+        {
+            // Since the S3 key prefix represents a directory it is expected to contain a trailing '/' character.
+            String s3Key = (s3KeyPrefix + manifestFiles.get(i).getFileName()).replaceAll("\\\\", "/");
+            long localFileSizeBytes = sourceFiles.get(i).length();
+
+            S3ObjectSummary s3ObjectSummary = s3ObjectSummaryMap.get(s3Key);
+            if (s3ObjectSummary == null)
+            {
+                throw new IOException(String.format("Uploaded file \"%s\" is not found in S3.", s3Key));
+            }
+            else if (s3ObjectSummary.getSize() != localFileSizeBytes)
+            {
+                throw new IOException(String
+                    .format("Size of the uploaded \"%s\" file does not match the local file size (expected %d bytes, actual %d bytes).", s3Key,
+                        localFileSizeBytes, s3ObjectSummary.getSize()));
+            }
         }
     }
 }
@@ -16,17 +16,24 @@
 package org.finra.herd.tools.uploader;
 
 import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 
+import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
 
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,8 +43,11 @@ import org.springframework.stereotype.Component;
 import org.finra.herd.dao.helper.JsonHelper;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataUploadCredential;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationRequest;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataVersions;
 import org.finra.herd.model.dto.DataBridgeBaseManifestDto;
+import org.finra.herd.model.dto.UploaderInputManifestDto;
 import org.finra.herd.tools.common.databridge.DataBridgeWebClient;
 
 /**
@@ -174,6 +184,79 @@ public class UploaderWebClient extends DataBridgeWebClient
         return businessObjectDataVersions;
     }
 
+    /**
+     * Prepares an upload of new business object data with a single call to the registration server. The registration server invalidates the latest version
+     * of the business object data when it is still in UPLOADING state and the force flag is set, pre-registers a new version of the business object data in
+     * UPLOADING state, and returns it along with the storage, the S3 key prefix, and the credentials to upload with.
+     *
+     * @param manifest the uploader input manifest file
+     * @param storageName the storage name
+     * @param createNewVersion if not set, only initial version of the business object data is allowed to be created
+     * @param force if set, allows upload to proceed when the latest version of the business object data has UPLOADING status by invalidating that version
+     *
+     * @return the business object data upload preparation response
+     * @throws JAXBException if a JAXB error was encountered
+     * @throws IOException if an I/O error was encountered
+     * @throws URISyntaxException if a URI syntax error was encountered
+     * @throws KeyStoreException if a key store exception occurs
+     * @throws NoSuchAlgorithmException if a no such algorithm exception occurs
+     * @throws KeyManagementException if key management exception
+     */
+    public BusinessObjectDataUploadPreparationResponse prepareBusinessObjectDataUpload(UploaderInputManifestDto manifest, String storageName,
+        Boolean createNewVersion, Boolean force)
+        throws URISyntaxException, IOException, JAXBException, NoSuchAlgorithmException, KeyStoreException, KeyManagementException
+    {
+        LOGGER.info("Preparing business object data upload with the registration server...");
+
+        BusinessObjectDataUploadPreparationRequest request =
+            new BusinessObjectDataUploadPreparationRequest(getBusinessObjectDataCreateRequest(manifest, storageName, createNewVersion), force);
+
+        // Get a cached JAXB context and create a marshaller
+        JAXBContext requestContext = getJaxbContext(BusinessObjectDataUploadPreparationRequest.class);
+        Marshaller requestMarshaller = requestContext.createMarshaller();
+        requestMarshaller.setProperty(Marshaller.JAXB_ENCODING, StandardCharsets.UTF_8.name());
+
+        StringWriter sw = new StringWriter();
+        requestMarshaller.marshal(request, sw);
+
+        BusinessObjectDataUploadPreparationResponse businessObjectDataUploadPreparationResponse;
+        try (CloseableHttpClient client = httpClientHelper
+            .createHttpClient(regServerAccessParamsDto.isTrustSelfSignedCertificate(), regServerAccessParamsDto.isDisableHostnameVerification()))
+        {
+            URI uri = new URIBuilder().setScheme(getUriScheme()).setHost(regServerAccessParamsDto.getRegServerHost())
+                .setPort(regServerAccessParamsDto.getRegServerPort()).setPath(HERD_APP_REST_URI_PREFIX + "/businessObjectData/upload/preparation").build();
+            HttpPost post = new HttpPost(uri);
+
+            post.addHeader("Content-Type", DEFAULT_CONTENT_TYPE);
+            post.addHeader("Accepts", DEFAULT_ACCEPT);
+
+            // If SSL is enabled, set the client authentication header.
+            if (regServerAccessParamsDto.isUseSsl())
+            {
+                post.addHeader(getAuthorizationHeader());
+            }
+
+            post.setEntity(new StringEntity(sw.toString()));
+
+            LOGGER.info(String.format("    HTTP POST URI: %s", post.getURI().toString()));
+            LOGGER.info(String.format("    HTTP POST Headers: %s", Arrays.toString(post.getAllHeaders())));
+
+            businessObjectDataUploadPreparationResponse = getBusinessObjectDataUploadPreparationResponse(httpClientOperations.execute(client, post));
+        }
+
+        LOGGER.info(String.format("Successfully prepared business object data upload with the registration server. businessObjectDataId=%s " +
+                "s3KeyPrefix=\"%s\"", businessObjectDataUploadPreparationResponse.getBusinessObjectData().getId(),
+            businessObjectDataUploadPreparationResponse.getS3KeyPrefix()));
+
+        if (businessObjectDataUploadPreparationResponse.getInvalidatedBusinessObjectDataKey() != null)
+        {
+            LOGGER.info(String.format("Invalidated the latest version of the business object data that was in UPLOADING state. businessObjectDataKey=%s",
+                jsonHelper.objectToJson(businessObjectDataUploadPreparationResponse.getInvalidatedBusinessObjectDataKey())));
+        }
+
+        return businessObjectDataUploadPreparationResponse;
+    }
+
     /**
      * Updates the business object data status. This method does not fail in case business object data status update is unsuccessful, but simply logs the
      * exception information as a warning.
@@ -206,6 +289,19 @@ public class UploaderWebClient extends DataBridgeWebClient
             BusinessObjectDataVersions.class);
     }
 
+    /**
+     * Extracts BusinessObjectDataUploadPreparationResponse object from the registration server HTTP response.
+     *
+     * @param response the HTTP response
+     *
+     * @return {@link BusinessObjectDataUploadPreparationResponse}
+     */
+    private BusinessObjectDataUploadPreparationResponse getBusinessObjectDataUploadPreparationResponse(CloseableHttpResponse response)
+    {
+        return (BusinessObjectDataUploadPreparationResponse) processXmlHttpResponse(response, "prepare business object data upload",
+            BusinessObjectDataUploadPreparationResponse.class);
+    }
+
     /**
      * Gets the business object data upload credentials.
      *
@@ -106,6 +106,24 @@ public class UploaderAppTest extends AbstractUploaderTest
         assertEquals(DataBridgeApp.ReturnValue.FAILURE, uploaderApp.parseCommandLineArguments(arguments, applicationContext));
     }
 
+    @Test
+    public void testParseCommandLineArgumentsInvalidMultipartUploadPartSizeMb() throws Exception
+    {
+        String[] arguments =
+            {"-a", S3_ACCESS_KEY, "-p", S3_SECRET_KEY, "-e", S3_ENDPOINT_US_STANDARD, "-l", LOCAL_TEMP_PATH_INPUT.toString(), "-m", STRING_VALUE, "-H",
+                WEB_SERVICE_HOSTNAME, "-P", WEB_SERVICE_HTTPS_PORT.toString(), "-b", "1"};
+        assertEquals(DataBridgeApp.ReturnValue.FAILURE, uploaderApp.parseCommandLineArguments(arguments, applicationContext));
+    }
+
+    @Test
+    public void testParseCommandLineArgumentsMultipartUploadSizes() throws Exception
+    {
+        String[] arguments =
+            {"-a", S3_ACCESS_KEY, "-p", S3_SECRET_KEY, "-e", S3_ENDPOINT_US_STANDARD, "-l", LOCAL_TEMP_PATH_INPUT.toString(), "-m", STRING_VALUE, "-H",
+                WEB_SERVICE_HOSTNAME, "-P", WEB_SERVICE_HTTPS_PORT.toString(), "--multipartUploadPartSizeMb", "16", "--multipartUploadThresholdMb", "32"};
+        assertNull(uploaderApp.parseCommandLineArguments(arguments, applicationContext));
+    }
+
     @Test
     public void testParseCommandLineArgumentsNone() throws Exception
     {
@@ -18,6 +18,11 @@ package org.finra.herd.tools.uploader;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.io.File;
 import java.io.IOException;
@@ -28,11 +33,14 @@ import java.util.HashMap;
 import java.util.List;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.http.HttpStatus;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.AdditionalAnswers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import org.finra.herd.core.helper.LogLevel;
 import org.finra.herd.dao.impl.MockHttpClientOperationsImpl;
@@ -40,8 +48,11 @@ import org.finra.herd.dao.impl.S3DaoImpl;
 import org.finra.herd.model.dto.ManifestFile;
 import org.finra.herd.model.dto.RegServerAccessParamsDto;
 import org.finra.herd.model.dto.S3FileTransferRequestParamsDto;
+import org.finra.herd.model.dto.S3FileTransferResultsDto;
 import org.finra.herd.model.dto.UploaderInputManifestDto;
+import org.finra.herd.service.S3Service;
 import org.finra.herd.tools.common.databridge.DataBridgeWebClient;
+import org.finra.herd.tools.common.databridge.HttpErrorResponseException;
 
 /**
  * Unit tests for UploaderController class.
@@ -120,15 +131,11 @@ public class UploaderControllerTest extends AbstractUploaderTest
                 null);
             fail();
         }
-        catch (IllegalArgumentException e)
+        catch (HttpErrorResponseException e)
         {
-            assertEquals(String.format(
-                "Unable to register business object data because the latest business object data version is detected in UPLOADING state. " +
-                    "Please use -force option to invalidate the latest business object version and allow upload to proceed. Business object data {" +
-                    "namespace: \"%s\", businessObjectDefinitionName: \"%s\", businessObjectFormatUsage: \"%s\", businessObjectFormatFileType: \"%s\", " +
-                    "businessObjectFormatVersion: 0, businessObjectDataPartitionValue: \"2014-01-31\", businessObjectDataSubPartitionValues: \"\", " +
-                    "businessObjectDataVersion: 0}", TEST_NAMESPACE, TEST_BUSINESS_OBJECT_DEFINITION, TEST_BUSINESS_OBJECT_FORMAT_USAGE,
-                TEST_BUSINESS_OBJECT_FORMAT_FILE_TYPE), e.getMessage());
+            assertEquals(HttpStatus.SC_BAD_REQUEST, e.getStatusCode());
+            assertEquals("Unable to prepare the upload because the latest business object data version is detected in UPLOADING state.",
+                e.getResponseMessage());
         }
     }
 
@@ -232,6 +239,20 @@ public class UploaderControllerTest extends AbstractUploaderTest
         runUpload(UploaderController.MIN_THREADS);
     }
 
+    @Test
+    public void testPerformUploadRequestCount() throws Exception
+    {
+        MockHttpClientOperationsImpl mockHttpClientOperations =
+            (MockHttpClientOperationsImpl) ReflectionTestUtils.getField(uploaderWebClient, "httpClientOperations");
+
+        // Perform an upload that invalidates the latest business object data version and count the requests sent to the registration server. The upload
+        // gets prepared with a single request, followed by one request to add the storage files and one request to change the status to VALID.
+        int originalRequestCount = mockHttpClientOperations.getRequestCount();
+        runUpload(UploaderController.MIN_THREADS, null, false, true, MockHttpClientOperationsImpl.HOSTNAME_LATEST_BDATA_VERSION_EXISTS_IN_UPLOADING_STATE,
+            null);
+        assertEquals(3, mockHttpClientOperations.getRequestCount() - originalRequestCount);
+    }
+
     @Test
     public void testPerformUploadTargetS3FolderIsNotEmpty() throws Exception
     {
@@ -249,6 +270,36 @@ public class UploaderControllerTest extends AbstractUploaderTest
         }
     }
 
+    @Test
+    public void testPerformUploadUploadedFileNotFoundInS3() throws Exception
+    {
+        // Upload and register business object data parents.
+        uploadAndRegisterTestDataParents(uploaderWebClient);
+
+        // Inject an S3 service that does not upload any files.
+        S3Service originalS3Service = (S3Service) ReflectionTestUtils.getField(uploaderController, "s3Service");
+        S3Service mockS3Service = mock(S3Service.class, AdditionalAnswers.delegatesTo(originalS3Service));
+        doReturn(new S3FileTransferResultsDto()).when(mockS3Service).uploadFileList(any());
+        ReflectionTestUtils.setField(uploaderController, "s3Service", mockS3Service);
+
+        // Try to run the upload task and validate that the upload got rolled back before the files got registered.
+        try
+        {
+            runUpload(UploaderController.MIN_THREADS);
+            fail();
+        }
+        catch (IOException e)
+        {
+            assertTrue(e.getMessage().startsWith("Uploaded file \""));
+            assertTrue(e.getMessage().endsWith("\" is not found in S3."));
+        }
+        finally
+        {
+            ReflectionTestUtils.setField(uploaderController, "s3Service", originalS3Service);
+        }
+        verify(mockS3Service).deleteDirectoryIgnoreException(any());
+    }
+
     @Test
     public void testPerformUploadWithAttributes() throws Exception
     {
@@ -281,6 +332,11 @@ public class UploaderControllerTest extends AbstractUploaderTest
         // Set logging level to INFO.
         setLogLevel(UploaderController.class, LogLevel.INFO);
 
+        // Inject an S3 service that keeps track of the S3 calls.
+        S3Service originalS3Service = (S3Service) ReflectionTestUtils.getField(uploaderController, "s3Service");
+        S3Service mockS3Service = mock(S3Service.class, AdditionalAnswers.delegatesTo(originalS3Service));
+        ReflectionTestUtils.setField(uploaderController, "s3Service", mockS3Service);
+
         // Run the upload and reset the logging level back to the original value.
         try
         {
@@ -289,7 +345,11 @@ public class UploaderControllerTest extends AbstractUploaderTest
         finally
         {
             setLogLevel(UploaderController.class, origLogLevel);
+            ReflectionTestUtils.setField(uploaderController, "s3Service", originalS3Service);
         }
+
+        // Validate that the S3 key prefix only got listed before the upload and once after it, for both the validation and the logging of the uploaded files.
+        verify(mockS3Service, times(2)).listDirectory(any());
     }
 
     @Test(expected = IOException.class)
@@ -298,12 +358,6 @@ public class UploaderControllerTest extends AbstractUploaderTest
         runUpload(UploaderController.MIN_THREADS, null, false, false, MockHttpClientOperationsImpl.HOSTNAME_THROW_IO_EXCEPTION_DURING_ADD_STORAGE_FILES, null);
     }
 
-    @Test(expected = IOException.class)
-    public void testPerformUploadWithIoExceptionDuringGetStorage() throws Exception
-    {
-        runUpload(UploaderController.MIN_THREADS, null, false, false, MockHttpClientOperationsImpl.HOSTNAME_THROW_IO_EXCEPTION_DURING_GET_STORAGE, null);
-    }
-
     @Test(expected = IOException.class)
     public void testPerformUploadWithIoExceptionDuringRegisterBusinessObjectData() throws Exception
     {
@@ -17,6 +17,7 @@ package org.finra.herd.tools.uploader;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -36,9 +37,11 @@ import org.finra.herd.dao.impl.MockHttpClientOperationsImpl;
 import org.finra.herd.model.api.xml.AwsCredential;
 import org.finra.herd.model.api.xml.BusinessObjectDataKey;
 import org.finra.herd.model.api.xml.BusinessObjectDataUploadCredential;
+import org.finra.herd.model.api.xml.BusinessObjectDataUploadPreparationResponse;
 import org.finra.herd.model.api.xml.BusinessObjectDataVersions;
 import org.finra.herd.model.dto.DataBridgeBaseManifestDto;
 import org.finra.herd.model.dto.RegServerAccessParamsDto;
+import org.finra.herd.model.dto.UploaderInputManifestDto;
 
 /**
  * Unit tests for UploaderWebClient class.
@@ -151,6 +154,41 @@ public class UploaderWebClientTest extends AbstractUploaderTest
             null, null, true);
     }
 
+    @Test
+    public void testPrepareBusinessObjectDataUpload() throws Exception
+    {
+        UploaderInputManifestDto manifest = getTestUploaderInputManifestDto();
+        uploaderWebClient.getRegServerAccessParamsDto().setUseSsl(true);
+
+        BusinessObjectDataUploadPreparationResponse businessObjectDataUploadPreparationResponse =
+            uploaderWebClient.prepareBusinessObjectDataUpload(manifest, "S3_MANAGED_KMS", false, false);
+
+        assertNotNull(businessObjectDataUploadPreparationResponse);
+        assertEquals(manifest.getNamespace(), businessObjectDataUploadPreparationResponse.getBusinessObjectData().getNamespace());
+        assertEquals(Integer.valueOf(0), businessObjectDataUploadPreparationResponse.getBusinessObjectData().getVersion());
+        assertNull(businessObjectDataUploadPreparationResponse.getInvalidatedBusinessObjectDataKey());
+        assertEquals("S3_MANAGED_KMS", businessObjectDataUploadPreparationResponse.getStorage().getName());
+        assertEquals("app-a/exchange-a/prc/txt/new-orders/frmt-v0/data-v0/process-date=2014-01-31",
+            businessObjectDataUploadPreparationResponse.getS3KeyPrefix());
+        assertEquals("https://testWebServiceHostname:1234/herd-app/rest/businessObjectData/upload/preparation",
+            businessObjectDataUploadPreparationResponse.getAwsCredential().getAwsAccessKey());
+        assertEquals("testKmsKeyId", businessObjectDataUploadPreparationResponse.getAwsKmsKeyId());
+    }
+
+    @Test
+    public void testPrepareBusinessObjectDataUploadForce() throws Exception
+    {
+        UploaderInputManifestDto manifest = getTestUploaderInputManifestDto();
+        uploaderWebClient.getRegServerAccessParamsDto().setRegServerHost(MockHttpClientOperationsImpl.HOSTNAME_LATEST_BDATA_VERSION_EXISTS_IN_UPLOADING_STATE);
+
+        BusinessObjectDataUploadPreparationResponse businessObjectDataUploadPreparationResponse =
+            uploaderWebClient.prepareBusinessObjectDataUpload(manifest, "S3_MANAGED", true, true);
+
+        assertEquals(Integer.valueOf(1), businessObjectDataUploadPreparationResponse.getBusinessObjectData().getVersion());
+        assertEquals(Integer.valueOf(0), businessObjectDataUploadPreparationResponse.getInvalidatedBusinessObjectDataKey().getBusinessObjectDataVersion());
+        assertNull(businessObjectDataUploadPreparationResponse.getAwsKmsKeyId());
+    }
+
     @Test
     public void testUpdateBusinessObjectDataStatusIgnoreException() throws Exception
     {